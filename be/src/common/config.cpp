@@ -826,6 +826,15 @@ DEFINE_mInt32(external_table_connect_timeout_sec, "30");
 // Time to clean up useless JDBC connection pool cache
 DEFINE_mInt32(jdbc_connection_pool_cache_clear_time_sec, "28800");
 
+// Whether the jdbc scanner fetches the next batch of rows from the result set in a background thread
+// while the current batch is being converted and returned to BE
+DEFINE_mBool(enable_jdbc_scanner_prefetch, "true");
+
+// Whether to read the arrow batches of the jni scanners that support arrow export, e.g. lakesoul,
+// by the arrow c data interface, instead of the copies in the off-heap vector table of java side.
+// It is disabled by default until the export path is covered by the regression tests of lakesoul.
+DEFINE_mBool(enable_jni_scanner_arrow_export, "false");
+
 // Global bitmap cache capacity for aggregation cache, size in bytes
 DEFINE_Int64(delete_bitmap_agg_cache_capacity, "104857600");
 // The default delete bitmap cache is set to 100MB,
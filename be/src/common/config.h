@@ -881,6 +881,15 @@ DECLARE_mInt32(external_table_connect_timeout_sec);
 // Time to clean up useless JDBC connection pool cache
 DECLARE_mInt32(jdbc_connection_pool_cache_clear_time_sec);
 
+// Whether the jdbc scanner fetches the next batch of rows from the result set in a background thread
+// while the current batch is being converted and returned to BE
+DECLARE_mBool(enable_jdbc_scanner_prefetch);
+
+// Whether to read the arrow batches of the jni scanners that support arrow export, e.g. lakesoul,
+// by the arrow c data interface, instead of the copies in the off-heap vector table of java side.
+// It is disabled by default until the export path is covered by the regression tests of lakesoul.
+DECLARE_mBool(enable_jni_scanner_arrow_export);
+
 // Global bitmap cache capacity for aggregation cache, size in bytes
 DECLARE_Int64(delete_bitmap_agg_cache_capacity);
 DECLARE_String(delete_bitmap_dynamic_agg_cache_limit);
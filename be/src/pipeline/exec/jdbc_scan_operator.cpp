@@ -30,14 +30,45 @@ std::string JDBCScanLocalState::name_suffix() const {
 
 Status JDBCScanLocalState::_init_scanners(std::list<vectorized::VScannerSPtr>* scanners) {
     auto& p = _parent->cast<JDBCScanOperatorX>();
-    std::unique_ptr<vectorized::NewJdbcScanner> scanner = vectorized::NewJdbcScanner::create_unique(
-            state(), this, p._limit, p._tuple_id, p._query_string, p._table_type,
-            _scanner_profile.get());
-    RETURN_IF_ERROR(scanner->prepare(state(), _conjuncts));
-    scanners->push_back(std::move(scanner));
+    if (_range_query_strings.empty()) {
+        if (!_has_unsplit_range) {
+            // the ranges split by FE are all assigned to the other instances
+            _eos = true;
+            _scan_dependency->set_ready();
+            return Status::OK();
+        }
+        // the scan is not split by FE, read the whole table with the query of the plan node
+        std::unique_ptr<vectorized::NewJdbcScanner> scanner =
+                vectorized::NewJdbcScanner::create_unique(state(), this, p._limit, p._tuple_id,
+                                                          p._query_string, p._table_type,
+                                                          _scanner_profile.get());
+        RETURN_IF_ERROR(scanner->prepare(state(), _conjuncts));
+        scanners->push_back(std::move(scanner));
+        return Status::OK();
+    }
+    for (const auto& query_string : _range_query_strings) {
+        std::unique_ptr<vectorized::NewJdbcScanner> scanner =
+                vectorized::NewJdbcScanner::create_unique(state(), this, p._limit, p._tuple_id,
+                                                          query_string, p._table_type,
+                                                          _scanner_profile.get());
+        RETURN_IF_ERROR(scanner->prepare(state(), _conjuncts));
+        scanners->push_back(std::move(scanner));
+    }
     return Status::OK();
 }
 
+void JDBCScanLocalState::set_scan_ranges(RuntimeState* state,
+                                         const std::vector<TScanRangeParams>& scan_ranges) {
+    for (const auto& scan_range : scan_ranges) {
+        if (scan_range.scan_range.__isset.jdbc_scan_range &&
+            scan_range.scan_range.jdbc_scan_range.__isset.query_string) {
+            _range_query_strings.emplace_back(scan_range.scan_range.jdbc_scan_range.query_string);
+        } else {
+            _has_unsplit_range = true;
+        }
+    }
+}
+
 JDBCScanOperatorX::JDBCScanOperatorX(ObjectPool* pool, const TPlanNode& tnode, int operator_id,
                                      const DescriptorTbl& descs, int parallel_tasks)
         : ScanOperatorX<JDBCScanLocalState>(pool, tnode, operator_id, descs, parallel_tasks),
@@ -47,6 +47,14 @@ public:
 
 private:
     friend class vectorized::NewJdbcScanner;
+
+    void set_scan_ranges(RuntimeState* state,
+                         const std::vector<TScanRangeParams>& scan_ranges) override;
+
+    // the queries of the ranges if the scan is split by FE, one scanner for each of them
+    std::vector<std::string> _range_query_strings;
+    // whether the single range of the scan not split by FE is assigned to this instance
+    bool _has_unsplit_range = false;
 };
 
 class JDBCScanOperatorX final : public ScanOperatorX<JDBCScanLocalState> {
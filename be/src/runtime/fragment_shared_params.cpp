@@ -0,0 +1,78 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+#include "runtime/fragment_shared_params.h"
+
+#include <gen_cpp/PaloInternalService_types.h>
+#include <gen_cpp/internal_service.pb.h>
+
+#include <string>
+#include <utility>
+
+#include "util/block_compression.h"
+#include "util/slice.h"
+#include "util/thrift_util.h"
+#include "util/uid_util.h"
+
+namespace doris {
+
+Status deserialize_fragment_shared_params(const PExecPlanFragmentRequest& request,
+                                          TPipelineFragmentSharedParams* shared_params) {
+    const std::string& ser_params = request.shared_params();
+    std::string decompressed;
+    Slice slice(ser_params);
+    if (request.shared_params_compressed()) {
+        BlockCompressionCodec* codec;
+        RETURN_IF_ERROR(
+                get_block_compression_codec(request.shared_params_compression_type(), &codec));
+        decompressed.resize(request.shared_params_uncompressed_size());
+        slice = Slice(decompressed);
+        RETURN_IF_ERROR(codec->decompress(Slice(ser_params), &slice));
+    }
+    const uint8_t* buf = (const uint8_t*)slice.data;
+    uint32_t len = slice.size;
+    return deserialize_thrift_msg(buf, &len, true, shared_params);
+}
+
+Status set_fragment_shared_params(TPipelineFragmentSharedParams* shared_params,
+                                  TPipelineFragmentParams* fragment) {
+    // FE sends each fragment to a backend only once, so the plan fragment can be moved
+    if (!fragment->__isset.fragment) {
+        auto it = shared_params->fragments.find(fragment->fragment_id);
+        if (it == shared_params->fragments.end()) {
+            return Status::InternalError("Plan fragment {} is not found in shared params of {}",
+                                         fragment->fragment_id, print_id(fragment->query_id));
+        }
+        fragment->__set_fragment(std::move(it->second));
+        shared_params->fragments.erase(it);
+    }
+    // Only the first fragment of the request is not simplified and carries the common fields
+    if (!fragment->is_simplified_param) {
+        if (shared_params->__isset.desc_tbl && !fragment->__isset.desc_tbl) {
+            fragment->__set_desc_tbl(std::move(shared_params->desc_tbl));
+        }
+        if (shared_params->__isset.query_globals && !fragment->__isset.query_globals) {
+            fragment->__set_query_globals(std::move(shared_params->query_globals));
+        }
+        if (shared_params->__isset.file_scan_params && !fragment->__isset.file_scan_params) {
+            fragment->__set_file_scan_params(std::move(shared_params->file_scan_params));
+        }
+    }
+    return Status::OK();
+}
+
+} // namespace doris
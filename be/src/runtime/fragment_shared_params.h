@@ -0,0 +1,38 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+#pragma once
+
+#include "common/status.h"
+
+namespace doris {
+
+class PExecPlanFragmentRequest;
+class TPipelineFragmentParams;
+class TPipelineFragmentSharedParams;
+
+// Deserialize the TPipelineFragmentSharedParams in the shared_params of the request,
+// which is compressed if shared_params_compressed is set.
+Status deserialize_fragment_shared_params(const PExecPlanFragmentRequest& request,
+                                          TPipelineFragmentSharedParams* shared_params);
+
+// Set the parts of the fragment which are sent in the shared params of the request.
+// The fragments in the shared params are moved to the params, so each of them can be set only once.
+Status set_fragment_shared_params(TPipelineFragmentSharedParams* shared_params,
+                                  TPipelineFragmentParams* fragment);
+
+} // namespace doris
@@ -96,6 +96,7 @@
 #include "runtime/exec_env.h"
 #include "runtime/fold_constant_executor.h"
 #include "runtime/fragment_mgr.h"
+#include "runtime/fragment_shared_params.h"
 #include "runtime/load_channel_mgr.h"
 #include "runtime/load_stream_mgr.h"
 #include "runtime/result_buffer_mgr.h"
@@ -307,7 +308,16 @@ void PInternalService::_exec_plan_fragment_in_pthread(google::protobuf::RpcContr
     PFragmentRequestVersion version =
             request->has_version() ? request->version() : PFragmentRequestVersion::VERSION_1;
     try {
-        st = _exec_plan_fragment_impl(request->request(), version, compact);
+        if (request->has_shared_params()) {
+            TPipelineFragmentSharedParams shared_params;
+            st = deserialize_fragment_shared_params(*request, &shared_params);
+            if (st.ok()) {
+                st = _exec_plan_fragment_impl(request->request(), version, compact, {},
+                                              &shared_params);
+            }
+        } else {
+            st = _exec_plan_fragment_impl(request->request(), version, compact);
+        }
     } catch (const Exception& e) {
         st = e.to_status();
     } catch (...) {
@@ -476,7 +486,8 @@ void PInternalService::tablet_writer_cancel(google::protobuf::RpcController* con
 
 Status PInternalService::_exec_plan_fragment_impl(
         const std::string& ser_request, PFragmentRequestVersion version, bool compact,
-        const std::function<void(RuntimeState*, Status*)>& cb) {
+        const std::function<void(RuntimeState*, Status*)>& cb,
+        TPipelineFragmentSharedParams* shared_params) {
     // Sometimes the BE do not receive the first heartbeat message and it receives request from FE
     // If BE execute this fragment, it will core when it wants to get some property from master info.
     if (ExecEnv::GetInstance()->master_info() == nullptr) {
@@ -537,6 +548,11 @@ Status PInternalService::_exec_plan_fragment_impl(
         if (fragment_list.empty()) {
             return Status::InternalError("Invalid TPipelineFragmentParamsList!");
         }
+        if (shared_params != nullptr) {
+            for (TPipelineFragmentParams& fragment : t_request.params_list) {
+                RETURN_IF_ERROR(set_fragment_shared_params(shared_params, &fragment));
+            }
+        }
         MonotonicStopWatch timer;
         timer.start();
         for (const TPipelineFragmentParams& fragment : fragment_list) {
@@ -37,6 +37,7 @@ class ExecEnv;
 class PHandShakeRequest;
 class PHandShakeResponse;
 class RuntimeState;
+class TPipelineFragmentSharedParams;
 
 template <typename T>
 concept CanCancel = requires(T* response) { response->mutable_status(); };
@@ -234,7 +235,8 @@ private:
     Status _exec_plan_fragment_impl(const std::string& s_request, PFragmentRequestVersion version,
                                     bool compact,
                                     const std::function<void(RuntimeState*, Status*)>& cb =
-                                            std::function<void(RuntimeState*, Status*)>());
+                                            std::function<void(RuntimeState*, Status*)>(),
+                                    TPipelineFragmentSharedParams* shared_params = nullptr);
 
     Status _fold_constant_expr(const std::string& ser_request, PConstantExprResult* response);
 
@@ -161,8 +161,8 @@ void DataTypeDateTimeV2SerDe::read_column_from_arrow(IColumn& column,
             DateV2Value<DateTimeV2ValueType> v;
             // convert second
             v.from_unixtime(utc_epoch / divisor, ctz);
-            // get rest time
-            v.set_microsecond(utc_epoch % divisor);
+            // get rest time, in microseconds whatever the time unit is
+            v.set_microsecond(utc_epoch % divisor * DIVISOR_FOR_MICRO / divisor);
             col_data.emplace_back(binary_cast<DateV2Value<DateTimeV2ValueType>, UInt64>(v));
         }
     } else {
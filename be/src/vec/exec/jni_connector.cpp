@@ -17,11 +17,16 @@
 
 #include "jni_connector.h"
 
+#include <arrow/c/abi.h>
+#include <arrow/c/bridge.h>
+#include <arrow/record_batch.h>
+#include <cctz/time_zone.h>
 #include <glog/logging.h>
 
 #include <sstream>
 #include <variant>
 
+#include "common/config.h"
 #include "jni.h"
 #include "runtime/decimalv2_value.h"
 #include "runtime/runtime_state.h"
@@ -37,6 +42,7 @@
 #include "vec/data_types/data_type_map.h"
 #include "vec/data_types/data_type_nullable.h"
 #include "vec/data_types/data_type_struct.h"
+#include "vec/utils/arrow_column_to_doris_column.h"
 
 namespace doris {
 class RuntimeProfile;
@@ -89,6 +95,17 @@ Status JniConnector::open(RuntimeState* state, RuntimeProfile* profile) {
     env->CallVoidMethod(_jni_scanner_obj, _jni_scanner_open);
     _scanner_opened = true;
     RETURN_ERROR_IF_EXC(env);
+    if (config::enable_jni_scanner_arrow_export && !_is_table_schema) {
+        _use_arrow_export =
+                env->CallBooleanMethod(_jni_scanner_obj, _jni_scanner_support_arrow_export);
+        RETURN_ERROR_IF_EXC(env);
+    }
+    if (_use_arrow_export) {
+        // only the scanners implementing org.apache.doris.common.jni.ArrowExportable have it
+        _jni_scanner_get_next_batch_arrow =
+                env->GetMethodID(_jni_scanner_cls, "getNextBatchArrow", "(JJ)J");
+        RETURN_ERROR_IF_EXC(env);
+    }
     return Status::OK();
 }
 
@@ -108,6 +125,9 @@ Status JniConnector::init(
 }
 
 Status JniConnector::get_next_block(Block* block, size_t* read_rows, bool* eof) {
+    if (_use_arrow_export) {
+        return _get_next_block_by_arrow(block, read_rows, eof);
+    }
     // Call org.apache.doris.common.jni.JniScanner#getNextBatchMeta
     // return the address of meta information
     JNIEnv* env = nullptr;
@@ -140,6 +160,62 @@ Status JniConnector::get_next_block(Block* block, size_t* read_rows, bool* eof)
     return Status::OK();
 }
 
+Status JniConnector::_get_next_block_by_arrow(Block* block, size_t* read_rows, bool* eof) {
+    JNIEnv* env = nullptr;
+    RETURN_IF_ERROR(JniUtil::GetJNIEnv(&env));
+    struct ArrowArray c_array;
+    struct ArrowSchema c_schema;
+    jlong num_rows = 0;
+    {
+        SCOPED_TIMER(_java_scan_time);
+        // Call org.apache.doris.common.jni.ArrowExportable#getNextBatchArrow
+        // the structs are filled by java side only if the number of rows is not 0
+        num_rows = env->CallLongMethod(_jni_scanner_obj, _jni_scanner_get_next_batch_arrow,
+                                       reinterpret_cast<jlong>(&c_array),
+                                       reinterpret_cast<jlong>(&c_schema));
+    }
+    RETURN_ERROR_IF_EXC(env);
+    if (num_rows == 0) {
+        *read_rows = 0;
+        *eof = true;
+        return Status::OK();
+    }
+    SCOPED_TIMER(_fill_block_time);
+    // The imported batch takes the ownership of the exported buffers,
+    // and they are released by java side when the batch is destroyed.
+    auto import_result = arrow::ImportRecordBatch(&c_array, &c_schema);
+    if (!import_result.ok()) {
+        return Status::InternalError("Failed to import arrow batch from jni scanner: {}",
+                                     import_result.status().ToString());
+    }
+    std::shared_ptr<arrow::RecordBatch> batch = import_result.ValueOrDie();
+    size_t batch_rows = static_cast<size_t>(num_rows);
+    // the columns of the batch are in the order of the required fields
+    if (static_cast<size_t>(batch->num_columns()) != _column_names.size()) {
+        return Status::InternalError("The arrow batch of jni scanner has {} columns, expected {}",
+                                     batch->num_columns(), _column_names.size());
+    }
+    for (size_t i = 0; i < _column_names.size(); ++i) {
+        const std::string& column_name = _column_names[i];
+        auto& column_with_type_and_name = block->get_by_name(column_name);
+        std::shared_ptr<arrow::Array> arrow_column = batch->column(static_cast<int>(i));
+        size_t origin_size = column_with_type_and_name.column->size();
+        // the timestamps are converted in UTC whatever the time zone of the arrow type is,
+        // which is the same as the vector table of java side
+        RETURN_IF_ERROR(arrow_column_to_doris_column(
+                arrow_column.get(), 0, column_with_type_and_name.column,
+                column_with_type_and_name.type, batch_rows, cctz::utc_time_zone()));
+        if (column_with_type_and_name.column->size() != origin_size + batch_rows) {
+            return Status::InternalError("Unsupported arrow type {} of column {} in jni scanner",
+                                         arrow_column->type()->ToString(), column_name);
+        }
+    }
+    *read_rows = batch_rows;
+    *eof = false;
+    _has_read += batch_rows;
+    return Status::OK();
+}
+
 Status JniConnector::get_table_schema(std::string& table_schema_str) {
     JNIEnv* env = nullptr;
     RETURN_IF_ERROR(JniUtil::GetJNIEnv(&env));
@@ -221,6 +297,8 @@ Status JniConnector::_init_jni_scanner(JNIEnv* env, int batch_size) {
     _jni_scanner_release_table = env->GetMethodID(_jni_scanner_cls, "releaseTable", "()V");
     _jni_scanner_get_statistics =
             env->GetMethodID(_jni_scanner_cls, "getStatistics", "()Ljava/util/Map;");
+    _jni_scanner_support_arrow_export =
+            env->GetMethodID(_jni_scanner_cls, "supportArrowExport", "()Z");
     RETURN_IF_ERROR(JniUtil::LocalToGlobalRef(env, jni_scanner_obj, &_jni_scanner_obj));
     env->DeleteLocalRef(jni_scanner_obj);
     RETURN_ERROR_IF_EXC(env);
@@ -306,6 +306,10 @@ private:
     jmethodID _jni_scanner_release_column;
     jmethodID _jni_scanner_release_table;
     jmethodID _jni_scanner_get_statistics;
+    jmethodID _jni_scanner_support_arrow_export;
+    jmethodID _jni_scanner_get_next_batch_arrow;
+    // read the batches exported by the arrow c data interface, see ArrowExportable
+    bool _use_arrow_export = false;
 
     TableMetaAddress _table_meta;
 
@@ -321,6 +325,8 @@ private:
 
     Status _fill_block(Block* block, size_t num_rows);
 
+    Status _get_next_block_by_arrow(Block* block, size_t* read_rows, bool* eof);
+
     static Status _fill_column(TableMetaAddress& address, ColumnPtr& doris_column,
                                DataTypePtr& data_type, size_t num_rows);
 
@@ -0,0 +1,128 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+#include "runtime/fragment_shared_params.h"
+
+#include <gen_cpp/PaloInternalService_types.h>
+#include <gen_cpp/internal_service.pb.h>
+#include <gen_cpp/segment_v2.pb.h>
+#include <gtest/gtest-message.h>
+#include <gtest/gtest-test-part.h>
+
+#include <string>
+
+#include "gtest/gtest_pred_impl.h"
+#include "util/block_compression.h"
+#include "util/faststring.h"
+#include "util/slice.h"
+#include "util/thrift_util.h"
+
+namespace doris {
+
+class FragmentSharedParamsTest : public testing::Test {
+protected:
+    void SetUp() override {
+        TDescriptorTable desc_tbl;
+        desc_tbl.__set_tupleDescriptors({});
+        _shared_params.__set_desc_tbl(desc_tbl);
+        TQueryGlobals query_globals;
+        query_globals.__set_now_string("2024-01-01 00:00:00");
+        _shared_params.__set_query_globals(query_globals);
+        TFileScanRangeParams file_scan_params;
+        file_scan_params.__set_file_type(TFileType::FILE_LOCAL);
+        _shared_params.__set_file_scan_params({{1, file_scan_params}});
+        TPlanFragment fragment0;
+        fragment0.partition.__set_type(TPartitionType::UNPARTITIONED);
+        TPlanFragment fragment1;
+        fragment1.partition.__set_type(TPartitionType::RANDOM);
+        _shared_params.__set_fragments({{0, fragment0}, {1, fragment1}});
+
+        ThriftSerializer serializer(true, 1024);
+        EXPECT_TRUE(serializer.serialize(&_shared_params, &_serialized).ok());
+    }
+
+    static TPipelineFragmentParams _fragment(int fragment_id, bool is_simplified_param) {
+        TPipelineFragmentParams fragment;
+        fragment.__set_fragment_id(fragment_id);
+        fragment.__set_is_simplified_param(is_simplified_param);
+        return fragment;
+    }
+
+    TPipelineFragmentSharedParams _shared_params;
+    std::string _serialized;
+};
+
+TEST_F(FragmentSharedParamsTest, deserialize_uncompressed) {
+    PExecPlanFragmentRequest request;
+    request.set_shared_params(_serialized);
+
+    TPipelineFragmentSharedParams shared_params;
+    EXPECT_TRUE(deserialize_fragment_shared_params(request, &shared_params).ok());
+    EXPECT_EQ(_shared_params, shared_params);
+}
+
+TEST_F(FragmentSharedParamsTest, deserialize_compressed) {
+    BlockCompressionCodec* codec;
+    EXPECT_TRUE(get_block_compression_codec(segment_v2::CompressionTypePB::SNAPPY, &codec).ok());
+    faststring compressed;
+    EXPECT_TRUE(codec->compress(Slice(_serialized), &compressed).ok());
+    PExecPlanFragmentRequest request;
+    request.set_shared_params(compressed.data(), compressed.size());
+    request.set_shared_params_compressed(true);
+    request.set_shared_params_uncompressed_size(_serialized.size());
+    request.set_shared_params_compression_type(segment_v2::CompressionTypePB::SNAPPY);
+
+    TPipelineFragmentSharedParams shared_params;
+    EXPECT_TRUE(deserialize_fragment_shared_params(request, &shared_params).ok());
+    EXPECT_EQ(_shared_params, shared_params);
+}
+
+TEST_F(FragmentSharedParamsTest, set_shared_params) {
+    TPipelineFragmentSharedParams shared_params = _shared_params;
+    // the first fragment of the request carries the common fields
+    TPipelineFragmentParams first = _fragment(1, false);
+    TPipelineFragmentParams second = _fragment(0, true);
+    EXPECT_TRUE(set_fragment_shared_params(&shared_params, &first).ok());
+    EXPECT_TRUE(set_fragment_shared_params(&shared_params, &second).ok());
+
+    EXPECT_EQ(_shared_params.fragments[1], first.fragment);
+    EXPECT_EQ(_shared_params.desc_tbl, first.desc_tbl);
+    EXPECT_EQ(_shared_params.query_globals, first.query_globals);
+    EXPECT_EQ(_shared_params.file_scan_params, first.file_scan_params);
+    EXPECT_EQ(_shared_params.fragments[0], second.fragment);
+    EXPECT_FALSE(second.__isset.desc_tbl);
+    EXPECT_FALSE(second.__isset.query_globals);
+    EXPECT_FALSE(second.__isset.file_scan_params);
+}
+
+TEST_F(FragmentSharedParamsTest, set_missing_fragment) {
+    TPipelineFragmentSharedParams shared_params = _shared_params;
+    TPipelineFragmentParams fragment = _fragment(0, false);
+    EXPECT_TRUE(set_fragment_shared_params(&shared_params, &fragment).ok());
+    // each fragment is moved to the params only once
+    TPipelineFragmentParams duplicated = _fragment(0, true);
+    EXPECT_FALSE(set_fragment_shared_params(&shared_params, &duplicated).ok());
+    TPipelineFragmentParams unknown = _fragment(2, true);
+    EXPECT_FALSE(set_fragment_shared_params(&shared_params, &unknown).ok());
+
+    // the fragment in the params is kept
+    TPipelineFragmentParams with_fragment = _fragment(2, true);
+    with_fragment.__set_fragment(_shared_params.fragments[1]);
+    EXPECT_TRUE(set_fragment_shared_params(&shared_params, &with_fragment).ok());
+}
+
+} // namespace doris
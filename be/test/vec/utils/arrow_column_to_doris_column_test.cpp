@@ -21,9 +21,11 @@
 #include <arrow/array/array_decimal.h>
 #include <arrow/array/data.h>
 #include <arrow/buffer.h>
+#include <arrow/builder.h>
 #include <arrow/result.h>
 #include <arrow/util/bit_util.h>
 #include <assert.h>
+#include <cctz/time_zone.h>
 #include <gtest/gtest-message.h>
 #include <gtest/gtest-test-part.h>
 #include <stdint.h>
@@ -57,6 +59,7 @@
 #include "vec/core/field.h"
 #include "vec/core/types.h"
 #include "vec/data_types/data_type_decimal.h"
+#include "vec/data_types/data_type_time_v2.h"
 #include "vec/data_types/data_type_factory.hpp"
 #include "vec/runtime/vdatetime_value.h"
 
@@ -485,6 +488,57 @@ void test_fixed_binary(const std::vector<std::string>& test_cases, size_t num_el
     }
 }
 
+TEST(ArrowColumnToDorisColumnTest, test_timestamp_to_datetimev2) {
+    // 2022-05-08 00:00:01.123456 UTC
+    int64_t epoch_micros = 1651968001123456L;
+    std::vector<std::pair<arrow::TimeUnit::type, int64_t>> cases = {
+            {arrow::TimeUnit::SECOND, epoch_micros / 1000000},
+            {arrow::TimeUnit::MILLI, epoch_micros / 1000},
+            {arrow::TimeUnit::MICRO, epoch_micros},
+            {arrow::TimeUnit::NANO, epoch_micros * 1000}};
+    std::vector<uint32_t> microseconds = {0, 123000, 123456, 123456};
+    for (size_t i = 0; i < cases.size(); ++i) {
+        arrow::TimestampBuilder builder(arrow::timestamp(cases[i].first, "UTC"),
+                                        arrow::default_memory_pool());
+        ASSERT_TRUE(builder.Append(cases[i].second).ok());
+        std::shared_ptr<arrow::Array> array;
+        ASSERT_TRUE(builder.Finish(&array).ok());
+
+        DataTypePtr data_type = std::make_shared<DataTypeDateTimeV2>(6);
+        ColumnPtr column = data_type->create_column();
+        auto ret = arrow_column_to_doris_column(array.get(), 0, column, data_type, 1, "UTC");
+        ASSERT_TRUE(ret.ok());
+        ASSERT_EQ(column->size(), 1U);
+        auto value = binary_cast<UInt64, DateV2Value<DateTimeV2ValueType>>(
+                static_cast<const ColumnVector<UInt64>&>(*column).get_data()[0]);
+        ASSERT_EQ(value.second(), 1);
+        ASSERT_EQ(value.microsecond(), microseconds[i]);
+    }
+}
+
+TEST(ArrowColumnToDorisColumnTest, test_zoned_timestamp_to_datetimev2) {
+    // 2022-05-08 00:00:01.123456 UTC, the time zone of the arrow type is not used,
+    // so the jni scanners exporting the arrow batches get the same values as the vector table
+    arrow::TimestampBuilder builder(arrow::timestamp(arrow::TimeUnit::MICRO, "Asia/Shanghai"),
+                                    arrow::default_memory_pool());
+    ASSERT_TRUE(builder.Append(1651968001123456L).ok());
+    std::shared_ptr<arrow::Array> array;
+    ASSERT_TRUE(builder.Finish(&array).ok());
+
+    DataTypePtr data_type = std::make_shared<DataTypeDateTimeV2>(6);
+    ColumnPtr column = data_type->create_column();
+    auto ret = arrow_column_to_doris_column(array.get(), 0, column, data_type, 1,
+                                            cctz::utc_time_zone());
+    ASSERT_TRUE(ret.ok());
+    ASSERT_EQ(column->size(), 1U);
+    auto value = binary_cast<UInt64, DateV2Value<DateTimeV2ValueType>>(
+            static_cast<const ColumnVector<UInt64>&>(*column).get_data()[0]);
+    ASSERT_EQ(value.day(), 8);
+    ASSERT_EQ(value.hour(), 0);
+    ASSERT_EQ(value.second(), 1);
+    ASSERT_EQ(value.microsecond(), 123456U);
+}
+
 TEST(ArrowColumnToDorisColumnTest, test_fixed_binary) {
     std::vector<std::string> test_cases = {"1.2345678", "-12.34567890", "99999999999.99999999",
                                            "-99999999999.99999999"};
@@ -20,6 +20,7 @@ package org.apache.doris.hudi;
 
 import org.apache.doris.common.jni.JniScanner;
 import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.PrimitiveColumnWriter;
 import org.apache.doris.common.security.authentication.AuthenticationConfig;
 import org.apache.doris.common.security.authentication.HadoopUGI;
 
@@ -29,6 +30,7 @@ import org.apache.avro.util.WeakIdentityHashMap;
 import org.apache.log4j.Logger;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.unsafe.types.UTF8String;
 import scala.collection.Iterator;
 
 import java.io.Closeable;
@@ -62,6 +64,8 @@ public class HudiJniScanner extends JniScanner {
 
     private long getRecordReaderTimeNs = 0;
     private Iterator<InternalRow> recordIterator;
+    // write the primitive values without ColumnValue, null if the type is not supported
+    private PrimitiveColumnWriter[] writers;
 
     /**
      * `GenericDatumReader` of avro is a thread local map, that stores `WeakIdentityHashMap`.
@@ -206,14 +210,27 @@ public class HudiJniScanner extends JniScanner {
             HudiColumnValue columnValue = new HudiColumnValue();
             int numFields = split.requiredFields().length;
             ColumnType[] columnTypes = split.requiredTypes();
+            if (writers == null) {
+                initWriters(columnTypes);
+            }
             while (readRowNumbers < fetchSize && recordIterator.hasNext()) {
-                columnValue.reset(recordIterator.next());
+                InternalRow row = recordIterator.next();
+                columnValue.reset(row);
                 for (int i = 0; i < numFields; i++) {
-                    columnValue.reset(i, columnTypes[i]);
-                    appendData(i, columnValue);
+                    if (writers[i] != null) {
+                        writeValue(writers[i], row, i, columnTypes[i]);
+                    } else {
+                        columnValue.reset(i, columnTypes[i]);
+                        appendData(i, columnValue);
+                    }
                 }
                 readRowNumbers++;
             }
+            for (int i = 0; i < numFields; i++) {
+                if (writers[i] != null) {
+                    writers[i].flush(vectorTable.getColumn(i));
+                }
+            }
             return readRowNumbers;
         } catch (Exception e) {
             close();
@@ -222,6 +239,61 @@ public class HudiJniScanner extends JniScanner {
         }
     }
 
+    private void initWriters(ColumnType[] columnTypes) {
+        writers = new PrimitiveColumnWriter[columnTypes.length];
+        for (int i = 0; i < columnTypes.length; i++) {
+            // the timestamp of hudi is converted by the system time zone in HudiColumnValue
+            if (PrimitiveColumnWriter.isSupported(columnTypes[i])
+                    && columnTypes[i].getType() != ColumnType.Type.DATETIME
+                    && columnTypes[i].getType() != ColumnType.Type.DATETIMEV2) {
+                writers[i] = new PrimitiveColumnWriter(columnTypes[i], fetchSize);
+            }
+        }
+    }
+
+    private static void writeValue(PrimitiveColumnWriter writer, InternalRow row, int i, ColumnType columnType) {
+        if (row.isNullAt(i)) {
+            writer.putNull();
+            return;
+        }
+        switch (columnType.getType()) {
+            case BOOLEAN:
+                writer.putBoolean(row.getBoolean(i));
+                break;
+            case TINYINT:
+                writer.putByte(row.getByte(i));
+                break;
+            case SMALLINT:
+                writer.putShort(row.getShort(i));
+                break;
+            case INT:
+                writer.putInt(row.getInt(i));
+                break;
+            case BIGINT:
+                writer.putLong(row.getLong(i));
+                break;
+            case FLOAT:
+                writer.putFloat(row.getFloat(i));
+                break;
+            case DOUBLE:
+                writer.putDouble(row.getDouble(i));
+                break;
+            case DATE:
+            case DATEV2:
+                writer.putEpochDay(row.getInt(i));
+                break;
+            case BINARY:
+                byte[] binary = row.getBinary(i);
+                writer.putBytes(binary, 0, binary.length);
+                break;
+            default:
+                // copy the bytes from the base object of the string directly
+                UTF8String string = row.getUTF8String(i);
+                writer.putBytes(string.getBaseObject(), string.getBaseOffset(), string.numBytes());
+                break;
+        }
+    }
+
     @Override
     public Map<String, String> getStatistics() {
         return Collections.singletonMap("timer:GetRecordReaderTime", String.valueOf(getRecordReaderTimeNs));
@@ -0,0 +1,40 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.jni;
+
+import org.apache.doris.common.jni.vec.VectorTable;
+
+import java.io.IOException;
+
+/**
+ * Implemented by the {@link JniScanner} which can export its batches by Arrow C Data Interface, so BE can read the
+ * arrow buffers of the scanner without the copies in {@link VectorTable}. BE prefers it to
+ * {@link JniScanner#getNextBatchMeta} if enable_jni_scanner_arrow_export is set.
+ * BE reads the arrow timestamps in UTC and ignores the time zone of the arrow type, which is the same as the
+ * timestamps converted to {@link VectorTable} by the scanners.
+ */
+public interface ArrowExportable {
+    /**
+     * Export the next batch to the ArrowArray and ArrowSchema structs of Arrow C Data Interface allocated by BE.
+     * The structs are not filled if there is no more data, and the buffers are released by the release callbacks
+     * when BE has consumed the batch.
+     *
+     * @return the number of rows, or 0 if there is no more data
+     */
+    long getNextBatchArrow(long arrayAddress, long schemaAddress) throws IOException;
+}
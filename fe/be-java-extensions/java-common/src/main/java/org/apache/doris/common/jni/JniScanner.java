@@ -103,6 +103,13 @@ public abstract class JniScanner {
         return getMetaAddress(numRows);
     }
 
+    /**
+     * Whether the scanner implements {@link ArrowExportable}, called by BE to choose the way to read the batches.
+     */
+    public final boolean supportArrowExport() {
+        return this instanceof ArrowExportable;
+    }
+
     /**
      * Get performance metrics. The key should be pattern like "metricType:metricName".
      * Support three metric types: timer, counter and bytes.
@@ -26,6 +26,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 
 public class TypeNativeBytes {
+    private static final long MICROS_PER_DAY = 86400L * 1000000L;
+
     /**
      * Change the order of the bytes, Because JVM is Big-Endian , x86 is Little-Endian.
      */
@@ -107,6 +109,47 @@ public class TypeNativeBytes {
                 | (long) day << 37 | (long) month << 42 | (long) year << 46;
     }
 
+    /**
+     * Convert the days since 1970-01-01 to DateV2 without creating LocalDate,
+     * see <a href="https://howardhinnant.github.io/date_algorithms.html#civil_from_days">civil_from_days</a>
+     */
+    public static int convertEpochDayToDateV2(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return convertToDateV2(year, month, day);
+    }
+
+    public static long convertEpochDayToDate(long epochDay) {
+        int date = convertEpochDayToDateV2(epochDay);
+        return convertToDateTime(date >> 9, (date >> 5) & 0XF, date & 0X1F, 0, 0, 0, true);
+    }
+
+    /**
+     * Convert the microseconds since 1970-01-01 00:00:00 to DateTimeV2 without creating LocalDateTime.
+     */
+    public static long convertEpochMicrosToDateTimeV2(long epochMicros) {
+        long epochDay = Math.floorDiv(epochMicros, MICROS_PER_DAY);
+        long microOfDay = Math.floorMod(epochMicros, MICROS_PER_DAY);
+        long date = convertEpochDayToDateV2(epochDay);
+        long secondOfDay = microOfDay / 1000000;
+        return microOfDay % 1000000 | secondOfDay % 60 << 20 | secondOfDay / 60 % 60 << 26
+                | secondOfDay / 3600 << 32 | date << 37;
+    }
+
+    public static long convertEpochMicrosToDateTime(long epochMicros) {
+        int date = convertEpochDayToDateV2(Math.floorDiv(epochMicros, MICROS_PER_DAY));
+        long secondOfDay = Math.floorMod(epochMicros, MICROS_PER_DAY) / 1000000;
+        return convertToDateTime(date >> 9, (date >> 5) & 0XF, date & 0X1F, (int) (secondOfDay / 3600),
+                (int) (secondOfDay / 60 % 60), (int) (secondOfDay % 60), false);
+    }
+
     public static LocalDate convertToJavaDateV1(long date) {
         int year = (int) (date >> 48);
         int yearMonth = (int) (date >> 40);
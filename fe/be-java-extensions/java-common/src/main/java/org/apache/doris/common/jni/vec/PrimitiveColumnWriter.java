@@ -0,0 +1,275 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.jni.vec;
+
+import org.apache.doris.common.jni.utils.OffHeap;
+
+import java.util.Arrays;
+
+/**
+ * Buffer the values of a column in the arrays of the primitive type, and append them to {@link VectorColumn} in bulk
+ * by {@link #flush}. The arrays are reused between batches, so the scanners can write the values without
+ * the type dispatch of {@link VectorColumn#appendValue} and the boxed objects created by {@link ColumnValue}.
+ * The put method should match the column type, e.g. putEpochDay for DATEV2 column and putBytes for STRING column.
+ * The types not in {@link #isSupported} should still be appended by {@link ColumnValue}.
+ */
+public class PrimitiveColumnWriter {
+    private static final int DEFAULT_STRING_LENGTH = 16;
+
+    private final ColumnType.Type type;
+    private int capacity;
+    private int numRows = 0;
+    private boolean[] nulls;
+    private boolean hasNull = false;
+
+    private boolean[] booleans;
+    private byte[] bytes;
+    private short[] shorts;
+    // int values and the days since 1970-01-01 of dates
+    private int[] ints;
+    // long values and the microseconds since 1970-01-01 00:00:00 of datetimes
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+    // the bytes of strings and the end offset of each string
+    private byte[] stringBytes;
+    private int[] stringOffsets;
+    private int stringLength = 0;
+
+    public PrimitiveColumnWriter(ColumnType columnType, int capacity) {
+        if (!isSupported(columnType)) {
+            throw new IllegalArgumentException("Unsupported primitive column type: " + columnType.getType());
+        }
+        this.type = columnType.getType();
+        this.capacity = Math.max(capacity, 1);
+        this.nulls = new boolean[this.capacity];
+        allocate(this.capacity);
+    }
+
+    public static boolean isSupported(ColumnType columnType) {
+        switch (columnType.getType()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DATE:
+            case DATEV2:
+            case DATETIME:
+            case DATETIMEV2:
+            case CHAR:
+            case VARCHAR:
+            case STRING:
+            case BINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        switch (type) {
+            case BOOLEAN:
+                booleans = booleans == null ? new boolean[newCapacity] : Arrays.copyOf(booleans, newCapacity);
+                break;
+            case TINYINT:
+                bytes = bytes == null ? new byte[newCapacity] : Arrays.copyOf(bytes, newCapacity);
+                break;
+            case SMALLINT:
+                shorts = shorts == null ? new short[newCapacity] : Arrays.copyOf(shorts, newCapacity);
+                break;
+            case INT:
+            case DATE:
+            case DATEV2:
+                ints = ints == null ? new int[newCapacity] : Arrays.copyOf(ints, newCapacity);
+                break;
+            case BIGINT:
+            case DATETIME:
+            case DATETIMEV2:
+                longs = longs == null ? new long[newCapacity] : Arrays.copyOf(longs, newCapacity);
+                break;
+            case FLOAT:
+                floats = floats == null ? new float[newCapacity] : Arrays.copyOf(floats, newCapacity);
+                break;
+            case DOUBLE:
+                doubles = doubles == null ? new double[newCapacity] : Arrays.copyOf(doubles, newCapacity);
+                break;
+            default:
+                if (stringOffsets == null) {
+                    stringOffsets = new int[newCapacity];
+                    stringBytes = new byte[newCapacity * DEFAULT_STRING_LENGTH];
+                } else {
+                    stringOffsets = Arrays.copyOf(stringOffsets, newCapacity);
+                }
+                break;
+        }
+    }
+
+    // grow the arrays if they are full, which only happens when the scanner writes more rows than the capacity
+    private void reserveRow() {
+        if (numRows == capacity) {
+            int newCapacity = capacity * 2;
+            nulls = Arrays.copyOf(nulls, newCapacity);
+            allocate(newCapacity);
+            capacity = newCapacity;
+        }
+    }
+
+    private void reserveBytes(int length) {
+        long required = (long) stringLength + length;
+        if (required > stringBytes.length) {
+            if (required > Integer.MAX_VALUE - 15) {
+                throw new RuntimeException("String overflow, offset=" + stringLength + ", length=" + length);
+            }
+            stringBytes = Arrays.copyOf(stringBytes, (int) Math.min(Integer.MAX_VALUE - 15, required * 2));
+        }
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    public void putNull() {
+        reserveRow();
+        nulls[numRows] = true;
+        hasNull = true;
+        if (stringOffsets != null) {
+            stringOffsets[numRows] = stringLength;
+        }
+        numRows++;
+    }
+
+    public void putBoolean(boolean value) {
+        reserveRow();
+        booleans[numRows++] = value;
+    }
+
+    public void putByte(byte value) {
+        reserveRow();
+        bytes[numRows++] = value;
+    }
+
+    public void putShort(short value) {
+        reserveRow();
+        shorts[numRows++] = value;
+    }
+
+    public void putInt(int value) {
+        reserveRow();
+        ints[numRows++] = value;
+    }
+
+    public void putLong(long value) {
+        reserveRow();
+        longs[numRows++] = value;
+    }
+
+    public void putFloat(float value) {
+        reserveRow();
+        floats[numRows++] = value;
+    }
+
+    public void putDouble(double value) {
+        reserveRow();
+        doubles[numRows++] = value;
+    }
+
+    /**
+     * Put the date of DATE or DATEV2 column as the days since 1970-01-01.
+     */
+    public void putEpochDay(int epochDay) {
+        reserveRow();
+        ints[numRows++] = epochDay;
+    }
+
+    /**
+     * Put the datetime of DATETIME or DATETIMEV2 column as the microseconds since 1970-01-01 00:00:00.
+     */
+    public void putEpochMicros(long epochMicros) {
+        reserveRow();
+        longs[numRows++] = epochMicros;
+    }
+
+    public void putBytes(byte[] src, int offset, int length) {
+        putBytes(src, (long) OffHeap.BYTE_ARRAY_OFFSET + offset, length);
+    }
+
+    /**
+     * Put the bytes of string column at the address of the base object, or at the off heap address if base is null,
+     * so the bytes in the buffers of the file readers can be copied without the intermediate byte array.
+     */
+    public void putBytes(Object base, long address, int length) {
+        reserveRow();
+        reserveBytes(length);
+        OffHeap.copyMemory(base, address, stringBytes, OffHeap.BYTE_ARRAY_OFFSET + stringLength, length);
+        stringLength += length;
+        stringOffsets[numRows++] = stringLength;
+    }
+
+    /**
+     * Append the buffered values to the column, and clear the buffer.
+     */
+    public void flush(VectorColumn column) {
+        if (numRows == 0) {
+            return;
+        }
+        boolean[] nullMap = hasNull ? nulls : null;
+        switch (type) {
+            case BOOLEAN:
+                column.appendPrimitiveColumn(booleans, nullMap, numRows);
+                break;
+            case TINYINT:
+                column.appendPrimitiveColumn(bytes, nullMap, numRows);
+                break;
+            case SMALLINT:
+                column.appendPrimitiveColumn(shorts, nullMap, numRows);
+                break;
+            case INT:
+                column.appendPrimitiveColumn(ints, nullMap, numRows);
+                break;
+            case BIGINT:
+                column.appendPrimitiveColumn(longs, nullMap, numRows);
+                break;
+            case FLOAT:
+                column.appendPrimitiveColumn(floats, nullMap, numRows);
+                break;
+            case DOUBLE:
+                column.appendPrimitiveColumn(doubles, nullMap, numRows);
+                break;
+            case DATE:
+            case DATEV2:
+                column.appendEpochDays(ints, nullMap, numRows);
+                break;
+            case DATETIME:
+            case DATETIMEV2:
+                column.appendEpochMicros(longs, nullMap, numRows);
+                break;
+            default:
+                column.appendStrings(stringBytes, stringOffsets, nullMap, numRows);
+                stringLength = 0;
+                break;
+        }
+        if (hasNull) {
+            Arrays.fill(nulls, 0, numRows, false);
+            hasNull = false;
+        }
+        numRows = 0;
+    }
+}
@@ -25,12 +25,14 @@ import org.apache.doris.common.jni.vec.NativeColumnValue.NativeValue;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -1339,6 +1341,209 @@ public class VectorColumn {
         }
     }
 
+    /**
+     * Get a copy of the null map of the rows in [start, end), or null if there is no null value.
+     */
+    public boolean[] getNullMap(int start, int end) {
+        if (!hasNull()) {
+            return null;
+        }
+        if (nulls != null) {
+            return Arrays.copyOfRange(nulls, start, end);
+        }
+        return OffHeap.getBoolean(null, nullMap + start, end - start);
+    }
+
+    /**
+     * Get the values of the rows in [start, end) as the array of the primitive type without boxing,
+     * e.g. int[] for INT column and String[] for string column.
+     * The values of the null rows are undefined except for string column, whose null values are null.
+     */
+    public Object getPrimitiveColumn(int start, int end) {
+        int length = end - start;
+        switch (columnType.getType()) {
+            case BOOLEAN:
+                return OffHeap.getBoolean(null, data + start, length);
+            case TINYINT:
+                return OffHeap.getByte(null, data + start, length);
+            case SMALLINT:
+                return OffHeap.getShort(null, data + 2L * start, length);
+            case INT:
+                return OffHeap.getInt(null, data + 4L * start, length);
+            case BIGINT:
+                return OffHeap.getLong(null, data + 8L * start, length);
+            case FLOAT:
+                return OffHeap.getFloat(null, data + 4L * start, length);
+            case DOUBLE:
+                return OffHeap.getDouble(null, data + 8L * start, length);
+            case CHAR:
+            case VARCHAR:
+            case STRING:
+                return getStringColumn(start, end);
+            default:
+                throw new RuntimeException("Unsupported primitive column type: " + columnType.getType());
+        }
+    }
+
+    /**
+     * Append the values returned by {@link #getPrimitiveColumn}, the row is null if nullMap[i] is true,
+     * the null map can be null if there is no null value.
+     */
+    public void appendPrimitiveColumn(Object batch, boolean[] nullMap) {
+        switch (columnType.getType()) {
+            case CHAR:
+            case VARCHAR:
+            case STRING:
+                String[] strings = (String[]) batch;
+                if (nullMap != null) {
+                    for (int i = 0; i < strings.length; ++i) {
+                        if (nullMap[i]) {
+                            strings[i] = null;
+                        }
+                    }
+                }
+                appendStringAndOffset(strings, nullMap != null);
+                return;
+            default:
+                appendPrimitiveColumn(batch, nullMap, Array.getLength(batch));
+        }
+    }
+
+    /**
+     * Append the first rows values of the array of the primitive type, e.g. int[] for INT column,
+     * so the scanners can fill the reused arrays and append them without boxing.
+     * The row is null if nullMap[i] is true, the null map can be null if there is no null value.
+     */
+    public void appendPrimitiveColumn(Object batch, boolean[] nullMap, int rows) {
+        int typeSize;
+        int arrayOffset;
+        int batchLength;
+        switch (columnType.getType()) {
+            case BOOLEAN:
+                batchLength = ((boolean[]) batch).length;
+                typeSize = 1;
+                arrayOffset = OffHeap.BOOLEAN_ARRAY_OFFSET;
+                break;
+            case TINYINT:
+                batchLength = ((byte[]) batch).length;
+                typeSize = 1;
+                arrayOffset = OffHeap.BYTE_ARRAY_OFFSET;
+                break;
+            case SMALLINT:
+                batchLength = ((short[]) batch).length;
+                typeSize = 2;
+                arrayOffset = OffHeap.SHORT_ARRAY_OFFSET;
+                break;
+            case INT:
+                batchLength = ((int[]) batch).length;
+                typeSize = 4;
+                arrayOffset = OffHeap.INT_ARRAY_OFFSET;
+                break;
+            case BIGINT:
+                batchLength = ((long[]) batch).length;
+                typeSize = 8;
+                arrayOffset = OffHeap.LONG_ARRAY_OFFSET;
+                break;
+            case FLOAT:
+                batchLength = ((float[]) batch).length;
+                typeSize = 4;
+                arrayOffset = OffHeap.FLOAT_ARRAY_OFFSET;
+                break;
+            case DOUBLE:
+                batchLength = ((double[]) batch).length;
+                typeSize = 8;
+                arrayOffset = OffHeap.DOUBLE_ARRAY_OFFSET;
+                break;
+            default:
+                throw new RuntimeException("Unsupported primitive column type: " + columnType.getType());
+        }
+        Preconditions.checkArgument(rows <= batchLength, "The number of rows is greater than the batch");
+        reserve(appendIndex + rows);
+        appendNullMap(nullMap, rows);
+        OffHeap.UNSAFE.copyMemory(batch, arrayOffset, null, data + (long) typeSize * appendIndex,
+                (long) typeSize * rows);
+        appendIndex += rows;
+    }
+
+    /**
+     * Append the first rows dates, which are the days since 1970-01-01, to DATE or DATEV2 column.
+     */
+    public void appendEpochDays(int[] epochDays, boolean[] nullMap, int rows) {
+        Type type = columnType.getType();
+        Preconditions.checkArgument(type == Type.DATE || type == Type.DATEV2, "Not a date column: " + type);
+        Preconditions.checkArgument(rows <= epochDays.length, "The number of rows is greater than the batch");
+        reserve(appendIndex + rows);
+        appendNullMap(nullMap, rows);
+        boolean isDateV2 = columnType.isDateV2();
+        for (int i = 0; i < rows; ++i) {
+            int rowId = appendIndex + i;
+            int epochDay = nullMap != null && nullMap[i] ? 0 : epochDays[i];
+            if (isDateV2) {
+                OffHeap.putInt(null, data + rowId * 4L, TypeNativeBytes.convertEpochDayToDateV2(epochDay));
+            } else {
+                OffHeap.putLong(null, data + rowId * 8L, TypeNativeBytes.convertEpochDayToDate(epochDay));
+            }
+        }
+        appendIndex += rows;
+    }
+
+    /**
+     * Append the first rows datetimes, which are the microseconds since 1970-01-01 00:00:00 of the local time,
+     * to DATETIME or DATETIMEV2 column.
+     */
+    public void appendEpochMicros(long[] epochMicros, boolean[] nullMap, int rows) {
+        Type type = columnType.getType();
+        Preconditions.checkArgument(type == Type.DATETIME || type == Type.DATETIMEV2,
+                "Not a datetime column: " + type);
+        Preconditions.checkArgument(rows <= epochMicros.length, "The number of rows is greater than the batch");
+        reserve(appendIndex + rows);
+        appendNullMap(nullMap, rows);
+        boolean isDateTimeV2 = columnType.isDateTimeV2();
+        for (int i = 0; i < rows; ++i) {
+            long micros = nullMap != null && nullMap[i] ? 0 : epochMicros[i];
+            long time = isDateTimeV2 ? TypeNativeBytes.convertEpochMicrosToDateTimeV2(micros)
+                    : TypeNativeBytes.convertEpochMicrosToDateTime(micros);
+            OffHeap.putLong(null, data + (appendIndex + i) * 8L, time);
+        }
+        appendIndex += rows;
+    }
+
+    /**
+     * Append the first rows strings, whose bytes are stored in bytes continuously,
+     * the bytes of row i end at endOffsets[i] and start at the end of the previous row or 0.
+     * The null rows should be empty.
+     */
+    public void appendStrings(byte[] bytes, int[] endOffsets, boolean[] nullMap, int rows) {
+        Preconditions.checkArgument(columnType.isStringType(), "Not a string column: " + columnType.getType());
+        Preconditions.checkArgument(rows <= endOffsets.length, "The number of rows is greater than the batch");
+        if (rows == 0) {
+            return;
+        }
+        int length = endOffsets[rows - 1];
+        int startOffset = childColumns[0].appendBytes(bytes, 0, length);
+        if (startOffset + length < 0) {
+            throw new RuntimeException("String overflow, offset=" + startOffset + ", length=" + length);
+        }
+        reserve(appendIndex + rows);
+        appendNullMap(nullMap, rows);
+        for (int i = 0; i < rows; ++i) {
+            OffHeap.putInt(null, offsets + 4L * (appendIndex + i), startOffset + endOffsets[i]);
+        }
+        appendIndex += rows;
+    }
+
+    private void appendNullMap(boolean[] nullMap, int rows) {
+        if (nullMap != null) {
+            Preconditions.checkArgument(rows <= nullMap.length, "The size of null map is less than the batch");
+            for (int i = 0; i < rows; ++i) {
+                if (nullMap[i]) {
+                    numNulls++;
+                }
+            }
+            OffHeap.UNSAFE.copyMemory(nullMap, OffHeap.BOOLEAN_ARRAY_OFFSET, null, this.nullMap + appendIndex, rows);
+        }
+    }
+
     public Object[] newObjectContainerArray(int size) {
         return newObjectContainerArray(columnType.getType(), size);
     }
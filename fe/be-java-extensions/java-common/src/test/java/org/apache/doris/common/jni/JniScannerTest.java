@@ -43,6 +43,7 @@ public class JniScannerTest {
                         + "decimal(18,5)#timestamp(4)#datev1#datev2#datetimev1#datetimev2(4)");
             }
         });
+        Assert.assertFalse(scanner.supportArrowExport());
         scanner.open();
         long metaAddress = 0;
         do {
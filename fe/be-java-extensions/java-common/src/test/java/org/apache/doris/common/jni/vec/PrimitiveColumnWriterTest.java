@@ -0,0 +1,167 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.jni.vec;
+
+import org.apache.doris.common.jni.utils.OffHeap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+public class PrimitiveColumnWriterTest {
+    @Before
+    public void setUp() {
+        OffHeap.setTesting();
+    }
+
+    @Test
+    public void testInt() {
+        ColumnType type = ColumnType.parseType("col", "int");
+        VectorColumn column = VectorColumn.createWritableColumn(type, 4);
+        PrimitiveColumnWriter writer = new PrimitiveColumnWriter(type, 4);
+        try {
+            writer.putInt(1);
+            writer.putNull();
+            writer.putInt(-3);
+            writer.flush(column);
+            Assert.assertEquals(0, writer.numRows());
+            // the null map is cleared after flush
+            writer.putInt(Integer.MAX_VALUE);
+            writer.flush(column);
+            Assert.assertArrayEquals(new Object[] {1, null, -3, Integer.MAX_VALUE}, column.getObjectColumn(0, 4));
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    public void testBigInt() {
+        ColumnType type = ColumnType.parseType("col", "bigint");
+        VectorColumn column = VectorColumn.createWritableColumn(type, 4);
+        // grow the buffer if there are more rows than the capacity
+        PrimitiveColumnWriter writer = new PrimitiveColumnWriter(type, 1);
+        try {
+            writer.putLong(Long.MIN_VALUE);
+            writer.putLong(0);
+            writer.putNull();
+            writer.flush(column);
+            Assert.assertArrayEquals(new Object[] {Long.MIN_VALUE, 0L, null}, column.getObjectColumn(0, 3));
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    public void testDate() {
+        LocalDate[] dates = new LocalDate[] {LocalDate.of(1970, 1, 1), LocalDate.of(1969, 12, 31),
+                LocalDate.of(2024, 2, 29), LocalDate.of(1900, 1, 1), null};
+        for (String typeName : new String[] {"datev2", "datev1"}) {
+            ColumnType type = ColumnType.parseType("col", typeName);
+            VectorColumn column = VectorColumn.createWritableColumn(type, dates.length);
+            PrimitiveColumnWriter writer = new PrimitiveColumnWriter(type, dates.length);
+            try {
+                for (LocalDate date : dates) {
+                    if (date == null) {
+                        writer.putNull();
+                    } else {
+                        writer.putEpochDay((int) date.toEpochDay());
+                    }
+                }
+                writer.flush(column);
+                Assert.assertArrayEquals(typeName, dates, column.getObjectColumn(0, dates.length));
+            } finally {
+                column.close();
+            }
+        }
+    }
+
+    @Test
+    public void testDateTime() {
+        LocalDateTime[] dateTimes = new LocalDateTime[] {LocalDateTime.of(1970, 1, 1, 0, 0, 0),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000),
+                LocalDateTime.of(2024, 2, 29, 12, 34, 56, 123456000), null};
+        ColumnType type = ColumnType.parseType("col", "datetimev2(6)");
+        Assert.assertArrayEquals(dateTimes, writeDateTimes(type, dateTimes));
+
+        // datetime v1 has no microsecond
+        LocalDateTime[] truncated = new LocalDateTime[dateTimes.length];
+        for (int i = 0; i < dateTimes.length; i++) {
+            truncated[i] = dateTimes[i] == null ? null : dateTimes[i].truncatedTo(ChronoUnit.SECONDS);
+        }
+        Assert.assertArrayEquals(truncated, writeDateTimes(ColumnType.parseType("col", "datetimev1"), truncated));
+    }
+
+    private static Object[] writeDateTimes(ColumnType type, LocalDateTime[] dateTimes) {
+        VectorColumn column = VectorColumn.createWritableColumn(type, dateTimes.length);
+        PrimitiveColumnWriter writer = new PrimitiveColumnWriter(type, dateTimes.length);
+        try {
+            for (LocalDateTime dateTime : dateTimes) {
+                if (dateTime == null) {
+                    writer.putNull();
+                } else {
+                    long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+                    writer.putEpochMicros(seconds * 1000000L + dateTime.getNano() / 1000);
+                }
+            }
+            writer.flush(column);
+            return column.getObjectColumn(0, dateTimes.length);
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    public void testString() {
+        String[] strings = new String[] {"doris", "", null, "数据湖", "value_with_a_longer_length_than_the_default"};
+        ColumnType type = ColumnType.parseType("col", "string");
+        VectorColumn column = VectorColumn.createWritableColumn(type, strings.length);
+        PrimitiveColumnWriter writer = new PrimitiveColumnWriter(type, 2);
+        try {
+            for (int i = 0; i < strings.length; i++) {
+                if (strings[i] == null) {
+                    writer.putNull();
+                } else {
+                    byte[] bytes = ("#" + strings[i]).getBytes(StandardCharsets.UTF_8);
+                    // skip the first byte to check the offset
+                    writer.putBytes(bytes, 1, bytes.length - 1);
+                }
+                // flush in the middle, the string buffer is reused
+                if (i == 1) {
+                    writer.flush(column);
+                }
+            }
+            writer.flush(column);
+            Assert.assertArrayEquals(strings, column.getObjectColumn(0, strings.length));
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        ColumnType type = ColumnType.parseType("col", "decimal64(10,2)");
+        Assert.assertFalse(PrimitiveColumnWriter.isSupported(type));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PrimitiveColumnWriter(type, 4));
+    }
+}
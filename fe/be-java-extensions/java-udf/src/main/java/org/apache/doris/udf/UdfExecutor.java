@@ -24,6 +24,7 @@ import org.apache.doris.common.exception.UdfRuntimeException;
 import org.apache.doris.common.jni.utils.JavaUdfDataType;
 import org.apache.doris.common.jni.utils.UdfUtils;
 import org.apache.doris.common.jni.vec.ColumnValueConverter;
+import org.apache.doris.common.jni.vec.VectorColumn;
 import org.apache.doris.common.jni.vec.VectorTable;
 import org.apache.doris.thrift.TJavaUdfExecutorCtorParams;
 
@@ -33,20 +34,27 @@ import com.google.common.collect.Lists;
 import org.apache.log4j.Logger;
 
 import java.io.FileNotFoundException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class UdfExecutor extends BaseExecutor {
     public static final Logger LOG = Logger.getLogger(UdfExecutor.class);
     public static final String UDF_PREPARE_FUNCTION_NAME = "prepare";
+    public static final String UDF_BATCH_FUNCTION_NAME = "evaluateBatch";
 
     // setup by init() and cleared by close()
     private Method method;
+    // the optional columnar version of "evaluate", see findBatchMethod()
+    private MethodHandle batchMethod;
 
     private int evaluateIndex;
 
@@ -74,6 +82,7 @@ public class UdfExecutor extends BaseExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out method_ and classLoader_.
         method = null;
+        batchMethod = null;
         if (!isStaticLoad) {
             super.close();
         }
@@ -103,6 +112,11 @@ public class UdfExecutor extends BaseExecutor {
                 outputTable.close();
             }
             outputTable = VectorTable.createWritableTable(outputParams, numRows);
+            boolean isNullable = Boolean.parseBoolean(outputParams.getOrDefault("is_nullable", "true"));
+            if (batchMethod != null) {
+                evaluateBatch(inputTable, numRows, numColumns, isNullable);
+                return outputTable.getMetaAddress();
+            }
 
             // If the return type is primitive, we can't cast the array of primitive type as array of Object,
             // so we have to new its wrapped Object.
@@ -117,7 +131,6 @@ public class UdfExecutor extends BaseExecutor {
                 }
                 result[i] = methodAccess.invoke(udf, evaluateIndex, parameters);
             }
-            boolean isNullable = Boolean.parseBoolean(outputParams.getOrDefault("is_nullable", "true"));
             outputTable.appendData(0, result, getOutputConverter(), isNullable);
             return outputTable.getMetaAddress();
         } catch (Exception e) {
@@ -126,10 +139,119 @@ public class UdfExecutor extends BaseExecutor {
         }
     }
 
+    // Pass the input columns to "evaluateBatch" as primitive arrays with their null maps, and append the returned
+    // array to the output column directly, so there is no boxing and no per row invocation.
+    private void evaluateBatch(VectorTable inputTable, int numRows, int numColumns, boolean isNullable)
+            throws UdfRuntimeException {
+        Object[] parameters = new Object[numColumns * 2 + 1];
+        for (int j = 0; j < numColumns; ++j) {
+            VectorColumn column = inputTable.getColumn(j);
+            parameters[j * 2] = column.getPrimitiveColumn(0, numRows);
+            parameters[j * 2 + 1] = column.getNullMap(0, numRows);
+        }
+        boolean[] resultNulls = new boolean[numRows];
+        parameters[numColumns * 2] = resultNulls;
+        Object result;
+        try {
+            result = batchMethod.invoke(parameters);
+        } catch (Throwable t) {
+            throw new UdfRuntimeException("UDF failed to evaluate batch", t);
+        }
+        if (Array.getLength(result) != numRows) {
+            throw new UdfRuntimeException("The size of the result of " + UDF_BATCH_FUNCTION_NAME + " is "
+                    + Array.getLength(result) + ", but the number of rows is " + numRows);
+        }
+        if (!isNullable) {
+            // the row based "evaluate" fails when the udf returns null for the not nullable result as well
+            for (int i = 0; i < numRows; ++i) {
+                if (resultNulls[i] || (result instanceof Object[] && ((Object[]) result)[i] == null)) {
+                    throw new UdfRuntimeException("The result of " + UDF_BATCH_FUNCTION_NAME
+                            + " is not nullable, but the udf returns null for row " + i);
+                }
+            }
+        }
+        outputTable.getColumn(0).appendPrimitiveColumn(result, isNullable ? resultNulls : null);
+    }
+
     public Method getMethod() {
         return method;
     }
 
+    public boolean isBatchEvaluate() {
+        return batchMethod != null;
+    }
+
+    /**
+     * Find the optional columnar version of "evaluate" that processes a whole block in one call, e.g. for
+     * "Long evaluate(Integer a, String b)", the batch method is:
+     *   long[] evaluateBatch(int[] a, boolean[] aNulls, String[] b, boolean[] bNulls, boolean[] resultNulls)
+     * The null map of the argument is null if the column has no null value, and the udf sets resultNulls[i]
+     * to return null for the i-th row. Only boolean, integer, floating point and string types are supported,
+     * otherwise the udf falls back to the row based "evaluate".
+     */
+    private MethodHandle findBatchMethod(Method[] methods) {
+        if (argTypes.length == 0) {
+            return null;
+        }
+        Class<?>[] batchArgClass = new Class<?>[argTypes.length * 2 + 1];
+        for (int i = 0; i < argTypes.length; ++i) {
+            Class<?> arrayClass = getBatchClass(argTypes[i]);
+            if (arrayClass == null) {
+                return null;
+            }
+            batchArgClass[i * 2] = arrayClass;
+            batchArgClass[i * 2 + 1] = boolean[].class;
+        }
+        batchArgClass[argTypes.length * 2] = boolean[].class;
+        Class<?> batchRetClass = getBatchClass(retType);
+        if (batchRetClass == null) {
+            return null;
+        }
+        for (Method m : methods) {
+            if (!m.getName().equals(UDF_BATCH_FUNCTION_NAME) || !m.getReturnType().equals(batchRetClass)
+                    || !Arrays.equals(m.getParameterTypes(), batchArgClass)) {
+                continue;
+            }
+            try {
+                m.setAccessible(true);
+                MethodHandle handle = MethodHandles.lookup().unreflect(m);
+                if (!Modifier.isStatic(m.getModifiers())) {
+                    handle = handle.bindTo(udf);
+                }
+                return handle.asSpreader(Object[].class, batchArgClass.length);
+            } catch (Exception e) {
+                LOG.warn("Failed to load " + m.toGenericString() + ", fallback to " + UDF_FUNCTION_NAME, e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> getBatchClass(JavaUdfDataType type) {
+        switch (type.getPrimitiveType()) {
+            case BOOLEAN:
+                return boolean[].class;
+            case TINYINT:
+                return byte[].class;
+            case SMALLINT:
+                return short[].class;
+            case INT:
+                return int[].class;
+            case BIGINT:
+                return long[].class;
+            case FLOAT:
+                return float[].class;
+            case DOUBLE:
+                return double[].class;
+            case CHAR:
+            case VARCHAR:
+            case STRING:
+                return String[].class;
+            default:
+                return null;
+        }
+    }
+
     private Method findPrepareMethod(Method[] methods) {
         for (Method method : methods) {
             if (method.getName().equals(UDF_PREPARE_FUNCTION_NAME) && method.getReturnType().equals(void.class)
@@ -226,6 +348,7 @@ public class UdfExecutor extends BaseExecutor {
                 } else {
                     argTypes = inputType.second;
                 }
+                batchMethod = findBatchMethod(methods);
                 return;
             }
 
@@ -0,0 +1,242 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.exception.UdfRuntimeException;
+import org.apache.doris.common.jni.utils.OffHeap;
+import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.VectorTable;
+import org.apache.doris.thrift.TFunction;
+import org.apache.doris.thrift.TFunctionBinaryType;
+import org.apache.doris.thrift.TFunctionName;
+import org.apache.doris.thrift.TJavaUdfExecutorCtorParams;
+import org.apache.doris.thrift.TScalarFunction;
+
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class UdfExecutorBatchTest {
+
+    public static class IntAddUdf {
+        public Integer evaluate(Integer a, Integer b) {
+            return a == null || b == null ? null : a + b;
+        }
+    }
+
+    public static class BatchIntAddUdf extends IntAddUdf {
+        public int[] evaluateBatch(int[] a, boolean[] aNulls, int[] b, boolean[] bNulls, boolean[] resultNulls) {
+            int[] result = new int[a.length];
+            for (int i = 0; i < a.length; ++i) {
+                result[i] = a[i] + b[i];
+                resultNulls[i] = (aNulls != null && aNulls[i]) || (bNulls != null && bNulls[i]);
+            }
+            return result;
+        }
+    }
+
+    public static class LongMultiplyUdf {
+        public Long evaluate(Long a) {
+            return a == null ? null : a * 31;
+        }
+    }
+
+    public static class BatchLongMultiplyUdf extends LongMultiplyUdf {
+        public long[] evaluateBatch(long[] a, boolean[] aNulls, boolean[] resultNulls) {
+            long[] result = new long[a.length];
+            for (int i = 0; i < a.length; ++i) {
+                result[i] = a[i] * 31;
+            }
+            if (aNulls != null) {
+                System.arraycopy(aNulls, 0, resultNulls, 0, a.length);
+            }
+            return result;
+        }
+    }
+
+    public static class StringUpperUdf {
+        public String evaluate(String a) {
+            return a == null ? null : a.toUpperCase();
+        }
+    }
+
+    public static class BatchStringUpperUdf extends StringUpperUdf {
+        public String[] evaluateBatch(String[] a, boolean[] aNulls, boolean[] resultNulls) {
+            String[] result = new String[a.length];
+            for (int i = 0; i < a.length; ++i) {
+                if (a[i] == null) {
+                    resultNulls[i] = true;
+                } else {
+                    result[i] = a[i].toUpperCase();
+                }
+            }
+            return result;
+        }
+    }
+
+    // the argument types don't match "evaluate", so it is not used
+    public static class MismatchedBatchUdf extends LongMultiplyUdf {
+        public long[] evaluateBatch(int[] a, boolean[] aNulls, boolean[] resultNulls) {
+            return new long[a.length];
+        }
+    }
+
+    public static class WrongSizeBatchUdf extends LongMultiplyUdf {
+        public long[] evaluateBatch(long[] a, boolean[] aNulls, boolean[] resultNulls) {
+            return new long[a.length + 1];
+        }
+    }
+
+    @Before
+    public void setUp() {
+        OffHeap.setTesting();
+    }
+
+    @Test
+    public void testInt() throws Exception {
+        Integer[] a = new Integer[] {1, null, 3, 4};
+        Integer[] b = new Integer[] {10, 20, null, -4};
+        Object[] expected = new Object[] {11, null, null, 0};
+        Type[] argTypes = new Type[] {Type.INT, Type.INT};
+        String[] argHiveTypes = new String[] {"int", "int"};
+        Assert.assertArrayEquals(expected,
+                evaluate(IntAddUdf.class, false, argTypes, Type.INT, argHiveTypes, "int", a, b));
+        Assert.assertArrayEquals(expected,
+                evaluate(BatchIntAddUdf.class, true, argTypes, Type.INT, argHiveTypes, "int", a, b));
+    }
+
+    @Test
+    public void testLong() throws Exception {
+        Long[] a = new Long[] {1L, null, 1L << 40};
+        Object[] expected = new Object[] {31L, null, 31L << 40};
+        Type[] argTypes = new Type[] {Type.BIGINT};
+        String[] argHiveTypes = new String[] {"bigint"};
+        Assert.assertArrayEquals(expected, evaluate(LongMultiplyUdf.class, false, argTypes, Type.BIGINT,
+                argHiveTypes, "bigint", (Object[]) a));
+        Assert.assertArrayEquals(expected, evaluate(BatchLongMultiplyUdf.class, true, argTypes, Type.BIGINT,
+                argHiveTypes, "bigint", (Object[]) a));
+        // no null value in the argument
+        Assert.assertArrayEquals(new Object[] {62L, 93L}, evaluate(BatchLongMultiplyUdf.class, true, argTypes,
+                Type.BIGINT, argHiveTypes, "bigint", (Object[]) new Long[] {2L, 3L}));
+        // the batch method with other argument types is not the batch version of "evaluate"
+        Assert.assertArrayEquals(expected, evaluate(MismatchedBatchUdf.class, false, argTypes, Type.BIGINT,
+                argHiveTypes, "bigint", (Object[]) a));
+    }
+
+    @Test
+    public void testString() throws Exception {
+        String[] a = new String[] {"doris", null, "", "Udf"};
+        Object[] expected = new Object[] {"DORIS", null, "", "UDF"};
+        Type[] argTypes = new Type[] {Type.STRING};
+        String[] argHiveTypes = new String[] {"string"};
+        Assert.assertArrayEquals(expected, evaluate(StringUpperUdf.class, false, argTypes, Type.STRING,
+                argHiveTypes, "string", (Object[]) a));
+        Assert.assertArrayEquals(expected, evaluate(BatchStringUpperUdf.class, true, argTypes, Type.STRING,
+                argHiveTypes, "string", (Object[]) a));
+    }
+
+    @Test
+    public void testWrongResultSize() throws Exception {
+        Assert.assertThrows(UdfRuntimeException.class, () -> evaluate(WrongSizeBatchUdf.class, true,
+                new Type[] {Type.BIGINT}, Type.BIGINT, new String[] {"bigint"}, "bigint",
+                (Object[]) new Long[] {1L, 2L}));
+    }
+
+    @Test
+    public void testNullForNotNullableResult() throws Exception {
+        String[] fields = new String[] {"c0"};
+        String[] argHiveTypes = new String[] {"bigint"};
+        VectorTable inputTable = VectorTable.createWritableTable(
+                new ColumnType[] {ColumnType.parseType("c0", "bigint")}, fields, 2);
+        UdfExecutor executor = createExecutor(BatchLongMultiplyUdf.class, new Type[] {Type.BIGINT}, Type.BIGINT);
+        try {
+            inputTable.appendData(0, new Long[] {1L, null}, true);
+            Map<String, String> outputParams = getOutputParams("bigint");
+            outputParams.put("is_nullable", "false");
+            Assert.assertThrows(UdfRuntimeException.class, () -> executor.evaluate(
+                    getInputParams(inputTable, fields, argHiveTypes), outputParams));
+        } finally {
+            executor.close();
+            inputTable.close();
+        }
+    }
+
+    private static Object[] evaluate(Class<?> udfClass, boolean isBatchEvaluate, Type[] argTypes, Type retType,
+            String[] argHiveTypes, String retHiveType, Object[]... columns) throws Exception {
+        int numRows = columns[0].length;
+        ColumnType[] columnTypes = new ColumnType[columns.length];
+        String[] fields = new String[columns.length];
+        for (int i = 0; i < columns.length; ++i) {
+            fields[i] = "c" + i;
+            columnTypes[i] = ColumnType.parseType(fields[i], argHiveTypes[i]);
+        }
+        VectorTable inputTable = VectorTable.createWritableTable(columnTypes, fields, numRows);
+        UdfExecutor executor = createExecutor(udfClass, argTypes, retType);
+        try {
+            for (int i = 0; i < columns.length; ++i) {
+                inputTable.appendData(i, columns[i], true);
+            }
+            Assert.assertEquals(isBatchEvaluate, executor.isBatchEvaluate());
+            ColumnType[] outputTypes = new ColumnType[] {ColumnType.parseType("r", retHiveType)};
+            return VectorTable.createReadableTable(outputTypes, new String[] {"r"},
+                    executor.evaluate(getInputParams(inputTable, fields, argHiveTypes), getOutputParams(retHiveType)))
+                    .getMaterializedData()[0];
+        } finally {
+            executor.close();
+            inputTable.close();
+        }
+    }
+
+    static Map<String, String> getInputParams(VectorTable inputTable, String[] fields, String[] argHiveTypes) {
+        Map<String, String> inputParams = new HashMap<>();
+        inputParams.put("meta_address", String.valueOf(inputTable.getMetaAddress()));
+        inputParams.put("required_fields", String.join(",", fields));
+        inputParams.put("columns_types", String.join("#", argHiveTypes));
+        return inputParams;
+    }
+
+    static Map<String, String> getOutputParams(String retHiveType) {
+        Map<String, String> outputParams = new HashMap<>();
+        outputParams.put("required_fields", "r");
+        outputParams.put("columns_types", retHiveType);
+        outputParams.put("is_nullable", "true");
+        return outputParams;
+    }
+
+    static UdfExecutor createExecutor(Class<?> udfClass, Type[] argTypes, Type retType) throws Exception {
+        TFunction fn = new TFunction();
+        fn.setName(new TFunctionName(udfClass.getSimpleName()));
+        fn.setBinaryType(TFunctionBinaryType.JAVA_UDF);
+        for (Type argType : argTypes) {
+            fn.addToArgTypes(argType.toThrift());
+        }
+        fn.setRetType(retType.toThrift());
+        fn.setHasVarArgs(false);
+        fn.setScalarFn(new TScalarFunction(udfClass.getName()));
+        TJavaUdfExecutorCtorParams params = new TJavaUdfExecutorCtorParams();
+        params.setFn(fn);
+        TSerializer serializer = new TSerializer(new TBinaryProtocol.Factory());
+        return new UdfExecutor(serializer.serialize(params));
+    }
+}
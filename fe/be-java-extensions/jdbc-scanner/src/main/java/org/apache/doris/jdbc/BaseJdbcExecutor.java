@@ -67,6 +67,11 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
     protected VectorTable outputTable = null;
     protected int batchSizeNum = 0;
     protected int curBlockRows = 0;
+    private boolean enablePrefetch = false;
+    // fetches the next block in background since the second block, see getBlockAddress()
+    private JdbcBlockPrefetcher prefetcher = null;
+    // only used to get the column types and create the containers of the prefetched blocks, never filled
+    private VectorTable prefetchTypeTable = null;
 
     public BaseJdbcExecutor(byte[] thriftParams) throws Exception {
         TJdbcExecutorCtorParams request = new TJdbcExecutorCtorParams();
@@ -92,6 +97,7 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
                 .setConnectionPoolMaxLifeTime(request.connection_pool_max_life_time)
                 .setConnectionPoolKeepAlive(request.connection_pool_keep_alive);
         JdbcDataSource.getDataSource().setCleanupInterval(request.connection_pool_cache_clear_time);
+        this.enablePrefetch = request.isSetEnablePrefetch() && request.enable_prefetch;
         init(config, request.statement);
     }
 
@@ -104,6 +110,13 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
                     LOG.error("Error cancelling statement", e);
                 }
             }
+            // the result set can't be closed until the prefetcher stops reading it
+            if (prefetcher != null) {
+                prefetcher.close();
+                prefetcher = null;
+                prefetchTypeTable.close();
+                prefetchTypeTable = null;
+            }
 
             boolean shouldAbort = conn != null && resultSet != null;
             boolean aborted = false; // Used to record whether the abort operation is performed
@@ -200,7 +213,15 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
             curBlockRows = 0;
             int columnCount = resultSetMetaData.getColumnCount();
 
-            initializeBlock(columnCount, replaceStringList, batchSize, outputTable);
+            if (prefetcher != null) {
+                // the rows have been fetched while the previous block was converted
+                JdbcBlockPrefetcher.Block fetchedBlock = prefetcher.next();
+                curBlockRows = fetchedBlock.getNumRows();
+                appendBlock(fetchedBlock.getColumns(), nullableList, replaceStringList);
+                return outputTable.getMetaAddress();
+            }
+
+            initializeBlock(block, columnCount, replaceStringList, batchSize, outputTable);
 
             do {
                 for (int i = 0; i < columnCount; ++i) {
@@ -210,14 +231,24 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
                 curBlockRows++;
             } while (curBlockRows < batchSize && resultSet.next());
 
-            for (int i = 0; i < columnCount; ++i) {
-                ColumnType type = outputTable.getColumnType(i);
-                Object[] columnData = block.get(i);
-                Class<?> componentType = columnData.getClass().getComponentType();
-                Object[] newColumn = (Object[]) Array.newInstance(componentType, curBlockRows);
-                System.arraycopy(columnData, 0, newColumn, 0, curBlockRows);
-                boolean isNullable = Boolean.parseBoolean(nullableList[i]);
-                outputTable.appendData(i, newColumn, getOutputConverter(type, replaceStringList[i]), isNullable);
+            appendBlock(block, nullableList, replaceStringList);
+            // the block is full, so there may be more rows, fetch them in background from now on
+            if (enablePrefetch && curBlockRows == batchSize) {
+                VectorTable typeTable = VectorTable.createWritableTable(outputParams, 0);
+                prefetchTypeTable = typeTable;
+                prefetcher = new JdbcBlockPrefetcher(batchSize, () -> {
+                    List<Object[]> columns = new ArrayList<>(columnCount);
+                    initializeBlock(columns, columnCount, replaceStringList, batchSize, typeTable);
+                    return columns;
+                }, (columns, row) -> {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    for (int i = 0; i < columnCount; ++i) {
+                        columns.get(i)[row] = getColumnValue(i, typeTable.getColumnType(i), replaceStringList);
+                    }
+                    return true;
+                });
             }
         } catch (Exception e) {
             LOG.warn("jdbc get block address exception: ", e);
@@ -228,8 +259,20 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
         return outputTable.getMetaAddress();
     }
 
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    private void appendBlock(List<Object[]> columns, String[] nullableList, String[] replaceStringList) {
+        for (int i = 0; i < columns.size(); ++i) {
+            ColumnType type = outputTable.getColumnType(i);
+            Object[] columnData = columns.get(i);
+            Class<?> componentType = columnData.getClass().getComponentType();
+            Object[] newColumn = (Object[]) Array.newInstance(componentType, curBlockRows);
+            System.arraycopy(columnData, 0, newColumn, 0, curBlockRows);
+            boolean isNullable = Boolean.parseBoolean(nullableList[i]);
+            outputTable.appendData(i, newColumn, getOutputConverter(type, replaceStringList[i]), isNullable);
+        }
+    }
+
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             block.add(outputTable.getColumn(i).newObjectContainerArray(batchSizeNum));
         }
@@ -285,6 +328,9 @@ public abstract class BaseJdbcExecutor implements JdbcExecutor {
             if (resultSet == null) {
                 return false;
             }
+            if (prefetcher != null) {
+                return prefetcher.hasNext();
+            }
             return resultSet.next();
         } catch (SQLException e) {
             throw new UdfRuntimeException("resultSet to get next error: ", e);
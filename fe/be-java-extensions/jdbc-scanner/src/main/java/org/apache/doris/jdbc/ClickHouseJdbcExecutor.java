@@ -41,8 +41,8 @@ public class ClickHouseJdbcExecutor extends BaseJdbcExecutor {
     }
 
     @Override
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             if (outputTable.getColumnType(i).getType() == Type.ARRAY) {
                 block.add(new Object[batchSizeNum]);
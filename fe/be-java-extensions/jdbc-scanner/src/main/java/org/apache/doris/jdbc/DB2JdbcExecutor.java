@@ -30,6 +30,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class DB2JdbcExecutor extends BaseJdbcExecutor {
     public DB2JdbcExecutor(byte[] thriftParams) throws Exception {
@@ -42,8 +43,8 @@ public class DB2JdbcExecutor extends BaseJdbcExecutor {
     }
 
     @Override
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             if (outputTable.getColumnType(i).getType() == Type.SMALLINT) {
                 block.add(new Integer[batchSizeNum]);
@@ -0,0 +1,174 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.jdbc;
+
+import org.apache.doris.common.exception.UdfRuntimeException;
+
+import org.apache.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reads the rows of the next block from the result set in a background thread, while the current block is
+ * converted and consumed by BE. The handoff is a SynchronousQueue, so at most one block is fetched ahead
+ * and the result set is only accessed by the prefetch thread once it starts.
+ * The last block handed off is always empty, or has an error, so {@link #hasNext} never waits for a block
+ * which will not come.
+ */
+class JdbcBlockPrefetcher implements Runnable {
+    private static final Logger LOG = Logger.getLogger(JdbcBlockPrefetcher.class);
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long CLOSE_TIMEOUT_MS = 10000;
+
+    interface RowReader {
+        /**
+         * Move to the next row of the result set and read it into the row of columns,
+         * return false if there are no more rows.
+         */
+        boolean readRow(List<Object[]> columns, int row) throws Exception;
+    }
+
+    static class Block {
+        private final List<Object[]> columns;
+        private final int numRows;
+        private final Throwable error;
+
+        private Block(List<Object[]> columns, int numRows, Throwable error) {
+            this.columns = columns;
+            this.numRows = numRows;
+            this.error = error;
+        }
+
+        List<Object[]> getColumns() {
+            return columns;
+        }
+
+        int getNumRows() {
+            return numRows;
+        }
+    }
+
+    private final int batchSize;
+    private final Supplier<List<Object[]>> blockAllocator;
+    private final RowReader rowReader;
+    private final SynchronousQueue<Block> fetchedBlocks = new SynchronousQueue<>();
+    private final Thread thread;
+    private volatile boolean closed = false;
+    private Block nextBlock = null;
+
+    JdbcBlockPrefetcher(int batchSize, Supplier<List<Object[]>> blockAllocator, RowReader rowReader) {
+        this.batchSize = batchSize;
+        this.blockAllocator = blockAllocator;
+        this.rowReader = rowReader;
+        this.thread = new Thread(this, "jdbc-block-prefetcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            Block block;
+            do {
+                block = fetch();
+                if (!put(block)) {
+                    return;
+                }
+            } while (block.numRows == batchSize);
+            if (block.numRows > 0) {
+                // don't call next() of the exhausted result set again, some drivers throw exception
+                put(new Block(null, 0, null));
+            }
+        } catch (Throwable t) {
+            if (!closed) {
+                LOG.warn("jdbc prefetch block exception: ", t);
+            }
+            put(new Block(null, 0, t));
+        }
+    }
+
+    private Block fetch() throws Exception {
+        List<Object[]> columns = blockAllocator.get();
+        int numRows = 0;
+        while (!closed && numRows < batchSize && rowReader.readRow(columns, numRows)) {
+            numRows++;
+        }
+        return new Block(columns, numRows, null);
+    }
+
+    // wait until the block is taken, return false if closed
+    private boolean put(Block block) {
+        try {
+            while (!closed) {
+                if (fetchedBlocks.offer(block, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    boolean hasNext() throws UdfRuntimeException {
+        try {
+            while (nextBlock == null) {
+                nextBlock = fetchedBlocks.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (nextBlock == null && !thread.isAlive()) {
+                    // the thread may hand off the last block just before it exits
+                    nextBlock = fetchedBlocks.poll();
+                    if (nextBlock == null) {
+                        throw new UdfRuntimeException("jdbc block prefetcher exited without the last block");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UdfRuntimeException("interrupted while waiting for the next block: ", e);
+        }
+        if (nextBlock.error != null) {
+            throw new UdfRuntimeException("jdbc prefetch block: ", nextBlock.error);
+        }
+        return nextBlock.numRows > 0;
+    }
+
+    Block next() throws UdfRuntimeException {
+        if (!hasNext()) {
+            throw new UdfRuntimeException("No more rows in the result set.");
+        }
+        Block block = nextBlock;
+        nextBlock = null;
+        return block;
+    }
+
+    // the statement should be cancelled before, so the thread won't be blocked in reading the result set long
+    void close() {
+        closed = true;
+        try {
+            thread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            LOG.warn("jdbc block prefetcher is not stopped in " + CLOSE_TIMEOUT_MS + " ms");
+        }
+    }
+}
@@ -78,8 +78,8 @@ public class MySQLJdbcExecutor extends BaseJdbcExecutor {
     }
 
     @Override
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             if (replaceStringList[i].equals("bitmap") || replaceStringList[i].equals("hll")) {
                 block.add(new byte[batchSizeNum][]);
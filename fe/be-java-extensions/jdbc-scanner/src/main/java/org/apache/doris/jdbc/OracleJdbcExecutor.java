@@ -31,6 +31,7 @@ import java.sql.Clob;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class OracleJdbcExecutor extends BaseJdbcExecutor {
     private static final Logger LOG = Logger.getLogger(OracleJdbcExecutor.class);
@@ -45,8 +46,8 @@ public class OracleJdbcExecutor extends BaseJdbcExecutor {
     }
 
     @Override
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             if (outputTable.getColumnType(i).getType() == Type.LARGEINT) {
                 block.add(new BigDecimal[batchSizeNum]);
@@ -28,6 +28,7 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 public class PostgreSQLJdbcExecutor extends BaseJdbcExecutor {
     public PostgreSQLJdbcExecutor(byte[] thriftParams) throws Exception {
@@ -35,8 +36,8 @@ public class PostgreSQLJdbcExecutor extends BaseJdbcExecutor {
     }
 
     @Override
-    protected void initializeBlock(int columnCount, String[] replaceStringList, int batchSizeNum,
-            VectorTable outputTable) {
+    protected void initializeBlock(List<Object[]> block, int columnCount, String[] replaceStringList,
+            int batchSizeNum, VectorTable outputTable) {
         for (int i = 0; i < columnCount; ++i) {
             if (outputTable.getColumnType(i).getType() == Type.DATETIME
                     || outputTable.getColumnType(i).getType() == Type.DATETIMEV2) {
@@ -0,0 +1,135 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.jdbc;
+
+import org.apache.doris.common.exception.UdfRuntimeException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JdbcBlockPrefetcherTest {
+    private static final int BATCH_SIZE = 4;
+
+    private static JdbcBlockPrefetcher newPrefetcher(int totalRows, AtomicInteger nextCalls) {
+        AtomicInteger readRows = new AtomicInteger(0);
+        return new JdbcBlockPrefetcher(BATCH_SIZE, () -> Collections.singletonList(new Object[BATCH_SIZE]),
+                (columns, row) -> {
+                    nextCalls.incrementAndGet();
+                    if (readRows.get() >= totalRows) {
+                        return false;
+                    }
+                    columns.get(0)[row] = readRows.getAndIncrement();
+                    return true;
+                });
+    }
+
+    private static List<Integer> readAll(JdbcBlockPrefetcher prefetcher) throws UdfRuntimeException {
+        List<Integer> values = new ArrayList<>();
+        while (prefetcher.hasNext()) {
+            JdbcBlockPrefetcher.Block block = prefetcher.next();
+            for (int i = 0; i < block.getNumRows(); i++) {
+                values.add((Integer) block.getColumns().get(0)[i]);
+            }
+        }
+        // BE may call hasNext() again after the end
+        Assert.assertFalse(prefetcher.hasNext());
+        return values;
+    }
+
+    private static void checkRows(int totalRows) throws UdfRuntimeException {
+        AtomicInteger nextCalls = new AtomicInteger(0);
+        JdbcBlockPrefetcher prefetcher = newPrefetcher(totalRows, nextCalls);
+        try {
+            List<Integer> values = readAll(prefetcher);
+            Assert.assertEquals(totalRows, values.size());
+            for (int i = 0; i < totalRows; i++) {
+                Assert.assertEquals(i, values.get(i).intValue());
+            }
+            // the exhausted result set is not read again after a partial block
+            Assert.assertEquals(totalRows + 1, nextCalls.get());
+        } finally {
+            prefetcher.close();
+        }
+    }
+
+    @Test
+    public void testExactMultipleOfBatchSize() throws UdfRuntimeException {
+        checkRows(BATCH_SIZE * 3);
+    }
+
+    @Test
+    public void testPartialLastBlock() throws UdfRuntimeException {
+        checkRows(BATCH_SIZE * 3 + 1);
+        checkRows(BATCH_SIZE - 1);
+    }
+
+    @Test
+    public void testEmptyResult() throws UdfRuntimeException {
+        checkRows(0);
+    }
+
+    @Test
+    public void testError() throws UdfRuntimeException {
+        AtomicInteger readRows = new AtomicInteger(0);
+        JdbcBlockPrefetcher prefetcher = new JdbcBlockPrefetcher(BATCH_SIZE,
+                () -> Collections.singletonList(new Object[BATCH_SIZE]), (columns, row) -> {
+                    if (readRows.incrementAndGet() > BATCH_SIZE) {
+                        throw new SQLException("connection reset");
+                    }
+                    columns.get(0)[row] = row;
+                    return true;
+                });
+        try {
+            Assert.assertTrue(prefetcher.hasNext());
+            Assert.assertEquals(BATCH_SIZE, prefetcher.next().getNumRows());
+            try {
+                prefetcher.hasNext();
+                Assert.fail();
+            } catch (UdfRuntimeException e) {
+                Assert.assertTrue(e.getCause() instanceof SQLException);
+            }
+        } finally {
+            prefetcher.close();
+        }
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        CountDownLatch blockFetched = new CountDownLatch(1);
+        JdbcBlockPrefetcher prefetcher = new JdbcBlockPrefetcher(BATCH_SIZE,
+                () -> Collections.singletonList(new Object[BATCH_SIZE]), (columns, row) -> {
+                    if (row == BATCH_SIZE - 1) {
+                        blockFetched.countDown();
+                    }
+                    columns.get(0)[row] = row;
+                    return true;
+                });
+        // the thread is waiting for the block to be taken, and stops when closed
+        blockFetched.await();
+        long start = System.currentTimeMillis();
+        prefetcher.close();
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+}
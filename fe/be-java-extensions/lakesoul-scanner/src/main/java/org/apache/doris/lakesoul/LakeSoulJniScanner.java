@@ -17,12 +17,17 @@
 
 package org.apache.doris.lakesoul;
 
+import org.apache.doris.common.jni.ArrowExportable;
 import org.apache.doris.common.jni.vec.ScanPredicate;
 import org.apache.doris.lakesoul.arrow.LakeSoulArrowJniScanner;
 import org.apache.doris.lakesoul.parquet.ParquetFilter;
 
 import com.dmetasoul.lakesoul.LakeSoulArrowReader;
 import com.dmetasoul.lakesoul.lakesoul.io.NativeIOReader;
+import org.apache.arrow.c.ArrowArray;
+import org.apache.arrow.c.ArrowSchema;
+import org.apache.arrow.c.Data;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -35,7 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class LakeSoulJniScanner extends LakeSoulArrowJniScanner {
+public class LakeSoulJniScanner extends LakeSoulArrowJniScanner implements ArrowExportable {
 
     private final Map<String, String> params;
 
@@ -149,6 +154,29 @@ public class LakeSoulJniScanner extends LakeSoulArrowJniScanner {
         return vectorTable.getMetaAddress();
     }
 
+    @Override
+    public long getNextBatchArrow(long arrayAddress, long schemaAddress) throws IOException {
+        while (lakesoulArrowReader.hasNext()) {
+            VectorSchemaRoot batch = lakesoulArrowReader.nextResultVectorSchemaRoot();
+            if (batch.getRowCount() == 0) {
+                batch.close();
+                continue;
+            }
+            return exportBatch(allocator, batch, arrayAddress, schemaAddress);
+        }
+        return 0;
+    }
+
+    // Export the batch and close it, the exported buffers are retained until BE releases them.
+    static int exportBatch(BufferAllocator allocator, VectorSchemaRoot batch, long arrayAddress,
+            long schemaAddress) {
+        try (VectorSchemaRoot root = batch) {
+            Data.exportVectorSchemaRoot(allocator, root, null, ArrowArray.wrap(arrayAddress),
+                    ArrowSchema.wrap(schemaAddress));
+            return root.getRowCount();
+        }
+    }
+
     @Override
     public void releaseTable() {
         super.releaseTable();
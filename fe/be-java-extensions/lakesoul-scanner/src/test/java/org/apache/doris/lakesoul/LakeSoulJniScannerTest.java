@@ -0,0 +1,84 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.lakesoul;
+
+import org.apache.arrow.c.ArrowArray;
+import org.apache.arrow.c.ArrowSchema;
+import org.apache.arrow.c.Data;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class LakeSoulJniScannerTest {
+    @Test
+    public void testExportBatch() {
+        try (BufferAllocator allocator = new RootAllocator()) {
+            IntVector intVector = new IntVector("c_int", allocator);
+            VarCharVector varCharVector = new VarCharVector("c_string", allocator);
+            TimeStampMicroTZVector timestampVector = new TimeStampMicroTZVector("c_timestamp", allocator,
+                    "Asia/Shanghai");
+            intVector.allocateNew(3);
+            varCharVector.allocateNew(3);
+            timestampVector.allocateNew(3);
+            for (int i = 0; i < 3; i++) {
+                intVector.set(i, i);
+                varCharVector.set(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+                timestampVector.set(i, 1651968001123456L + i);
+            }
+            intVector.setNull(1);
+            VectorSchemaRoot batch = new VectorSchemaRoot(Arrays.asList(intVector, varCharVector, timestampVector));
+            batch.setRowCount(3);
+
+            try (ArrowArray arrowArray = ArrowArray.allocateNew(allocator);
+                    ArrowSchema arrowSchema = ArrowSchema.allocateNew(allocator)) {
+                Assert.assertEquals(3, LakeSoulJniScanner.exportBatch(allocator, batch,
+                        arrowArray.memoryAddress(), arrowSchema.memoryAddress()));
+                // the batch is closed, and the exported buffers are retained by the structs
+                Assert.assertEquals(0, intVector.getValueCount());
+
+                try (VectorSchemaRoot imported = Data.importVectorSchemaRoot(allocator, arrowArray, arrowSchema,
+                        null)) {
+                    Assert.assertEquals(3, imported.getRowCount());
+                    IntVector importedInt = (IntVector) imported.getVector("c_int");
+                    Assert.assertEquals(0, importedInt.get(0));
+                    Assert.assertTrue(importedInt.isNull(1));
+                    Assert.assertEquals(2, importedInt.get(2));
+                    VarCharVector importedVarChar = (VarCharVector) imported.getVector("c_string");
+                    Assert.assertEquals("value1", new String(importedVarChar.get(1), StandardCharsets.UTF_8));
+                    // the time zone is kept in the arrow type, and BE reads the values in UTC
+                    TimeStampMicroTZVector importedTimestamp =
+                            (TimeStampMicroTZVector) imported.getVector("c_timestamp");
+                    Assert.assertEquals("Asia/Shanghai",
+                            ((ArrowType.Timestamp) importedTimestamp.getField().getType()).getTimezone());
+                    Assert.assertEquals(1651968001123458L, importedTimestamp.get(2));
+                }
+            }
+            // all the buffers are released after the imported batch is closed
+            Assert.assertEquals(0, allocator.getAllocatedMemory());
+        }
+    }
+}
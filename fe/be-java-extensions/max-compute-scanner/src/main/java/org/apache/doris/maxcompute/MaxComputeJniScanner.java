@@ -19,6 +19,7 @@ package org.apache.doris.maxcompute;
 
 import org.apache.doris.common.jni.JniScanner;
 import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.PrimitiveColumnWriter;
 
 import com.aliyun.odps.Column;
 import com.aliyun.odps.OdpsType;
@@ -30,7 +31,20 @@ import com.aliyun.odps.type.TypeInfo;
 import com.aliyun.odps.type.TypeInfoFactory;
 import com.google.common.base.Strings;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampNanoVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
@@ -71,6 +85,8 @@ public class MaxComputeJniScanner extends JniScanner {
     private Set<String> partitionColumns;
     private MaxComputeTableScan curTableScan;
     private MaxComputeColumnValue columnValue;
+    // write the primitive values without ColumnValue, null if the type is not supported
+    private PrimitiveColumnWriter[] writers;
     private long remainBatchRows = 0;
     private long totalRows = 0;
     private ArrowRecordReader curReader;
@@ -128,10 +144,14 @@ public class MaxComputeJniScanner extends JniScanner {
         super.initTableInfo(requiredTypes, requiredFields, batchSize);
         readColumns = new ArrayList<>();
         readColumnsToId = new HashMap<>();
+        writers = new PrimitiveColumnWriter[fields.length];
         for (int i = 0; i < fields.length; i++) {
             if (!Strings.isNullOrEmpty(fields[i])) {
                 readColumns.add(createOdpsColumn(i, types[i]));
                 readColumnsToId.put(fields[i], i);
+                if (PrimitiveColumnWriter.isSupported(types[i])) {
+                    writers[i] = new PrimitiveColumnWriter(types[i], batchSize);
+                }
             }
         }
     }
@@ -295,8 +315,13 @@ public class MaxComputeJniScanner extends JniScanner {
                         batchRows = column.getValueCount();
                         continue;
                     }
-                    columnValue.reset(column);
                     batchRows = column.getValueCount();
+                    PrimitiveColumnWriter writer = writers[readColumnId];
+                    if (writer != null && writeVector(writer, column, batchRows)) {
+                        writer.flush(vectorTable.getColumn(readColumnId));
+                        continue;
+                    }
+                    columnValue.reset(column);
                     for (int j = 0; j < batchRows; j++) {
                         appendData(readColumnId, columnValue);
                     }
@@ -322,4 +347,117 @@ public class MaxComputeJniScanner extends JniScanner {
         }
         return curReadRows;
     }
+
+    /**
+     * Write the values of the arrow vector by the primitive getters of the vector,
+     * return false if the vector type is not matched, and the values should be appended by ColumnValue.
+     */
+    private static boolean writeVector(PrimitiveColumnWriter writer, FieldVector column, int rows) {
+        if (column instanceof BitVector) {
+            BitVector vector = (BitVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putBoolean(vector.get(j) != 0);
+                }
+            }
+        } else if (column instanceof TinyIntVector) {
+            TinyIntVector vector = (TinyIntVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putByte(vector.get(j));
+                }
+            }
+        } else if (column instanceof SmallIntVector) {
+            SmallIntVector vector = (SmallIntVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putShort(vector.get(j));
+                }
+            }
+        } else if (column instanceof IntVector) {
+            IntVector vector = (IntVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putInt(vector.get(j));
+                }
+            }
+        } else if (column instanceof BigIntVector) {
+            BigIntVector vector = (BigIntVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putLong(vector.get(j));
+                }
+            }
+        } else if (column instanceof Float4Vector) {
+            Float4Vector vector = (Float4Vector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putFloat(vector.get(j));
+                }
+            }
+        } else if (column instanceof Float8Vector) {
+            Float8Vector vector = (Float8Vector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putDouble(vector.get(j));
+                }
+            }
+        } else if (column instanceof DateDayVector) {
+            DateDayVector vector = (DateDayVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putEpochDay(vector.get(j));
+                }
+            }
+        } else if (column instanceof DateMilliVector) {
+            DateMilliVector vector = (DateMilliVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putEpochMicros(vector.get(j) * 1000);
+                }
+            }
+        } else if (column instanceof TimeStampNanoVector) {
+            TimeStampNanoVector vector = (TimeStampNanoVector) column;
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    writer.putEpochMicros(Math.floorDiv(vector.get(j), 1000L));
+                }
+            }
+        } else if (column instanceof VarCharVector || column instanceof VarBinaryVector) {
+            // copy the bytes from the data buffer of the vector directly
+            BaseVariableWidthVector vector = (BaseVariableWidthVector) column;
+            long dataAddress = vector.getDataBuffer().memoryAddress();
+            for (int j = 0; j < rows; j++) {
+                if (vector.isNull(j)) {
+                    writer.putNull();
+                } else {
+                    int start = vector.getStartOffset(j);
+                    writer.putBytes(null, dataAddress + start, vector.getStartOffset(j + 1) - start);
+                }
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
 }
@@ -19,11 +19,15 @@ package org.apache.doris.paimon;
 
 import org.apache.doris.common.jni.JniScanner;
 import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.PrimitiveColumnWriter;
 import org.apache.doris.common.jni.vec.TableSchema;
 import org.apache.doris.paimon.PaimonTableCache.PaimonTableCacheKey;
 import org.apache.doris.paimon.PaimonTableCache.TableExt;
 
+import org.apache.paimon.data.BinaryString;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.table.Table;
@@ -59,6 +63,8 @@ public class PaimonJniScanner extends JniScanner {
     private long tblId;
     private long lastUpdateTime;
     private RecordReader.RecordIterator<InternalRow> recordIterator = null;
+    // write the primitive values without ColumnValue, null if the type is not supported
+    private PrimitiveColumnWriter[] writers;
     private final ClassLoader classLoader;
 
     public PaimonJniScanner(int batchSize, Map<String, String> params) {
@@ -99,6 +105,7 @@ public class PaimonJniScanner extends JniScanner {
             initTable();
             initReader();
             resetDatetimeV2Precision();
+            initWriters();
         } catch (Exception e) {
             LOG.warn("Failed to open paimon_scanner: " + e.getMessage(), e);
             throw e;
@@ -155,6 +162,15 @@ public class PaimonJniScanner extends JniScanner {
         }
     }
 
+    private void initWriters() {
+        writers = new PrimitiveColumnWriter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (PrimitiveColumnWriter.isSupported(types[i])) {
+                writers[i] = new PrimitiveColumnWriter(types[i], batchSize);
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (reader != null) {
@@ -175,17 +191,23 @@ public class PaimonJniScanner extends JniScanner {
                 while ((record = recordIterator.next()) != null) {
                     columnValue.setOffsetRow(record);
                     for (int i = 0; i < fields.length; i++) {
-                        columnValue.setIdx(i, types[i]);
-                        appendData(i, columnValue);
+                        if (writers[i] != null) {
+                            writeValue(writers[i], record, i);
+                        } else {
+                            columnValue.setIdx(i, types[i]);
+                            appendData(i, columnValue);
+                        }
                     }
                     rows++;
                     if (rows >= batchSize) {
+                        flushWriters();
                         return rows;
                     }
                 }
                 recordIterator.releaseBatch();
                 recordIterator = reader.readBatch();
             }
+            flushWriters();
         } catch (Exception e) {
             close();
             LOG.warn("Failed to get the next batch of paimon. "
@@ -196,6 +218,69 @@ public class PaimonJniScanner extends JniScanner {
         return rows;
     }
 
+    private void writeValue(PrimitiveColumnWriter writer, InternalRow record, int i) {
+        if (record.isNullAt(i)) {
+            writer.putNull();
+            return;
+        }
+        switch (types[i].getType()) {
+            case BOOLEAN:
+                writer.putBoolean(record.getBoolean(i));
+                break;
+            case TINYINT:
+                writer.putByte(record.getByte(i));
+                break;
+            case SMALLINT:
+                writer.putShort(record.getShort(i));
+                break;
+            case INT:
+                writer.putInt(record.getInt(i));
+                break;
+            case BIGINT:
+                writer.putLong(record.getLong(i));
+                break;
+            case FLOAT:
+                writer.putFloat(record.getFloat(i));
+                break;
+            case DOUBLE:
+                writer.putDouble(record.getDouble(i));
+                break;
+            case DATE:
+            case DATEV2:
+                writer.putEpochDay(record.getInt(i));
+                break;
+            case DATETIME:
+            case DATETIMEV2:
+                Timestamp timestamp = record.getTimestamp(i, types[i].getPrecision());
+                writer.putEpochMicros(timestamp.getMillisecond() * 1000 + timestamp.getNanoOfMillisecond() / 1000);
+                break;
+            case BINARY:
+                byte[] binary = record.getBinary(i);
+                writer.putBytes(binary, 0, binary.length);
+                break;
+            default:
+                // copy the bytes from the memory segment of the string directly
+                BinaryString string = record.getString(i);
+                MemorySegment[] segments = string.getSegments();
+                byte[] heapMemory = segments.length == 1 ? segments[0].getHeapMemory() : null;
+                if (heapMemory != null) {
+                    writer.putBytes(heapMemory, string.getOffset(), string.getSizeInBytes());
+                } else {
+                    byte[] bytes = string.toBytes();
+                    writer.putBytes(bytes, 0, bytes.length);
+                }
+                break;
+        }
+    }
+
+    private void flushWriters() {
+        for (int i = 0; i < writers.length; i++) {
+            if (writers[i] != null) {
+                writers[i].flush(vectorTable.getColumn(i));
+            }
+        }
+    }
+
     @Override
     protected TableSchema parseTableSchema() throws UnsupportedOperationException {
         // do nothing
@@ -19,6 +19,7 @@ package org.apache.doris.trinoconnector;
 
 import org.apache.doris.common.jni.JniScanner;
 import org.apache.doris.common.jni.vec.ColumnType;
+import org.apache.doris.common.jni.vec.PrimitiveColumnWriter;
 import org.apache.doris.common.jni.vec.TableSchema;
 import org.apache.doris.trinoconnector.TrinoConnectorCache.TrinoConnectorCacheKey;
 import org.apache.doris.trinoconnector.TrinoConnectorCache.TrinoConnectorCacheValue;
@@ -28,6 +29,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import io.airlift.json.ObjectMapperProvider;
+import io.airlift.slice.Slice;
 import io.trino.Session;
 import io.trino.SystemSessionProperties;
 import io.trino.SystemSessionPropertiesProvider;
@@ -60,9 +62,21 @@ import io.trino.spi.connector.ConnectorTableHandle;
 import io.trino.spi.connector.ConnectorTransactionHandle;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.security.Identity;
+import io.trino.spi.type.BigintType;
+import io.trino.spi.type.BooleanType;
+import io.trino.spi.type.CharType;
+import io.trino.spi.type.DateType;
+import io.trino.spi.type.DoubleType;
+import io.trino.spi.type.IntegerType;
+import io.trino.spi.type.RealType;
+import io.trino.spi.type.SmallintType;
 import io.trino.spi.type.TimeZoneKey;
+import io.trino.spi.type.TimestampType;
+import io.trino.spi.type.TinyintType;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeManager;
+import io.trino.spi.type.VarbinaryType;
+import io.trino.spi.type.VarcharType;
 import io.trino.split.RecordPageSourceProvider;
 import io.trino.sql.planner.OptimizerConfig;
 import io.trino.type.InternalTypeManager;
@@ -123,6 +137,8 @@ public class TrinoConnectorJniScanner extends JniScanner {
 
 
     private final TrinoConnectorColumnValue columnValue = new TrinoConnectorColumnValue();
+    // write the primitive values without ColumnValue, null if the type is not supported
+    private PrimitiveColumnWriter[] writers;
     private List<String> trinoConnectorAllFieldNames;
 
 
@@ -200,6 +216,11 @@ public class TrinoConnectorJniScanner extends JniScanner {
                 }
                 for (int i = 0; i < page.getChannelCount(); ++i) {
                     Block block = page.getBlock(i);
+                    if (writers[i] != null) {
+                        writeBlock(writers[i], block, page.getPositionCount(), i);
+                        writers[i].flush(vectorTable.getColumn(i));
+                        continue;
+                    }
                     columnValue.setBlock(block);
                     columnValue.setColumnType(types[i]);
                     columnValue.setTrinoType(trinoTypeList.get(i));
@@ -221,6 +242,85 @@ public class TrinoConnectorJniScanner extends JniScanner {
         return rows;
     }
 
+    private void writeBlock(PrimitiveColumnWriter writer, Block block, int positionCount, int i) {
+        ColumnType.Type type = types[i].getType();
+        Type trinoType = trinoTypeList.get(i);
+        for (int j = 0; j < positionCount; ++j) {
+            if (block.isNull(j)) {
+                writer.putNull();
+                continue;
+            }
+            switch (type) {
+                case BOOLEAN:
+                    writer.putBoolean(block.getByte(j, 0) != 0);
+                    break;
+                case TINYINT:
+                    writer.putByte(block.getByte(j, 0));
+                    break;
+                case SMALLINT:
+                    writer.putShort(block.getShort(j, 0));
+                    break;
+                case INT:
+                    writer.putInt(block.getInt(j, 0));
+                    break;
+                case BIGINT:
+                    writer.putLong(block.getLong(j, 0));
+                    break;
+                case FLOAT:
+                    writer.putFloat(RealType.REAL.getFloat(block, j));
+                    break;
+                case DOUBLE:
+                    writer.putDouble(DoubleType.DOUBLE.getDouble(block, j));
+                    break;
+                case DATE:
+                case DATEV2:
+                    writer.putEpochDay(block.getInt(j, 0));
+                    break;
+                case DATETIME:
+                case DATETIMEV2:
+                    // the short timestamp is the microseconds since epoch
+                    writer.putEpochMicros(trinoType.getLong(block, j));
+                    break;
+                default:
+                    Slice slice = block.getSlice(j, 0, block.getSliceLength(j));
+                    writer.putBytes(slice.byteArray(), slice.byteArrayOffset(), slice.length());
+                    break;
+            }
+        }
+    }
+
+    // only the trino types whose values have the same representation as doris are written by PrimitiveColumnWriter
+    private static boolean isPrimitiveWritable(Type trinoType, ColumnType dorisType) {
+        if (!PrimitiveColumnWriter.isSupported(dorisType)) {
+            return false;
+        }
+        switch (dorisType.getType()) {
+            case BOOLEAN:
+                return trinoType instanceof BooleanType;
+            case TINYINT:
+                return trinoType instanceof TinyintType;
+            case SMALLINT:
+                return trinoType instanceof SmallintType;
+            case INT:
+                return trinoType instanceof IntegerType;
+            case BIGINT:
+                return trinoType instanceof BigintType;
+            case FLOAT:
+                return trinoType instanceof RealType;
+            case DOUBLE:
+                return trinoType instanceof DoubleType;
+            case DATE:
+            case DATEV2:
+                return trinoType instanceof DateType;
+            case DATETIME:
+            case DATETIMEV2:
+                return trinoType instanceof TimestampType && ((TimestampType) trinoType).isShort();
+            default:
+                return trinoType instanceof VarcharType || trinoType instanceof CharType
+                        || trinoType instanceof VarbinaryType;
+        }
+    }
+
     @Override
     protected TableSchema parseTableSchema() throws UnsupportedOperationException {
         // do nothing
@@ -324,6 +424,7 @@ public class TrinoConnectorJniScanner extends JniScanner {
     private void parseRequiredTypes() {
         ColumnType[] columnTypes = new ColumnType[fields.length];
         trinoTypeList = Lists.newArrayList();
+        writers = new PrimitiveColumnWriter[fields.length];
         for (int i = 0; i < fields.length; i++) {
             int index = trinoConnectorAllFieldNames.indexOf(fields[i]);
             if (index == -1) {
@@ -334,6 +435,9 @@ public class TrinoConnectorJniScanner extends JniScanner {
             trinoTypeList.add(columnMetadataList.get(index).getType());
             String hiveType = TrinoTypeToHiveTypeTranslator.fromTrinoTypeToHiveType(trinoTypeList.get(i));
             columnTypes[i] = ColumnType.parseType(fields[i], hiveType);
+            if (isPrimitiveWritable(trinoTypeList.get(i), columnTypes[i])) {
+                writers[i] = new PrimitiveColumnWriter(columnTypes[i], batchSize);
+            }
         }
         super.types = columnTypes;
     }
@@ -217,6 +217,43 @@ public class Config extends ConfigBase {
             "The log roll size of BDBJE. When the number of log entries exceeds this value, the log will be rolled"})
     public static int edit_log_roll_num = 50000;
 
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "是否开启元数据日志的组提交。开启后并发写入的日志会被合并到同一个 BDBJE 事务中写入，"
+                    + "调用方仍会等待日志持久化后才返回。",
+            "Whether to group commit the edit logs. If enabled, the concurrently written edit logs are coalesced "
+                    + "into one BDBJE transaction, the callers still wait until their logs are durable."})
+    public static boolean enable_batch_editlog = false;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "组提交时一个批次最多包含的日志条数",
+            "The max number of edit logs in one group commit batch"})
+    public static int batch_edit_log_max_item_num = 32;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "组提交时一个批次最多包含的日志字节数",
+            "The max bytes of edit logs in one group commit batch"})
+    public static long batch_edit_log_max_byte_size = 640 * 1024L;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "组提交时等待更多日志加入批次的最长时间，单位毫秒。0 表示只合并在上一次写入期间到达的日志。",
+            "The max time in milliseconds to wait for more edit logs joining a group commit batch. "
+                    + "0 means only coalescing the logs arrived during the previous write."})
+    public static long batch_edit_log_max_wait_ms = 0;
+
+    @ConfField(description = {
+            "非 checkpoint 线程回放元数据日志的并发度。大于 1 时，只涉及单个 database 的日志（如导入事务）"
+                    + "会按 database 分发到不同线程并发回放，其余日志仍然串行回放。",
+            "The parallelism to replay edit logs except in checkpoint. If greater than 1, the logs only "
+                    + "related to one database, such as load transactions, are replayed concurrently by database, "
+                    + "the others are still replayed serially."})
+    public static int replay_journal_parallelism = 1;
+
+    @ConfField(mutable = true, description = {
+            "并发回放元数据日志时，一个批次最多包含的日志条数。一个批次全部回放完成后才会推进已回放的日志 id。",
+            "The max number of edit logs in one batch when replaying concurrently. "
+                    + "The replayed journal id is advanced after all logs of the batch are replayed."})
+    public static int replay_journal_parallel_batch_num = 1024;
+
     @ConfField(description = {"元数据同步的容忍延迟时间，单位为秒。如果元数据的延迟超过这个值，非主 FE 会停止提供服务",
             "The toleration delay time of meta data synchronization, in seconds. "
                     + "If the delay of meta data exceeds this value, non-master FE will stop offering service"})
@@ -441,6 +478,36 @@ public class Config extends ConfigBase {
     @ConfField(description = {"MySQL 服务的最大任务线程数", "The max number of task threads in MySQL service"})
     public static int max_mysql_service_task_threads_num = 4096;
 
+    @ConfField(description = {"MySQL 服务执行命令的线程池类型。连接由 IO 线程监听，只有收到命令时才占用任务线程，"
+            + "空闲的连接不占用线程。cached：按需创建线程，最多 max_mysql_service_task_threads_num 个；"
+            + "bounded：固定 max_mysql_service_task_threads_num 个线程，其余命令在队列中等待，"
+            + "线程都被长查询占用时，KILL 和 ping 等命令也需要排队；"
+            + "virtual：每个命令使用一个虚拟线程，需要 JDK 21 及以上版本，否则使用 cached。"
+            + "JDK 24 之前，虚拟线程在 synchronized 代码中阻塞时会占住载体线程，可能导致所有命令停顿，"
+            + "建议使用 JDK 24 及以上版本。",
+            "The type of the executor running the commands of MySQL service. The connections are watched by "
+                    + "the IO threads, and occupy a task thread only when a command is received, "
+                    + "so the idle connections do not occupy threads. cached: the threads are created on demand, "
+                    + "at most max_mysql_service_task_threads_num. bounded: a fixed number of "
+                    + "max_mysql_service_task_threads_num threads, the other commands wait in the queue, "
+                    + "including KILL and ping when all the threads are occupied by long queries. "
+                    + "virtual: one virtual thread per command, which requires JDK 21 or later, "
+                    + "otherwise cached is used. Before JDK 24, a virtual thread blocking in synchronized code "
+                    + "pins its carrier thread, which may stall all the commands, so JDK 24 or later is recommended."},
+            options = {"cached", "bounded", "virtual"})
+    public static String mysql_service_task_executor_type = "cached";
+
+    @ConfField(description = {"bounded 类型的 MySQL 服务线程池的队列长度",
+            "The queue size of the bounded executor of MySQL service"})
+    public static int mysql_service_task_queue_size = 100000;
+
+    @ConfField(mutable = true, description = {"MySQL 连接的读写缓冲区池中，每种缓冲区最多缓存的空闲缓冲区个数。"
+            + "连接在读写数据包时从池中获取缓冲区，在连接空闲时归还，超过该个数的缓冲区会被释放。",
+            "The max number of the idle buffers of each kind cached in the buffer pools of mysql connections. "
+                    + "The connections lease the buffers from the pools when reading or sending packets, "
+                    + "and return them when they are idle. The buffers exceeding this number are released."})
+    public static int mysql_buffer_pool_max_idle_buffers = 256;
+
     @ConfField(description = {"BackendServiceProxy数量, 用于池化GRPC channel",
             "BackendServiceProxy pool size for pooling GRPC channels."})
     public static int backend_proxy_num = 48;
@@ -1163,6 +1230,12 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
 
+    @ConfField(masterOnly = true, description = {
+            "处理 BE 汇报的线程数。同一个 BE 的汇报总是由同一个线程按顺序处理，不同 BE 的汇报可以并行处理。",
+            "The number of threads to handle the reports of backends. Reports of one backend are always handled "
+                    + "in order by the same thread, while reports of different backends are handled in parallel."})
+    public static int report_handler_thread_num = 1;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1237,6 +1310,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "checkpoint 生成 image 时并行序列化元数据模块的线程数。大于 1 时各模块先写入 image 目录下的临时分段文件，"
+                    + "再按模块顺序拼接成 image，生成的 image 格式与串行写入完全相同。",
+            "The number of threads used to serialize metadata modules in parallel when checkpoint saves an image. "
+                    + "If greater than 1, each module is written to a temporary part file in the image dir first, "
+                    + "then the parts are concatenated in module order, "
+                    + "the image format is the same as serial writing."})
+    public static int image_write_parallelism = 1;
+
+    @ConfField(mutable = true, masterOnly = true, description = {
+            "是否压缩 image 中的每个元数据模块。开启后生成的 image 不能被不支持该功能的旧版本 FE 读取，降级前需要关闭。",
+            "Whether to compress each metadata module of the image. The compressed image can not be read by "
+                    + "older FE which does not support it, so turn it off before downgrading."})
+    public static boolean enable_image_compression = false;
+
     /**
      * If some joural is wrong, and FE can't start, we can use this to skip it.
      */
@@ -1560,6 +1648,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static boolean use_compact_thrift_rpc = true;
 
+    @ConfField(mutable = true, description = {
+            "如果设置为 true，查询计划中所有 BE 相同的部分（如 plan fragment 和 descriptor table）只序列化一次，"
+                    + "并在发往所有 BE 的 RPC 中复用。要求所有 BE 已升级到支持该功能的版本，因此默认关闭。",
+            "If set to true, the parts of the query plan which are the same on all backends, such as the plan "
+                    + "fragments and the descriptor table, are serialized only once and shared by the rpcs to all "
+                    + "backends. It requires all backends are upgraded to the version which supports it, "
+                    + "so it is disabled by default."})
+    public static boolean enable_fragment_shared_params = false;
+
+    @ConfField(mutable = true, description = {
+            "查询计划共享部分序列化后的大小超过该值（字节）时，使用 snappy 压缩后再发送给 BE。小于 0 表示不压缩。",
+            "The shared parts of the query plan are compressed by snappy before sent to backends, "
+                    + "if the serialized size exceeds this value in bytes. A negative value disables the compression."})
+    public static long fragment_shared_params_compress_threshold = 65536;
+
     /*
      * If set to true, the tablet scheduler will not work, so that all tablet repair/balance task will not work.
      */
@@ -1756,6 +1859,34 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long query_queue_update_interval_ms = 5000;
 
+    @ConfField(mutable = true, description = {"是否在集群范围内限制 Workload Group 的查询并发。开启后，max_concurrency 是整个集群的"
+            + "并发上限，各 FE 定期向 Master 上报排队情况并租用并发额度，需要在所有 FE 上设置相同的值。"
+            + "未设置 max_concurrency 的 Workload Group 不受影响。",
+            "Whether to limit the query concurrency of workload groups in the whole cluster. If enabled, "
+                    + "max_concurrency is the limit of the whole cluster, and each FE reports its queries to "
+                    + "Master and leases the concurrency slots periodically. It should be set on all FEs. "
+                    + "The workload groups without max_concurrency are not affected."})
+    public static boolean enable_global_query_queue = false;
+
+    @ConfField(mutable = true, description = {"FE 向 Master 同步查询并发额度的间隔，有查询排队时会立即同步。",
+            "The interval of FE syncing the query concurrency slots with Master. "
+                    + "The slots are synced at once when there are queries waiting."})
+    public static long query_queue_slot_sync_interval_ms = 1000;
+
+    @ConfField(mutable = true, description = {"Workload Group 空闲时，FE 在需求之外多租用的查询并发额度，"
+            + "使查询在未达到上限时不需要等待同步。",
+            "The slots leased by FE more than its demand when the workload group is not busy, "
+                    + "so the queries do not wait for syncing with Master if the limit is not reached."})
+    public static int query_queue_slot_lease_batch_size = 4;
+
+    @ConfField(mutable = true, description = {"FE 租用的查询并发额度的有效期。Master 会回收超过该时间未同步的 FE 的额度，"
+            + "FE 在超过该时间未能同步时不再执行新的查询。仅因额度用完而排队的查询不受 max_queue_size 限制，且至少等待该时间。",
+            "The lease timeout of the query concurrency slots. Master reclaims the slots of the FEs not syncing "
+                    + "in this time, and FE does not run new queries if it fails to sync in this time. "
+                    + "The queries only short of the leased slots are not limited by max_queue_size, "
+                    + "and wait at least this time."})
+    public static long query_queue_slot_lease_timeout_ms = 10000;
+
     @ConfField(mutable = true, varType = VariableAnnotation.EXPERIMENTAL)
     public static boolean enable_cpu_hard_limit = false;
 
@@ -1971,6 +2102,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static int max_external_cache_loader_thread_pool_size = 64;
 
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "每个hive catalog同时list文件的最大并发数，可以通过catalog属性file.listing.max.concurrency覆盖",
+            "Max number of concurrent file listings of each hive catalog, "
+                    + "can be overridden by the catalog property file.listing.max.concurrency"})
+    public static int max_file_listing_concurrency_per_catalog = 32;
+
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "是否将hive catalog的表结构、分区和文件列表缓存持久化到meta_dir下，FE重启后无需重新从hms和文件系统加载。"
+                    + "持久化的缓存在首次使用时会根据hms的event id进行校验，因此hms需要开启notification event",
+            "Whether to persist the schemas, the partitions and the file lists of hive catalogs under meta_dir, "
+                    + "so they needn't be loaded from hms and the file system again after FE restarts. "
+                    + "The persisted cache is validated by the hms event id when it is used at the first time, "
+                    + "so the notification events of hms must be enabled"})
+    public static boolean enable_external_meta_cache_persistence = false;
+
     /**
      * Max cache num of external catalog's file
      * Decrease this value if FE's memory is small
@@ -1985,6 +2131,15 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static long max_external_schema_cache_num = 10000;
 
+    @ConfField(mutable = false, masterOnly = false, description = {
+            "FE缓存的iceberg manifest中数据文件和删除文件的最大数量，所有查询共享，默认为0，即不缓存。"
+                    + "实验性功能，开启后删除文件不会按分区统计信息和列统计信息裁剪，且会忽略scan的选项",
+            "Max number of the data files and delete files of iceberg manifests cached on FE, "
+                    + "which are shared by all queries, 0 by default which means no cache. "
+                    + "Experimental, the delete files are not pruned by the partition and column metrics, "
+                    + "and the options of the scan are ignored if it is enabled"})
+    public static long max_external_iceberg_manifest_cache_num = 0;
+
     /**
      * The expiration time of a cache object after last access of it.
      * For external schema cache and hive meta cache.
@@ -2400,6 +2555,12 @@ public class Config extends ConfigBase {
                     + "If this number is exceeded, the splits will be redistributed."})
     public static int split_assigner_max_split_num_variance = 1;
 
+    @ConfField(mutable = true, description = {
+            "按负载分配 split 时，BE 上一个正在执行的 fragment 相当于多少个标准 split 的负载。",
+            "When assigning the splits by load, the load of a running fragment on a backend "
+                    + "in the number of standard splits."})
+    public static double split_assigner_running_fragment_weight = 1.0;
+
     @ConfField(description = {
             "控制统计信息的自动触发作业执行记录的持久化行数",
             "Determine the persist number of automatic triggered analyze job execution status"
@@ -2667,6 +2828,14 @@ public class Config extends ConfigBase {
             "Should the request content be logged before each request starts, specifically the query statements"})
     public static boolean enable_print_request_before_execution = false;
 
+    @ConfField(description = {
+            "是否使用以原生 long 为 key 的紧凑结构保存 tablet 倒排索引。开启后可以大幅减少元数据的堆内存占用，"
+                    + "适用于副本数达到千万级别的集群。修改后需要重启 FE 生效。",
+            "Whether to store the tablet inverted index in compact maps keyed by primitive long. "
+                    + "It reduces the heap used by metadata a lot for clusters with tens of millions of replicas. "
+                    + "Restart FE to take effect."})
+    public static boolean enable_compact_tablet_inverted_index = false;
+
     //==========================================================================
     //                    begin of cloud config
     //==========================================================================
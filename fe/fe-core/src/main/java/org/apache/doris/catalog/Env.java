@@ -211,6 +211,7 @@ import org.apache.doris.persist.ModifyPartitionInfo;
 import org.apache.doris.persist.ModifyTableDefaultDistributionBucketNumOperationLog;
 import org.apache.doris.persist.ModifyTablePropertyOperationLog;
 import org.apache.doris.persist.OperationType;
+import org.apache.doris.persist.ParallelJournalReplayer;
 import org.apache.doris.persist.PartitionPersistInfo;
 import org.apache.doris.persist.RecoverInfo;
 import org.apache.doris.persist.RefreshExternalTableInfo;
@@ -243,6 +244,7 @@ import org.apache.doris.qe.QueryCancelWorker;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.resource.Tag;
+import org.apache.doris.resource.workloadgroup.QueryQueueSlotSyncer;
 import org.apache.doris.resource.workloadgroup.WorkloadGroupMgr;
 import org.apache.doris.resource.workloadschedpolicy.WorkloadRuntimeStatusMgr;
 import org.apache.doris.resource.workloadschedpolicy.WorkloadSchedPolicyMgr;
@@ -431,6 +433,8 @@ public class Env {
 
     private static Env CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // threads which serialize image modules on behalf of the checkpoint thread
+    private static final Set<Long> checkpointWorkerThreadIds = ConcurrentHashMap.newKeySet();
     private Checkpoint checkpointer;
     protected List<HostInfo> helperNodes = Lists.newArrayList();
     protected HostInfo selfNode = null;
@@ -443,6 +447,8 @@ public class Env {
     private HAProtocol haProtocol = null;
 
     private JournalObservable journalObservable;
+    // only created when Config.replay_journal_parallelism > 1
+    private ParallelJournalReplayer parallelJournalReplayer;
 
     protected SystemInfoService systemInfo;
     private HeartbeatMgr heartbeatMgr;
@@ -515,6 +521,8 @@ public class Env {
 
     private WorkloadGroupMgr workloadGroupMgr;
 
+    private QueryQueueSlotSyncer queryQueueSlotSyncer;
+
     private WorkloadSchedPolicyMgr workloadSchedPolicyMgr;
 
     private WorkloadRuntimeStatusMgr workloadRuntimeStatusMgr;
@@ -782,6 +790,7 @@ public class Env {
         this.statisticsJobAppender = new StatisticsJobAppender();
         this.globalFunctionMgr = new GlobalFunctionMgr();
         this.workloadGroupMgr = new WorkloadGroupMgr();
+        this.queryQueueSlotSyncer = new QueryQueueSlotSyncer();
         this.workloadSchedPolicyMgr = new WorkloadSchedPolicyMgr();
         this.workloadRuntimeStatusMgr = new WorkloadRuntimeStatusMgr();
         this.queryStats = new QueryStats();
@@ -891,6 +900,10 @@ public class Env {
         return workloadGroupMgr;
     }
 
+    public QueryQueueSlotSyncer getQueryQueueSlotSyncer() {
+        return queryQueueSlotSyncer;
+    }
+
     public WorkloadSchedPolicyMgr getWorkloadSchedPolicyMgr() {
         return workloadSchedPolicyMgr;
     }
@@ -943,7 +956,19 @@ public class Env {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        long threadId = Thread.currentThread().getId();
+        return threadId == checkpointThreadId
+                || (!checkpointWorkerThreadIds.isEmpty() && checkpointWorkerThreadIds.contains(threadId));
+    }
+
+    // Let the current thread see the checkpoint env, only used by the threads helping checkpoint thread
+    // to save image. The checkpoint env must have been created by the checkpoint thread.
+    public static void registerCheckpointWorkerThread() {
+        checkpointWorkerThreadIds.add(Thread.currentThread().getId());
+    }
+
+    public static void unregisterCheckpointWorkerThread() {
+        checkpointWorkerThreadIds.remove(Thread.currentThread().getId());
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1817,6 +1842,7 @@ public class Env {
         dnsCache.start();
 
         workloadGroupMgr.start();
+        queryQueueSlotSyncer.start();
         workloadSchedPolicyMgr.start();
         workloadRuntimeStatusMgr.start();
         splitSourceManager.start();
@@ -2884,6 +2910,13 @@ public class Env {
             return false;
         }
 
+        // checkpoint thread always replays serially, the replayer threads can not see the checkpoint env.
+        boolean parallel = Config.replay_journal_parallelism > 1 && !isCheckpointThread();
+        if (parallel && parallelJournalReplayer == null) {
+            parallelJournalReplayer = new ParallelJournalReplayer(Config.replay_journal_parallelism);
+        }
+        List<Pair<Long, JournalEntity>> pendingJournals = Lists.newArrayList();
+
         long startTime = System.currentTimeMillis();
         boolean hasLog = false;
         while (true) {
@@ -2895,6 +2928,7 @@ public class Env {
             Long logId = kv.first;
             JournalEntity entity = kv.second;
             if (entity == null) {
+                replayPendingJournals(pendingJournals);
                 if (logId != null && forceSkipJournalIds.contains(String.valueOf(logId))) {
                     replayedJournalId.incrementAndGet();
                     String msg = "journal " + replayedJournalId + " has skipped by config force_skip_journal_id";
@@ -2910,6 +2944,15 @@ public class Env {
                 }
             }
             hasLog = true;
+            if (parallel && ParallelJournalReplayer.getReplayKey(entity) != ParallelJournalReplayer.SERIAL_KEY) {
+                pendingJournals.add(kv);
+                if (pendingJournals.size() >= Config.replay_journal_parallel_batch_num) {
+                    replayPendingJournals(pendingJournals);
+                }
+                continue;
+            }
+            // the journals before this one must be replayed first
+            replayPendingJournals(pendingJournals);
             EditLog.loadJournal(this, logId, entity);
             long loadJournalEndTime = System.currentTimeMillis();
             replayedJournalId.incrementAndGet();
@@ -2932,6 +2975,7 @@ public class Env {
                         entity.getDataSize());
             }
         }
+        replayPendingJournals(pendingJournals);
         long cost = System.currentTimeMillis() - startTime;
         if (cost >= 1000) {
             LOG.warn("replay journal cost too much time: {} replayedJournalId: {}", cost, replayedJournalId);
@@ -2940,6 +2984,31 @@ public class Env {
         return hasLog;
     }
 
+    // replay the journals concurrently, and advance the replayed journal id after all of them are replayed.
+    private void replayPendingJournals(List<Pair<Long, JournalEntity>> journals) {
+        if (journals.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        parallelJournalReplayer.replay(journals, (logId, entity) -> EditLog.loadJournal(this, logId, entity));
+        replayedJournalId.addAndGet(journals.size());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} journals replayed concurrently, replayed journal id {}", journals.size(), replayedJournalId);
+        }
+        if (feType != FrontendNodeType.MASTER) {
+            journalObservable.notifyObservers(replayedJournalId.get());
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_EDIT_LOG_READ.increase((long) journals.size());
+        }
+        long cost = System.currentTimeMillis() - startTime;
+        if (cost >= 1000) {
+            LOG.warn("replay {} journals concurrently cost {} ms, replayedJournalId: {}",
+                    journals.size(), cost, replayedJournalId);
+        }
+        journals.clear();
+    }
+
     public void createTimePrinter() {
         // time printer will write timestamp edit log every 10 seconds
         timePrinter = new MasterDaemon("timePrinter", 10 * 1000L) {
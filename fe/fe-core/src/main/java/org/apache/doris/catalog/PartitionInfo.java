@@ -94,6 +94,10 @@ public class PartitionInfo {
     @SerializedName("IsAutoCreatePartitions")
     protected boolean isAutoCreatePartitions;
 
+    // increased when the formal partition items are changed, so the caches built on them can be invalidated.
+    // the items are only changed with the table write lock held, so volatile is enough. not persisted.
+    private volatile long itemVersion = 0;
+
     public PartitionInfo() {
         this.type = PartitionType.UNPARTITIONED;
         this.idToDataProperty = new HashMap<>();
@@ -136,6 +140,10 @@ public class PartitionInfo {
         }
     }
 
+    public long getItemVersion() {
+        return itemVersion;
+    }
+
     /**
      * @return both normal partition and temp partition
      */
@@ -174,6 +182,7 @@ public class PartitionInfo {
             idToTempItem.put(partitionId, item);
         } else {
             idToItem.put(partitionId, item);
+            itemVersion++;
         }
     }
 
@@ -341,6 +350,7 @@ public class PartitionInfo {
         idToInMemory.remove(partitionId);
         idToItem.remove(partitionId);
         idToTempItem.remove(partitionId);
+        itemVersion++;
     }
 
     public void addPartition(long partitionId, boolean isTemp, PartitionItem item, DataProperty dataProperty,
@@ -388,6 +398,7 @@ public class PartitionInfo {
         PartitionItem item = idToTempItem.remove(tempPartitionId);
         if (item != null) {
             idToItem.put(tempPartitionId, item);
+            itemVersion++;
         }
     }
 
@@ -416,6 +427,7 @@ public class PartitionInfo {
             idToInMemory.put(entry.getKey(), origIdToInMemory.get(entry.getValue()));
             idToStoragePolicy.put(entry.getKey(), origIdToStoragePolicy.get(entry.getValue()));
         }
+        itemVersion++;
     }
 
     @Deprecated
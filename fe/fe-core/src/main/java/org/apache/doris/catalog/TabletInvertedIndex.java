@@ -21,6 +21,8 @@ import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.Long2LongHashMap;
+import org.apache.doris.common.util.Long2ObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.master.PartitionInfoCollector.PartitionCollectInfo;
 import org.apache.doris.task.PublishVersionTask;
@@ -45,6 +47,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
 import com.google.common.collect.TreeMultimap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -74,11 +77,15 @@ public class TabletInvertedIndex {
 
     private StampedLock lock = new StampedLock();
 
+    // If Config.enable_compact_tablet_inverted_index is set, all maps and tables below are backed by
+    // primitive long keyed maps, to avoid the boxed keys and hash entries of tens of millions of replicas.
+    private final boolean compact = Config.enable_compact_tablet_inverted_index;
+
     // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private Map<Long, TabletMeta> tabletMetaMap = compact ? new Long2ObjectHashMap<>() : Maps.newHashMap();
 
     // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private Map<Long, Long> replicaToTabletMap = compact ? new Long2LongHashMap() : Maps.newHashMap();
 
     /*
      *  we use this to save memory.
@@ -89,15 +96,15 @@ public class TabletInvertedIndex {
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
      */
-    private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
+    private Table<Long, Long, TabletMeta> tabletMetaTable = createTable();
 
     // tablet id -> (backend id -> replica)
     // for cloud mode, no need to known the replica's backend, so use backend id = -1 in cloud mode.
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+    private Table<Long, Long, Replica> replicaMetaTable = createTable();
 
     // backing replica table, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private Table<Long, Long, Replica> backingReplicaMetaTable = createTable();
 
     // partition id -> partition info.
     // notice partition info update every Config.partition_info_update_interval_secs seconds,
@@ -110,6 +117,13 @@ public class TabletInvertedIndex {
     public TabletInvertedIndex() {
     }
 
+    private <V> Table<Long, Long, V> createTable() {
+        if (compact) {
+            return Tables.newCustomTable(new Long2ObjectHashMap<>(), Long2ObjectHashMap::new);
+        }
+        return HashBasedTable.create();
+    }
+
     private long readLock() {
         return this.lock.readLock();
     }
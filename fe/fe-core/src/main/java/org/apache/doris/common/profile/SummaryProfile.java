@@ -76,6 +76,8 @@ public class SummaryProfile {
     public static final String WAIT_FETCH_RESULT_TIME = "Wait and Fetch Result Time";
     public static final String FETCH_RESULT_TIME = "Fetch Result Time";
     public static final String WRITE_RESULT_TIME = "Write Result Time";
+    public static final String WRITE_RESULT_BYTES = "Write Result Bytes";
+    public static final String WRITE_RESULT_THROUGHPUT = "Write Result Throughput";
     public static final String GET_PARTITION_VERSION_TIME = "Get Partition Version Time";
     public static final String GET_PARTITION_VERSION_COUNT = "Get Partition Version Count";
     public static final String GET_PARTITION_VERSION_BY_HAS_DATA_COUNT = "Get Partition Version Count (hasData)";
@@ -90,6 +92,7 @@ public class SummaryProfile {
     public static final String NEREIDS_DISTRIBUTE_TIME = "Nereids Distribute Time";
 
     public static final String FRAGMENT_COMPRESSED_SIZE = "Fragment Compressed Size";
+    public static final String FRAGMENT_SHARED_PARAMS_SIZE = "Fragment Shared Params Size";
     public static final String FRAGMENT_RPC_COUNT = "Fragment RPC Count";
     public static final String TRANSACTION_COMMIT_TIME = "Transaction Commit Time";
     public static final String FILESYSTEM_OPT_TIME = "FileSystem Operator Time";
@@ -144,10 +147,13 @@ public class SummaryProfile {
             SEND_FRAGMENT_PHASE1_TIME,
             SEND_FRAGMENT_PHASE2_TIME,
             FRAGMENT_COMPRESSED_SIZE,
+            FRAGMENT_SHARED_PARAMS_SIZE,
             FRAGMENT_RPC_COUNT,
             WAIT_FETCH_RESULT_TIME,
             FETCH_RESULT_TIME,
             WRITE_RESULT_TIME,
+            WRITE_RESULT_BYTES,
+            WRITE_RESULT_THROUGHPUT,
             DORIS_VERSION,
             IS_NEREIDS,
                     IS_CACHED,
@@ -181,7 +187,10 @@ public class SummaryProfile {
             .put(SEND_FRAGMENT_PHASE1_TIME, 1)
             .put(SEND_FRAGMENT_PHASE2_TIME, 1)
             .put(FRAGMENT_COMPRESSED_SIZE, 1)
+            .put(FRAGMENT_SHARED_PARAMS_SIZE, 2)
             .put(FRAGMENT_RPC_COUNT, 1)
+            .put(WRITE_RESULT_BYTES, 1)
+            .put(WRITE_RESULT_THROUGHPUT, 1)
             .put(FILESYSTEM_OPT_TIME, 1)
             .put(FILESYSTEM_OPT_RENAME_FILE_CNT, 2)
             .put(FILESYSTEM_OPT_RENAME_DIR_CNT, 2)
@@ -229,6 +238,8 @@ public class SummaryProfile {
     private long fragmentSendPhase1Time = -1;
     private long fragmentSendPhase2Time = -1;
     private long fragmentCompressedSize = 0;
+    // the size of the params shared by the rpcs to all backends, which is serialized only once
+    private long fragmentSharedParamsSize = 0;
     private long fragmentRpcCount = 0;
     // Fragment schedule and send end time
     private long queryScheduleFinishTime = -1;
@@ -237,6 +248,7 @@ public class SummaryProfile {
     private long tempStarTime = -1;
     private long queryFetchResultConsumeTime = 0;
     private long queryWriteResultConsumeTime = 0;
+    private long queryWriteResultBytes = 0;
     private long getPartitionVersionTime = 0;
     private long getPartitionVersionCount = 0;
     private long getPartitionVersionByHasDataCount = 0;
@@ -354,6 +366,8 @@ public class SummaryProfile {
                 getPrettyTime(fragmentSendPhase2Time, fragmentSendPhase1Time, TUnit.TIME_MS));
         executionSummaryProfile.addInfoString(FRAGMENT_COMPRESSED_SIZE,
                 RuntimeProfile.printCounter(fragmentCompressedSize, TUnit.BYTES));
+        executionSummaryProfile.addInfoString(FRAGMENT_SHARED_PARAMS_SIZE,
+                RuntimeProfile.printCounter(fragmentSharedParamsSize, TUnit.BYTES));
         executionSummaryProfile.addInfoString(FRAGMENT_RPC_COUNT, "" + fragmentRpcCount);
         executionSummaryProfile.addInfoString(WAIT_FETCH_RESULT_TIME,
                 getPrettyTime(queryFetchResultFinishTime, queryScheduleFinishTime, TUnit.TIME_MS));
@@ -361,6 +375,11 @@ public class SummaryProfile {
                 RuntimeProfile.printCounter(queryFetchResultConsumeTime, TUnit.TIME_MS));
         executionSummaryProfile.addInfoString(WRITE_RESULT_TIME,
                 RuntimeProfile.printCounter(queryWriteResultConsumeTime, TUnit.TIME_MS));
+        executionSummaryProfile.addInfoString(WRITE_RESULT_BYTES,
+                RuntimeProfile.printCounter(queryWriteResultBytes, TUnit.BYTES));
+        executionSummaryProfile.addInfoString(WRITE_RESULT_THROUGHPUT,
+                RuntimeProfile.printCounter(queryWriteResultBytes * 1000 / Math.max(queryWriteResultConsumeTime, 1),
+                        TUnit.BYTES_PER_SECOND));
         setTransactionSummary();
 
         if (Config.isCloudMode()) {
@@ -508,6 +527,10 @@ public class SummaryProfile {
         this.queryWriteResultConsumeTime += TimeUtils.getStartTimeMs() - tempStarTime;
     }
 
+    public void updateWriteResultBytes(long bytes) {
+        this.queryWriteResultBytes += bytes;
+    }
+
     public void setAssignFragmentTime() {
         this.assignFragmentTime = TimeUtils.getStartTimeMs();
     }
@@ -528,6 +551,10 @@ public class SummaryProfile {
         this.fragmentCompressedSize += size;
     }
 
+    public void updateFragmentSharedParamsSize(long size) {
+        this.fragmentSharedParamsSize += size;
+    }
+
     public void updateFragmentRpcCount(long count) {
         this.fragmentRpcCount += count;
     }
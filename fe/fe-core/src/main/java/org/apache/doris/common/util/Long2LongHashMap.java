@@ -0,0 +1,284 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An open addressing hash map with primitive long keys and primitive long values.
+ * See {@link Long2ObjectHashMap} for the layout. This class is NOT thread safe.
+ */
+public class Long2LongHashMap extends AbstractMap<Long, Long> {
+    private long[] keys;
+    private long[] values;
+    private byte[] states;
+    private int mask;
+    private int size;
+    private int used;
+    private int maxFill;
+
+    private Set<Map.Entry<Long, Long>> entrySet;
+
+    public Long2LongHashMap() {
+        this(16);
+    }
+
+    public Long2LongHashMap(int expectedSize) {
+        allocate(Long2ObjectHashMap.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        states = new byte[capacity];
+        mask = capacity - 1;
+        maxFill = Long2ObjectHashMap.maxFillFor(capacity);
+        used = size;
+    }
+
+    private int find(long key) {
+        int pos = Long2ObjectHashMap.hash(key) & mask;
+        while (states[pos] != Long2ObjectHashMap.FREE) {
+            if (states[pos] == Long2ObjectHashMap.FULL && keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    public long get(long key, long defaultValue) {
+        int pos = find(key);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    /**
+     * @return true if the key is newly added
+     */
+    public boolean put(long key, long value) {
+        int pos = Long2ObjectHashMap.hash(key) & mask;
+        int firstRemoved = -1;
+        while (states[pos] != Long2ObjectHashMap.FREE) {
+            if (states[pos] == Long2ObjectHashMap.FULL) {
+                if (keys[pos] == key) {
+                    values[pos] = value;
+                    return false;
+                }
+            } else if (firstRemoved < 0) {
+                firstRemoved = pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            pos = firstRemoved;
+        } else {
+            used++;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        states[pos] = Long2ObjectHashMap.FULL;
+        size++;
+        if (used > maxFill) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the key existed and is removed
+     */
+    public boolean removeKey(long key) {
+        int pos = find(key);
+        if (pos < 0) {
+            return false;
+        }
+        states[pos] = Long2ObjectHashMap.REMOVED;
+        size--;
+        return true;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(Long2ObjectHashMap.capacityFor(size));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == Long2ObjectHashMap.FULL) {
+                int pos = Long2ObjectHashMap.hash(oldKeys[i]) & mask;
+                while (states[pos] != Long2ObjectHashMap.FREE) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+                states[pos] = Long2ObjectHashMap.FULL;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && containsKey(((Long) key).longValue());
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (!(value instanceof Long)) {
+            return false;
+        }
+        long v = (Long) value;
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == Long2ObjectHashMap.FULL && values[i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        int pos = find((Long) key);
+        return pos < 0 ? null : values[pos];
+    }
+
+    @Override
+    public Long put(Long key, Long value) {
+        Long old = get(key);
+        put(key.longValue(), value.longValue());
+        return old;
+    }
+
+    @Override
+    public Long remove(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        int pos = find((Long) key);
+        if (pos < 0) {
+            return null;
+        }
+        long old = values[pos];
+        states[pos] = Long2ObjectHashMap.REMOVED;
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (used == 0) {
+            return;
+        }
+        Arrays.fill(states, Long2ObjectHashMap.FREE);
+        size = 0;
+        used = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Long>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Long, Long>>() {
+                @Override
+                public Iterator<Map.Entry<Long, Long>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    Long2LongHashMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Long, Long>> {
+        private final long[] iterKeys = keys;
+        private final long[] iterValues = values;
+        private final byte[] iterStates = states;
+        private int next = -1;
+        private int last = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next++;
+            while (next < iterStates.length && iterStates[next] != Long2ObjectHashMap.FULL) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < iterStates.length;
+        }
+
+        @Override
+        public Map.Entry<Long, Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return new AbstractMap.SimpleEntry<Long, Long>(iterKeys[last], iterValues[last]) {
+                @Override
+                public Long setValue(Long value) {
+                    Long2LongHashMap.this.put(getKey().longValue(), value.longValue());
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeKey(iterKeys[last]);
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An open addressing hash map with primitive long keys.
+ *
+ * Keys and values are stored in flat arrays, so there is no per entry node and no boxed key kept in heap.
+ * This saves a lot of memory compared with {@link java.util.HashMap} when there are millions of entries,
+ * eg. the tablet inverted index. It still implements {@link Map} so it can be used as a drop-in replacement,
+ * but the primitive methods such as {@link #get(long)} should be preferred in hot paths.
+ *
+ * Removed slots are marked as tombstones and are reclaimed on the next rehash, so iterators are never
+ * disturbed by removing entries. This class is NOT thread safe.
+ */
+public class Long2ObjectHashMap<V> extends AbstractMap<Long, V> {
+    static final byte FREE = 0;
+    static final byte FULL = 1;
+    static final byte REMOVED = 2;
+
+    private static final int MIN_CAPACITY = 2;
+
+    private long[] keys;
+    private Object[] values;
+    private byte[] states;
+    private int mask;
+    // number of FULL slots
+    private int size;
+    // number of FULL and REMOVED slots
+    private int used;
+    private int maxFill;
+
+    private Set<Map.Entry<Long, V>> entrySet;
+
+    public Long2ObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public Long2ObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    static int capacityFor(int expectedSize) {
+        // keep load factor under 0.75
+        long required = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        if (required > (1 << 30)) {
+            throw new IllegalArgumentException("too many entries: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) (required - 1)) << 1;
+    }
+
+    static int maxFillFor(int capacity) {
+        return Math.min(capacity - 1, capacity * 3 / 4);
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        states = new byte[capacity];
+        mask = capacity - 1;
+        maxFill = maxFillFor(capacity);
+        used = size;
+    }
+
+    private int find(long key) {
+        int pos = hash(key) & mask;
+        while (states[pos] != FREE) {
+            if (states[pos] == FULL && keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int pos = find(key);
+        return pos < 0 ? null : (V) values[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int pos = hash(key) & mask;
+        int firstRemoved = -1;
+        while (states[pos] != FREE) {
+            if (states[pos] == FULL) {
+                if (keys[pos] == key) {
+                    V old = (V) values[pos];
+                    values[pos] = value;
+                    return old;
+                }
+            } else if (firstRemoved < 0) {
+                firstRemoved = pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            pos = firstRemoved;
+        } else {
+            used++;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        states[pos] = FULL;
+        size++;
+        if (used > maxFill) {
+            rehash();
+        }
+        return null;
+    }
+
+    public V remove(long key) {
+        int pos = find(key);
+        return pos < 0 ? null : removeAt(pos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeAt(int pos) {
+        V old = (V) values[pos];
+        values[pos] = null;
+        states[pos] = REMOVED;
+        size--;
+        return old;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        byte[] oldStates = states;
+        // grows when most slots hold live entries, otherwise this just purges the tombstones
+        allocate(capacityFor(size));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == FULL) {
+                int pos = hash(oldKeys[i]) & mask;
+                while (states[pos] != FREE) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+                states[pos] = FULL;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && containsKey(((Long) key).longValue());
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == FULL && (value == null ? values[i] == null : value.equals(values[i]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Long ? get(((Long) key).longValue()) : null;
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Long ? remove(((Long) key).longValue()) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (used == 0) {
+            return;
+        }
+        Arrays.fill(values, null);
+        Arrays.fill(states, FREE);
+        size = 0;
+        used = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+        @Override
+        public Iterator<Map.Entry<Long, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            if (!(e.getKey() instanceof Long)) {
+                return false;
+            }
+            int pos = find((Long) e.getKey());
+            if (pos < 0) {
+                return false;
+            }
+            return e.getValue() == null ? values[pos] == null : e.getValue().equals(values[pos]);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            Long2ObjectHashMap.this.remove((long) (Long) ((Map.Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            Long2ObjectHashMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+        // the tables may be replaced by a rehash, iterate over the snapshot taken at creation
+        private final long[] iterKeys = keys;
+        private final Object[] iterValues = values;
+        private final byte[] iterStates = states;
+        private int next = -1;
+        private int last = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next++;
+            while (next < iterStates.length && iterStates[next] != FULL) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < iterStates.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<Long, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return new Entry(iterKeys[last], (V) iterValues[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (iterStates == states) {
+                if (iterStates[last] == FULL) {
+                    removeAt(last);
+                }
+            } else {
+                Long2ObjectHashMap.this.remove(iterKeys[last]);
+            }
+            last = -1;
+        }
+    }
+
+    private class Entry implements Map.Entry<Long, V> {
+        private final long key;
+        private V value;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            this.value = value;
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
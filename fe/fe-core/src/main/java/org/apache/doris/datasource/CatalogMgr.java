@@ -46,6 +46,7 @@ import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.hive.HMSExternalCatalog;
 import org.apache.doris.datasource.hive.HMSExternalTable;
+import org.apache.doris.datasource.metacache.PersistentMetaCacheStore;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.persist.OperationType;
 import org.apache.doris.persist.gson.GsonPostProcessable;
@@ -500,6 +501,7 @@ public class CatalogMgr implements Writable, GsonPostProcessable {
         writeLock();
         try {
             removeCatalog(log.getCatalogId());
+            PersistentMetaCacheStore.deleteFiles(log.getCatalogId());
         } finally {
             writeUnlock();
         }
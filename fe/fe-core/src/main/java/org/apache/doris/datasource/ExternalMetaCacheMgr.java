@@ -179,7 +179,9 @@ public class ExternalMetaCacheMgr {
     }
 
     public void removeCache(long catalogId) {
-        if (cacheMap.remove(catalogId) != null) {
+        HiveMetaStoreCache metaStoreCache = cacheMap.remove(catalogId);
+        if (metaStoreCache != null) {
+            metaStoreCache.close();
             LOG.info("remove hive metastore cache for catalog {}", catalogId);
         }
         if (schemaCacheMap.remove(catalogId) != null) {
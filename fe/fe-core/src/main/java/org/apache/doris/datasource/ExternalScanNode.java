@@ -45,10 +45,14 @@ public abstract class ExternalScanNode extends ScanNode {
     // set to false means this scan node does not need to check column priv.
     protected boolean needCheckColumnPriv;
 
+    // the file splits are weighted by their lengths only if it is true, otherwise all splits have the standard weight
+    protected final boolean loadAwareSplitAssignment = ConnectContext.get() != null
+            && ConnectContext.get().getSessionVariable().enableLoadAwareSplitAssignment;
+
     protected final FederationBackendPolicy backendPolicy = (ConnectContext.get() != null
             && ConnectContext.get().getSessionVariable().enableFileCache)
-            ? new FederationBackendPolicy(NodeSelectionStrategy.CONSISTENT_HASHING)
-            : new FederationBackendPolicy();
+            ? new FederationBackendPolicy(NodeSelectionStrategy.CONSISTENT_HASHING, loadAwareSplitAssignment)
+            : new FederationBackendPolicy(NodeSelectionStrategy.ROUND_ROBIN, loadAwareSplitAssignment);
 
     public ExternalScanNode(PlanNodeId id, TupleDescriptor desc, String planNodeName, StatisticalType statisticalType,
             boolean needCheckColumnPriv) {
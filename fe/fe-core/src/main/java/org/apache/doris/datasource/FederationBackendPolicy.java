@@ -87,6 +87,8 @@ public class FederationBackendPolicy {
 
     private NodeSelectionStrategy nodeSelectionStrategy;
     private boolean enableSplitsRedistribution = true;
+    // assign the splits by the split weights and the current loads of backends, see assignByLoad()
+    private final boolean loadAware;
 
     // Create a ConsistentHash ring may be a time-consuming operation, so we cache it.
     private static LoadingCache<HashCacheKey, ConsistentHash<Split, Backend>> consistentHashCache;
@@ -139,7 +141,12 @@ public class FederationBackendPolicy {
     }
 
     public FederationBackendPolicy(NodeSelectionStrategy nodeSelectionStrategy) {
+        this(nodeSelectionStrategy, false);
+    }
+
+    public FederationBackendPolicy(NodeSelectionStrategy nodeSelectionStrategy, boolean loadAware) {
         this.nodeSelectionStrategy = nodeSelectionStrategy;
+        this.loadAware = loadAware;
     }
 
     public FederationBackendPolicy() {
@@ -258,6 +265,10 @@ public class FederationBackendPolicy {
             remainingSplits = splits;
         }
 
+        if (loadAware) {
+            remainingSplits = assignByLoad(remainingSplits, assignment);
+        }
+
         for (Split split : remainingSplits) {
             List<Backend> candidateNodes;
             if (!split.isRemotelyAccessible()) {
@@ -304,12 +315,89 @@ public class FederationBackendPolicy {
                     assignedWeightPerBackend.get(selectedBackend) + split.getSplitWeight().getRawValue());
         }
 
-        if (enableSplitsRedistribution && splitsToBeRedistributed) {
+        // the splits assigned by load are balanced already
+        if (enableSplitsRedistribution && splitsToBeRedistributed && !loadAware) {
             equateDistribution(assignment);
         }
         return assignment;
     }
 
+    /**
+     * Assign the remotely accessible splits to minimize the time when the last backend finishes scanning.
+     * The time of a backend is estimated by (the load of running fragments + the weight of assigned splits)
+     * / the number of scan threads, where a running fragment is counted as
+     * {@link Config#split_assigner_running_fragment_weight} standard splits.
+     * The splits are assigned from the heaviest to the lightest, each to the backend which finishes earliest,
+     * but the candidates of consistent hashing are preferred to use the file cache,
+     * unless they finish later than the earliest backend by more than
+     * {@link Config#split_assigner_max_split_num_variance} standard splits.
+     * The splits of each backend are still kept in the original order.
+     *
+     * @return the splits which are not remotely accessible
+     */
+    private List<Split> assignByLoad(List<Split> splits, ListMultimap<Backend, Split> assignment) {
+        List<Split> remainingSplits = new ArrayList<>();
+        List<Split> sortedSplits = new ArrayList<>(splits.size());
+        Map<Split, Integer> splitIndexes = Maps.newIdentityHashMap();
+        for (Split split : splits) {
+            if (split.isRemotelyAccessible()) {
+                splitIndexes.put(split, splitIndexes.size());
+                sortedSplits.add(split);
+            } else {
+                remainingSplits.add(split);
+            }
+        }
+        if (sortedSplits.isEmpty()) {
+            return remainingSplits;
+        }
+        sortedSplits.sort(Comparator.comparingLong((Split split) -> split.getSplitWeight().getRawValue()).reversed());
+
+        Map<Backend, Long> initialLoads = Maps.newHashMap();
+        IndexedPriorityQueue<Backend> earliestNodes = new IndexedPriorityQueue<>();
+        for (Backend backend : backends) {
+            long initialLoad = (long) (SplitWeight.rawValueForStandardSplitCount(1)
+                    * Config.split_assigner_running_fragment_weight * backend.getCurrentFragmentNum());
+            initialLoads.put(backend, initialLoad);
+            earliestNodes.addOrUpdate(backend, Long.MAX_VALUE - finishTime(backend, initialLoads));
+        }
+        long maxVariance = SplitWeight.rawValueForStandardSplitCount(Config.split_assigner_max_split_num_variance);
+        Set<Backend> touchedBackends = Sets.newHashSet();
+        for (Split split : sortedSplits) {
+            Backend earliestNode = earliestNodes.peek();
+            Backend selectedBackend = earliestNode;
+            if (nodeSelectionStrategy == NodeSelectionStrategy.CONSISTENT_HASHING) {
+                List<Backend> candidateNodes = consistentHash.getNode(split,
+                        Config.split_assigner_min_consistent_hash_candidate_num);
+                Backend preferredNode = candidateNodes.stream()
+                        .min(Comparator.comparingLong(node -> finishTime(node, initialLoads)))
+                        .orElse(earliestNode);
+                if (finishTime(preferredNode, initialLoads) - finishTime(earliestNode, initialLoads)
+                        <= maxVariance / Math.max(preferredNode.getPipelineExecutorSize(), 1)) {
+                    selectedBackend = preferredNode;
+                }
+                List<Backend> alternativeBackends = new ArrayList<>(candidateNodes);
+                alternativeBackends.remove(selectedBackend);
+                split.setAlternativeHosts(
+                        alternativeBackends.stream().map(Backend::getHost).collect(Collectors.toList()));
+            }
+            assignment.put(selectedBackend, split);
+            assignedWeightPerBackend.put(selectedBackend,
+                    assignedWeightPerBackend.get(selectedBackend) + split.getSplitWeight().getRawValue());
+            earliestNodes.addOrUpdate(selectedBackend, Long.MAX_VALUE - finishTime(selectedBackend, initialLoads));
+            touchedBackends.add(selectedBackend);
+        }
+        for (Backend backend : touchedBackends) {
+            assignment.get(backend).sort(Comparator.comparingInt(split -> splitIndexes.getOrDefault(split, -1)));
+        }
+        return remainingSplits;
+    }
+
+    // the estimated time when the backend finishes scanning the assigned splits
+    private long finishTime(Backend backend, Map<Backend, Long> initialLoads) {
+        return (initialLoads.get(backend) + assignedWeightPerBackend.get(backend))
+                / Math.max(backend.getPipelineExecutorSize(), 1);
+    }
+
     /**
      * The method tries to make the distribution of splits more uniform. All nodes are arranged into a maxHeap and
      * a minHeap based on the number of splits that are assigned to them. Splits are redistributed, one at a time,
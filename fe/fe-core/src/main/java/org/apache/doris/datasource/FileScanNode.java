@@ -69,7 +69,8 @@ public abstract class FileScanNode extends ExternalScanNode {
     protected long inputSplitsNum = 0;
     protected long totalFileSize = 0;
     protected long totalPartitionNum = 0;
-    protected long readPartitionNum = 0;
+    // may be set by the split generator thread in batch mode
+    protected volatile long readPartitionNum = 0;
     protected long fileSplitSize;
     public long rowCount = 0;
 
@@ -257,6 +258,7 @@ public abstract class FileScanNode extends ExternalScanNode {
             }
             String[] hosts = blockLocations.length == 0 ? null : blockLocations[0].getHosts();
             result.add(splitCreator.create(path, 0, length, length, modificationTime, hosts, partitionValues));
+            setTargetSplitSize(result, Math.max(fileSplitSize > 0 ? fileSplitSize : blockSize, DEFAULT_SPLIT_SIZE));
             return result;
         }
         if (fileSplitSize <= 0) {
@@ -279,12 +281,26 @@ public abstract class FileScanNode extends ExternalScanNode {
                     length, modificationTime, hosts, partitionValues));
         }
 
+        setTargetSplitSize(result, fileSplitSize);
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("Path {} includes {} splits.", path, result.size());
         }
         return result;
     }
 
+    // so the splits are weighted by their lengths when being assigned to backends
+    private void setTargetSplitSize(List<Split> splits, long targetSplitSize) {
+        if (!loadAwareSplitAssignment) {
+            return;
+        }
+        for (Split split : splits) {
+            if (split instanceof FileSplit) {
+                ((FileSplit) split).setTargetSplitSize(targetSplitSize);
+            }
+        }
+    }
+
     protected int getBlockIndex(BlockLocation[] blkLocations, long offset) {
         if (blkLocations == null || blkLocations.length == 0) {
             return -1;
@@ -26,6 +26,8 @@ import java.util.List;
 
 @Data
 public class FileSplit implements Split {
+    private static final double MIN_SPLIT_WEIGHT = 0.05;
+
     public Path path;
     public long start;
     // length of this split, in bytes
@@ -43,6 +45,9 @@ public class FileSplit implements Split {
     public List<String> partitionValues;
 
     public List<String> alternativeHosts;
+    // the expected length of the splits, the weight of this split is proportional to its length if it is set,
+    // it is only set by the scan nodes if enable_load_aware_split_assignment is true
+    public long targetSplitSize;
 
     public FileSplit(Path path, long start, long length, long fileLength,
             long modificationTime, String[] hosts, List<String> partitionValues) {
@@ -64,6 +69,15 @@ public class FileSplit implements Split {
         return hosts;
     }
 
+    @Override
+    public SplitWeight getSplitWeight() {
+        if (targetSplitSize <= 0 || length <= 0) {
+            return SplitWeight.standard();
+        }
+        // the small splits still have a minimal weight for the cost of opening the file
+        return SplitWeight.fromProportion(Math.max((double) length / targetSplitSize, MIN_SPLIT_WEIGHT));
+    }
+
     @Override
     public Object getInfo() {
         return null;
@@ -18,6 +18,8 @@
 package org.apache.doris.datasource;
 
 import org.apache.doris.common.UserException;
+import org.apache.doris.metric.GaugeMetricImpl;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.spi.Split;
 import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.TScanRangeLocations;
@@ -34,6 +36,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * When file splits are supplied in batch mode, splits are generated lazily and assigned in each call of `getNextBatch`.
@@ -48,10 +51,15 @@ public class SplitAssignment {
     private final SplitToScanRange splitToScanRange;
     private final Map<String, String> locationProperties;
     private final List<String> pathPartitionKeys;
+    // label of the split metrics, null if the scanned table does not belong to a catalog, e.g. table valued function
+    private final String catalogName;
     private final Object assignLock = new Object();
     private Split sampleSplit = null;
     private final AtomicBoolean isStop = new AtomicBoolean(false);
     private final AtomicBoolean scheduleFinished = new AtomicBoolean(false);
+    // the number of splits assigned but not fetched by backends yet
+    private final AtomicInteger numPendingSplits = new AtomicInteger(0);
+    private final Object pendingLock = new Object();
 
     private UserException exception = null;
 
@@ -60,12 +68,14 @@ public class SplitAssignment {
             SplitGenerator splitGenerator,
             SplitToScanRange splitToScanRange,
             Map<String, String> locationProperties,
-            List<String> pathPartitionKeys) {
+            List<String> pathPartitionKeys,
+            String catalogName) {
         this.backendPolicy = backendPolicy;
         this.splitGenerator = splitGenerator;
         this.splitToScanRange = splitToScanRange;
         this.locationProperties = locationProperties;
         this.pathPartitionKeys = pathPartitionKeys;
+        this.catalogName = catalogName;
     }
 
     public void init() throws UserException {
@@ -98,6 +108,8 @@ public class SplitAssignment {
             if (!assignment.computeIfAbsent(backend, be -> new LinkedBlockingQueue<>()).offer(locations)) {
                 throw new UserException("Failed to offer batch split");
             }
+            numPendingSplits.addAndGet(locations.size());
+            updatePendingSplitsMetric(locations.size());
         }
     }
 
@@ -117,6 +129,9 @@ public class SplitAssignment {
         if (splits.isEmpty()) {
             return;
         }
+        if (MetricRepo.isInit && catalogName != null) {
+            MetricRepo.CATALOG_COUNTER_SPLIT_GENERATED.getOrAdd(catalogName).increase((long) splits.size());
+        }
         Multimap<Backend, Split> batch = null;
         synchronized (assignLock) {
             if (sampleSplit == null) {
@@ -138,6 +153,47 @@ public class SplitAssignment {
         }
     }
 
+    /**
+     * Called by `SplitSource` after the splits are fetched by backend.
+     */
+    public void markFetched(int numSplits) {
+        // the splits may be fetched after they are dropped by stop(), never count them below 0
+        int oldPendingSplits = numPendingSplits.getAndUpdate(n -> Math.max(0, n - numSplits));
+        updatePendingSplitsMetric(-Math.min(Math.max(oldPendingSplits, 0), numSplits));
+        synchronized (pendingLock) {
+            pendingLock.notifyAll();
+        }
+    }
+
+    public int getNumPendingSplits() {
+        return numPendingSplits.get();
+    }
+
+    /**
+     * Block the split generator until the number of pending splits is less than `maxPendingSplits`,
+     * so the memory of FE is bounded if backends fetch the splits slower than they are generated.
+     * Return false if the assignment is stopped or failed.
+     */
+    public boolean waitForPendingSplits(int maxPendingSplits) throws InterruptedException {
+        synchronized (pendingLock) {
+            while (maxPendingSplits > 0 && numPendingSplits.get() >= maxPendingSplits
+                    && !isStop.get() && exception == null) {
+                pendingLock.wait(100);
+            }
+        }
+        return !isStop.get() && exception == null;
+    }
+
+    private void updatePendingSplitsMetric(long delta) {
+        if (!MetricRepo.isInit || catalogName == null || delta == 0) {
+            return;
+        }
+        GaugeMetricImpl<Long> pendingSplits = MetricRepo.CATALOG_GAUGE_PENDING_SPLITS.getOrAdd(catalogName);
+        synchronized (pendingSplits) {
+            pendingSplits.setValue(pendingSplits.getValue() + delta);
+        }
+    }
+
     private void notifyAssignment() {
         synchronized (assignLock) {
             assignLock.notify();
@@ -167,7 +223,10 @@ public class SplitAssignment {
     }
 
     public void stop() {
-        isStop.set(true);
+        if (!isStop.getAndSet(true)) {
+            // the splits not fetched by backends are dropped
+            updatePendingSplitsMetric(-numPendingSplits.getAndSet(0));
+        }
         notifyAssignment();
     }
 
@@ -86,6 +86,7 @@ public class SplitSource {
                         break;
                     }
                     scanRanges.addAll(splitCollection);
+                    splitAssignment.markFetched(splitCollection.size());
                 } catch (InterruptedException e) {
                     throw new UserException("Failed to get next batch of splits", e);
                 }
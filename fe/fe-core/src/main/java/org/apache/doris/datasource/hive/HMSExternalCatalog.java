@@ -58,6 +58,8 @@ public class HMSExternalCatalog extends ExternalCatalog {
     private static final Logger LOG = LogManager.getLogger(HMSExternalCatalog.class);
 
     public static final String FILE_META_CACHE_TTL_SECOND = "file.meta.cache.ttl-second";
+    // max number of concurrent file listings, default is Config.max_file_listing_concurrency_per_catalog
+    public static final String FILE_LISTING_MAX_CONCURRENCY = "file.listing.max.concurrency";
     // broker name for file split and query scan.
     public static final String BIND_BROKER_NAME = "broker.name";
 
@@ -93,6 +95,11 @@ public class HMSExternalCatalog extends ExternalCatalog {
             throw new DdlException(
                     "The parameter " + FILE_META_CACHE_TTL_SECOND + " is wrong, value is " + fileMetaCacheTtlSecond);
         }
+        String fileListingMaxConcurrency = catalogProperty.getOrDefault(FILE_LISTING_MAX_CONCURRENCY, null);
+        if (Objects.nonNull(fileListingMaxConcurrency) && NumberUtils.toInt(fileListingMaxConcurrency, 0) <= 0) {
+            throw new DdlException("The parameter " + FILE_LISTING_MAX_CONCURRENCY + " is wrong, value is "
+                    + fileListingMaxConcurrency);
+        }
 
         // check the dfs.ha properties
         // 'dfs.nameservices'='your-nameservice',
@@ -236,7 +243,8 @@ public class HMSExternalCatalog extends ExternalCatalog {
     public void notifyPropertiesUpdated(Map<String, String> updatedProps) {
         super.notifyPropertiesUpdated(updatedProps);
         String fileMetaCacheTtl = updatedProps.getOrDefault(FILE_META_CACHE_TTL_SECOND, null);
-        if (Objects.nonNull(fileMetaCacheTtl)) {
+        String fileListingMaxConcurrency = updatedProps.getOrDefault(FILE_LISTING_MAX_CONCURRENCY, null);
+        if (Objects.nonNull(fileMetaCacheTtl) || Objects.nonNull(fileListingMaxConcurrency)) {
             Env.getCurrentEnv().getExtMetaCacheMgr().getMetaStoreCache(this).setNewFileCache();
         }
     }
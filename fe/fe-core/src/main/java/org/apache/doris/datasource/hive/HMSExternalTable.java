@@ -437,6 +437,14 @@ public class HMSExternalTable extends ExternalTable implements MTMVRelatedTableI
 
     @Override
     public Optional<SchemaCacheValue> initSchemaAndUpdateTime() {
+        HiveMetaCachePersistence persistence = Env.getCurrentEnv().getExtMetaCacheMgr()
+                .getMetaStoreCache((HMSExternalCatalog) catalog).getPersistence();
+        if (persistence != null) {
+            HMSSchemaCacheValue schema = persistence.getSchema(this);
+            if (schema != null) {
+                return Optional.of(schema);
+            }
+        }
         org.apache.hadoop.hive.metastore.api.Table table = ((HMSExternalCatalog) catalog).getClient()
                 .getTable(dbName, name);
         // try to use transient_lastDdlTime from hms client
@@ -445,7 +453,12 @@ public class HMSExternalTable extends ExternalTable implements MTMVRelatedTableI
                 ? Long.parseLong(table.getParameters().get(TBL_PROP_TRANSIENT_LAST_DDL_TIME)) * 1000
                 // use current timestamp if lastDdlTime does not exist (hive views don't have this prop)
                 : System.currentTimeMillis();
-        return initSchema();
+        Optional<SchemaCacheValue> schema = initSchema();
+        // the schemas of iceberg and hudi tables may be changed without hms events, so they are not persisted
+        if (persistence != null && dlaType == DLAType.HIVE) {
+            persistence.putSchema(this, (HMSSchemaCacheValue) schema.get(), schemaUpdateTime);
+        }
+        return schema;
     }
 
     public long getLastDdlTime() {
@@ -0,0 +1,548 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheKey;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HiveFileStatus;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.PartitionCacheKey;
+import org.apache.doris.datasource.metacache.PersistentMetaCacheStore;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.apache.hadoop.hive.metastore.utils.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The persistent tier of {@link HiveMetaStoreCache} and of the schema cache of the hms tables, which keeps
+ * the schemas, the partition names, the partitions and the files of the hive tables on the local disk,
+ * so they needn't be loaded from hms and the file system again after FE restarts.
+ *
+ * The entries are valid at the hms event id which is saved as the tag of the store. The store is validated when
+ * it is used at the first time: the entries of the tables changed by the hms events after the saved event id
+ * are removed, and all entries are dropped if the events can not be got from hms.
+ * The files are not changed by the hms events, so they are expired as the file cache in memory, and they are
+ * dropped together with the partition they belong to when the partition is expired or invalidated.
+ */
+public class HiveMetaCachePersistence {
+    private static final Logger LOG = LogManager.getLogger(HiveMetaCachePersistence.class);
+
+    private static final String STORE_NAME = "hive";
+    private static final String SCHEMA_PREFIX = "s|";
+    private static final String PARTITION_NAMES_PREFIX = "n|";
+    private static final String PARTITION_PREFIX = "p|";
+    private static final String FILES_PREFIX = "f|";
+    private static final String DUMMY_FILES_PREFIX = "d|";
+    private static final String SEPARATOR = "|";
+    // drop the store if there are too many events to check
+    private static final long MAX_VALIDATE_EVENT_NUM = 100000;
+    // the same as the expiration of the schema cache, the partition values cache and the partition cache
+    private static final long META_MAX_AGE_MS = TimeUnit.DAYS.toMillis(1);
+
+    private static final Type PARTITION_NAMES_TYPE = new TypeToken<List<String>>() {}.getType();
+
+    private final HMSExternalCatalog catalog;
+    private final PersistentMetaCacheStore store;
+    private volatile boolean validated = false;
+    // negative if the files should not be persisted
+    private volatile long fileMaxAgeMs = -1;
+
+    private HiveMetaCachePersistence(HMSExternalCatalog catalog, PersistentMetaCacheStore store) {
+        this.catalog = catalog;
+        this.store = store;
+    }
+
+    /**
+     * Open the persistent tier of the catalog, return null if it is disabled or can not be opened.
+     */
+    public static HiveMetaCachePersistence open(HMSExternalCatalog catalog) {
+        if (!Config.enable_external_meta_cache_persistence) {
+            return null;
+        }
+        try {
+            PersistentMetaCacheStore store = new PersistentMetaCacheStore(
+                    PersistentMetaCacheStore.getFile(catalog.getId(), STORE_NAME));
+            return new HiveMetaCachePersistence(catalog, store);
+        } catch (IOException e) {
+            LOG.warn("failed to open the persistent meta cache of catalog {}", catalog.getName(), e);
+            return null;
+        }
+    }
+
+    public void setFileMaxAgeSecond(long fileMaxAgeSecond) {
+        this.fileMaxAgeMs = fileMaxAgeSecond > 0 ? TimeUnit.SECONDS.toMillis(fileMaxAgeSecond) : -1;
+    }
+
+    /**
+     * Return the persisted schema of the table and restore its schema update time, or null if it is not persisted.
+     */
+    public HMSSchemaCacheValue getSchema(HMSExternalTable table) {
+        validate();
+        PersistedSchema schema = store.get(schemaKey(table.getDbName(), table.getName()), PersistedSchema.class,
+                META_MAX_AGE_MS);
+        if (schema == null) {
+            return null;
+        }
+        table.setUpdateTime(schema.updateTime);
+        return new HMSSchemaCacheValue(schema.columns, schema.partitionColumns);
+    }
+
+    public void putSchema(HMSExternalTable table, HMSSchemaCacheValue schema, long schemaUpdateTime) {
+        store.put(schemaKey(table.getDbName(), table.getName()), new PersistedSchema(schema, schemaUpdateTime));
+    }
+
+    public List<String> getPartitionNames(String dbName, String tblName) {
+        validate();
+        return store.get(partitionNamesKey(dbName, tblName), PARTITION_NAMES_TYPE, META_MAX_AGE_MS);
+    }
+
+    public void putPartitionNames(String dbName, String tblName, List<String> partitionNames) {
+        store.put(partitionNamesKey(dbName, tblName), partitionNames);
+    }
+
+    /**
+     * Return the persisted partitions of the keys, the keys not persisted are not in the result.
+     */
+    public Map<PartitionCacheKey, HivePartition> getPartitions(Collection<? extends PartitionCacheKey> keys) {
+        validate();
+        Map<PartitionCacheKey, HivePartition> partitions = Maps.newHashMap();
+        for (PartitionCacheKey key : keys) {
+            PersistedPartition partition = getPartition(partitionKey(key.getDbName(), key.getTblName(),
+                    key.getValues()));
+            if (partition != null) {
+                partitions.put(key, new HivePartition(key.getDbName(), key.getTblName(), false,
+                        partition.inputFormat, partition.path, key.getValues(), partition.parameters));
+            }
+        }
+        return partitions;
+    }
+
+    public void putPartitions(Collection<HivePartition> partitions) {
+        Map<String, PersistedPartition> entries = Maps.newHashMap();
+        for (HivePartition partition : partitions) {
+            entries.put(partitionKey(partition.getDbName(), partition.getTblName(), partition.getPartitionValues()),
+                    new PersistedPartition(partition));
+        }
+        store.putAll(entries);
+    }
+
+    public FileCacheValue getFiles(FileCacheKey key) {
+        long maxAgeMs = fileMaxAgeMs;
+        if (maxAgeMs < 0) {
+            return null;
+        }
+        validate();
+        PersistedFiles files = store.get(filesKey(key), PersistedFiles.class, maxAgeMs);
+        return files == null ? null : files.toFileCacheValue();
+    }
+
+    public void putFiles(Map<FileCacheKey, FileCacheValue> files) {
+        if (fileMaxAgeMs < 0) {
+            return;
+        }
+        Map<String, PersistedFiles> entries = Maps.newHashMap();
+        for (Map.Entry<FileCacheKey, FileCacheValue> entry : files.entrySet()) {
+            // the files of acid tables are got by the transaction, they are never cached
+            if (entry.getValue().getAcidInfo() == null && entry.getValue().getSplits().isEmpty()) {
+                entries.put(filesKey(entry.getKey()), new PersistedFiles(entry.getValue()));
+            }
+        }
+        store.putAll(entries);
+    }
+
+    public void invalidateTable(String dbName, String tblName) {
+        String partitionPrefix = partitionPrefix(dbName, tblName);
+        Set<String> locations = Sets.newHashSet();
+        for (String key : store.keys()) {
+            if (key.startsWith(partitionPrefix)) {
+                PersistedPartition partition = store.get(key, PersistedPartition.class, -1);
+                if (partition != null) {
+                    locations.add(partition.path);
+                }
+            }
+        }
+        invalidateFiles(locations);
+        String schemaKey = schemaKey(dbName, tblName);
+        String partitionNamesKey = partitionNamesKey(dbName, tblName);
+        String dummyFilesKey = DUMMY_FILES_PREFIX + dbName + "." + tblName;
+        store.removeIf(key -> key.startsWith(partitionPrefix) || key.equals(schemaKey)
+                || key.equals(partitionNamesKey) || key.equals(dummyFilesKey));
+    }
+
+    public void invalidatePartitionNames(String dbName, String tblName) {
+        store.remove(partitionNamesKey(dbName, tblName));
+    }
+
+    public void invalidatePartition(String dbName, String tblName, List<String> values) {
+        String key = partitionKey(dbName, tblName, values);
+        PersistedPartition partition = store.get(key, PersistedPartition.class, -1);
+        if (partition != null) {
+            invalidateFiles(Collections.singleton(partition.path));
+            store.remove(key);
+        }
+    }
+
+    public void invalidateDb(String dbName) {
+        for (String tblName : getTableNames(dbName)) {
+            invalidateTable(dbName, tblName);
+        }
+    }
+
+    public void invalidateAll() {
+        store.reset(store.getTag());
+    }
+
+    public void invalidateAllFiles() {
+        store.removeIf(key -> key.startsWith(FILES_PREFIX) || key.startsWith(DUMMY_FILES_PREFIX));
+    }
+
+    // the partition is expired or removed, so are the files of it, even if the ttl of the files is longer
+    private PersistedPartition getPartition(String key) {
+        PersistedPartition partition = store.get(key, PersistedPartition.class, -1);
+        if (partition != null && store.isExpired(key, META_MAX_AGE_MS)) {
+            invalidateFiles(Collections.singleton(partition.path));
+            store.remove(key);
+            return null;
+        }
+        return partition;
+    }
+
+    // drop the expired partitions and their files, which may never be got again
+    private void dropExpiredPartitions() {
+        Set<String> expiredKeys = Sets.newHashSet();
+        Set<String> locations = Sets.newHashSet();
+        for (String key : store.keys()) {
+            if (key.startsWith(PARTITION_PREFIX) && store.isExpired(key, META_MAX_AGE_MS)) {
+                PersistedPartition partition = store.get(key, PersistedPartition.class, -1);
+                if (partition != null) {
+                    locations.add(partition.path);
+                }
+                expiredKeys.add(key);
+            }
+        }
+        invalidateFiles(locations);
+        store.removeIf(expiredKeys::contains);
+    }
+
+    private void invalidateFiles(Collection<String> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+        NavigableSet<String> prefixes = Sets.newTreeSet();
+        for (String location : locations) {
+            prefixes.add(FILES_PREFIX + location + SEPARATOR);
+        }
+        store.removeIf(key -> {
+            // the prefix of the key, if any, is the greatest one not greater than the key
+            String prefix = prefixes.floor(key);
+            return prefix != null && key.startsWith(prefix);
+        });
+    }
+
+    public void close() {
+        store.close();
+    }
+
+    // the tables of the db which have schemas, partition names, partitions or files in the store
+    private Set<String> getTableNames(String dbName) {
+        Set<String> tblNames = Sets.newHashSet();
+        for (String key : store.keys()) {
+            String prefix = key.startsWith(SCHEMA_PREFIX) ? SCHEMA_PREFIX
+                    : key.startsWith(PARTITION_NAMES_PREFIX) ? PARTITION_NAMES_PREFIX
+                    : key.startsWith(PARTITION_PREFIX) ? PARTITION_PREFIX : null;
+            if (prefix != null && key.startsWith(prefix + dbName + SEPARATOR)) {
+                String rest = key.substring(prefix.length() + dbName.length() + 1);
+                int end = rest.indexOf(SEPARATOR);
+                tblNames.add(end < 0 ? rest : rest.substring(0, end));
+            } else if (key.startsWith(DUMMY_FILES_PREFIX + dbName + ".")) {
+                tblNames.add(key.substring(DUMMY_FILES_PREFIX.length() + dbName.length() + 1));
+            }
+        }
+        return tblNames;
+    }
+
+    /**
+     * Remove the entries of the tables changed since the saved event id, and save the current event id.
+     * Validated only once, the changes after it are applied to the store when the caches in memory are invalidated.
+     */
+    private void validate() {
+        if (validated) {
+            return;
+        }
+        synchronized (this) {
+            if (validated) {
+                return;
+            }
+            doValidate();
+            validated = true;
+        }
+    }
+
+    private void doValidate() {
+        long currentEventId;
+        try {
+            CurrentNotificationEventId eventId = catalog.getClient().getCurrentNotificationEventId();
+            currentEventId = eventId == null ? -1 : eventId.getEventId();
+        } catch (Exception e) {
+            LOG.warn("failed to get the current hms event id of catalog {}", catalog.getName(), e);
+            currentEventId = -1;
+        }
+        if (currentEventId < 0) {
+            // the entries can never be validated without the event id
+            LOG.warn("disable the persistent meta cache of catalog {} because the hms event id is unknown",
+                    catalog.getName());
+            store.reset("");
+            store.close();
+            return;
+        }
+        long savedEventId = NumberUtils.toLong(store.getTag(), -1);
+        if (savedEventId == currentEventId) {
+            dropExpiredPartitions();
+            LOG.info("all {} entries of the persistent meta cache of catalog {} are valid at hms event id {}",
+                    store.size(), catalog.getName(), currentEventId);
+            return;
+        }
+        if (savedEventId < 0 || savedEventId > currentEventId
+                || currentEventId - savedEventId > MAX_VALIDATE_EVENT_NUM) {
+            LOG.info("drop the persistent meta cache of catalog {}, saved hms event id: {}, current: {}",
+                    catalog.getName(), savedEventId, currentEventId);
+            store.reset(String.valueOf(currentEventId));
+            return;
+        }
+
+        Set<String> dbNames = Sets.newHashSet();
+        Map<String, Set<String>> dbToTblNames = Maps.newHashMap();
+        long lastEventId = savedEventId;
+        try {
+            while (lastEventId < currentEventId) {
+                NotificationEventResponse response = catalog.getClient().getNextNotification(lastEventId,
+                        Config.hms_events_batch_size_per_rpc, null);
+                if (response == null || response.getEvents() == null || response.getEvents().isEmpty()) {
+                    dropForMissingEvents(lastEventId, currentEventId);
+                    return;
+                }
+                for (NotificationEvent event : response.getEvents()) {
+                    if (event.getEventId() > lastEventId + 1) {
+                        // the events are cleaned by hms, the changes in the gap are unknown
+                        dropForMissingEvents(lastEventId, currentEventId);
+                        return;
+                    }
+                    if (event.getTableName() == null) {
+                        dbNames.add(event.getDbName());
+                    } else {
+                        dbToTblNames.computeIfAbsent(event.getDbName(), k -> Sets.newHashSet())
+                                .add(event.getTableName());
+                    }
+                    lastEventId = event.getEventId();
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("failed to get the hms events of catalog {} since event id {}, drop the persistent meta cache",
+                    catalog.getName(), lastEventId, e);
+            store.reset(String.valueOf(currentEventId));
+            return;
+        }
+        for (String dbName : dbNames) {
+            invalidateDb(dbName);
+        }
+        for (Map.Entry<String, Set<String>> entry : dbToTblNames.entrySet()) {
+            for (String tblName : entry.getValue()) {
+                invalidateTable(entry.getKey(), tblName);
+            }
+        }
+        dropExpiredPartitions();
+        store.compact(String.valueOf(Math.max(lastEventId, currentEventId)));
+        LOG.info("validate the persistent meta cache of catalog {} from hms event id {} to {}, "
+                + "{} dbs and {} tables are changed, {} entries are valid",
+                catalog.getName(), savedEventId, lastEventId, dbNames.size(),
+                dbToTblNames.values().stream().mapToInt(Set::size).sum(), store.size());
+    }
+
+    private void dropForMissingEvents(long lastEventId, long currentEventId) {
+        LOG.info("drop the persistent meta cache of catalog {} because the hms events after event id {} are missing, "
+                + "current: {}", catalog.getName(), lastEventId, currentEventId);
+        store.reset(String.valueOf(currentEventId));
+    }
+
+    private static String schemaKey(String dbName, String tblName) {
+        return SCHEMA_PREFIX + dbName + SEPARATOR + tblName;
+    }
+
+    private static String partitionNamesKey(String dbName, String tblName) {
+        return PARTITION_NAMES_PREFIX + dbName + SEPARATOR + tblName;
+    }
+
+    private static String partitionPrefix(String dbName, String tblName) {
+        return PARTITION_PREFIX + dbName + SEPARATOR + tblName + SEPARATOR;
+    }
+
+    private static String partitionKey(String dbName, String tblName, List<String> values) {
+        return partitionPrefix(dbName, tblName) + escapeValues(values);
+    }
+
+    private static String filesKey(FileCacheKey key) {
+        if (key.getDummyKey() != null) {
+            return DUMMY_FILES_PREFIX + key.getDummyKey();
+        }
+        return FILES_PREFIX + key.getLocation() + SEPARATOR + escapeValues(key.getPartitionValues());
+    }
+
+    private static String escapeValues(List<String> values) {
+        return values.stream().map(FileUtils::escapePathName).collect(Collectors.joining("/"));
+    }
+
+    private static class PersistedSchema {
+        @SerializedName("c")
+        private List<Column> columns;
+        @SerializedName("pc")
+        private List<Column> partitionColumns;
+        @SerializedName("t")
+        private long updateTime;
+
+        private PersistedSchema(HMSSchemaCacheValue schema, long updateTime) {
+            this.columns = schema.getSchema();
+            this.partitionColumns = schema.getPartitionColumns();
+            this.updateTime = updateTime;
+        }
+    }
+
+    private static class PersistedPartition {
+        @SerializedName("if")
+        private String inputFormat;
+        @SerializedName("p")
+        private String path;
+        @SerializedName("pa")
+        private Map<String, String> parameters;
+
+        private PersistedPartition(HivePartition partition) {
+            this.inputFormat = partition.getInputFormat();
+            this.path = partition.getPath();
+            this.parameters = partition.getParameters();
+        }
+    }
+
+    private static class PersistedFiles {
+        @SerializedName("s")
+        private boolean splittable;
+        @SerializedName("pv")
+        private List<String> partitionValues;
+        @SerializedName("f")
+        private List<PersistedFile> files;
+
+        private PersistedFiles(FileCacheValue value) {
+            this.splittable = value.isSplittable();
+            this.partitionValues = value.getPartitionValues();
+            this.files = value.getFiles().stream().map(PersistedFile::new).collect(Collectors.toList());
+        }
+
+        private FileCacheValue toFileCacheValue() {
+            FileCacheValue value = new FileCacheValue();
+            value.setSplittable(splittable);
+            value.setPartitionValues(partitionValues == null ? Lists.newArrayList() : partitionValues);
+            for (PersistedFile file : files) {
+                value.getFiles().add(file.toFileStatus());
+            }
+            return value;
+        }
+    }
+
+    private static class PersistedFile {
+        @SerializedName("p")
+        private String path;
+        @SerializedName("l")
+        private long length;
+        @SerializedName("bs")
+        private long blockSize;
+        @SerializedName("m")
+        private long modificationTime;
+        @SerializedName("b")
+        private List<PersistedBlock> blocks;
+
+        private PersistedFile(HiveFileStatus status) {
+            this.path = status.getPath().toString();
+            this.length = status.getLength();
+            this.blockSize = status.getBlockSize();
+            this.modificationTime = status.getModificationTime();
+            if (status.getBlockLocations() != null) {
+                this.blocks = Lists.newArrayListWithExpectedSize(status.getBlockLocations().length);
+                for (BlockLocation location : status.getBlockLocations()) {
+                    this.blocks.add(new PersistedBlock(location));
+                }
+            }
+        }
+
+        private HiveFileStatus toFileStatus() {
+            HiveFileStatus status = new HiveFileStatus();
+            status.setPath(new Path(path));
+            status.setLength(length);
+            status.setBlockSize(blockSize);
+            status.setModificationTime(modificationTime);
+            if (blocks != null) {
+                BlockLocation[] locations = new BlockLocation[blocks.size()];
+                for (int i = 0; i < locations.length; i++) {
+                    PersistedBlock block = blocks.get(i);
+                    locations[i] = new BlockLocation(null, block.hosts, block.offset, block.length);
+                }
+                status.setBlockLocations(locations);
+            }
+            return status;
+        }
+    }
+
+    private static class PersistedBlock {
+        @SerializedName("h")
+        private String[] hosts;
+        @SerializedName("o")
+        private long offset;
+        @SerializedName("l")
+        private long length;
+
+        private PersistedBlock(BlockLocation location) {
+            try {
+                this.hosts = location.getHosts();
+            } catch (IOException e) {
+                this.hosts = null;
+            }
+            this.offset = location.getOffset();
+            this.length = location.getLength();
+        }
+    }
+}
@@ -32,7 +32,6 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.security.authentication.AuthenticationConfig;
-import org.apache.doris.common.util.CacheBulkLoader;
 import org.apache.doris.common.util.LocationPath;
 import org.apache.doris.datasource.CacheException;
 import org.apache.doris.datasource.FileSplit;
@@ -72,13 +71,11 @@ import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.hive.metastore.utils.FileUtils;
 import org.apache.hadoop.hive.ql.io.AcidUtils;
-import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.net.URI;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -88,9 +85,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -98,6 +98,8 @@ import java.util.stream.Collectors;
 // 1. partitionValuesCache: cache the partition values of a table, for partition prune.
 // 2. partitionCache: cache the partition info(location, input format, etc.) of a table.
 // 3. fileCache: cache the files of a location.
+// If enable_external_meta_cache_persistence is set, the 3 caches and the schema cache of the hive tables are backed
+// by HiveMetaCachePersistence on local disk.
 public class HiveMetaStoreCache {
     private static final Logger LOG = LogManager.getLogger(HiveMetaStoreCache.class);
     public static final String HIVE_DEFAULT_PARTITION = "__HIVE_DEFAULT_PARTITION__";
@@ -107,9 +109,18 @@ public class HiveMetaStoreCache {
     private static final String HIVE_TRANSACTIONAL_ORC_BUCKET_PREFIX = "bucket_";
 
     private final HMSExternalCatalog catalog;
-    private JobConf jobConf;
+    // jobConf and the job confs derived from it are never modified after created, so they can be shared by
+    // the concurrent file listings
+    private volatile JobConf jobConf;
+    // scheme -> job conf with the file system implementation of the scheme
+    private volatile Map<String, JobConf> schemeToJobConf = Maps.newConcurrentMap();
     private final ExecutorService refreshExecutor;
+    // shared by all catalogs, the concurrency of this catalog is limited by fileListingPermits
     private final ExecutorService fileListingExecutor;
+    private volatile Semaphore fileListingPermits;
+    // the file listings in progress, so the concurrent queries on the same partition only list it once
+    private final Map<FileCacheKey, CompletableFuture<FileCacheValue>> inflightFileListings
+            = Maps.newConcurrentMap();
 
     // cache from <dbname-tblname> -> <values of partitions>
     private LoadingCache<PartitionValueCacheKey, HivePartitionValues> partitionValuesCache;
@@ -119,12 +130,15 @@ public class HiveMetaStoreCache {
     // Other thread may reset this cache, so use AtomicReference to wrap it.
     private volatile AtomicReference<LoadingCache<FileCacheKey, FileCacheValue>> fileCacheRef
             = new AtomicReference<>();
+    // the persistent tier of the caches, null if it is disabled
+    private final HiveMetaCachePersistence persistence;
 
     public HiveMetaStoreCache(HMSExternalCatalog catalog,
             ExecutorService refreshExecutor, ExecutorService fileListingExecutor) {
         this.catalog = catalog;
         this.refreshExecutor = refreshExecutor;
         this.fileListingExecutor = fileListingExecutor;
+        this.persistence = HiveMetaCachePersistence.open(catalog);
         init();
         initMetrics();
     }
@@ -153,12 +167,32 @@ public class HiveMetaStoreCache {
         partitionCache = partitionCacheFactory.buildCache(new CacheLoader<PartitionCacheKey, HivePartition>() {
             @Override
             public HivePartition load(PartitionCacheKey key) {
-                return loadPartition(key);
+                if (persistence != null) {
+                    HivePartition partition = persistence.getPartitions(Collections.singletonList(key)).get(key);
+                    if (partition != null) {
+                        return partition;
+                    }
+                }
+                HivePartition partition = loadPartition(key);
+                if (persistence != null) {
+                    persistence.putPartitions(Collections.singletonList(partition));
+                }
+                return partition;
             }
 
             @Override
             public Map<PartitionCacheKey, HivePartition> loadAll(Iterable<? extends PartitionCacheKey> keys) {
-                return loadPartitions(keys);
+                if (persistence == null) {
+                    return loadPartitions(keys);
+                }
+                List<PartitionCacheKey> keyList = Lists.newArrayList(keys);
+                Map<PartitionCacheKey, HivePartition> partitions = persistence.getPartitions(keyList);
+                List<PartitionCacheKey> missingKeys = keyList.stream().filter(key -> !partitions.containsKey(key))
+                        .collect(Collectors.toList());
+                Map<PartitionCacheKey, HivePartition> loaded = loadPartitions(missingKeys);
+                persistence.putPartitions(loaded.values());
+                partitions.putAll(loaded);
+                return partitions;
             }
         }, null, refreshExecutor);
 
@@ -171,28 +205,53 @@ public class HiveMetaStoreCache {
     public void setNewFileCache() {
         // init or refresh job conf
         setJobConf();
+        fileListingPermits = new Semaphore(Math.max(1, NumberUtils.toInt(
+                catalog.getProperties().get(HMSExternalCatalog.FILE_LISTING_MAX_CONCURRENCY),
+                Config.max_file_listing_concurrency_per_catalog)));
         // if the file.meta.cache.ttl-second is equal or greater than 0, the cache expired will be set to that value
         int fileMetaCacheTtlSecond = NumberUtils.toInt(
                 (catalog.getProperties().get(HMSExternalCatalog.FILE_META_CACHE_TTL_SECOND)),
                 HMSExternalCatalog.FILE_META_CACHE_NO_TTL);
+        long fileCacheExpireSecond = fileMetaCacheTtlSecond >= HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE
+                ? fileMetaCacheTtlSecond : 86400L;
 
         CacheFactory fileCacheFactory = new CacheFactory(
-                OptionalLong.of(fileMetaCacheTtlSecond >= HMSExternalCatalog.FILE_META_CACHE_TTL_DISABLE_CACHE
-                        ? fileMetaCacheTtlSecond : 86400L),
+                OptionalLong.of(fileCacheExpireSecond),
                 OptionalLong.of(Config.external_cache_expire_time_minutes_after_access * 60L),
                 Config.max_external_file_cache_num,
                 false,
                 null);
+        if (persistence != null) {
+            persistence.setFileMaxAgeSecond(fileCacheExpireSecond);
+        }
 
-        CacheLoader<FileCacheKey, FileCacheValue> loader = new CacheBulkLoader<FileCacheKey, FileCacheValue>() {
+        CacheLoader<FileCacheKey, FileCacheValue> loader = new CacheLoader<FileCacheKey, FileCacheValue>() {
             @Override
-            protected ExecutorService getExecutor() {
-                return HiveMetaStoreCache.this.fileListingExecutor;
+            public FileCacheValue load(FileCacheKey key) {
+                return loadAll(Collections.singletonList(key)).get(key);
             }
 
             @Override
-            public FileCacheValue load(FileCacheKey key) {
-                return loadFiles(key);
+            public Map<FileCacheKey, FileCacheValue> loadAll(Iterable<? extends FileCacheKey> keys) {
+                Map<FileCacheKey, FileCacheValue> result = Maps.newLinkedHashMap();
+                Map<FileCacheKey, CompletableFuture<FileCacheValue>> futures = Maps.newLinkedHashMap();
+                for (FileCacheKey key : keys) {
+                    FileCacheValue persisted = persistence == null ? null : persistence.getFiles(key);
+                    if (persisted != null) {
+                        result.put(key, persisted);
+                    } else {
+                        futures.put(key, listFilesAsync(key));
+                    }
+                }
+                Map<FileCacheKey, FileCacheValue> listed = Maps.newHashMapWithExpectedSize(futures.size());
+                for (Map.Entry<FileCacheKey, CompletableFuture<FileCacheValue>> entry : futures.entrySet()) {
+                    listed.put(entry.getKey(), waitFileListing(entry.getValue()));
+                }
+                if (persistence != null) {
+                    persistence.putFiles(listed);
+                }
+                result.putAll(listed);
+                return result;
             }
         };
 
@@ -201,6 +260,9 @@ public class HiveMetaStoreCache {
         fileCacheRef.set(fileCacheFactory.buildCache(loader, null, this.refreshExecutor));
         if (Objects.nonNull(oldFileCache)) {
             oldFileCache.invalidateAll();
+            if (persistence != null) {
+                persistence.invalidateAllFiles();
+            }
         }
     }
 
@@ -242,7 +304,14 @@ public class HiveMetaStoreCache {
 
     private HivePartitionValues loadPartitionValues(PartitionValueCacheKey key) {
         // partition name format: nation=cn/city=beijing
-        List<String> partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
+        List<String> partitionNames = persistence == null ? null
+                : persistence.getPartitionNames(key.dbName, key.tblName);
+        if (partitionNames == null) {
+            partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
+            if (persistence != null) {
+                persistence.putPartitionNames(key.dbName, key.tblName, partitionNames);
+            }
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("load #{} partitions for {} in catalog {}", partitionNames.size(), key, catalog.getName());
         }
@@ -387,31 +456,69 @@ public class HiveMetaStoreCache {
         return result;
     }
 
+    /**
+     * List the files of the key in fileListingExecutor. If the key is being listed by another query,
+     * the listing in progress is returned. The listing task waits if this catalog has too many listings in progress,
+     * so the caller, e.g. the bulk loading of the cache, is never blocked by the permits.
+     */
+    private CompletableFuture<FileCacheValue> listFilesAsync(FileCacheKey key) {
+        CompletableFuture<FileCacheValue> future = new CompletableFuture<>();
+        CompletableFuture<FileCacheValue> inflight = inflightFileListings.putIfAbsent(key, future);
+        if (inflight != null) {
+            return inflight;
+        }
+        Semaphore permits = fileListingPermits;
+        try {
+            fileListingExecutor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    inflightFileListings.remove(key, future);
+                    future.completeExceptionally(e);
+                    return;
+                }
+                try {
+                    future.complete(loadFiles(key));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    permits.release();
+                    inflightFileListings.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inflightFileListings.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private FileCacheValue waitFileListing(CompletableFuture<FileCacheValue> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CacheException("failed to list files in catalog %s", e.getCause(), catalog.getName());
+        }
+    }
+
     private FileCacheValue loadFiles(FileCacheKey key) {
+        long start = System.currentTimeMillis();
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(ClassLoader.getSystemClassLoader());
             Map<String, String> props = catalog.getCatalogProperty().getProperties();
             LocationPath finalLocation = new LocationPath(key.location, props);
-            // disable the fs cache in FileSystem, or it will always from new FileSystem
-            // and save it in cache when calling FileInputFormat.setInputPaths().
+            String scheme = null;
             try {
-                URI uri = finalLocation.getPath().toUri();
-                if (uri.getScheme() != null) {
-                    String scheme = uri.getScheme();
-                    updateJobConf("fs." + scheme + ".impl.disable.cache", "true");
-                    if (jobConf.get("fs." + scheme + ".impl") == null) {
-                        if (!scheme.equals("hdfs") && !scheme.equals("viewfs")) {
-                            updateJobConf("fs." + scheme + ".impl", PropertyConverter.getHadoopFSImplByScheme(scheme));
-                        }
-                    }
-                }
+                scheme = finalLocation.getPath().toUri().getScheme();
             } catch (Exception e) {
                 LOG.warn("unknown scheme in path: " + finalLocation, e);
             }
-            FileInputFormat.setInputPaths(jobConf, finalLocation.get());
             try {
-                FileCacheValue result = getFileCache(finalLocation.get(), key.inputFormat, jobConf,
+                FileCacheValue result = getFileCache(finalLocation.get(), key.inputFormat, getJobConf(scheme),
                         key.getPartitionValues(), key.bindBrokerName);
                 // Replace default hive partition with a null_string.
                 for (int i = 0; i < result.getValuesSize(); i++) {
@@ -429,6 +536,38 @@ public class HiveMetaStoreCache {
             }
         } finally {
             Thread.currentThread().setContextClassLoader(classLoader);
+            if (MetricRepo.isInit) {
+                MetricRepo.CATALOG_HISTO_FILE_LISTING_LATENCY.getOrAdd(catalog.getName())
+                        .update(System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * Get the job conf to access the files of the scheme. The file system cache of hadoop is disabled,
+     * or it will always return new FileSystem and save it in the cache.
+     */
+    private JobConf getJobConf(String scheme) {
+        Map<String, JobConf> confs = schemeToJobConf;
+        JobConf baseConf = jobConf;
+        if (scheme == null) {
+            return baseConf;
+        }
+        return confs.computeIfAbsent(scheme, s -> {
+            JobConf conf = new JobConf(baseConf);
+            conf.set("fs." + s + ".impl.disable.cache", "true");
+            if (conf.get("fs." + s + ".impl") == null && !s.equals("hdfs") && !s.equals("viewfs")) {
+                conf.set("fs." + s + ".impl", PropertyConverter.getHadoopFSImplByScheme(s));
+            }
+            return conf;
+        });
+    }
+
+    private JobConf getJobConfOfPath(String path) {
+        try {
+            return getJobConf(new Path(path).toUri().getScheme());
+        } catch (Exception e) {
+            return jobConf;
         }
     }
 
@@ -437,7 +576,7 @@ public class HiveMetaStoreCache {
         for (Map.Entry<String, String> entry : catalog.getCatalogProperty().getHadoopProperties().entrySet()) {
             configuration.set(entry.getKey(), entry.getValue());
         }
-        jobConf = new JobConf(configuration);
+        JobConf jobConf = new JobConf(configuration);
         // For Tez engine, it may generate subdirectories for "union" query.
         // So there may be files and directories in the table directory at the same time. eg:
         //      /us£er/hive/warehouse/region_tmp_union_all2/000000_0
@@ -450,10 +589,9 @@ public class HiveMetaStoreCache {
         // disable FileSystem's cache
         jobConf.set("fs.hdfs.impl.disable.cache", "true");
         jobConf.set("fs.file.impl.disable.cache", "true");
-    }
-
-    private synchronized void updateJobConf(String key, String value) {
-        jobConf.set(key, value);
+        this.jobConf = jobConf;
+        // the job confs of schemes are derived from the new job conf
+        schemeToJobConf = Maps.newConcurrentMap();
     }
 
     public HivePartitionValues getPartitionValues(String dbName, String tblName, List<Type> types) {
@@ -492,10 +630,10 @@ public class HiveMetaStoreCache {
                 fileLists = new ArrayList<>(fileCacheRef.get().getAll(keys).values());
             } else {
                 if (concurrent) {
-                    List<Future<FileCacheValue>> pList = keys.stream().map(
-                            key -> fileListingExecutor.submit(() -> loadFiles(key))).collect(Collectors.toList());
+                    List<CompletableFuture<FileCacheValue>> pList = keys.stream().map(this::listFilesAsync)
+                            .collect(Collectors.toList());
                     fileLists = Lists.newArrayListWithExpectedSize(keys.size());
-                    for (Future<FileCacheValue> p : pList) {
+                    for (CompletableFuture<FileCacheValue> p : pList) {
                         fileLists.add(p.get());
                     }
                 } else {
@@ -552,6 +690,9 @@ public class HiveMetaStoreCache {
     }
 
     public void invalidateTableCache(String dbName, String tblName) {
+        if (persistence != null) {
+            persistence.invalidateTable(dbName, tblName);
+        }
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues != null) {
@@ -587,6 +728,9 @@ public class HiveMetaStoreCache {
     }
 
     public void invalidatePartitionCache(String dbName, String tblName, String partitionName) {
+        if (persistence != null) {
+            persistence.invalidatePartition(dbName, tblName, HiveUtil.toPartitionValues(partitionName));
+        }
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues != null) {
@@ -610,6 +754,10 @@ public class HiveMetaStoreCache {
                 invalidateTableCache(dbName, key.tblName);
             }
         }
+        if (persistence != null) {
+            // the persisted tables which are not in memory
+            persistence.invalidateDb(dbName);
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("invalid db cache for {} in catalog {}, cache num: {}, cost: {} ms", dbName, catalog.getName(),
                     keys.size(), (System.currentTimeMillis() - start));
@@ -620,14 +768,31 @@ public class HiveMetaStoreCache {
         partitionValuesCache.invalidateAll();
         partitionCache.invalidateAll();
         fileCacheRef.get().invalidateAll();
+        if (persistence != null) {
+            persistence.invalidateAll();
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("invalid all meta cache in catalog {}", catalog.getName());
         }
     }
 
+    // null if the persistent tier is disabled
+    public HiveMetaCachePersistence getPersistence() {
+        return persistence;
+    }
+
+    public void close() {
+        if (persistence != null) {
+            persistence.close();
+        }
+    }
+
     // partition name format: nation=cn/city=beijing
     public void addPartitionsCache(String dbName, String tblName, List<String> partitionNames,
             List<Type> partitionColumnTypes) {
+        if (persistence != null) {
+            persistence.invalidatePartitionNames(dbName, tblName);
+        }
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, partitionColumnTypes);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues == null) {
@@ -684,6 +849,9 @@ public class HiveMetaStoreCache {
 
     public void dropPartitionsCache(String dbName, String tblName, List<String> partitionNames,
                                     boolean invalidPartitionCache) {
+        if (persistence != null) {
+            persistence.invalidatePartitionNames(dbName, tblName);
+        }
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
         if (partitionValues == null) {
@@ -751,6 +919,7 @@ public class HiveMetaStoreCache {
         String remoteUser = jobConf.get(AuthenticationConfig.HADOOP_USER_NAME);
         try {
             for (HivePartition partition : partitions) {
+                JobConf jobConf = getJobConfOfPath(partition.getPath());
                 FileCacheValue fileCacheValue = new FileCacheValue();
                 AcidUtils.Directory directory;
                 if (!Strings.isNullOrEmpty(remoteUser)) {
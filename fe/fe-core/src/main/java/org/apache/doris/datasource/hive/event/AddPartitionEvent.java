@@ -90,6 +90,21 @@ public class AddPartitionEvent extends MetastorePartitionEvent {
         partitionNames.remove(partitionName);
     }
 
+    @Override
+    protected boolean canBeBatchedInto(MetastorePartitionEvent that) {
+        return that instanceof AddPartitionEvent;
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        for (String partitionName : ((AddPartitionEvent) event).partitionNames) {
+            if (!partitionNames.contains(partitionName)) {
+                partitionNames.add(partitionName);
+            }
+        }
+        return super.addToBatchEvents(event);
+    }
+
     protected static List<MetastoreEvent> getEvents(NotificationEvent event,
             String catalogName) {
         return Lists.newArrayList(new AddPartitionEvent(event, catalogName));
@@ -24,6 +24,7 @@ import org.apache.doris.common.DdlException;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.hadoop.hive.common.FileUtils;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
@@ -46,6 +47,8 @@ public class AlterPartitionEvent extends MetastorePartitionEvent {
     private final String partitionNameAfter;
     // true if this alter event was due to a rename operation
     private final boolean isRename;
+    // the partitions of the alter events batched into this event
+    private final Set<String> batchedPartitionNames = Sets.newLinkedHashSet();
 
     // for test
     public AlterPartitionEvent(long eventId, String catalogName, String dbName, String tblName,
@@ -90,7 +93,10 @@ public class AlterPartitionEvent extends MetastorePartitionEvent {
 
     @Override
     public Set<String> getAllPartitionNames() {
-        return ImmutableSet.of(partitionNameBefore);
+        if (batchedPartitionNames.isEmpty()) {
+            return ImmutableSet.of(partitionNameBefore);
+        }
+        return ImmutableSet.<String>builder().add(partitionNameBefore).addAll(batchedPartitionNames).build();
     }
 
     public String getPartitionNameAfter() {
@@ -119,9 +125,11 @@ public class AlterPartitionEvent extends MetastorePartitionEvent {
                         .addExternalPartitions(catalogName, dbName, tblName,
                                 Lists.newArrayList(partitionNameAfter), eventTime, true);
             } else {
+                List<String> partitionNames = Lists.newArrayList(partitionNameAfter);
+                partitionNames.addAll(batchedPartitionNames);
                 Env.getCurrentEnv().getRefreshManager()
                         .refreshPartitions(catalogName, dbName, hmsTbl.getTableName(),
-                                Lists.newArrayList(partitionNameAfter), eventTime, true);
+                                partitionNames, eventTime, true);
             }
         } catch (DdlException e) {
             throw new MetastoreNotificationException(
@@ -129,6 +137,20 @@ public class AlterPartitionEvent extends MetastorePartitionEvent {
         }
     }
 
+    @Override
+    protected boolean canBeBatchedInto(MetastorePartitionEvent that) {
+        return !isRename && that instanceof AlterPartitionEvent && !((AlterPartitionEvent) that).isRename;
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        AlterPartitionEvent alterPartitionEvent = (AlterPartitionEvent) event;
+        batchedPartitionNames.add(alterPartitionEvent.partitionNameAfter);
+        batchedPartitionNames.addAll(alterPartitionEvent.batchedPartitionNames);
+        batchedPartitionNames.remove(partitionNameAfter);
+        return super.addToBatchEvents(event);
+    }
+
     @Override
     protected boolean canBeBatched(MetastoreEvent that) {
         if (!isSameTable(that) || !(that instanceof MetastorePartitionEvent)) {
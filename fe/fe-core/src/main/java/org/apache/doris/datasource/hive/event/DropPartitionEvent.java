@@ -88,6 +88,21 @@ public class DropPartitionEvent extends MetastorePartitionEvent {
         partitionNames.remove(partitionName);
     }
 
+    @Override
+    protected boolean canBeBatchedInto(MetastorePartitionEvent that) {
+        return that instanceof DropPartitionEvent;
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        for (String partitionName : ((DropPartitionEvent) event).partitionNames) {
+            if (!partitionNames.contains(partitionName)) {
+                partitionNames.add(partitionName);
+            }
+        }
+        return super.addToBatchEvents(event);
+    }
+
     protected static List<MetastoreEvent> getEvents(NotificationEvent event,
             String catalogName) {
         return Lists.newArrayList(
@@ -22,24 +22,43 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.hadoop.hive.common.FileUtils;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.hadoop.hive.metastore.messaging.InsertMessage;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * MetastoreEvent for INSERT event type
  */
 public class InsertEvent extends MetastoreTableEvent {
     private final Table hmsTbl;
+    // the partition inserted into, null if the table is not partitioned
+    private final String partitionName;
+    // the partitions of the insert events batched into this event
+    private final Set<String> batchedPartitionNames = Sets.newLinkedHashSet();
+    private int numberOfEvents = 1;
 
     // for test
     public InsertEvent(long eventId, String catalogName, String dbName,
                        String tblName) {
+        this(eventId, catalogName, dbName, tblName, null);
+    }
+
+    // for test
+    public InsertEvent(long eventId, String catalogName, String dbName,
+                       String tblName, String partitionName) {
         super(eventId, catalogName, dbName, tblName, MetastoreEventType.INSERT);
         this.hmsTbl = null;
+        this.partitionName = partitionName;
     }
 
     private InsertEvent(NotificationEvent event, String catalogName) {
@@ -52,6 +71,14 @@ public class InsertEvent extends MetastoreTableEvent {
                     MetastoreEventsProcessor.getMessageDeserializer(event.getMessageFormat())
                             .getInsertMessage(event.getMessage());
             hmsTbl = Preconditions.checkNotNull(insertMessage.getTableObj());
+            Partition partition = insertMessage.getPtnObj();
+            if (partition == null || hmsTbl.getPartitionKeys().isEmpty()) {
+                partitionName = null;
+            } else {
+                List<String> partitionColNames = hmsTbl.getPartitionKeys().stream()
+                        .map(FieldSchema::getName).collect(Collectors.toList());
+                partitionName = FileUtils.makePartName(partitionColNames, partition.getValues());
+            }
         } catch (Exception ex) {
             throw new MetastoreNotificationException(ex);
         }
@@ -61,6 +88,35 @@ public class InsertEvent extends MetastoreTableEvent {
         return Lists.newArrayList(new InsertEvent(event, catalogName));
     }
 
+    public boolean isPartitionInsert() {
+        return partitionName != null;
+    }
+
+    /**
+     * Returns the partitions inserted into, empty if the table is not partitioned.
+     */
+    public Set<String> getAllPartitionNames() {
+        if (partitionName == null) {
+            return ImmutableSet.of();
+        }
+        return ImmutableSet.<String>builder().add(partitionName).addAll(batchedPartitionNames).build();
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        InsertEvent insertEvent = (InsertEvent) event;
+        batchedPartitionNames.addAll(insertEvent.getAllPartitionNames());
+        batchedPartitionNames.remove(partitionName);
+        numberOfEvents += insertEvent.getNumberOfEvents();
+        eventTime = Math.max(eventTime, insertEvent.eventTime);
+        return this;
+    }
+
+    @Override
+    protected int getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
     @Override
     protected boolean willCreateOrDropTable() {
         return false;
@@ -74,7 +130,14 @@ public class InsertEvent extends MetastoreTableEvent {
     @Override
     protected void process() throws MetastoreNotificationException {
         try {
-            infoLog("catalogName:[{}],dbName:[{}],tableName:[{}]", catalogName, dbName, tblName);
+            infoLog("catalogName:[{}],dbName:[{}],tableName:[{}],partitionNames:[{}]", catalogName, dbName, tblName,
+                    getAllPartitionNames());
+            if (partitionName != null) {
+                // only the files of the inserted partitions are changed
+                Env.getCurrentEnv().getRefreshManager().refreshPartitions(catalogName, dbName, tblName,
+                        Lists.newArrayList(getAllPartitionNames()), eventTime, true);
+                return;
+            }
             /**
              *  Only when we use hive client to execute a `INSERT INTO TBL SELECT * ...` or `INSERT INTO TBL ...` sql
              *  to a non-partitioned table then the hms will generate an insert event, and there is not
@@ -97,6 +160,12 @@ public class InsertEvent extends MetastoreTableEvent {
             return false;
         }
 
+        // only the inserted partitions are refreshed, so only the earlier inserts into them are covered
+        if (partitionName != null) {
+            return that instanceof InsertEvent && ((InsertEvent) that).isPartitionInsert()
+                    && getAllPartitionNames().containsAll(((InsertEvent) that).getAllPartitionNames());
+        }
+
         /**
          * Because the cache of this table will be cleared when handling `InsertEvent`,
          * so `that` event can be batched if `that` event will not create or drop this table,
@@ -54,7 +54,8 @@ public abstract class MetastoreEvent {
     protected final long eventId;
 
     // eventTime of the event. Used instead of calling getter on event everytime
-    protected final long eventTime;
+    // it is the time of the latest event if other events are batched into this event
+    protected long eventTime;
 
     // eventType from the NotificationEvent
     protected final MetastoreEventType eventType;
@@ -30,9 +30,11 @@ import org.apache.hadoop.hive.metastore.api.NotificationEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -157,8 +159,85 @@ public class MetastoreEventFactory implements EventFactory {
 
         List<MetastoreEvent> filteredEvents = eventsCopy.stream().filter(Objects::nonNull)
                     .collect(Collectors.toList());
-        LOG.info("Event size on catalog [{}] before merge is [{}], after merge is [{}]",
-                    catalogName, events.size(), filteredEvents.size());
-        return ImmutableList.copyOf(filteredEvents);
+        List<MetastoreEvent> batchedEvents = batchPartitionEvents(filteredEvents);
+        LOG.info("Event size on catalog [{}] before merge is [{}], after merge is [{}], after batch is [{}]",
+                    catalogName, events.size(), filteredEvents.size(), batchedEvents.size());
+        return ImmutableList.copyOf(batchedEvents);
+    }
+
+    /**
+     * Batch the partition events of the same table, so the partition cache of the table is updated once
+     * for all partitions of the batch. For example, consider there are some events as following:
+     * <pre>
+     *    event1: alter table db1.t1 add partition p1;
+     *    event2: insert into db1.t1 partition p1;
+     *    event3: alter table db1.t1 add partition p2;
+     *    event4: insert into db1.t1 partition p2;
+     * </pre>
+     * event3 is batched into event1 because event2 does not touch p2, and event4 is batched into event2.
+     * An event is never batched across the events on other partitions of the table, the events on the whole table
+     * or the database events.
+     */
+    private List<MetastoreEvent> batchPartitionEvents(List<MetastoreEvent> events) {
+        List<MetastoreEvent> batchedEvents = Lists.newArrayListWithExpectedSize(events.size());
+        // the events of the tables since the last database event
+        Map<MetastoreTableEvent.TableKey, List<MetastoreTableEvent>> tableEvents = Maps.newHashMap();
+        for (MetastoreEvent event : events) {
+            if (!(event instanceof MetastoreTableEvent)) {
+                tableEvents.clear();
+                batchedEvents.add(event);
+                continue;
+            }
+            MetastoreTableEvent tableEvent = (MetastoreTableEvent) event;
+            List<MetastoreTableEvent> eventsOfTable = tableEvents.computeIfAbsent(tableEvent.getTableKey(),
+                    k -> Lists.newArrayList());
+            MetastoreTableEvent target = findBatchTarget(tableEvent, eventsOfTable);
+            if (target != null) {
+                target.addToBatchEvents(event);
+            } else {
+                eventsOfTable.add(tableEvent);
+                batchedEvents.add(event);
+            }
+        }
+        return batchedEvents;
+    }
+
+    // find the latest earlier event of the same table which the event can be batched into
+    private MetastoreTableEvent findBatchTarget(MetastoreTableEvent event, List<MetastoreTableEvent> eventsOfTable) {
+        Set<String> partitionNames;
+        if (event instanceof MetastorePartitionEvent) {
+            partitionNames = ((MetastorePartitionEvent) event).getAllPartitionNames();
+        } else if (event instanceof InsertEvent && ((InsertEvent) event).isPartitionInsert()) {
+            partitionNames = ((InsertEvent) event).getAllPartitionNames();
+        } else {
+            return null;
+        }
+        for (int i = eventsOfTable.size() - 1; i >= 0; i--) {
+            MetastoreTableEvent candidate = eventsOfTable.get(i);
+            if (canBeBatchedInto(event, candidate)) {
+                return candidate;
+            }
+            Set<String> candidatePartitionNames;
+            if (candidate instanceof MetastorePartitionEvent
+                    && !((MetastorePartitionEvent) candidate).willChangePartitionName()) {
+                candidatePartitionNames = ((MetastorePartitionEvent) candidate).getAllPartitionNames();
+            } else if (candidate instanceof InsertEvent && ((InsertEvent) candidate).isPartitionInsert()) {
+                candidatePartitionNames = ((InsertEvent) candidate).getAllPartitionNames();
+            } else {
+                return null;
+            }
+            if (!Collections.disjoint(partitionNames, candidatePartitionNames)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private boolean canBeBatchedInto(MetastoreTableEvent event, MetastoreTableEvent candidate) {
+        if (event instanceof MetastorePartitionEvent && candidate instanceof MetastorePartitionEvent) {
+            return ((MetastorePartitionEvent) event).canBeBatchedInto((MetastorePartitionEvent) candidate);
+        }
+        return event instanceof InsertEvent && candidate instanceof InsertEvent
+                && ((InsertEvent) candidate).isPartitionInsert();
     }
 }
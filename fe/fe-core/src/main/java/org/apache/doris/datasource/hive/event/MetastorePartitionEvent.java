@@ -26,6 +26,8 @@ import java.util.Set;
  * Base class for all the partition events
  */
 public abstract class MetastorePartitionEvent extends MetastoreTableEvent {
+    // the number of the events batched into this event, including itself
+    private int numberOfEvents = 1;
 
     // for test
     protected MetastorePartitionEvent(long eventId, String catalogName, String dbName,
@@ -51,4 +53,25 @@ public abstract class MetastorePartitionEvent extends MetastoreTableEvent {
     protected abstract boolean willChangePartitionName();
 
     public abstract Set<String> getAllPartitionNames();
+
+    /**
+     * Returns if this event can be batched into `that` event, which is an earlier event of the same table,
+     * so the partitions of the two events are processed together by `that` event.
+     * The caller must make sure that the events between them do not touch the partitions of this event.
+     */
+    protected boolean canBeBatchedInto(MetastorePartitionEvent that) {
+        return false;
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        numberOfEvents += event.getNumberOfEvents();
+        eventTime = Math.max(eventTime, event.eventTime);
+        return this;
+    }
+
+    @Override
+    protected int getNumberOfEvents() {
+        return numberOfEvents;
+    }
 }
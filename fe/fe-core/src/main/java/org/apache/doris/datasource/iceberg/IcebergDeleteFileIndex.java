@@ -0,0 +1,144 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.iceberg;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.util.StructLikeWrapper;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the delete files of a snapshot, to find the delete files applied to a data file.
+ * Following the iceberg spec:
+ * 1. a position delete file applies to the data files in the same partition of the same spec,
+ *    whose data sequence number is not greater than the delete file's.
+ * 2. an equality delete file applies to the data files in the same partition of the same spec,
+ *    or all data files if the delete file is not partitioned,
+ *    whose data sequence number is less than the delete file's.
+ */
+public class IcebergDeleteFileIndex {
+    private static final DeleteFile[] NO_DELETES = new DeleteFile[0];
+
+    // the equality delete files of the unpartitioned specs
+    private final List<DeleteFile> globalDeletes = Lists.newArrayList();
+    // spec id -> partition -> delete files
+    private final Map<Integer, Map<StructLikeWrapper, List<DeleteFile>>> partitionDeletes = Maps.newHashMap();
+    // spec id -> the wrapper to compare the partitions of the spec, never changed after construction
+    private final Map<Integer, StructLikeWrapper> wrappers = Maps.newHashMap();
+    private final int size;
+
+    public IcebergDeleteFileIndex(List<DeleteFile> deleteFiles, Map<Integer, PartitionSpec> specsById) {
+        specsById.forEach((specId, spec) -> wrappers.put(specId, StructLikeWrapper.forType(spec.partitionType())));
+        for (DeleteFile deleteFile : deleteFiles) {
+            PartitionSpec spec = specsById.get(deleteFile.specId());
+            if (deleteFile.content() == FileContent.EQUALITY_DELETES && spec.isUnpartitioned()) {
+                globalDeletes.add(deleteFile);
+            } else {
+                partitionDeletes.computeIfAbsent(deleteFile.specId(), k -> Maps.newHashMap())
+                        .computeIfAbsent(wrap(spec, deleteFile.partition()), k -> Lists.newArrayList())
+                        .add(deleteFile);
+            }
+        }
+        this.size = deleteFiles.size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public DeleteFile[] forDataFile(DataFile dataFile, PartitionSpec spec) {
+        if (size == 0) {
+            return NO_DELETES;
+        }
+        long sequenceNumber = dataSequenceNumber(dataFile);
+        List<DeleteFile> deletes = Lists.newArrayList();
+        for (DeleteFile deleteFile : globalDeletes) {
+            if (dataSequenceNumber(deleteFile) > sequenceNumber) {
+                deletes.add(deleteFile);
+            }
+        }
+        Map<StructLikeWrapper, List<DeleteFile>> deletesOfSpec = partitionDeletes.get(dataFile.specId());
+        if (deletesOfSpec != null) {
+            List<DeleteFile> deletesOfPartition = deletesOfSpec.get(wrap(spec, dataFile.partition()));
+            if (deletesOfPartition != null) {
+                for (DeleteFile deleteFile : deletesOfPartition) {
+                    if (appliesTo(deleteFile, dataFile, sequenceNumber)) {
+                        deletes.add(deleteFile);
+                    }
+                }
+            }
+        }
+        return deletes.isEmpty() ? NO_DELETES : deletes.toArray(new DeleteFile[0]);
+    }
+
+    private boolean appliesTo(DeleteFile deleteFile, DataFile dataFile, long sequenceNumber) {
+        if (deleteFile.content() == FileContent.EQUALITY_DELETES) {
+            return dataSequenceNumber(deleteFile) > sequenceNumber;
+        }
+        if (dataSequenceNumber(deleteFile) < sequenceNumber) {
+            return false;
+        }
+        // the position delete file only contains the deletes of one data file
+        String referencedPath = referencedDataFile(deleteFile);
+        return referencedPath == null || referencedPath.equals(dataFile.path().toString());
+    }
+
+    private static String referencedDataFile(DeleteFile deleteFile) {
+        if (deleteFile.lowerBounds() == null || deleteFile.upperBounds() == null) {
+            return null;
+        }
+        int fieldId = MetadataColumns.DELETE_FILE_PATH.fieldId();
+        ByteBuffer lower = deleteFile.lowerBounds().get(fieldId);
+        ByteBuffer upper = deleteFile.upperBounds().get(fieldId);
+        if (lower == null || !lower.equals(upper)) {
+            return null;
+        }
+        CharSequence path = Conversions.fromByteBuffer(MetadataColumns.DELETE_FILE_PATH.type(),
+                lower.duplicate());
+        return path.toString();
+    }
+
+    // the data sequence number is null only for the files of v1 tables, which are treated as 0
+    private static long dataSequenceNumber(ContentFile<?> file) {
+        Long sequenceNumber = file.dataSequenceNumber();
+        return sequenceNumber == null ? 0L : sequenceNumber;
+    }
+
+    private StructLikeWrapper wrap(PartitionSpec spec, StructLike partition) {
+        StructLikeWrapper wrapper = wrappers.get(spec.specId());
+        if (wrapper == null) {
+            wrapper = StructLikeWrapper.forType(spec.partitionType());
+        }
+        return wrapper.copyFor(partition);
+    }
+}
@@ -0,0 +1,236 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.iceberg;
+
+import org.apache.doris.common.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.iceberg.BaseFileScanTask;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.ManifestReader;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SchemaParser;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.ManifestEvaluator;
+import org.apache.iceberg.expressions.Projections;
+import org.apache.iceberg.expressions.ResidualEvaluator;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the parsed entries of iceberg manifests and the delete file indexes of snapshots,
+ * shared by all queries, so the queries on the same snapshot plan the files without reading the manifests.
+ * The manifest files and the manifest lists are never changed once written, so the entries are keyed by their paths
+ * and needn't be invalidated when the table is refreshed, they are just evicted when the cache is full.
+ * It is disabled by default, because the delete files are only matched by the partition and the sequence number,
+ * without the metrics based pruning of iceberg, and the options of the scan are not applied.
+ */
+public class IcebergManifestCache {
+    private static final Logger LOG = LogManager.getLogger(IcebergManifestCache.class);
+
+    private final long maxFileNum;
+    // manifest path -> the live data files or delete files in the manifest
+    private final Cache<String, List<? extends ContentFile<?>>> manifestCache;
+    // manifest list path of snapshot -> the delete file index of the snapshot
+    private final Cache<String, IcebergDeleteFileIndex> deleteIndexCache;
+
+    public IcebergManifestCache(long maxFileNum) {
+        this.maxFileNum = maxFileNum;
+        Duration expireAfterAccess = Duration.ofMinutes(Config.external_cache_expire_time_minutes_after_access);
+        this.manifestCache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(maxFileNum, 1))
+                .weigher((String path, List<? extends ContentFile<?>> files) -> Math.max(files.size(), 1))
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.deleteIndexCache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(maxFileNum, 1))
+                .weigher((String path, IcebergDeleteFileIndex index) -> Math.max(index.size(), 1))
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return maxFileNum > 0;
+    }
+
+    /**
+     * Same as {@link TableScan#planFiles()}, but the entries of the manifests are read from the cache.
+     * The data manifests are read lazily, so the tasks can be consumed while the planning goes on.
+     */
+    public CloseableIterable<FileScanTask> planFiles(Table table, TableScan scan) {
+        Snapshot snapshot = scan.snapshot();
+        if (snapshot == null) {
+            return CloseableIterable.empty();
+        }
+        FileIO io = table.io();
+        Map<Integer, PartitionSpec> specsById = table.specs();
+        Schema schema = snapshot.schemaId() == null ? table.schema()
+                : table.schemas().getOrDefault(snapshot.schemaId(), table.schema());
+        IcebergDeleteFileIndex deleteIndex = getDeleteFileIndex(snapshot, io, specsById);
+        FilePlanner planner = new FilePlanner(schema, specsById, scan.filter(), scan.isCaseSensitive(), deleteIndex);
+        return CloseableIterable.concat(Iterables.transform(snapshot.dataManifests(io),
+                manifest -> CloseableIterable.withNoopClose(planner.plan(manifest,
+                        () -> getDataFiles(manifest, io, specsById)))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DataFile> getDataFiles(ManifestFile manifest, FileIO io, Map<Integer, PartitionSpec> specsById) {
+        return (List<DataFile>) manifestCache.get(manifest.path(),
+                path -> readManifest(ManifestFiles.read(manifest, io, specsById)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DeleteFile> getDeleteFiles(ManifestFile manifest, FileIO io,
+            Map<Integer, PartitionSpec> specsById) {
+        return (List<DeleteFile>) manifestCache.get(manifest.path(),
+                path -> readManifest(ManifestFiles.readDeleteManifest(manifest, io, specsById)));
+    }
+
+    private IcebergDeleteFileIndex getDeleteFileIndex(Snapshot snapshot, FileIO io,
+            Map<Integer, PartitionSpec> specsById) {
+        if (snapshot.manifestListLocation() == null) {
+            // the manifests of the very old v1 tables are embedded in the table metadata, there is no delete file
+            return loadDeleteFileIndex(snapshot, io, specsById);
+        }
+        return deleteIndexCache.get(snapshot.manifestListLocation(),
+                path -> loadDeleteFileIndex(snapshot, io, specsById));
+    }
+
+    private IcebergDeleteFileIndex loadDeleteFileIndex(Snapshot snapshot, FileIO io,
+            Map<Integer, PartitionSpec> specsById) {
+        List<DeleteFile> deleteFiles = Lists.newArrayList();
+        for (ManifestFile manifest : snapshot.deleteManifests(io)) {
+            if (manifest.hasAddedFiles() || manifest.hasExistingFiles()) {
+                deleteFiles.addAll(getDeleteFiles(manifest, io, specsById));
+            }
+        }
+        return new IcebergDeleteFileIndex(deleteFiles, specsById);
+    }
+
+    // the entries returned by the reader are reused, so they are copied before being cached
+    private static <F extends ContentFile<F>> List<F> readManifest(ManifestReader<F> reader) {
+        long start = System.currentTimeMillis();
+        List<F> files = Lists.newArrayList();
+        try (ManifestReader<F> manifestReader = reader) {
+            for (F file : manifestReader) {
+                files.add(file.copy());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("read {} files from manifest {}, cost: {} ms", files.size(), reader.file().location(),
+                    System.currentTimeMillis() - start);
+        }
+        return files;
+    }
+
+    public void invalidateAll() {
+        manifestCache.invalidateAll();
+        deleteIndexCache.invalidateAll();
+    }
+
+    // evaluates the filter on the manifests and the data files, the evaluators are created once per spec
+    private static class FilePlanner {
+        private final String schemaString;
+        private final Schema schema;
+        private final Map<Integer, PartitionSpec> specsById;
+        private final Expression filter;
+        private final boolean caseSensitive;
+        private final IcebergDeleteFileIndex deleteIndex;
+        private final Map<Integer, SpecContext> specContexts = Maps.newHashMap();
+        private InclusiveMetricsEvaluator metricsEvaluator;
+
+        private FilePlanner(Schema schema, Map<Integer, PartitionSpec> specsById, Expression filter,
+                boolean caseSensitive, IcebergDeleteFileIndex deleteIndex) {
+            this.schemaString = SchemaParser.toJson(schema);
+            this.schema = schema;
+            this.specsById = specsById;
+            this.filter = filter;
+            this.caseSensitive = caseSensitive;
+            this.deleteIndex = deleteIndex;
+        }
+
+        private Iterable<FileScanTask> plan(ManifestFile manifest, Supplier<List<DataFile>> dataFiles) {
+            if (!manifest.hasAddedFiles() && !manifest.hasExistingFiles()) {
+                return Lists.newArrayList();
+            }
+            SpecContext specContext = getSpecContext(manifest.partitionSpecId());
+            if (!specContext.manifestEvaluator.eval(manifest)) {
+                return Lists.newArrayList();
+            }
+            if (metricsEvaluator == null) {
+                metricsEvaluator = new InclusiveMetricsEvaluator(schema, filter, caseSensitive);
+            }
+            List<FileScanTask> tasks = Lists.newArrayList();
+            for (DataFile dataFile : dataFiles.get()) {
+                if (specContext.partitionEvaluator.eval(dataFile.partition()) && metricsEvaluator.eval(dataFile)) {
+                    tasks.add(new BaseFileScanTask(dataFile, deleteIndex.forDataFile(dataFile, specContext.spec),
+                            schemaString, specContext.specString, specContext.residuals));
+                }
+            }
+            return tasks;
+        }
+
+        private SpecContext getSpecContext(int specId) {
+            return specContexts.computeIfAbsent(specId, k -> new SpecContext(specsById.get(specId)));
+        }
+
+        private class SpecContext {
+            private final PartitionSpec spec;
+            private final String specString;
+            private final ManifestEvaluator manifestEvaluator;
+            private final Evaluator partitionEvaluator;
+            private final ResidualEvaluator residuals;
+
+            private SpecContext(PartitionSpec spec) {
+                this.spec = spec;
+                this.specString = PartitionSpecParser.toJson(spec);
+                this.manifestEvaluator = ManifestEvaluator.forRowFilter(filter, spec, caseSensitive);
+                this.partitionEvaluator = new Evaluator(spec.partitionType(),
+                        Projections.inclusive(spec, caseSensitive).project(filter), caseSensitive);
+                this.residuals = ResidualEvaluator.of(spec, filter, caseSensitive);
+            }
+        }
+    }
+}
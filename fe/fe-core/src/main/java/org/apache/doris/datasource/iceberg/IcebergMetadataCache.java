@@ -52,6 +52,7 @@ public class IcebergMetadataCache {
 
     private final LoadingCache<IcebergMetadataCacheKey, List<Snapshot>> snapshotListCache;
     private final LoadingCache<IcebergMetadataCacheKey, Table> tableCache;
+    private final IcebergManifestCache manifestCache;
 
     public IcebergMetadataCache(ExecutorService executor) {
         CacheFactory snapshotListCacheFactory = new CacheFactory(
@@ -69,6 +70,7 @@ public class IcebergMetadataCache {
                 false,
                 null);
         this.tableCache = tableCacheFactory.buildCache(key -> loadTable(key), null, executor);
+        this.manifestCache = new IcebergManifestCache(Config.max_external_iceberg_manifest_cache_num);
     }
 
     public List<Snapshot> getSnapshotList(TIcebergMetadataParams params) throws UserException {
@@ -95,6 +97,10 @@ public class IcebergMetadataCache {
         return restTable;
     }
 
+    public IcebergManifestCache getManifestCache() {
+        return manifestCache;
+    }
+
     public Table getRemoteTable(CatalogIf catalog, String dbName, String tbName) {
         IcebergMetadataCacheKey key = IcebergMetadataCacheKey.of(catalog, dbName, tbName);
         return loadTable(key);
@@ -22,12 +22,14 @@ import org.apache.doris.analysis.FunctionCallExpr;
 import org.apache.doris.analysis.TableSnapshot;
 import org.apache.doris.analysis.TupleDescriptor;
 import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.HdfsResource;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.LocationPath;
 import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.ExternalTable;
 import org.apache.doris.datasource.FileQueryScanNode;
 import org.apache.doris.datasource.TableFormatType;
@@ -35,6 +37,7 @@ import org.apache.doris.datasource.hive.HMSExternalTable;
 import org.apache.doris.datasource.hive.HiveMetaStoreClientHelper;
 import org.apache.doris.datasource.iceberg.IcebergExternalCatalog;
 import org.apache.doris.datasource.iceberg.IcebergExternalTable;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache;
 import org.apache.doris.datasource.iceberg.IcebergUtils;
 import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.qe.ConnectContext;
@@ -50,6 +53,7 @@ import org.apache.doris.thrift.TPlanNode;
 import org.apache.doris.thrift.TPushAggOp;
 import org.apache.doris.thrift.TTableFormatFileDesc;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import org.apache.hadoop.fs.Path;
@@ -73,6 +77,8 @@ import org.apache.iceberg.types.Type;
 import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.DateTimeUtil;
 import org.apache.iceberg.util.TableScanUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -84,15 +90,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class IcebergScanNode extends FileQueryScanNode {
 
+    private static final Logger LOG = LogManager.getLogger(IcebergScanNode.class);
+
     public static final int MIN_DELETE_FILE_SUPPORT_VERSION = 2;
 
+    // the number of splits pushed to the split assignment at a time in batch mode
+    @VisibleForTesting
+    static final int SPLIT_BATCH_SIZE = 1024;
+
     private IcebergSource source;
     private Table icebergTable;
     private List<String> pushdownIcebergPredicates = Lists.newArrayList();
+    // decided by the number of data files in the snapshot summary, see isBatchMode()
+    private Boolean isBatchMode = null;
+    private int numDataFiles = -1;
 
     /**
      * External file scan node for Query iceberg table
@@ -184,6 +202,39 @@ public class IcebergScanNode extends FileQueryScanNode {
     }
 
     private List<Split> doGetSplits() throws UserException {
+        TableScan scan = createTableScan();
+
+        // get splits
+        List<Split> splits = new ArrayList<>();
+        int formatVersion = ((BaseTable) icebergTable).operations().current().formatVersion();
+        HashSet<String> partitionPathSet = new HashSet<>();
+
+        long rowCount = getCountFromSnapshot();
+        if (getPushDownAggNoGroupingOp().equals(TPushAggOp.COUNT) && rowCount > 0) {
+            this.rowCount = rowCount;
+            return new ArrayList<>();
+        }
+        long splitSize = getSplitSize();
+        try (CloseableIterable<CombinedScanTask> combinedScanTasks = planTasks(scan, splitSize)) {
+            combinedScanTasks.forEach(taskGrp -> taskGrp.files().forEach(splitTask -> splits.add(
+                    createIcebergSplit(splitTask, formatVersion, splitSize, partitionPathSet))));
+        } catch (IOException e) {
+            throw new UserException(e.getMessage(), e.getCause());
+        }
+
+        // TODO: Need to delete this as we can handle count pushdown in fe side
+        TPushAggOp aggOp = getPushDownAggNoGroupingOp();
+        if (aggOp.equals(TPushAggOp.COUNT) && getCountFromSnapshot() > 0) {
+            // we can create a special empty split and skip the plan process
+            return Collections.singletonList(splits.get(0));
+        }
+
+        readPartitionNum = partitionPathSet.size();
+
+        return splits;
+    }
+
+    private TableScan createTableScan() throws UserException {
         TableScan scan = icebergTable.newScan();
 
         // set snapshot
@@ -204,83 +255,167 @@ public class IcebergScanNode extends FileQueryScanNode {
             scan = scan.filter(predicate);
             this.pushdownIcebergPredicates.add(predicate.toString());
         }
+        return scan;
+    }
 
-        // get splits
-        List<Split> splits = new ArrayList<>();
-        int formatVersion = ((BaseTable) icebergTable).operations().current().formatVersion();
+    private long getSplitSize() {
         // Min split size is DEFAULT_SPLIT_SIZE(128MB).
-        long splitSize = Math.max(ConnectContext.get().getSessionVariable().getFileSplitSize(), DEFAULT_SPLIT_SIZE);
-        HashSet<String> partitionPathSet = new HashSet<>();
-        boolean isPartitionedTable = icebergTable.spec().isPartitioned();
+        return Math.max(ConnectContext.get().getSessionVariable().getFileSplitSize(), DEFAULT_SPLIT_SIZE);
+    }
 
-        long rowCount = getCountFromSnapshot();
-        if (getPushDownAggNoGroupingOp().equals(TPushAggOp.COUNT) && rowCount > 0) {
-            this.rowCount = rowCount;
-            return new ArrayList<>();
+    // The returned iterable reads the manifests lazily, so the tasks can be consumed while the planning goes on.
+    private CloseableIterable<CombinedScanTask> planTasks(TableScan scan, long splitSize) {
+        CloseableIterable<FileScanTask> fileScanTasks = TableScanUtil.splitFiles(planFiles(scan), splitSize);
+        return TableScanUtil.planTasks(fileScanTasks, splitSize, 1, 0);
+    }
+
+    // the entries of the manifests are shared by the queries on the same snapshot if the manifest cache is enabled
+    private CloseableIterable<FileScanTask> planFiles(TableScan scan) {
+        IcebergManifestCache manifestCache = Env.getCurrentEnv().getExtMetaCacheMgr().getIcebergMetadataCache()
+                .getManifestCache();
+        if (manifestCache.isEnabled()) {
+            return manifestCache.planFiles(icebergTable, scan);
         }
-        CloseableIterable<FileScanTask> fileScanTasks = TableScanUtil.splitFiles(scan.planFiles(), splitSize);
-        try (CloseableIterable<CombinedScanTask> combinedScanTasks =
-                TableScanUtil.planTasks(fileScanTasks, splitSize, 1, 0)) {
-            combinedScanTasks.forEach(taskGrp -> taskGrp.files().forEach(splitTask -> {
-                String dataFilePath = normalizeLocation(splitTask.file().path().toString());
-
-                List<String> partitionValues = new ArrayList<>();
-                if (isPartitionedTable) {
-                    StructLike structLike = splitTask.file().partition();
-                    List<PartitionField> fields = splitTask.spec().fields();
-                    Types.StructType structType = icebergTable.schema().asStruct();
-
-                    // set partitionValue for this IcebergSplit
-                    for (int i = 0; i < structLike.size(); i++) {
-                        Object obj = structLike.get(i, Object.class);
-                        String value = String.valueOf(obj);
-                        PartitionField partitionField = fields.get(i);
-                        if (partitionField.transform().isIdentity()) {
-                            Type type = structType.fieldType(partitionField.name());
-                            if (type != null && type.typeId().equals(Type.TypeID.DATE)) {
-                                // iceberg use integer to store date,
-                                // we need transform it to string
-                                value = DateTimeUtil.daysToIsoDate((Integer) obj);
-                            }
-                        }
-                        partitionValues.add(value);
-                    }
+        return scan.planFiles();
+    }
 
-                    // Counts the number of partitions read
-                    partitionPathSet.add(structLike.toString());
-                }
-                LocationPath locationPath = new LocationPath(dataFilePath, source.getCatalog().getProperties());
-                Path finalDataFilePath = locationPath.toStorageLocation();
-                IcebergSplit split = new IcebergSplit(
-                        finalDataFilePath,
-                        splitTask.start(),
-                        splitTask.length(),
-                        splitTask.file().fileSizeInBytes(),
-                        new String[0],
-                        formatVersion,
-                        source.getCatalog().getProperties(),
-                        partitionValues,
-                        splitTask.file().path().toString());
-                if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
-                    split.setDeleteFileFilters(getDeleteFileFilters(splitTask));
+    private IcebergSplit createIcebergSplit(FileScanTask splitTask, int formatVersion, long splitSize,
+            Set<String> partitionPathSet) {
+        String dataFilePath = normalizeLocation(splitTask.file().path().toString());
+
+        List<String> partitionValues = new ArrayList<>();
+        if (icebergTable.spec().isPartitioned()) {
+            StructLike structLike = splitTask.file().partition();
+            List<PartitionField> fields = splitTask.spec().fields();
+            Types.StructType structType = icebergTable.schema().asStruct();
+
+            // set partitionValue for this IcebergSplit
+            for (int i = 0; i < structLike.size(); i++) {
+                Object obj = structLike.get(i, Object.class);
+                String value = String.valueOf(obj);
+                PartitionField partitionField = fields.get(i);
+                if (partitionField.transform().isIdentity()) {
+                    Type type = structType.fieldType(partitionField.name());
+                    if (type != null && type.typeId().equals(Type.TypeID.DATE)) {
+                        // iceberg use integer to store date,
+                        // we need transform it to string
+                        value = DateTimeUtil.daysToIsoDate((Integer) obj);
+                    }
                 }
-                split.setTableFormatType(TableFormatType.ICEBERG);
-                splits.add(split);
-            }));
-        } catch (IOException e) {
-            throw new UserException(e.getMessage(), e.getCause());
+                partitionValues.add(value);
+            }
+
+            // Counts the number of partitions read
+            partitionPathSet.add(structLike.toString());
+        }
+        LocationPath locationPath = new LocationPath(dataFilePath, source.getCatalog().getProperties());
+        Path finalDataFilePath = locationPath.toStorageLocation();
+        IcebergSplit split = new IcebergSplit(
+                finalDataFilePath,
+                splitTask.start(),
+                splitTask.length(),
+                splitTask.file().fileSizeInBytes(),
+                new String[0],
+                formatVersion,
+                source.getCatalog().getProperties(),
+                partitionValues,
+                splitTask.file().path().toString());
+        if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
+            split.setDeleteFileFilters(getDeleteFileFilters(splitTask));
         }
+        split.setTableFormatType(TableFormatType.ICEBERG);
+        if (loadAwareSplitAssignment) {
+            split.setTargetSplitSize(splitSize);
+        }
+        return split;
+    }
 
-        // TODO: Need to delete this as we can handle count pushdown in fe side
-        TPushAggOp aggOp = getPushDownAggNoGroupingOp();
-        if (aggOp.equals(TPushAggOp.COUNT) && getCountFromSnapshot() > 0) {
-            // we can create a special empty split and skip the plan process
-            return Collections.singletonList(splits.get(0));
+    @Override
+    public boolean isBatchMode() {
+        if (isBatchMode == null) {
+            isBatchMode = false;
+            int numFiles = ConnectContext.get().getSessionVariable().getNumFilesInBatchMode();
+            if (numFiles < 0) {
+                return false;
+            }
+            // count(*) is answered by the snapshot summary with only one split
+            if (getPushDownAggNoGroupingOp().equals(TPushAggOp.COUNT) && getCountFromSnapshot() > 0) {
+                return false;
+            }
+            Snapshot snapshot = getQuerySnapshot();
+            if (snapshot == null || snapshot.summary() == null) {
+                return false;
+            }
+            String totalDataFiles = snapshot.summary().get(IcebergUtils.TOTAL_DATA_FILES);
+            if (totalDataFiles == null) {
+                return false;
+            }
+            numDataFiles = Integer.parseInt(totalDataFiles);
+            isBatchMode = numDataFiles >= numFiles;
         }
+        return isBatchMode;
+    }
 
-        readPartitionNum = partitionPathSet.size();
+    @Override
+    public int numApproximateSplits() {
+        // every data file is split into one split at least
+        return numDataFiles;
+    }
 
-        return splits;
+    @Override
+    public void startSplit() {
+        TableScan scan;
+        try {
+            // build the scan in the planning thread, the pushed down predicates are shown in explain
+            scan = createTableScan();
+        } catch (UserException e) {
+            splitAssignment.setException(e);
+            return;
+        }
+        long splitSize = getSplitSize();
+        int maxPendingSplits = ConnectContext.get().getSessionVariable().getMaxPendingSplitsInBatchMode();
+        int formatVersion = ((BaseTable) icebergTable).operations().current().formatVersion();
+        Executor scheduleExecutor = Env.getCurrentEnv().getExtMetaCacheMgr().getScheduleExecutor();
+        CompletableFuture.runAsync(() -> {
+            try {
+                HiveMetaStoreClientHelper.ugiDoAs(source.getCatalog().getConfiguration(), () -> {
+                    generateSplits(scan, splitSize, maxPendingSplits, formatVersion);
+                    return null;
+                });
+                splitAssignment.finishSchedule();
+            } catch (Exception e) {
+                LOG.warn("get file split failed for table: {}", icebergTable.name(), e);
+                splitAssignment.setException(new UserException(
+                        "get file split failed for table: " + icebergTable.name() + ", err: "
+                                + Util.getRootCauseMessage(e), e));
+            }
+        }, scheduleExecutor);
+    }
+
+    // Push the splits to the assignment batch by batch while iterating the manifests,
+    // and wait if backends have not fetched enough splits yet.
+    @VisibleForTesting
+    void generateSplits(TableScan scan, long splitSize, int maxPendingSplits, int formatVersion)
+            throws IOException, InterruptedException {
+        Set<String> partitionPathSet = new HashSet<>();
+        List<Split> batch = new ArrayList<>(SPLIT_BATCH_SIZE);
+        try (CloseableIterable<CombinedScanTask> combinedScanTasks = planTasks(scan, splitSize)) {
+            for (CombinedScanTask taskGrp : combinedScanTasks) {
+                for (FileScanTask splitTask : taskGrp.files()) {
+                    batch.add(createIcebergSplit(splitTask, formatVersion, splitSize, partitionPathSet));
+                    if (batch.size() >= SPLIT_BATCH_SIZE) {
+                        if (!splitAssignment.waitForPendingSplits(maxPendingSplits)) {
+                            return;
+                        }
+                        splitAssignment.addToQueue(batch);
+                        batch = new ArrayList<>(SPLIT_BATCH_SIZE);
+                    }
+                }
+            }
+        }
+        splitAssignment.addToQueue(batch);
+        // readPartitionNum is volatile, it is read by explain in the planning thread
+        readPartitionNum = partitionPathSet.size();
     }
 
     public Long getSpecifiedSnapshot() throws UserException {
@@ -418,16 +553,19 @@ public class IcebergScanNode extends FileQueryScanNode {
         return !col.isAllowNull();
     }
 
-    private long getCountFromSnapshot() {
+    private Snapshot getQuerySnapshot() {
         Long specifiedSnapshot;
         try {
             specifiedSnapshot = getSpecifiedSnapshot();
         } catch (UserException e) {
-            return -1;
+            return null;
         }
-
-        Snapshot snapshot = specifiedSnapshot == null
+        return specifiedSnapshot == null
                 ? icebergTable.currentSnapshot() : icebergTable.snapshot(specifiedSnapshot);
+    }
+
+    private long getCountFromSnapshot() {
+        Snapshot snapshot = getQuerySnapshot();
 
         // empty table
         if (snapshot == null) {
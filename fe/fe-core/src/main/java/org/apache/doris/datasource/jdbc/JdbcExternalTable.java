@@ -39,6 +39,8 @@ public class JdbcExternalTable extends ExternalTable {
     private static final Logger LOG = LogManager.getLogger(JdbcExternalTable.class);
 
     private JdbcTable jdbcTable;
+    // the remote names of the primary key columns, loaded when the table is scanned by ranges at the first time
+    private volatile List<String> primaryKeys;
 
     /**
      * Create jdbc external table.
@@ -66,6 +68,14 @@ public class JdbcExternalTable extends ExternalTable {
         return jdbcTable;
     }
 
+    public List<String> getPrimaryKeys() {
+        makeSureInitialized();
+        if (primaryKeys == null) {
+            primaryKeys = ((JdbcExternalCatalog) catalog).getJdbcClient().getPrimaryKeys(dbName, name);
+        }
+        return primaryKeys;
+    }
+
     @Override
     public TTableDescriptor toThrift() {
         makeSureInitialized();
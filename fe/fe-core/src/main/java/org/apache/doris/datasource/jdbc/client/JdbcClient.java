@@ -23,6 +23,7 @@ import org.apache.doris.catalog.ScalarType;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.cloud.security.SecurityChecker;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.datasource.jdbc.JdbcIdentifierMapping;
 import org.apache.doris.datasource.jdbc.util.JdbcFieldSchema;
@@ -44,11 +45,13 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 
 @Getter
@@ -367,6 +370,62 @@ public abstract class JdbcClient {
         return filterColumnName(remoteDbName, remoteTableName, dorisTableSchema);
     }
 
+    /**
+     * get the remote names of the primary key columns of one table, in the order of the key
+     */
+    public List<String> getPrimaryKeys(String localDbName, String localTableName) {
+        Connection conn = getConnection();
+        ResultSet rs = null;
+        String remoteDbName = getRemoteDatabaseName(localDbName);
+        String remoteTableName = getRemoteTableName(localDbName, localTableName);
+        Map<Short, String> keyColumns = new TreeMap<>();
+        try {
+            DatabaseMetaData databaseMetaData = conn.getMetaData();
+            String catalogName = getCatalogName(conn);
+            rs = getRemotePrimaryKeys(databaseMetaData, catalogName, remoteDbName, remoteTableName);
+            while (rs.next()) {
+                keyColumns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        } catch (SQLException e) {
+            throw new JdbcClientException("failed to get primary keys for remote table `%s.%s`: %s",
+                    remoteDbName, remoteTableName, Util.getRootCauseMessage(e));
+        } finally {
+            close(rs, conn);
+        }
+        return Lists.newArrayList(keyColumns.values());
+    }
+
+    /**
+     * Execute a query which returns the min and max values of an integer or date column in one row,
+     * the date values are returned in epoch milliseconds.
+     *
+     * @return null if there is no non-null value
+     */
+    public Pair<Long, Long> getMinMaxValues(String query, boolean isDateColumn) {
+        Connection conn = getConnection();
+        Statement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = conn.createStatement();
+            rs = stmt.executeQuery(query);
+            if (!rs.next()) {
+                return null;
+            }
+            if (isDateColumn) {
+                Timestamp min = rs.getTimestamp(1);
+                Timestamp max = rs.getTimestamp(2);
+                return min == null || max == null ? null : Pair.of(min.getTime(), max.getTime());
+            }
+            long min = rs.getLong(1);
+            long max = rs.getLong(2);
+            return rs.wasNull() ? null : Pair.of(min, max);
+        } catch (SQLException e) {
+            throw new JdbcClientException("Failed to get min and max values by query: %s", e, query);
+        } finally {
+            close(rs, stmt, conn);
+        }
+    }
+
     public String getRemoteDatabaseName(String localDbname) {
         return jdbcLowerCaseMetaMatching.getRemoteDatabaseName(localDbname);
     }
@@ -417,6 +476,11 @@ public abstract class JdbcClient {
         return databaseMetaData.getColumns(catalogName, remoteDbName, remoteTableName, null);
     }
 
+    protected ResultSet getRemotePrimaryKeys(DatabaseMetaData databaseMetaData, String catalogName,
+            String remoteDbName, String remoteTableName) throws SQLException {
+        return databaseMetaData.getPrimaryKeys(catalogName, remoteDbName, remoteTableName);
+    }
+
     protected List<String> filterDatabaseNames(List<String> remoteDbNames) {
         Set<String> filterInternalDatabases = getFilterInternalDatabases();
         List<String> filteredDatabaseNames = Lists.newArrayList();
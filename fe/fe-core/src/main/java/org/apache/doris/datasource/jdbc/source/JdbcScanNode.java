@@ -35,9 +35,12 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.JdbcTable;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.catalog.TableIf.TableType;
+import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
 import org.apache.doris.datasource.ExternalScanNode;
+import org.apache.doris.datasource.jdbc.JdbcExternalCatalog;
 import org.apache.doris.datasource.jdbc.JdbcExternalTable;
 import org.apache.doris.nereids.glue.translator.PlanTranslatorContext;
 import org.apache.doris.planner.PlanNodeId;
@@ -47,19 +50,25 @@ import org.apache.doris.statistics.StatsRecursiveDerive;
 import org.apache.doris.statistics.query.StatsDelta;
 import org.apache.doris.thrift.TExplainLevel;
 import org.apache.doris.thrift.TJdbcScanNode;
+import org.apache.doris.thrift.TJdbcScanRange;
 import org.apache.doris.thrift.TOdbcTableType;
 import org.apache.doris.thrift.TPlanNode;
 import org.apache.doris.thrift.TPlanNodeType;
+import org.apache.doris.thrift.TScanRangeLocations;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class JdbcScanNode extends ExternalScanNode {
@@ -74,11 +83,16 @@ public class JdbcScanNode extends ExternalScanNode {
     private String query = "";
 
     private JdbcTable tbl;
+    // only the tables of jdbc catalogs can be scanned by ranges
+    private JdbcExternalTable jdbcExternalTable;
+    // the column to split the scan into ranges, null if the scan is not split
+    private String rangeColumn;
+    private int rangeNum = 0;
 
     public JdbcScanNode(PlanNodeId id, TupleDescriptor desc, boolean isJdbcExternalTable) {
         super(id, desc, "JdbcScanNode", StatisticalType.JDBC_SCAN_NODE, false);
         if (isJdbcExternalTable) {
-            JdbcExternalTable jdbcExternalTable = (JdbcExternalTable) (desc.getTable());
+            jdbcExternalTable = (JdbcExternalTable) (desc.getTable());
             tbl = jdbcExternalTable.getJdbcTable();
         } else {
             tbl = (JdbcTable) (desc.getTable());
@@ -175,6 +189,10 @@ public class JdbcScanNode extends ExternalScanNode {
     }
 
     private String getJdbcQueryStr() {
+        return getJdbcQueryStr(filters);
+    }
+
+    private String getJdbcQueryStr(List<String> filters) {
         StringBuilder sql = new StringBuilder("SELECT ");
 
         // Oracle use the where clause to do top n
@@ -230,6 +248,10 @@ public class JdbcScanNode extends ExternalScanNode {
                 return output.toString();
             }
             output.append(prefix).append("QUERY: ").append(getJdbcQueryStr()).append("\n");
+            if (rangeColumn != null) {
+                output.append(prefix).append("RANGES: ").append(rangeNum)
+                        .append(" BY ").append(rangeColumn).append("\n");
+            }
             if (!conjuncts.isEmpty()) {
                 Expr expr = convertConjunctsToAndCompoundPredicate(conjuncts);
                 output.append(prefix).append("PREDICATES: ").append(expr.toSql()).append("\n");
@@ -267,7 +289,135 @@ public class JdbcScanNode extends ExternalScanNode {
 
     @Override
     protected void createScanRangeLocations() throws UserException {
-        scanRangeLocations = Lists.newArrayList(createSingleScanRangeLocations(backendPolicy));
+        List<String> rangeQueries = getRangeQueries();
+        if (rangeQueries.isEmpty()) {
+            scanRangeLocations = Lists.newArrayList(createSingleScanRangeLocations(backendPolicy));
+            return;
+        }
+        // the ranges are assigned to the backends in round robin, and read by the instances in parallel
+        scanRangeLocations = Lists.newArrayList();
+        for (String rangeQuery : rangeQueries) {
+            TScanRangeLocations locations = createSingleScanRangeLocations(backendPolicy);
+            locations.getScanRange().setJdbcScanRange(new TJdbcScanRange().setQueryString(rangeQuery));
+            scanRangeLocations.add(locations);
+        }
+    }
+
+    /**
+     * Split the scan into ranges by the first column of the primary key, if it is an integer or date column.
+     * The boundaries are evenly distributed between the min and max values of the column, which are queried from
+     * the remote database. The first range includes the nulls, and the first and last ranges are unbounded,
+     * so all rows are covered even if the table is changed after the boundaries are computed.
+     *
+     * @return the queries of the ranges, empty if the scan is not split
+     */
+    private List<String> getRangeQueries() {
+        rangeColumn = null;
+        rangeNum = 0;
+        int maxRangeNum = ConnectContext.get() == null ? 0
+                : ConnectContext.get().getSessionVariable().jdbcScanRangeNum;
+        if (maxRangeNum <= 1 || jdbcExternalTable == null || isTableValuedFunction || limit != -1) {
+            return Lists.newArrayList();
+        }
+        try {
+            Column column = getRangeColumn();
+            if (column == null) {
+                return Lists.newArrayList();
+            }
+            boolean isDate = column.getType().isDateType();
+            String columnName = tbl.getProperRemoteColumnName(jdbcType, column.getName());
+            String minMaxQuery = "SELECT MIN(" + columnName + "), MAX(" + columnName + ") FROM " + tableName
+                    + (filters.isEmpty() ? "" : " WHERE (" + Joiner.on(") AND (").join(filters) + ")");
+            JdbcExternalCatalog catalog = (JdbcExternalCatalog) jdbcExternalTable.getCatalog();
+            Pair<Long, Long> minMax = catalog.getJdbcClient().getMinMaxValues(minMaxQuery, isDate);
+            if (minMax == null) {
+                return Lists.newArrayList();
+            }
+            List<String> boundaries = getRangeBoundaries(minMax.first, minMax.second, maxRangeNum,
+                    boundary -> isDate ? dateLiteral(boundary, column.getType(), jdbcType) : String.valueOf(boundary));
+            if (boundaries.isEmpty()) {
+                return Lists.newArrayList();
+            }
+            List<String> rangeQueries = Lists.newArrayList();
+            for (String rangeFilter : getRangeFilters(columnName, boundaries)) {
+                List<String> rangeFilters = Lists.newArrayList(filters);
+                rangeFilters.add(rangeFilter);
+                rangeQueries.add(getJdbcQueryStr(rangeFilters));
+            }
+            rangeColumn = columnName;
+            rangeNum = rangeQueries.size();
+            return rangeQueries;
+        } catch (Exception e) {
+            LOG.warn("failed to split the scan of jdbc table {} into ranges, scan it as a whole", tableName, e);
+            return Lists.newArrayList();
+        }
+    }
+
+    private Column getRangeColumn() {
+        List<String> primaryKeys = jdbcExternalTable.getPrimaryKeys();
+        if (primaryKeys.isEmpty()) {
+            return null;
+        }
+        String keyColumnName = JdbcTable.properNameWithRemoteName(jdbcType, primaryKeys.get(0));
+        for (Column column : tbl.getBaseSchema()) {
+            if (tbl.getProperRemoteColumnName(jdbcType, column.getName()).equals(keyColumnName)) {
+                return column.getType().isIntegerType() || column.getType().isDateType() ? column : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the boundaries evenly distributed between min and max, which split the values into at most
+     * maxRangeNum ranges. The boundaries which are the same after being converted to literals are removed.
+     */
+    static List<String> getRangeBoundaries(long min, long max, int maxRangeNum, Function<Long, String> toLiteral) {
+        // the boundaries may be the same after being truncated to the precision of literals
+        Set<String> boundarySet = Sets.newLinkedHashSet();
+        for (int i = 1; i < maxRangeNum; i++) {
+            long boundary = min + (long) (((double) max - min) * i / maxRangeNum);
+            if (boundary > min) {
+                boundarySet.add(toLiteral.apply(boundary));
+            }
+        }
+        return Lists.newArrayList(boundarySet);
+    }
+
+    /**
+     * Get the filters of the ranges split by the boundaries. The first range includes the nulls,
+     * and the first and last ranges are unbounded.
+     */
+    static List<String> getRangeFilters(String columnName, List<String> boundaries) {
+        List<String> rangeFilters = Lists.newArrayList();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            if (i == 0) {
+                rangeFilters.add(columnName + " < " + boundaries.get(i) + " OR " + columnName + " IS NULL");
+            } else if (i == boundaries.size()) {
+                rangeFilters.add(columnName + " >= " + boundaries.get(i - 1));
+            } else {
+                rangeFilters.add(columnName + " >= " + boundaries.get(i - 1)
+                        + " AND " + columnName + " < " + boundaries.get(i));
+            }
+        }
+        return rangeFilters;
+    }
+
+    /**
+     * The min and max values of date columns are read by ResultSet.getTimestamp, which converts the wall-clock
+     * time of the remote value to epoch millis in the time zone of the JVM, so the literal is formatted in the
+     * same time zone to get back the wall-clock time.
+     */
+    static String dateLiteral(long epochMillis, Type type, TOdbcTableType jdbcType) {
+        boolean hasTime = type.isDatetime() || type.isDatetimeV2();
+        String value = new SimpleDateFormat(hasTime ? "yyyy-MM-dd HH:mm:ss" : "yyyy-MM-dd")
+                .format(new Date(epochMillis));
+        if (jdbcType == TOdbcTableType.ORACLE || jdbcType == TOdbcTableType.OCEANBASE_ORACLE) {
+            return "to_date('" + value + "', '" + (hasTime ? "yyyy-mm-dd hh24:mi:ss" : "yyyy-mm-dd") + "')";
+        }
+        if (jdbcType == TOdbcTableType.TRINO || jdbcType == TOdbcTableType.PRESTO) {
+            return (hasTime ? "timestamp '" : "date '") + value + "'";
+        }
+        return "'" + value + "'";
     }
 
     @Override
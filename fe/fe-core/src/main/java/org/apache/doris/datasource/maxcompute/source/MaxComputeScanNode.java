@@ -18,6 +18,7 @@
 package org.apache.doris.datasource.maxcompute.source;
 
 import org.apache.doris.analysis.TupleDescriptor;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.AnalysisException;
@@ -31,6 +32,7 @@ import org.apache.doris.datasource.maxcompute.MaxComputeExternalCatalog;
 import org.apache.doris.datasource.maxcompute.MaxComputeExternalTable;
 import org.apache.doris.planner.ListPartitionPrunerV2;
 import org.apache.doris.planner.PlanNodeId;
+import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.spi.Split;
 import org.apache.doris.statistics.StatisticalType;
 import org.apache.doris.thrift.TFileFormatType;
@@ -42,6 +44,8 @@ import org.apache.doris.thrift.TTableFormatFileDesc;
 import com.aliyun.odps.Table;
 import com.aliyun.odps.tunnel.TunnelException;
 import org.apache.hadoop.fs.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,12 +53,19 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class MaxComputeScanNode extends FileQueryScanNode {
+    private static final Logger LOG = LogManager.getLogger(MaxComputeScanNode.class);
 
     private final MaxComputeExternalTable table;
     private final MaxComputeExternalCatalog catalog;
     public static final int MIN_SPLIT_SIZE = 4096;
+    // the number of splits pushed to the split assignment at a time in batch mode
+    private static final int SPLIT_BATCH_SIZE = 1024;
+    // pruned once and shared by batch mode and getSplits()
+    private List<String> prunedPartitionSpecs = null;
 
     public MaxComputeScanNode(PlanNodeId id, TupleDescriptor desc, boolean needCheckColumnPriv) {
         this(id, desc, "MCScanNode", StatisticalType.MAX_COMPUTE_SCAN_NODE, needCheckColumnPriv);
@@ -124,11 +135,7 @@ public class MaxComputeScanNode extends FileQueryScanNode {
         }
         try {
             if (!table.getPartitionNames().isEmpty()) {
-                if (conjuncts.isEmpty()) {
-                    throw new IllegalArgumentException("Max Compute partition table need partition predicate.");
-                }
-                List<String> partitionSpecs = getPartitionSpecs();
-                for (String partitionSpec : partitionSpecs) {
+                for (String partitionSpec : getPartitionSpecs()) {
                     addPartitionSplits(result, odpsTable, partitionSpec);
                 }
             } else {
@@ -141,6 +148,57 @@ public class MaxComputeScanNode extends FileQueryScanNode {
         return result;
     }
 
+    @Override
+    public boolean isBatchMode() {
+        // the partition table without partition predicate is rejected by getSplits()
+        if (desc.getSlots().isEmpty() || table.getPartitionNames().isEmpty() || conjuncts.isEmpty()) {
+            return false;
+        }
+        int numPartitions = ConnectContext.get().getSessionVariable().getNumPartitionsInBatchMode();
+        if (numPartitions < 0 || table.getOdpsTable().getFileNum() <= 0) {
+            return false;
+        }
+        try {
+            return getPartitionSpecs().size() >= numPartitions;
+        } catch (AnalysisException e) {
+            LOG.warn("failed to prune the partitions of max compute table {}, disable batch mode",
+                    table.getName(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public int numApproximateSplits() {
+        // one split for every partition
+        return prunedPartitionSpecs == null ? -1 : prunedPartitionSpecs.size();
+    }
+
+    @Override
+    public void startSplit() {
+        int maxPendingSplits = ConnectContext.get().getSessionVariable().getMaxPendingSplitsInBatchMode();
+        Executor scheduleExecutor = Env.getCurrentEnv().getExtMetaCacheMgr().getScheduleExecutor();
+        CompletableFuture.runAsync(() -> {
+            try {
+                com.aliyun.odps.Table odpsTable = table.getOdpsTable();
+                List<Split> batch = new ArrayList<>();
+                for (String partitionSpec : prunedPartitionSpecs) {
+                    addPartitionSplits(batch, odpsTable, partitionSpec);
+                    if (batch.size() >= SPLIT_BATCH_SIZE) {
+                        if (!splitAssignment.waitForPendingSplits(maxPendingSplits)) {
+                            return;
+                        }
+                        splitAssignment.addToQueue(batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+                splitAssignment.addToQueue(batch);
+                splitAssignment.finishSchedule();
+            } catch (Exception e) {
+                splitAssignment.setException(new UserException(e.getMessage(), e));
+            }
+        }, scheduleExecutor);
+    }
+
     private static void addPartitionSplits(List<Split> result, Table odpsTable, String partitionSpec) {
         long modificationTime = odpsTable.getLastDataModifiedTime().getTime();
         // use '-1' to read whole partition, avoid expending too much time on calling table.getTotalRows()
@@ -179,7 +237,13 @@ public class MaxComputeScanNode extends FileQueryScanNode {
     }
 
     private List<String> getPartitionSpecs() throws AnalysisException {
-        return getPrunedPartitionSpecs();
+        if (prunedPartitionSpecs == null) {
+            if (conjuncts.isEmpty()) {
+                throw new IllegalArgumentException("Max Compute partition table need partition predicate.");
+            }
+            prunedPartitionSpecs = getPrunedPartitionSpecs();
+        }
+        return prunedPartitionSpecs;
     }
 
     private List<String> getPrunedPartitionSpecs() throws AnalysisException {
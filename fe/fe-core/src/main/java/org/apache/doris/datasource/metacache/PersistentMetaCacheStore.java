@@ -0,0 +1,417 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.metacache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.persist.gson.GsonUtils;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.CountingInputStream;
+import com.google.gson.JsonParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An append-only file store under the meta dir, which keeps the entries of an external meta cache across
+ * the restarts of FE. Only the keys and the positions of the entries are kept in memory, the values are read
+ * from the file when they are got.
+ *
+ * The file starts with a header of the tag of the store, e.g. the hms event id that the entries are valid at,
+ * followed by the records:
+ *   PUT | write time | key | value length | value in json
+ *   DEL | write time | key
+ * A broken record at the end of the file, e.g. written when FE crashes, is truncated when the file is loaded.
+ * The file is rewritten with only the live entries when most of it is garbage.
+ *
+ * Any io error disables the store, so the cache works as if there is no persistent tier.
+ */
+public class PersistentMetaCacheStore implements Closeable {
+    private static final Logger LOG = LogManager.getLogger(PersistentMetaCacheStore.class);
+
+    private static final String DIR_NAME = "external_meta_cache";
+    private static final int MAGIC = 0x444d4353;
+    private static final int VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte DEL = 2;
+    // the file smaller than it is never compacted
+    private static final long MIN_COMPACT_BYTES = 16L << 20;
+
+    private final File file;
+    private RandomAccessFile raf;
+    private String tag = "";
+    // key -> the position of the latest record of the key
+    private Map<String, Entry> index = Maps.newHashMap();
+    // the total length of the records in index
+    private long liveBytes;
+    private boolean closed;
+
+    public PersistentMetaCacheStore(File file) throws IOException {
+        this.file = file;
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("failed to create dir " + dir);
+        }
+        load();
+    }
+
+    /**
+     * The file of the store named `name` of the catalog.
+     */
+    public static File getFile(long catalogId, String name) {
+        return new File(new File(Config.meta_dir, DIR_NAME), catalogId + "." + name);
+    }
+
+    /**
+     * Delete the files of all stores of the dropped catalog.
+     */
+    public static void deleteFiles(long catalogId) {
+        String prefix = catalogId + ".";
+        File[] files = new File(Config.meta_dir, DIR_NAME).listFiles((dir, name) -> name.startsWith(prefix));
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (!f.delete()) {
+                LOG.warn("failed to delete persistent meta cache file {}", f);
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        raf = new RandomAccessFile(file, "rw");
+        long fileLength = raf.length();
+        long validLength = 0;
+        try (CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            DataInputStream in = new DataInputStream(counter);
+            if (fileLength > 0 && in.readInt() == MAGIC && in.readInt() == VERSION) {
+                tag = in.readUTF();
+                validLength = counter.getCount();
+                while (validLength < fileLength) {
+                    byte op = in.readByte();
+                    long writeTime = in.readLong();
+                    String key = in.readUTF();
+                    if (op == PUT) {
+                        int valueLength = in.readInt();
+                        if (valueLength < 0 || valueLength > fileLength - counter.getCount()) {
+                            break;
+                        }
+                        in.skipBytes(valueLength);
+                        int length = (int) (counter.getCount() - validLength);
+                        putIndex(key, new Entry(validLength, length, valueLength, writeTime));
+                    } else if (op == DEL) {
+                        removeIndex(key);
+                    } else {
+                        break;
+                    }
+                    validLength = counter.getCount();
+                }
+            }
+        } catch (IOException e) {
+            // the broken record is truncated
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("failed to read the record at {} of {}", validLength, file, e);
+            }
+        }
+        if (validLength == 0) {
+            reset("");
+        } else if (validLength < fileLength) {
+            LOG.warn("truncate the broken records of persistent meta cache file {} from {} to {}",
+                    file, fileLength, validLength);
+            raf.setLength(validLength);
+        }
+        LOG.info("load {} entries from persistent meta cache file {}, tag: {}", index.size(), file, tag);
+    }
+
+    public synchronized String getTag() {
+        return tag;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized List<String> keys() {
+        return Lists.newArrayList(index.keySet());
+    }
+
+    /**
+     * Whether the key exists and is written more than maxAgeMs ago.
+     */
+    public synchronized boolean isExpired(String key, long maxAgeMs) {
+        Entry entry = index.get(key);
+        return entry != null && System.currentTimeMillis() - entry.writeTime > maxAgeMs;
+    }
+
+    /**
+     * Get the value of the key, or null if the key does not exist or is written more than maxAgeMs ago.
+     */
+    public <T> T get(String key, Type type, long maxAgeMs) {
+        String json;
+        synchronized (this) {
+            Entry entry = index.get(key);
+            if (closed || entry == null) {
+                return null;
+            }
+            if (maxAgeMs >= 0 && System.currentTimeMillis() - entry.writeTime > maxAgeMs) {
+                removeAll(Collections.singletonList(key));
+                return null;
+            }
+            byte[] value = new byte[entry.valueLength];
+            try {
+                raf.seek(entry.offset + entry.length - entry.valueLength);
+                raf.readFully(value);
+            } catch (IOException e) {
+                disable(e);
+                return null;
+            }
+            json = new String(value, StandardCharsets.UTF_8);
+        }
+        try {
+            return GsonUtils.GSON.fromJson(json, type);
+        } catch (JsonParseException e) {
+            LOG.warn("failed to parse the value of {} in persistent meta cache file {}", key, file, e);
+            remove(key);
+            return null;
+        }
+    }
+
+    public void put(String key, Object value) {
+        putAll(Collections.singletonMap(key, value));
+    }
+
+    public void putAll(Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long writeTime = System.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Map<String, Entry> batch = Maps.newLinkedHashMap();
+        try {
+            for (Map.Entry<String, ?> entry : entries.entrySet()) {
+                byte[] value = GsonUtils.GSON.toJson(entry.getValue()).getBytes(StandardCharsets.UTF_8);
+                int offset = out.size();
+                out.writeByte(PUT);
+                out.writeLong(writeTime);
+                out.writeUTF(entry.getKey());
+                out.writeInt(value.length);
+                out.write(value);
+                batch.put(entry.getKey(), new Entry(offset, out.size() - offset, value.length, writeTime));
+            }
+        } catch (IOException e) {
+            // never happens when writing to a byte array, except that the key is too long
+            LOG.warn("failed to serialize the entries of persistent meta cache file {}", file, e);
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                long base = raf.length();
+                raf.seek(base);
+                raf.write(bytes.toByteArray());
+                for (Map.Entry<String, Entry> entry : batch.entrySet()) {
+                    putIndex(entry.getKey(), entry.getValue().moveTo(base + entry.getValue().offset));
+                }
+                maybeCompact();
+            } catch (IOException e) {
+                disable(e);
+            }
+        }
+    }
+
+    public void remove(String key) {
+        removeIf(key::equals);
+    }
+
+    public synchronized void removeIf(Predicate<String> predicate) {
+        List<String> keys = Lists.newArrayList();
+        for (String key : index.keySet()) {
+            if (predicate.test(key)) {
+                keys.add(key);
+            }
+        }
+        removeAll(keys);
+    }
+
+    private void removeAll(Collection<String> keys) {
+        if (closed || keys.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            long writeTime = System.currentTimeMillis();
+            for (String key : keys) {
+                out.writeByte(DEL);
+                out.writeLong(writeTime);
+                out.writeUTF(key);
+            }
+            raf.seek(raf.length());
+            raf.write(bytes.toByteArray());
+            for (String key : keys) {
+                removeIndex(key);
+            }
+            maybeCompact();
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    /**
+     * Remove all entries and set the tag of the store.
+     */
+    public synchronized void reset(String tag) {
+        try {
+            raf.setLength(0);
+            raf.seek(0);
+            raf.write(header(tag));
+            this.tag = tag;
+            index.clear();
+            liveBytes = 0;
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    /**
+     * Rewrite the file with only the live entries, and set the tag of the store.
+     */
+    public synchronized void compact(String tag) {
+        if (closed) {
+            return;
+        }
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try {
+            Map<String, Entry> newIndex = Maps.newHashMapWithExpectedSize(index.size());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.write(header(tag));
+                for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                    Entry e = entry.getValue();
+                    byte[] record = new byte[e.length];
+                    raf.seek(e.offset);
+                    raf.readFully(record);
+                    newIndex.put(entry.getKey(), e.moveTo(out.size()));
+                    out.write(record);
+                }
+            }
+            raf.close();
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            raf = new RandomAccessFile(file, "rw");
+            index = newIndex;
+            this.tag = tag;
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    private void maybeCompact() throws IOException {
+        long fileLength = raf.length();
+        if (fileLength > MIN_COMPACT_BYTES && fileLength > liveBytes * 2) {
+            compact(tag);
+        }
+    }
+
+    private static byte[] header(String tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(tag);
+        return bytes.toByteArray();
+    }
+
+    private void putIndex(String key, Entry entry) {
+        removeIndex(key);
+        index.put(key, entry);
+        liveBytes += entry.length;
+    }
+
+    private void removeIndex(String key) {
+        Entry old = index.remove(key);
+        if (old != null) {
+            liveBytes -= old.length;
+        }
+    }
+
+    private void disable(IOException e) {
+        LOG.warn("disable persistent meta cache file {} because of io error", file, e);
+        close();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        index = Maps.newHashMap();
+        liveBytes = 0;
+        try {
+            raf.close();
+        } catch (IOException e) {
+            LOG.warn("failed to close persistent meta cache file {}", file, e);
+        }
+    }
+
+    private static class Entry {
+        // the offset and the length of the record
+        private final long offset;
+        private final int length;
+        // the value is at the end of the record
+        private final int valueLength;
+        private final long writeTime;
+
+        private Entry(long offset, int length, int valueLength, long writeTime) {
+            this.offset = offset;
+            this.length = length;
+            this.valueLength = valueLength;
+            this.writeTime = writeTime;
+        }
+
+        private Entry moveTo(long offset) {
+            return new Entry(offset, length, valueLength, writeTime);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.doris.datasource.paimon.source;
 
 import org.apache.doris.analysis.SlotId;
 import org.apache.doris.analysis.TupleDescriptor;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
@@ -58,11 +59,14 @@ import org.apache.paimon.utils.InstantiationUtil;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class PaimonScanNode extends FileQueryScanNode {
@@ -101,11 +105,17 @@ public class PaimonScanNode extends FileQueryScanNode {
     }
 
     private static final Logger LOG = LogManager.getLogger(PaimonScanNode.class);
+    // the number of splits pushed to the split assignment at a time in batch mode
+    private static final int SPLIT_BATCH_SIZE = 1024;
     private PaimonSource source = null;
     private List<Predicate> predicates;
-    private int rawFileSplitNum = 0;
-    private int paimonSplitNum = 0;
-    private List<SplitStat> splitStats = new ArrayList<>();
+    // planned once, and converted to doris splits lazily in batch mode
+    private List<org.apache.paimon.table.source.Split> paimonSplits = null;
+    // only written by the split generator thread in batch mode, and read by explain
+    private volatile int rawFileSplitNum = 0;
+    private volatile int paimonSplitNum = 0;
+    // added by the split generator thread in batch mode
+    private List<SplitStat> splitStats = Collections.synchronizedList(new ArrayList<>());
 
     public PaimonScanNode(PlanNodeId id, TupleDescriptor desc, boolean needCheckColumnPriv) {
         super(id, desc, "PAIMON_SCAN_NODE", StatisticalType.PAIMON_SCAN_NODE, needCheckColumnPriv);
@@ -176,96 +186,149 @@ public class PaimonScanNode extends FileQueryScanNode {
     @Override
     public List<Split> getSplits() throws UserException {
         boolean forceJniScanner = ConnectContext.get().getSessionVariable().isForceJniScanner();
-        List<Split> splits = new ArrayList<>();
-        int[] projected = desc.getSlots().stream().mapToInt(
-                slot -> (source.getPaimonTable().rowType().getFieldNames().indexOf(slot.getColumn().getName())))
-                .toArray();
-        ReadBuilder readBuilder = source.getPaimonTable().newReadBuilder();
-        List<org.apache.paimon.table.source.Split> paimonSplits = readBuilder.withFilter(predicates)
-                .withProjection(projected)
-                .newScan().plan().splits();
         boolean supportNative = supportNativeReader();
+        List<Split> splits = new ArrayList<>();
         // Just for counting the number of selected partitions for this paimon table
         Set<BinaryRow> selectedPartitionValues = Sets.newHashSet();
-        for (org.apache.paimon.table.source.Split split : paimonSplits) {
-            SplitStat splitStat = new SplitStat();
-            splitStat.setRowCount(split.rowCount());
-            if (!forceJniScanner && supportNative && split instanceof DataSplit) {
-                DataSplit dataSplit = (DataSplit) split;
-                BinaryRow partitionValue = dataSplit.partition();
-                selectedPartitionValues.add(partitionValue);
-                Optional<List<RawFile>> optRawFiles = dataSplit.convertToRawFiles();
-                Optional<List<DeletionFile>> optDeletionFiles = dataSplit.deletionFiles();
-                if (optRawFiles.isPresent()) {
-                    splitStat.setType(SplitReadType.NATIVE);
-                    splitStat.setRawFileConvertable(true);
-                    List<RawFile> rawFiles = optRawFiles.get();
-                    if (optDeletionFiles.isPresent()) {
-                        List<DeletionFile> deletionFiles = optDeletionFiles.get();
-                        for (int i = 0; i < rawFiles.size(); i++) {
-                            RawFile file = rawFiles.get(i);
-                            DeletionFile deletionFile = deletionFiles.get(i);
-                            LocationPath locationPath = new LocationPath(file.path(),
-                                    source.getCatalog().getProperties());
-                            Path finalDataFilePath = locationPath.toStorageLocation();
-                            try {
-                                List<Split> dorisSplits = splitFile(
-                                        finalDataFilePath,
-                                        0,
-                                        null,
-                                        file.length(),
-                                        -1,
-                                        true,
-                                        null,
-                                        PaimonSplit.PaimonSplitCreator.DEFAULT);
-                                for (Split dorisSplit : dorisSplits) {
-                                    // the element in DeletionFiles might be null
-                                    if (deletionFile != null) {
-                                        splitStat.setHasDeletionVector(true);
-                                        ((PaimonSplit) dorisSplit).setDeletionFile(deletionFile);
-                                    }
-                                    splits.add(dorisSplit);
+        for (org.apache.paimon.table.source.Split split : getPaimonSplits()) {
+            convertSplit(split, forceJniScanner, supportNative, selectedPartitionValues, splits);
+        }
+        this.readPartitionNum = selectedPartitionValues.size();
+        // TODO: get total partition number
+        return splits;
+    }
+
+    private List<org.apache.paimon.table.source.Split> getPaimonSplits() {
+        if (paimonSplits == null) {
+            int[] projected = desc.getSlots().stream().mapToInt(
+                    slot -> (source.getPaimonTable().rowType().getFieldNames().indexOf(slot.getColumn().getName())))
+                    .toArray();
+            ReadBuilder readBuilder = source.getPaimonTable().newReadBuilder();
+            paimonSplits = readBuilder.withFilter(predicates)
+                    .withProjection(projected)
+                    .newScan().plan().splits();
+        }
+        return paimonSplits;
+    }
+
+    // Convert one paimon split to doris splits, the raw files of the data split are read by the native reader.
+    private void convertSplit(org.apache.paimon.table.source.Split split, boolean forceJniScanner,
+            boolean supportNative, Set<BinaryRow> selectedPartitionValues, List<Split> splits) throws UserException {
+        SplitStat splitStat = new SplitStat();
+        splitStat.setRowCount(split.rowCount());
+        if (!forceJniScanner && supportNative && split instanceof DataSplit) {
+            DataSplit dataSplit = (DataSplit) split;
+            BinaryRow partitionValue = dataSplit.partition();
+            selectedPartitionValues.add(partitionValue);
+            Optional<List<RawFile>> optRawFiles = dataSplit.convertToRawFiles();
+            Optional<List<DeletionFile>> optDeletionFiles = dataSplit.deletionFiles();
+            if (optRawFiles.isPresent()) {
+                splitStat.setType(SplitReadType.NATIVE);
+                splitStat.setRawFileConvertable(true);
+                List<RawFile> rawFiles = optRawFiles.get();
+                if (optDeletionFiles.isPresent()) {
+                    List<DeletionFile> deletionFiles = optDeletionFiles.get();
+                    for (int i = 0; i < rawFiles.size(); i++) {
+                        RawFile file = rawFiles.get(i);
+                        DeletionFile deletionFile = deletionFiles.get(i);
+                        LocationPath locationPath = new LocationPath(file.path(),
+                                source.getCatalog().getProperties());
+                        Path finalDataFilePath = locationPath.toStorageLocation();
+                        try {
+                            List<Split> dorisSplits = splitFile(
+                                    finalDataFilePath,
+                                    0,
+                                    null,
+                                    file.length(),
+                                    -1,
+                                    true,
+                                    null,
+                                    PaimonSplit.PaimonSplitCreator.DEFAULT);
+                            for (Split dorisSplit : dorisSplits) {
+                                // the element in DeletionFiles might be null
+                                if (deletionFile != null) {
+                                    splitStat.setHasDeletionVector(true);
+                                    ((PaimonSplit) dorisSplit).setDeletionFile(deletionFile);
                                 }
-                                ++rawFileSplitNum;
-                            } catch (IOException e) {
-                                throw new UserException("Paimon error to split file: " + e.getMessage(), e);
-                            }
-                        }
-                    } else {
-                        for (RawFile file : rawFiles) {
-                            LocationPath locationPath = new LocationPath(file.path(),
-                                    source.getCatalog().getProperties());
-                            Path finalDataFilePath = locationPath.toStorageLocation();
-                            try {
-                                splits.addAll(
-                                        splitFile(
-                                                finalDataFilePath,
-                                                0,
-                                                null,
-                                                file.length(),
-                                                -1,
-                                                true,
-                                                null,
-                                                PaimonSplit.PaimonSplitCreator.DEFAULT));
-                                ++rawFileSplitNum;
-                            } catch (IOException e) {
-                                throw new UserException("Paimon error to split file: " + e.getMessage(), e);
+                                splits.add(dorisSplit);
                             }
+                            ++rawFileSplitNum;
+                        } catch (IOException e) {
+                            throw new UserException("Paimon error to split file: " + e.getMessage(), e);
                         }
                     }
                 } else {
-                    splits.add(new PaimonSplit(split));
-                    ++paimonSplitNum;
+                    for (RawFile file : rawFiles) {
+                        LocationPath locationPath = new LocationPath(file.path(),
+                                source.getCatalog().getProperties());
+                        Path finalDataFilePath = locationPath.toStorageLocation();
+                        try {
+                            splits.addAll(
+                                    splitFile(
+                                            finalDataFilePath,
+                                            0,
+                                            null,
+                                            file.length(),
+                                            -1,
+                                            true,
+                                            null,
+                                            PaimonSplit.PaimonSplitCreator.DEFAULT));
+                            ++rawFileSplitNum;
+                        } catch (IOException e) {
+                            throw new UserException("Paimon error to split file: " + e.getMessage(), e);
+                        }
+                    }
                 }
             } else {
                 splits.add(new PaimonSplit(split));
                 ++paimonSplitNum;
             }
-            splitStats.add(splitStat);
+        } else {
+            splits.add(new PaimonSplit(split));
+            ++paimonSplitNum;
         }
-        this.readPartitionNum = selectedPartitionValues.size();
-        // TODO: get total partition number
-        return splits;
+        splitStats.add(splitStat);
+    }
+
+    @Override
+    public boolean isBatchMode() {
+        int numSplits = ConnectContext.get().getSessionVariable().getNumFilesInBatchMode();
+        return numSplits >= 0 && getPaimonSplits().size() >= numSplits;
+    }
+
+    @Override
+    public int numApproximateSplits() {
+        return getPaimonSplits().size();
+    }
+
+    @Override
+    public void startSplit() {
+        boolean forceJniScanner = ConnectContext.get().getSessionVariable().isForceJniScanner();
+        int maxPendingSplits = ConnectContext.get().getSessionVariable().getMaxPendingSplitsInBatchMode();
+        boolean supportNative = supportNativeReader();
+        Executor scheduleExecutor = Env.getCurrentEnv().getExtMetaCacheMgr().getScheduleExecutor();
+        CompletableFuture.runAsync(() -> {
+            try {
+                Set<BinaryRow> selectedPartitionValues = Sets.newHashSet();
+                List<Split> batch = new ArrayList<>();
+                for (org.apache.paimon.table.source.Split split : getPaimonSplits()) {
+                    convertSplit(split, forceJniScanner, supportNative, selectedPartitionValues, batch);
+                    if (batch.size() >= SPLIT_BATCH_SIZE) {
+                        if (!splitAssignment.waitForPendingSplits(maxPendingSplits)) {
+                            return;
+                        }
+                        splitAssignment.addToQueue(batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+                splitAssignment.addToQueue(batch);
+                this.readPartitionNum = selectedPartitionValues.size();
+                splitAssignment.finishSchedule();
+            } catch (Exception e) {
+                LOG.warn("get file split failed for paimon table: {}", source.getTargetTable().getName(), e);
+                splitAssignment.setException(new UserException(e.getMessage(), e));
+            }
+        }, scheduleExecutor);
     }
 
     private boolean supportNativeReader() {
@@ -341,8 +404,10 @@ public class PaimonScanNode extends FileQueryScanNode {
                         prefix, rawFileSplitNum, (paimonSplitNum + rawFileSplitNum));
         if (detailLevel == TExplainLevel.VERBOSE) {
             result += prefix + "PaimonSplitStats: \n";
-            for (SplitStat splitStat : splitStats) {
-                result += String.format("%s  %s\n", prefix, splitStat);
+            synchronized (splitStats) {
+                for (SplitStat splitStat : splitStats) {
+                    result += String.format("%s  %s\n", prefix, splitStat);
+                }
             }
         }
         return result;
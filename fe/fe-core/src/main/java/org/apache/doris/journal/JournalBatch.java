@@ -50,6 +50,17 @@ public class JournalBatch {
             throw new RuntimeException("JournalBatch.addJournal is not supported OP_TIMESTAMP");
         }
 
+        entities.add(serialize(op, data));
+    }
+
+    // Add an entity which has been serialized by `serialize`.
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+    }
+
+    // Serialize a writable data into the internal representation of journal batch, so that the
+    // serialization could be done out of the journal writing.
+    public static Entity serialize(short op, Writable data) throws IOException {
         JournalEntity entity = new JournalEntity();
         entity.setOpCode(op);
         entity.setData(data);
@@ -57,7 +68,7 @@ public class JournalBatch {
         DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
         entity.write(buffer);
 
-        entities.add(new Entity(op, buffer));
+        return new Entity(op, buffer);
     }
 
     public ArrayList<Entity> getJournalEntities() {
@@ -80,5 +91,9 @@ public class JournalBatch {
         public byte[] getBinaryData() {
             return data.getData();
         }
+
+        public int getDataSize() {
+            return data.getLength();
+        }
     }
 }
@@ -148,7 +148,8 @@ public class LocalJournal implements Journal {
         }
         outputStream.setReadyToFlush();
         outputStream.flush();
-        return journalId.getAndAdd(entities.size());
+        // return the first id of the batched journals, same as `write(short, Writable)` which returns the new id
+        return journalId.getAndAdd(entities.size()) + 1;
     }
 
     @Override
@@ -89,6 +89,7 @@ import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTabletMetaInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
@@ -113,7 +114,15 @@ import java.util.stream.Collectors;
 public class ReportHandler extends Daemon {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    // One queue per handler thread. Reports of a backend are always put into the same queue,
+    // so they are handled in order, while reports of different backends are handled in parallel.
+    private final List<BlockingQueue<ReportTask>> reportQueues = Lists.newArrayList();
+    private final List<Daemon> workers = Lists.newArrayList();
+
+    // backend id -> the tablet report waiting in queue.
+    // A full tablet report supersedes the older one of the same backend which has not been handled yet,
+    // so a slow FE only diffs the latest tablets of each backend instead of piling up stale reports.
+    private final Map<Long, ReportTask> pendingTabletReports = Maps.newConcurrentMap();
 
     private enum ReportType {
         UNKNOWN,
@@ -124,16 +133,45 @@ public class ReportHandler extends Daemon {
 
     public ReportHandler() {
         super("report-thread");
+        int threadNum = Math.max(1, Config.report_handler_thread_num);
+        for (int i = 0; i < threadNum; i++) {
+            reportQueues.add(Queues.newLinkedBlockingQueue());
+        }
+        // this thread handles the first queue, the others are handled by the workers
+        for (int i = 1; i < threadNum; i++) {
+            BlockingQueue<ReportTask> queue = reportQueues.get(i);
+            workers.add(new Daemon("report-thread-" + i) {
+                @Override
+                protected void runOneCycle() {
+                    handleReports(queue);
+                }
+            });
+        }
         GaugeMetric<Long> gauge = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) getReportQueueSize();
             }
         };
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
     }
 
+    @Override
+    public synchronized void start() {
+        super.start();
+        workers.forEach(Daemon::start);
+    }
+
+    @VisibleForTesting
+    BlockingQueue<ReportTask> getReportQueue(int index) {
+        return reportQueues.get(index);
+    }
+
+    private int getReportQueueSize() {
+        return reportQueues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
     public TMasterResult handleReport(TReportRequest request) throws TException {
         TMasterResult result = new TMasterResult();
         TStatus tStatus = new TStatus(TStatusCode.OK);
@@ -199,25 +237,34 @@ public class ReportHandler extends Daemon {
         } catch (Exception e) {
             tStatus.setStatusCode(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getReportQueueSize());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportType, getReportQueueSize());
         return result;
     }
 
-    private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
+    @VisibleForTesting
+    void putToQueue(ReportTask reportTask) throws Exception {
+        int currentSize = getReportQueueSize();
         if (currentSize > Config.report_queue_size) {
             LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
             throw new Exception(
                     "the report queue size exceeds the limit: "
                             + Config.report_queue_size + ". current: " + currentSize);
         }
-        reportQueue.put(reportTask);
+        if (reportTask.tablets != null) {
+            ReportTask staleTask = pendingTabletReports.put(reportTask.beId, reportTask);
+            if (staleTask != null) {
+                LOG.info("tablet report of backend {} with report version {} is superseded by report version {}",
+                        reportTask.beId, staleTask.reportVersion, reportTask.reportVersion);
+            }
+        }
+        reportTask.enqueueTime = System.currentTimeMillis();
+        reportQueues.get((int) Math.floorMod(reportTask.beId, (long) reportQueues.size())).put(reportTask);
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -232,7 +279,8 @@ public class ReportHandler extends Daemon {
         return tabletMap;
     }
 
-    private class ReportTask extends MasterTask {
+    @VisibleForTesting
+    class ReportTask extends MasterTask {
 
         private long beId;
         private Map<TTaskType, Set<Long>> tasks;
@@ -245,6 +293,7 @@ public class ReportHandler extends Daemon {
         private List<TStorageResource> storageResources;
         private int cpuCores;
         private int pipelineExecutorSize;
+        private long enqueueTime;
 
         public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
                 Map<String, TDisk> disks, Map<Long, TTablet> tablets,
@@ -276,19 +325,29 @@ public class ReportHandler extends Daemon {
                 storagePolicyReport(beId, storagePolicies, storageResources);
             }
 
-            if (tablets != null) {
-                long backendReportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(beId);
-                if (reportVersion < backendReportVersion) {
-                    LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
-                            reportVersion, beId, backendReportVersion);
-                } else {
-                    Map<Long, Long> partitions = this.partitionsVersion;
-                    if (partitions == null) {
-                        partitions = Maps.newHashMap();
-                    }
-                    ReportHandler.tabletReport(beId, tablets, partitions, reportVersion);
-                }
+            // only handle the latest tablet report of the backend
+            if (tablets != null && !pendingTabletReports.remove(beId, this)) {
+                LOG.info("skip superseded tablet report from backend[{}], report version {}", beId, reportVersion);
+            } else if (tablets != null) {
+                recordStageLatency("queue", enqueueTime);
+                handleTabletReport(beId, tablets, partitionsVersion, reportVersion);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void handleTabletReport(long beId, Map<Long, TTablet> tablets, Map<Long, Long> partitionsVersion,
+            long reportVersion) {
+        long backendReportVersion = Env.getCurrentSystemInfo().getBackendReportVersion(beId);
+        if (reportVersion < backendReportVersion) {
+            LOG.warn("out of date report version {} from backend[{}]. current report version[{}]",
+                    reportVersion, beId, backendReportVersion);
+        } else {
+            Map<Long, Long> partitions = partitionsVersion;
+            if (partitions == null) {
+                partitions = Maps.newHashMap();
             }
+            ReportHandler.tabletReport(beId, tablets, partitions, reportVersion);
         }
     }
 
@@ -455,6 +514,7 @@ public class ReportHandler extends Daemon {
         List<CooldownConf> cooldownConfToPush = new LinkedList<>();
         List<CooldownConf> cooldownConfToUpdate = new LinkedList<>();
 
+        long stageStart = System.currentTimeMillis();
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
         Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, backendPartitionsVersion,
                 storageMediumMap,
@@ -469,21 +529,25 @@ public class ReportHandler extends Daemon {
                 tabletToUpdate,
                 cooldownConfToPush,
                 cooldownConfToUpdate);
+        stageStart = recordStageLatency("diff", stageStart);
 
         // 2. sync
         if (!tabletSyncMap.isEmpty()) {
             sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
+            stageStart = recordStageLatency("sync", stageStart);
         }
 
         // 3. delete (meta - be)
         // BE will automatically drop defective tablets. these tablets should also be dropped in catalog
         if (!tabletDeleteFromMeta.isEmpty()) {
             deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
+            stageStart = recordStageLatency("delete_from_meta", stageStart);
         }
 
         // 4. handle (be - meta)
         if (tabletFoundInMeta.size() != backendTablets.size()) {
             deleteFromBackend(backendTablets, tabletFoundInMeta, backendId);
+            stageStart = recordStageLatency("delete_from_backend", stageStart);
         }
 
         // 5. migration (ssd <-> hdd)
@@ -504,6 +568,7 @@ public class ReportHandler extends Daemon {
         // 8. send recover request to be
         if (!tabletRecoveryMap.isEmpty()) {
             handleRecoverTablet(tabletRecoveryMap, backendTablets, backendId);
+            stageStart = recordStageLatency("recover", stageStart);
         }
 
         // 9. send tablet meta to be for updating
@@ -521,6 +586,7 @@ public class ReportHandler extends Daemon {
         if (!partitionVersionSyncMap.isEmpty()) {
             handleUpdatePartitionVersion(partitionVersionSyncMap, backendId);
         }
+        recordStageLatency("others", stageStart);
 
         final SystemInfoService currentSystemInfo = Env.getCurrentSystemInfo();
         Backend reportBackend = currentSystemInfo.getBackend(backendId);
@@ -529,10 +595,19 @@ public class ReportHandler extends Daemon {
             backendStatus.lastSuccessReportTabletsTime = TimeUtils.longToTimeString(start);
         }
 
-        long end = System.currentTimeMillis();
+        long end = recordStageLatency("total", start);
         LOG.info("finished to handle tablet report from backend[{}] cost: {} ms", backendId, (end - start));
     }
 
+    // return current time, so it can be used as the start time of next stage
+    private static long recordStageLatency(String stage, long stageStart) {
+        long now = System.currentTimeMillis();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_TABLET_REPORT_STAGE_LATENCY.getOrAdd(stage).update(now - stageStart);
+        }
+        return now;
+    }
+
     private static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("begin to handle task report from backend {}", backendId);
@@ -1404,11 +1479,15 @@ public class ReportHandler extends Daemon {
 
     @Override
     protected void runOneCycle() {
+        handleReports(reportQueues.get(0));
+    }
+
+    private void handleReports(BlockingQueue<ReportTask> queue) {
         while (true) {
             ReportTask task = null;
             try {
-                task = reportQueue.take();
-                task.exec();
+                task = queue.take();
+                task.run();
             } catch (InterruptedException e) {
                 LOG.warn("got interupted exception when executing report", e);
             }
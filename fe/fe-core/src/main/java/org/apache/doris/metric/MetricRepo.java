@@ -98,6 +98,10 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_ADDED_PLAN;
+    public static LongCounterMetric COUNTER_CACHE_HIT_PLAN;
+    public static LongCounterMetric COUNTER_CACHE_MISS_PLAN;
+    public static LongCounterMetric COUNTER_CACHE_SAVED_PLAN_TIME_US;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -109,8 +113,10 @@ public final class MetricRepo {
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_BATCH_SIZE;
     public static Histogram HISTO_JOURNAL_BATCH_DATA_SIZE;
+    public static Histogram HISTO_EDIT_LOG_BATCH_FLUSH_LATENCY;
     public static Histogram HISTO_HTTP_COPY_INTO_UPLOAD_LATENCY;
     public static Histogram HISTO_HTTP_COPY_INTO_QUERY_LATENCY;
+    public static AutoMappedMetric<Histogram> HISTO_TABLET_REPORT_STAGE_LATENCY;
 
     public static LongCounterMetric COUNTER_IMAGE_WRITE_SUCCESS;
     public static LongCounterMetric COUNTER_IMAGE_WRITE_FAILED;
@@ -136,6 +142,10 @@ public final class MetricRepo {
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_ALL;
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_LATENCY;
 
+    public static AutoMappedMetric<LongCounterMetric> CATALOG_COUNTER_SPLIT_GENERATED;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> CATALOG_GAUGE_PENDING_SPLITS;
+    public static AutoMappedMetric<Histogram> CATALOG_HISTO_FILE_LISTING_LATENCY;
+
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
     public static GaugeMetricImpl<Double> GAUGE_REQUEST_PER_SECOND;
@@ -369,6 +379,33 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_ADDED_PLAN = new LongCounterMetric("cache_added", MetricUnit.REQUESTS,
+                "Number of physical plan of prepared statement cached");
+        COUNTER_CACHE_ADDED_PLAN.addLabel(new MetricLabel("type", "plan"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_ADDED_PLAN);
+        COUNTER_CACHE_HIT_PLAN = new LongCounterMetric("cache_hit", MetricUnit.REQUESTS,
+                "total executions of prepared statement which reuse the cached physical plan");
+        COUNTER_CACHE_HIT_PLAN.addLabel(new MetricLabel("type", "plan"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PLAN);
+        COUNTER_CACHE_MISS_PLAN = new LongCounterMetric("cache_miss", MetricUnit.REQUESTS,
+                "total executions of prepared statement which plan again with plan cache enabled");
+        COUNTER_CACHE_MISS_PLAN.addLabel(new MetricLabel("type", "plan"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_MISS_PLAN);
+        COUNTER_CACHE_SAVED_PLAN_TIME_US = new LongCounterMetric("cache_saved_plan_time_us", MetricUnit.MICROSECONDS,
+                "total planning time saved by reusing the cached physical plan");
+        COUNTER_CACHE_SAVED_PLAN_TIME_US.addLabel(new MetricLabel("type", "plan"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_SAVED_PLAN_TIME_US);
+        GaugeMetric<Long> planCacheHitRate = new GaugeMetric<Long>("cache_hit_rate", MetricUnit.PERCENT,
+                "hit rate of the physical plan cache of prepared statement") {
+            @Override
+            public Long getValue() {
+                long hit = COUNTER_CACHE_HIT_PLAN.getValue();
+                long total = hit + COUNTER_CACHE_MISS_PLAN.getValue();
+                return total == 0 ? 0L : hit * 100 / total;
+            }
+        };
+        planCacheHitRate.addLabel(new MetricLabel("type", "plan"));
+        DORIS_METRIC_REGISTER.addMetrics(planCacheHitRate);
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -397,6 +434,8 @@ public final class MetricRepo {
                 MetricRegistry.name("journal", "write", "batch_size"));
         HISTO_JOURNAL_BATCH_DATA_SIZE = METRIC_REGISTER.histogram(
                 MetricRegistry.name("journal", "write", "batch_data_size"));
+        HISTO_EDIT_LOG_BATCH_FLUSH_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "batch_flush", "latency", "ms"));
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
@@ -498,6 +537,19 @@ public final class MetricRepo {
         THRIFT_COUNTER_RPC_LATENCY = addLabeledMetrics("method", () ->
                 new LongCounterMetric("thrift_rpc_latency_ms", MetricUnit.MILLISECONDS, ""));
 
+        // splits of external catalogs generated in batch mode
+        CATALOG_COUNTER_SPLIT_GENERATED = addLabeledMetrics("catalog", () ->
+                new LongCounterMetric("split_generated_total", MetricUnit.NOUNIT,
+                "number of splits generated in batch mode"));
+        CATALOG_GAUGE_PENDING_SPLITS = addLabeledMetrics("catalog", () ->
+                new GaugeMetricImpl<>("split_pending_num", MetricUnit.NOUNIT,
+                "number of splits generated in batch mode but not fetched by backends yet", 0L));
+        // listing files of external catalogs without cache
+        CATALOG_HISTO_FILE_LISTING_LATENCY = new AutoMappedMetric<>(name -> {
+            String metricName = MetricRegistry.name("file_listing", "latency", "ms", "catalog=" + name);
+            return METRIC_REGISTER.histogram(metricName);
+        });
+
         // copy into
         HTTP_COUNTER_COPY_INFO_UPLOAD_REQUEST = new LongCounterMetric("http_copy_into_upload_request_total",
                 MetricUnit.REQUESTS, "http copy into upload total request");
@@ -516,6 +568,12 @@ public final class MetricRepo {
         HISTO_HTTP_COPY_INTO_QUERY_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("http_copy_into_query", "latency", "ms"));
 
+        // tablet report
+        HISTO_TABLET_REPORT_STAGE_LATENCY = new AutoMappedMetric<>(stage -> {
+            String metricName = MetricRegistry.name("tablet_report", "latency", "ms", "stage=" + stage);
+            return METRIC_REGISTER.histogram(metricName);
+        });
+
         // init system metrics
         initSystemMetrics();
         CloudMetrics.init();
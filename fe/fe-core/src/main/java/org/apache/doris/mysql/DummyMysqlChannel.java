@@ -19,6 +19,7 @@ package org.apache.doris.mysql;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 
 /**
@@ -42,6 +43,10 @@ public class DummyMysqlChannel extends MysqlChannel {
         return "";
     }
 
+    @Override
+    public void closeConnection() {
+    }
+
     @Override
     public void close() {
     }
@@ -64,6 +69,11 @@ public class DummyMysqlChannel extends MysqlChannel {
     public void sendOnePacket(ByteBuffer packet) throws IOException {
     }
 
+    @Override
+    public long sendRowPackets(List<ByteBuffer> rows) throws IOException {
+        return 0;
+    }
+
     @Override
     public void sendAndFlush(ByteBuffer packet) throws IOException {
     }
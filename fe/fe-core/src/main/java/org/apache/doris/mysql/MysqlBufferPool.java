@@ -0,0 +1,83 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.common.Config;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of the buffers of {@link MysqlChannel}. The channels lease the buffers when reading or sending packets,
+ * and return them when the connection is idle, so the idle connections do not hold the buffers.
+ * At most Config.mysql_buffer_pool_max_idle_buffers idle buffers are cached, the others are released.
+ */
+public class MysqlBufferPool {
+    public static final int SEND_BUFFER_SIZE = 2 * 1024 * 1024;
+    public static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    // The send buffers are direct, so the socket writes them without the copy to a temporary direct buffer.
+    private static final MysqlBufferPool SEND_BUFFER_POOL = new MysqlBufferPool(SEND_BUFFER_SIZE, true);
+    // The read buffers are on heap, because the packets are parsed by their backing arrays.
+    private static final MysqlBufferPool READ_BUFFER_POOL = new MysqlBufferPool(READ_BUFFER_SIZE, false);
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final ConcurrentLinkedQueue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleBufferNum = new AtomicInteger(0);
+
+    MysqlBufferPool(int bufferSize, boolean direct) {
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+    }
+
+    public static MysqlBufferPool getSendBufferPool() {
+        return SEND_BUFFER_POOL;
+    }
+
+    public static MysqlBufferPool getReadBufferPool() {
+        return READ_BUFFER_POOL;
+    }
+
+    public ByteBuffer lease() {
+        ByteBuffer buffer = idleBuffers.poll();
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        idleBufferNum.decrementAndGet();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        // the buffers not allocated by this pool, e.g. the larger ones for big packets, are not cached
+        if (buffer == null || buffer.capacity() != bufferSize || buffer.isDirect() != direct) {
+            return;
+        }
+        if (idleBufferNum.incrementAndGet() > Config.mysql_buffer_pool_max_idle_buffers) {
+            idleBufferNum.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        idleBuffers.offer(buffer);
+    }
+
+    public int getIdleBufferNum() {
+        return idleBufferNum.get();
+    }
+}
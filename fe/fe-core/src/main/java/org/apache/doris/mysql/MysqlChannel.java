@@ -32,6 +32,7 @@ import org.xnio.channels.Channels;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
@@ -52,12 +53,16 @@ public class MysqlChannel implements BytesChannel {
     protected static final int PACKET_HEADER_LEN = 4;
     // SSL packet header length
     protected static final int SSL_PACKET_HEADER_LEN = 5;
+    // the packets not shorter than this are not copied to the send buffer, but written with it by one gathering write
+    protected static final int GATHERING_WRITE_MIN_LEN = 64 * 1024;
     // next sequence id to receive or send
     protected int sequenceId;
     // channel connected with client
     private StreamConnection conn;
     // used to receive/send header, avoiding new this many time.
     protected ByteBuffer headerByteBuffer;
+    // defaultBuffer and sendBuffer are leased from MysqlBufferPool when reading or sending packets,
+    // and returned by releaseIdleBuffers() when the connection is idle.
     protected ByteBuffer defaultBuffer;
     protected ByteBuffer sslHeaderByteBuffer;
     protected ByteBuffer tempBuffer;
@@ -115,9 +120,7 @@ public class MysqlChannel implements BytesChannel {
             remoteHostPortString = connection.getPeerAddress().toString();
             remoteIp = connection.getPeerAddress().toString();
         }
-        this.defaultBuffer = ByteBuffer.allocate(16 * 1024);
         this.headerByteBuffer = ByteBuffer.allocate(PACKET_HEADER_LEN);
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
         this.context = context;
     }
 
@@ -177,8 +180,27 @@ public class MysqlChannel implements BytesChannel {
         }
     }
 
-    // Close channel
-    public void close() {
+    /**
+     * Return the read and send buffers to the pools, they are leased again when the next packet is read or sent.
+     * Must be called by the thread handling this connection, when no packet is being read or sent.
+     */
+    public void releaseIdleBuffers() {
+        // keep the send buffer if there is data not flushed
+        if (sendBuffer != null && sendBuffer.position() == 0) {
+            MysqlBufferPool.getSendBufferPool().release(sendBuffer);
+            sendBuffer = null;
+        }
+        if (defaultBuffer != null) {
+            MysqlBufferPool.getReadBufferPool().release(defaultBuffer);
+            defaultBuffer = null;
+        }
+    }
+
+    /**
+     * Close the connection only, it can be called by another thread, e.g. kill connection, when the buffers are
+     * still in use. The buffers are returned by {@link #close()} in the thread handling this connection.
+     */
+    public void closeConnection() {
         try {
             conn.close();
         } catch (IOException e) {
@@ -186,6 +208,22 @@ public class MysqlChannel implements BytesChannel {
         }
     }
 
+    /**
+     * Close the connection and return the buffers to the pools, even if there is data not flushed.
+     * Must be called by the thread handling this connection, when no packet is being read or sent.
+     */
+    public void close() {
+        closeConnection();
+        if (sendBuffer != null) {
+            MysqlBufferPool.getSendBufferPool().release(sendBuffer);
+            sendBuffer = null;
+        }
+        if (defaultBuffer != null) {
+            MysqlBufferPool.getReadBufferPool().release(defaultBuffer);
+            defaultBuffer = null;
+        }
+    }
+
     // all packet header is not encrypted, packet body is not sure.
     protected int readAll(ByteBuffer dstBuf, boolean isHeader) throws IOException {
         int readLen = 0;
@@ -269,6 +307,9 @@ public class MysqlChannel implements BytesChannel {
     // if in handshaking mode we return a packet with header otherwise without header.
     public ByteBuffer fetchOnePacket() throws IOException {
         int readLen;
+        if (defaultBuffer == null) {
+            defaultBuffer = MysqlBufferPool.getReadBufferPool().lease();
+        }
         ByteBuffer result = defaultBuffer;
         result.clear();
 
@@ -414,6 +455,24 @@ public class MysqlChannel implements BytesChannel {
         isSend = true;
     }
 
+    // write the buffers by one gathering write, only for non-ssl mode
+    protected void realNetSend(ByteBuffer[] buffers) throws IOException {
+        long bufLen = 0;
+        for (ByteBuffer buffer : buffers) {
+            bufLen += buffer.remaining();
+        }
+        long start = System.currentTimeMillis();
+        long writeLen = Channels.writeBlocking(conn.getSinkChannel(), buffers, 0, buffers.length,
+                context.getNetWriteTimeout(), TimeUnit.SECONDS);
+        if (bufLen != writeLen) {
+            long duration = System.currentTimeMillis() - start;
+            throw new ConnectionException("Write mysql packet failed.[write=" + writeLen
+                    + ", needToWrite=" + bufLen + "], duration: " + duration + " ms");
+        }
+        Channels.flushBlocking(conn.getSinkChannel(), context.getNetWriteTimeout(), TimeUnit.SECONDS);
+        isSend = true;
+    }
+
     protected ByteBuffer encryptData(ByteBuffer dstBuf) throws SSLException {
         if (!isSslMode) {
             return dstBuf;
@@ -443,8 +502,19 @@ public class MysqlChannel implements BytesChannel {
         isSend = true;
     }
 
+    // lease the send buffer if it is not leased, return false if the channel can not send, e.g. dummy channel
+    private boolean leaseSendBuffer() {
+        if (sendBuffer == null) {
+            if (conn == null) {
+                return false;
+            }
+            sendBuffer = MysqlBufferPool.getSendBufferPool().lease();
+        }
+        return true;
+    }
+
     private void writeHeader(int length, boolean isSsl) throws IOException {
-        if (null == sendBuffer) {
+        if (!leaseSendBuffer()) {
             return;
         }
         long leftLength = sendBuffer.capacity() - sendBuffer.position();
@@ -461,7 +531,18 @@ public class MysqlChannel implements BytesChannel {
     }
 
     private void writeBuffer(ByteBuffer buffer) throws IOException {
-        if (null == sendBuffer) {
+        if (!leaseSendBuffer()) {
+            return;
+        }
+        // If too long for buffer and large enough, send buffered data and this buffer together without copy.
+        if (sendBuffer.remaining() < buffer.remaining() && buffer.remaining() >= GATHERING_WRITE_MIN_LEN
+                && !isSslMode) {
+            sendBuffer.flip();
+            try {
+                realNetSend(new ByteBuffer[] {sendBuffer, buffer});
+            } finally {
+                sendBuffer.clear();
+            }
             return;
         }
         // If too long for buffer, send buffered data.
@@ -517,6 +598,20 @@ public class MysqlChannel implements BytesChannel {
         sendOnePacket(packet);
     }
 
+    /**
+     * Send the result rows, each row is one packet, and return the number of bytes sent.
+     * The rows may be shared, e.g. by the sql cache, so they are never modified: the packet headers are written to
+     * the send buffer of this channel, followed by the small rows, and the large rows are sent by gathering write.
+     */
+    public long sendRowPackets(List<ByteBuffer> rows) throws IOException {
+        long sendBytes = 0;
+        for (ByteBuffer row : rows) {
+            sendBytes += PACKET_HEADER_LEN + row.remaining();
+            sendOnePacket(row.duplicate());
+        }
+        return sendBytes;
+    }
+
     public void sendAndFlush(ByteBuffer packet) throws IOException {
         sendOnePacket(packet);
         flush();
@@ -539,6 +634,7 @@ public class MysqlChannel implements BytesChannel {
     }
 
     public void startAcceptQuery(ConnectContext connectContext, ConnectProcessor connectProcessor) {
+        releaseIdleBuffers();
         conn.getSourceChannel().setReadListener(new ReadListener(connectContext, connectProcessor));
         conn.getSourceChannel().resumeReads();
     }
@@ -548,6 +644,8 @@ public class MysqlChannel implements BytesChannel {
     }
 
     public void resumeAcceptQuery() {
+        // the previous command has finished, so the connection does not hold the buffers until the next one
+        releaseIdleBuffers();
         conn.getSourceChannel().resumeReads();
     }
 
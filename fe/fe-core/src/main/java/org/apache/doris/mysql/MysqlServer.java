@@ -19,6 +19,7 @@ package org.apache.doris.mysql;
 
 import org.apache.doris.common.Config;
 import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.util.JdkUtils;
 import org.apache.doris.qe.ConnectScheduler;
 import org.apache.doris.service.FrontendOptions;
 
@@ -34,12 +35,14 @@ import org.xnio.channels.AcceptingChannel;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * mysql protocol implementation based on nio.
  */
 public class MysqlServer {
     private static final Logger LOG = LogManager.getLogger(MysqlServer.class);
+    private static final String TASK_POOL_NAME = "mysql-nio-pool";
 
     private int port;
     private volatile boolean running;
@@ -51,8 +54,7 @@ public class MysqlServer {
     private AcceptingChannel<StreamConnection> server;
 
     // default task service.
-    private ExecutorService taskService = ThreadPoolManager.newDaemonCacheThreadPoolThrowException(
-            Config.max_mysql_service_task_threads_num, "mysql-nio-pool", true);
+    private ExecutorService taskService = createTaskService(Config.mysql_service_task_executor_type);
 
     public MysqlServer(int port, ConnectScheduler connectScheduler) {
         this.port = port;
@@ -64,6 +66,53 @@ public class MysqlServer {
         this.acceptListener = new AcceptListener(connectScheduler);
     }
 
+    /**
+     * The connections are watched by the xnio IO threads, and the commands are run in the task service by
+     * {@link ReadListener}, so only the connections running commands occupy the task threads.
+     *
+     * The command is only known after it is read by the task thread, so with the bounded executor every command,
+     * including KILL and COM_PING, waits in the queue when all the threads are busy, e.g. by long queries.
+     *
+     * Before JDK 24 (JEP 491), a virtual thread blocking inside a synchronized block or method pins its carrier
+     * thread, and there are only as many carrier threads as the cpu cores by default. The commands block in
+     * synchronized code in many places, e.g. the catalog and the connect context, so the pinned virtual threads may
+     * stall all the commands. Use it with JDK 24 or later, or raise jdk.virtualThreadScheduler.maxPoolSize and
+     * jdk.virtualThreadScheduler.parallelism.
+     */
+    static ExecutorService createTaskService(String type) {
+        if ("bounded".equalsIgnoreCase(type)) {
+            return ThreadPoolManager.newDaemonFixedThreadPoolThrowException(Config.max_mysql_service_task_threads_num,
+                    Config.mysql_service_task_queue_size, TASK_POOL_NAME, true);
+        }
+        if ("virtual".equalsIgnoreCase(type)) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                String javaVersion = System.getProperty("java.version");
+                if (isVirtualThreadPinnedBySynchronized(javaVersion)) {
+                    LOG.warn("virtual threads of MySQL service are pinned to the carrier threads when blocking in "
+                            + "synchronized code before JDK 24, the current JDK is {}", javaVersion);
+                }
+                return executor;
+            }
+            LOG.warn("virtual thread is not supported by the current JDK, use the cached executor for MySQL service");
+        }
+        return ThreadPoolManager.newDaemonCacheThreadPoolThrowException(
+                Config.max_mysql_service_task_threads_num, TASK_POOL_NAME, true);
+    }
+
+    static boolean isVirtualThreadPinnedBySynchronized(String javaVersion) {
+        return JdkUtils.getJavaVersionAsInteger(javaVersion) < 24;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor is added in JDK 21, but FE is compiled for JDK 8.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     // start MySQL protocol service
     // return true if success, otherwise false
     public boolean start() {
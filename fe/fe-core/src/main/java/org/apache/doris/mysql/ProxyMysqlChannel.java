@@ -34,6 +34,16 @@ public class ProxyMysqlChannel extends MysqlChannel {
         proxyResultBuffer.add(packet);
     }
 
+    @Override
+    public long sendRowPackets(List<ByteBuffer> rows) {
+        long sendBytes = 0;
+        for (ByteBuffer row : rows) {
+            sendBytes += PACKET_HEADER_LEN + row.remaining();
+            sendOnePacket(row);
+        }
+        return sendBytes;
+    }
+
     public List<ByteBuffer> getProxyResultBufferList() {
         return proxyResultBuffer;
     }
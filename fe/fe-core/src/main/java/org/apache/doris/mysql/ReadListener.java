@@ -26,6 +26,8 @@ import org.xnio.ChannelListener;
 import org.xnio.XnioIoThread;
 import org.xnio.conduits.ConduitStreamSourceChannel;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * listener for handle mysql cmd.
  */
@@ -46,23 +48,32 @@ public class ReadListener implements ChannelListener<ConduitStreamSourceChannel>
         XnioIoThread.requireCurrentThread();
         ctx.suspendAcceptQuery();
         // start async query handle in task thread.
-        channel.getWorker().execute(() -> {
-            ctx.setThreadLocalInfo();
-            try {
-                connectProcessor.processOnce();
-                if (!ctx.isKilled()) {
-                    ctx.resumeAcceptQuery();
-                } else {
-                    ctx.stopAcceptQuery();
-                    ctx.cleanup();
-                }
-            } catch (Exception e) {
-                LOG.warn("Exception happened in one session(" + ctx + ").", e);
-                ctx.setKilled();
+        try {
+            channel.getWorker().execute(this::processOnce);
+        } catch (RejectedExecutionException e) {
+            // the reads are suspended, close the connection rather than leaving it hanging.
+            LOG.warn("Too many commands are running, close the session({}).", ctx);
+            ctx.setKilled();
+            ctx.cleanup();
+        }
+    }
+
+    private void processOnce() {
+        ctx.setThreadLocalInfo();
+        try {
+            connectProcessor.processOnce();
+            if (!ctx.isKilled()) {
+                ctx.resumeAcceptQuery();
+            } else {
+                ctx.stopAcceptQuery();
                 ctx.cleanup();
-            } finally {
-                ConnectContext.remove();
             }
-        });
+        } catch (Exception e) {
+            LOG.warn("Exception happened in one session(" + ctx + ").", e);
+            ctx.setKilled();
+            ctx.cleanup();
+        } finally {
+            ConnectContext.remove();
+        }
     }
 }
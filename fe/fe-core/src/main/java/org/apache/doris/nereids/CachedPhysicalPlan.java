@@ -0,0 +1,351 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DatabaseIf;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.MTMV;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.CatalogIf;
+import org.apache.doris.mysql.privilege.AccessControllerManager;
+import org.apache.doris.nereids.rules.analysis.UserAuthentication;
+import org.apache.doris.nereids.trees.expressions.ExprId;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalSelectHint;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalEmptyRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalOneRowRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalResultSink;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.TableStatsMeta;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The physical plan of a prepared statement, reused by the following executions of the statement with other
+ * parameters, so the analysis, rewrite and optimization are skipped.
+ *
+ * The parameters are rebound by replacing their literals when the plan is translated, so the plan is only cached
+ * when it does not depend on the values of the parameters except the cost:
+ * 1. the literal of every parameter is kept in the plan as it is, and translated by the translator,
+ *    this is checked after the first translation, see {@link #getParameters()}. And no expression containing
+ *    a parameter is rewritten by the expression rules, because the rules may fold, compare or merge the parameter,
+ *    e.g. a > ? AND a > 5 is simplified to a > 7 if the parameter is 7, and the literal 7 is still kept in the plan,
+ *    see {@link StatementContext#checkParameterRewritten(Expression)}.
+ * 2. no partition or tablet is pruned by a parameter, see {@link StatementContext#checkParameterPruned(Expression)},
+ *    no partition which has data and no tablet is pruned, and no filtered or asynchronous materialized view is used.
+ * 3. the plan does not contain any value computed in planning, e.g. now(), the user variables and the udfs,
+ *    see {@link StatementContext#isPlanCacheDisabled()}.
+ * The cached plan is invalidated when the scanned tables are changed, e.g. schema change, new partitions and stats
+ * updated, or the privileges and policies are changed, or any session variable is set.
+ *
+ * The plan is the one chosen from the memo which is not post processed, it is never changed and copied for every
+ * execution, because the post processors attach the runtime filters to the plan nodes.
+ * The reused plan is validated and post processed with the read locks of the tables, like planning.
+ */
+public class CachedPhysicalPlan {
+    private final PhysicalPlan plan;
+    // ordered by the placeholder id
+    private final List<Literal> parameters;
+    private final List<ScanTable> scanTables;
+    private final int sessionVariableVersion;
+    private final long planNanos;
+    // set to the statement context when the plan is reused, it is used by the runtime filter generator
+    private final boolean hasUnknownColStats;
+
+    private CachedPhysicalPlan(PhysicalPlan plan, List<Literal> parameters, List<ScanTable> scanTables,
+            int sessionVariableVersion, long planNanos, boolean hasUnknownColStats) {
+        this.plan = plan;
+        this.parameters = parameters;
+        this.scanTables = scanTables;
+        this.sessionVariableVersion = sessionVariableVersion;
+        this.planNanos = planNanos;
+        this.hasUnknownColStats = hasUnknownColStats;
+    }
+
+    /**
+     * Create the cached plan if the plan chosen by the optimizer can be reused by the other parameters.
+     *
+     * @param parsedPlan the plan of the prepared statement
+     * @param chosenPlan the plan chosen from the memo, before post processing
+     * @param planNanos the time cost to analyze, rewrite and optimize the plan
+     */
+    public static Optional<CachedPhysicalPlan> tryCreate(ConnectContext connectContext,
+            StatementContext statementContext, LogicalPlan parsedPlan, PhysicalPlan chosenPlan, long planNanos) {
+        if (statementContext.isPlanCacheDisabled() || !statementContext.getViewDdlSqls().isEmpty()
+                || !(chosenPlan instanceof PhysicalResultSink)
+                || parsedPlan.anyMatch(LogicalSelectHint.class::isInstance)) {
+            return Optional.empty();
+        }
+        ImmutableList.Builder<Literal> parameters = ImmutableList.builder();
+        for (Expression realExpr : statementContext.getIdToPlaceholderRealExpr().values()) {
+            if (!(realExpr instanceof Literal) || realExpr instanceof NullLiteral) {
+                return Optional.empty();
+            }
+            parameters.add((Literal) realExpr);
+        }
+
+        List<PhysicalRelation> relations = chosenPlan.collectToList(PhysicalRelation.class::isInstance);
+        Set<ExprId> usedExprIds = Sets.newHashSet();
+        chosenPlan.foreach(node -> {
+            for (Slot slot : ((Plan) node).getInputSlots()) {
+                usedExprIds.add(slot.getExprId());
+            }
+        });
+        ImmutableList.Builder<ScanTable> scanTables = ImmutableList.builder();
+        for (PhysicalRelation relation : relations) {
+            if (relation instanceof PhysicalOneRowRelation || relation instanceof PhysicalEmptyRelation) {
+                continue;
+            }
+            if (!(relation instanceof PhysicalOlapScan)) {
+                return Optional.empty();
+            }
+            Optional<ScanTable> scanTable = ScanTable.tryCreate(
+                    connectContext, (PhysicalOlapScan) relation, usedExprIds);
+            if (!scanTable.isPresent()) {
+                return Optional.empty();
+            }
+            scanTables.add(scanTable.get());
+        }
+        return Optional.of(new CachedPhysicalPlan(copy(chosenPlan), parameters.build(), scanTables.build(),
+                connectContext.getSessionVariable().getChangeVersion(), planNanos,
+                statementContext.isHasUnknownColStats()));
+    }
+
+    /**
+     * The literals of the parameters in the cached plan, they should be all translated by the first execution,
+     * otherwise some parameters are changed or consumed by the planner, and the plan can not be cached.
+     */
+    public List<Literal> getParameters() {
+        return parameters;
+    }
+
+    public long getPlanNanos() {
+        return planNanos;
+    }
+
+    public boolean hasUnknownColStats() {
+        return hasUnknownColStats;
+    }
+
+    /**
+     * Bind the current parameters of the statement to the cached plan.
+     *
+     * @return the map from the literals in the cached plan to the current ones,
+     *         or empty if the current parameters can not be bound to the cached plan.
+     */
+    public Optional<Map<Literal, Literal>> bindParameters(StatementContext statementContext) {
+        Map<?, Expression> realExprs = statementContext.getIdToPlaceholderRealExpr();
+        if (realExprs.size() != parameters.size()) {
+            return Optional.empty();
+        }
+        Map<Literal, Literal> literalMap = new IdentityHashMap<>();
+        int index = 0;
+        for (Expression realExpr : realExprs.values()) {
+            Literal cached = parameters.get(index++);
+            if (!(realExpr instanceof Literal) || realExpr instanceof NullLiteral
+                    || realExpr.getClass() != cached.getClass()) {
+                return Optional.empty();
+            }
+            if (!realExpr.getDataType().equals(cached.getDataType())
+                    && !(realExpr.getDataType().isStringLikeType() && cached.getDataType().isStringLikeType())) {
+                return Optional.empty();
+            }
+            literalMap.put(cached, (Literal) realExpr);
+        }
+        return Optional.of(literalMap);
+    }
+
+    /**
+     * Check whether the tables, privileges, policies or session variables used by the cached plan are changed.
+     */
+    public boolean isValid(ConnectContext connectContext) {
+        if (connectContext.getSessionVariable().getChangeVersion() != sessionVariableVersion) {
+            return false;
+        }
+        for (ScanTable scanTable : scanTables) {
+            if (scanTable.changed(connectContext)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy the plan tree for a new execution, the expressions are immutable and shared.
+     */
+    public PhysicalPlan copyPlan() {
+        return copy(plan);
+    }
+
+    // copy without the group expressions, so the memo is not referenced by the cached plan
+    private static PhysicalPlan copy(PhysicalPlan plan) {
+        ImmutableList.Builder<Plan> children = ImmutableList.builderWithExpectedSize(plan.arity());
+        for (Plan child : plan.children()) {
+            children.add(copy((PhysicalPlan) child));
+        }
+        PhysicalPlan copied = (PhysicalPlan) plan.withGroupExprLogicalPropChildren(
+                Optional.empty(), Optional.of(plan.getLogicalProperties()), children.build());
+        return copied.withPhysicalPropertiesAndStats(plan.getPhysicalProperties(), plan.getStats());
+    }
+
+    /** the signature of the olap table scanned by the cached plan */
+    private static class ScanTable {
+        private final OlapTable table;
+        private final Set<String> usedColumns;
+        private final int schemaVersion;
+        private final Set<Long> indexIds;
+        private final Set<Long> partitionIds;
+        // the partitions not scanned, they must be empty
+        private final List<Long> emptyPartitionIds;
+        private final long statsUpdatedTime;
+
+        private ScanTable(OlapTable table, Set<String> usedColumns, List<Long> emptyPartitionIds) {
+            this.table = table;
+            this.usedColumns = usedColumns;
+            this.schemaVersion = table.getBaseSchemaVersion();
+            this.indexIds = ImmutableSet.copyOf(table.getIndexIdToMeta().keySet());
+            this.partitionIds = ImmutableSet.copyOf(table.getPartitionIds());
+            this.emptyPartitionIds = emptyPartitionIds;
+            this.statsUpdatedTime = getStatsUpdatedTime(table);
+        }
+
+        static Optional<ScanTable> tryCreate(ConnectContext connectContext, PhysicalOlapScan olapScan,
+                Set<ExprId> usedExprIds) {
+            OlapTable table = olapScan.getTable();
+            if (table instanceof MTMV || olapScan.getTableSample().isPresent()) {
+                return Optional.empty();
+            }
+            ImmutableSet.Builder<String> usedColumns = ImmutableSet.builder();
+            for (Slot slot : olapScan.getOutput()) {
+                if (!usedExprIds.contains(slot.getExprId()) || !(slot instanceof SlotReference)) {
+                    continue;
+                }
+                Optional<Column> column = ((SlotReference) slot).getColumn();
+                // don't check privilege for hidden column, e.g. __DORIS_DELETE_SIGN__
+                if (column.isPresent() && column.get().isVisible()) {
+                    usedColumns.add(slot.getName());
+                }
+            }
+
+            table.readLock();
+            try {
+                MaterializedIndexMeta indexMeta = table.getIndexMetaByIndexId(olapScan.getSelectedIndexId());
+                if (indexMeta == null || indexMeta.getWhereClause() != null) {
+                    return Optional.empty();
+                }
+                // the partitions or tablets pruned by the parameters can not be used by other parameters
+                Set<Long> selectedPartitionIds = ImmutableSet.copyOf(olapScan.getSelectedPartitionIds());
+                ImmutableList.Builder<Long> emptyPartitionIds = ImmutableList.builder();
+                int tabletNum = 0;
+                for (Partition partition : table.getPartitions()) {
+                    if (selectedPartitionIds.contains(partition.getId())) {
+                        tabletNum += partition.getIndex(olapScan.getSelectedIndexId()).getTablets().size();
+                    } else if (partition.hasData()) {
+                        return Optional.empty();
+                    } else {
+                        emptyPartitionIds.add(partition.getId());
+                    }
+                }
+                if (!olapScan.getSelectedTabletIds().isEmpty() && olapScan.getSelectedTabletIds().size() != tabletNum) {
+                    return Optional.empty();
+                }
+                ScanTable scanTable = new ScanTable(table, usedColumns.build(), emptyPartitionIds.build());
+                return scanTable.policyChanged(connectContext) ? Optional.empty() : Optional.of(scanTable);
+            } finally {
+                table.readUnlock();
+            }
+        }
+
+        boolean changed(ConnectContext connectContext) {
+            DatabaseIf<?> db = table.getDatabase();
+            if (db == null || db.getTableNullable(table.getId()) != table) {
+                return true;
+            }
+            table.readLock();
+            try {
+                if (table.getBaseSchemaVersion() != schemaVersion
+                        || !indexIds.equals(table.getIndexIdToMeta().keySet())
+                        || !partitionIds.equals(ImmutableSet.copyOf(table.getPartitionIds()))
+                        || statsUpdatedTime != getStatsUpdatedTime(table)) {
+                    return true;
+                }
+                for (Long partitionId : emptyPartitionIds) {
+                    Partition partition = table.getPartition(partitionId);
+                    if (partition == null || partition.hasData()) {
+                        return true;
+                    }
+                }
+            } finally {
+                table.readUnlock();
+            }
+            try {
+                UserAuthentication.checkPermission(table, connectContext, usedColumns);
+            } catch (UserException e) {
+                return true;
+            }
+            return policyChanged(connectContext);
+        }
+
+        // the plan with row policies or data masks is not cached
+        private boolean policyChanged(ConnectContext connectContext) {
+            DatabaseIf<?> db = table.getDatabase();
+            CatalogIf<?> catalog = db == null ? null : db.getCatalog();
+            if (catalog == null) {
+                return true;
+            }
+            AccessControllerManager accessManager = connectContext.getEnv().getAccessManager();
+            if (!accessManager.evalRowFilterPolicies(connectContext.getCurrentUserIdentity(),
+                    catalog.getName(), db.getFullName(), table.getName()).isEmpty()) {
+                return true;
+            }
+            for (String column : usedColumns) {
+                if (accessManager.evalDataMaskPolicy(connectContext.getCurrentUserIdentity(),
+                        catalog.getName(), db.getFullName(), table.getName(), column).isPresent()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long getStatsUpdatedTime(OlapTable table) {
+            TableStatsMeta tableStats = Env.getCurrentEnv().getAnalysisManager().findTableStatsStatus(table.getId());
+            return tableStats == null ? -1 : tableStats.updatedTime;
+        }
+    }
+}
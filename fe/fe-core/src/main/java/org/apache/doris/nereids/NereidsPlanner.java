@@ -28,6 +28,7 @@ import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.profile.SummaryProfile;
 import org.apache.doris.datasource.iceberg.source.IcebergScanNode;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.nereids.CascadesContext.Lock;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
@@ -71,6 +72,7 @@ import org.apache.doris.planner.RuntimeFilter;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.qe.CommonResultSet;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.PreparedStatementContext;
 import org.apache.doris.qe.ResultSet;
 import org.apache.doris.qe.ResultSetMetaData;
 import org.apache.doris.qe.SessionVariable;
@@ -86,6 +88,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -111,6 +114,10 @@ public class NereidsPlanner extends Planner {
     private double cost = 0;
     private LogicalPlanAdapter logicalPlanAdapter;
     private List<PlannerHook> hooks = new ArrayList<>();
+    // the parameters bound to the reused cached plan of the prepared statement
+    private Map<Literal, Literal> literalBindings;
+    // the plan to cache in the prepared statement if all the parameters are translated
+    private CachedPhysicalPlan planToCache;
 
     public NereidsPlanner(StatementContext statementContext) {
         this.statementContext = statementContext;
@@ -195,6 +202,12 @@ public class NereidsPlanner extends Planner {
                 }
             }
 
+            if (explainLevel == ExplainLevel.NONE && !showPlanProcess && reuseCachedPlan(plan, requireProperties)) {
+                return physicalPlan;
+            }
+            long planStartNanos = System.nanoTime();
+            LogicalPlan originPlan = plan;
+
             // pre-process logical plan out of memo, e.g. process SET_VAR hint
             plan = preprocess(plan);
 
@@ -250,6 +263,14 @@ public class NereidsPlanner extends Planner {
 
                 int nth = cascadesContext.getConnectContext().getSessionVariable().getNthOptimizedPlan();
                 PhysicalPlan physicalPlan = chooseNthPlan(getRoot(), requireProperties, nth);
+                if (explainLevel == ExplainLevel.NONE && !showPlanProcess && canUsePlanCache()) {
+                    planToCache = CachedPhysicalPlan.tryCreate(statementContext.getConnectContext(), statementContext,
+                            originPlan, physicalPlan, System.nanoTime() - planStartNanos).orElse(null);
+                    if (planToCache != null) {
+                        // the post processors change the plan nodes, keep the cached plan unchanged
+                        physicalPlan = planToCache.copyPlan();
+                    }
+                }
 
                 physicalPlan = postProcess(physicalPlan);
                 if (cascadesContext.getConnectContext().getSessionVariable().dumpNereidsMemo) {
@@ -272,6 +293,55 @@ public class NereidsPlanner extends Planner {
         }
     }
 
+    // the sql cache collects the tables and partitions in analysis, which is skipped by the cached plan
+    private boolean canUsePlanCache() {
+        return statementContext.getPreparedStatementContext() != null
+                && statementContext.getConnectContext().getSessionVariable().enableNereidsPlanCache
+                && !statementContext.getSqlCacheContext().isPresent();
+    }
+
+    // reuse the plan cached by the previous execution of the prepared statement, see CachedPhysicalPlan
+    private boolean reuseCachedPlan(LogicalPlan plan, PhysicalProperties requireProperties) {
+        if (!canUsePlanCache()) {
+            return false;
+        }
+        long startNanos = System.nanoTime();
+        PreparedStatementContext preparedStmtCtx = statementContext.getPreparedStatementContext();
+        Optional<CachedPhysicalPlan> cachedPlan = preparedStmtCtx.cachedPhysicalPlan;
+        Optional<Map<Literal, Literal>> bindings = cachedPlan.isPresent()
+                ? cachedPlan.get().bindParameters(statementContext) : Optional.empty();
+        if (!bindings.isPresent()) {
+            return missCachedPlan(preparedStmtCtx);
+        }
+
+        initCascadesContext(plan, requireProperties);
+        // hold the same table read locks as planning, so the tables are not changed while the cached plan
+        // is validated and post processed
+        try (Lock lock = new Lock(plan, cascadesContext)) {
+            if (!cachedPlan.get().isValid(statementContext.getConnectContext())) {
+                return missCachedPlan(preparedStmtCtx);
+            }
+            // restore the states of the statement filled by analysis and optimization, which are skipped
+            statementContext.setHasUnknownColStats(cachedPlan.get().hasUnknownColStats());
+            literalBindings = bindings.get();
+            physicalPlan = postProcess(cachedPlan.get().copyPlan());
+        }
+        if (MetricRepo.isInit) {
+            long savedNanos = cachedPlan.get().getPlanNanos() - (System.nanoTime() - startNanos);
+            MetricRepo.COUNTER_CACHE_HIT_PLAN.increase(1L);
+            MetricRepo.COUNTER_CACHE_SAVED_PLAN_TIME_US.increase(Math.max(0L, savedNanos) / 1000);
+        }
+        return true;
+    }
+
+    private boolean missCachedPlan(PreparedStatementContext preparedStmtCtx) {
+        preparedStmtCtx.cachedPhysicalPlan = Optional.empty();
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_CACHE_MISS_PLAN.increase(1L);
+        }
+        return false;
+    }
+
     private LogicalPlan preprocess(LogicalPlan logicalPlan) {
         return new PlanPreprocessors(statementContext).process(logicalPlan);
     }
@@ -338,7 +408,20 @@ public class NereidsPlanner extends Planner {
         if (cascadesContext.getConnectContext().getSessionVariable().isPlayNereidsDump()) {
             return;
         }
+        if (literalBindings != null) {
+            planTranslatorContext.setLiteralBindings(literalBindings);
+        }
+        if (planToCache != null) {
+            planTranslatorContext.recordTranslatedLiterals();
+        }
         PlanFragment root = physicalPlanTranslator.translatePlan(physicalPlan);
+        if (planToCache != null
+                && planTranslatorContext.getTranslatedLiterals().containsAll(planToCache.getParameters())) {
+            statementContext.getPreparedStatementContext().cachedPhysicalPlan = Optional.of(planToCache);
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_CACHE_ADDED_PLAN.increase(1L);
+            }
+        }
 
         scanNodeList.addAll(planTranslatorContext.getScanNodes());
         physicalRelations.addAll(planTranslatorContext.getPhysicalRelations());
@@ -33,6 +33,7 @@ import org.apache.doris.nereids.trees.expressions.Placeholder;
 import org.apache.doris.nereids.trees.expressions.Slot;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
 import org.apache.doris.nereids.trees.plans.ObjectId;
 import org.apache.doris.nereids.trees.plans.PlaceholderId;
 import org.apache.doris.nereids.trees.plans.RelationId;
@@ -42,6 +43,7 @@ import org.apache.doris.nereids.trees.plans.logical.LogicalCTEConsumer;
 import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.PreparedStatementContext;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.ShortCircuitQueryContext;
 import org.apache.doris.qe.cache.CacheAnalyzer;
@@ -163,6 +165,13 @@ public class StatementContext implements Closeable {
 
     private ShortCircuitQueryContext shortCircuitQueryContext;
 
+    // the prepared statement executed by this statement, its plan is cached in it, see CachedPhysicalPlan
+    private PreparedStatementContext preparedStatementContext;
+
+    // the plan depends on the values computed in planning, e.g. now(), user variables and udfs,
+    // so it can not be reused by the following executions of the prepared statement
+    private boolean planCacheDisabled;
+
     public StatementContext() {
         this(ConnectContext.get(), null, 0);
     }
@@ -250,6 +259,59 @@ public class StatementContext implements Closeable {
         this.shortCircuitQueryContext = shortCircuitQueryContext;
     }
 
+    public PreparedStatementContext getPreparedStatementContext() {
+        return preparedStatementContext;
+    }
+
+    public void setPreparedStatementContext(PreparedStatementContext preparedStatementContext) {
+        this.preparedStatementContext = preparedStatementContext;
+    }
+
+    public boolean isPlanCacheDisabled() {
+        return planCacheDisabled;
+    }
+
+    public void disablePlanCache() {
+        this.planCacheDisabled = true;
+    }
+
+    /**
+     * Called when an expression rule rewrites the expression. The plan can not be cached if the expression contains
+     * a parameter, because the result may depend on the value of the parameter, e.g. a > ? AND a > 5 is simplified
+     * to a > 7 if the parameter is 7, which is wrong for the parameter 3.
+     */
+    public void checkParameterRewritten(Expression expression) {
+        disablePlanCacheIfParameterized(expression);
+    }
+
+    /**
+     * Called when the partitions or tablets of a scan are pruned by the predicate. The plan can not be cached if
+     * the predicate contains a parameter, because the partitions or tablets pruned for this value may be needed by
+     * the other values, e.g. the partition [10, 20) is pruned by a < ? with 5, but it is needed with 15.
+     */
+    public void checkParameterPruned(Expression predicate) {
+        disablePlanCacheIfParameterized(predicate);
+    }
+
+    private void disablePlanCacheIfParameterized(Expression expression) {
+        if (preparedStatementContext == null || planCacheDisabled || idToPlaceholderRealExpr.isEmpty()) {
+            return;
+        }
+        if (expression.anyMatch(expr -> expr instanceof Literal && isParameter((Literal) expr))) {
+            disablePlanCache();
+        }
+    }
+
+    private boolean isParameter(Literal literal) {
+        // compared by identity, the literals equal to a parameter in the sql are not parameters
+        for (Expression realExpr : idToPlaceholderRealExpr.values()) {
+            if (realExpr == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Optional<SqlCacheContext> getSqlCacheContext() {
         return Optional.ofNullable(sqlCacheContext);
     }
@@ -321,6 +321,9 @@ public class ExpressionTranslator extends DefaultExpressionVisitor<Expr, PlanTra
 
     @Override
     public Expr visitLiteral(Literal literal, PlanTranslatorContext context) {
+        if (context != null) {
+            literal = context.bindLiteral(literal);
+        }
         return literal.toLegacyLiteral();
     }
 
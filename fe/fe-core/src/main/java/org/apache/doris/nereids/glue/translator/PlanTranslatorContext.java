@@ -34,6 +34,7 @@ import org.apache.doris.nereids.trees.expressions.CTEId;
 import org.apache.doris.nereids.trees.expressions.ExprId;
 import org.apache.doris.nereids.trees.expressions.SlotReference;
 import org.apache.doris.nereids.trees.expressions.VirtualSlotReference;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
 import org.apache.doris.nereids.trees.plans.RelationId;
 import org.apache.doris.nereids.trees.plans.physical.PhysicalCTEConsumer;
 import org.apache.doris.nereids.trees.plans.physical.PhysicalCTEProducer;
@@ -54,6 +55,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +116,11 @@ public class PlanTranslatorContext {
 
     private final Map<ScanNode, Set<SlotId>> statsUnknownColumnsMap = Maps.newHashMap();
 
+    // the literals replaced by identity when translating, used to bind the parameters to a cached plan
+    private Map<Literal, Literal> literalBindings = Collections.emptyMap();
+    // the literals translated by identity, only recorded when the plan is going to be cached
+    private Set<Literal> translatedLiterals;
+
     public PlanTranslatorContext(CascadesContext ctx) {
         this.connectContext = ctx.getConnectContext();
         this.translator = new RuntimeFilterTranslator(ctx.getRuntimeFilterContext());
@@ -334,4 +341,26 @@ public class PlanTranslatorContext {
     public TPushAggOp getRelationPushAggOp(RelationId relationId) {
         return tablePushAggOp.getOrDefault(relationId, TPushAggOp.NONE);
     }
+
+    public void setLiteralBindings(Map<Literal, Literal> literalBindings) {
+        this.literalBindings = literalBindings;
+    }
+
+    public void recordTranslatedLiterals() {
+        this.translatedLiterals = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    public Set<Literal> getTranslatedLiterals() {
+        return translatedLiterals;
+    }
+
+    /**
+     * get the literal to translate, which is the bound one if the literal is a parameter of a cached plan.
+     */
+    public Literal bindLiteral(Literal literal) {
+        if (translatedLiterals != null) {
+            translatedLiterals.add(literal);
+        }
+        return literalBindings.getOrDefault(literal, literal);
+    }
 }
@@ -80,6 +80,10 @@ public class GroupExpression {
 
     private final ObjectId id = StatementScopeIdGenerator.newObjectId();
 
+    // plan is immutable, so cache its hash code to avoid recomputing the deep hash of the plan's expressions
+    // every time the memo looks up this group expression. 0 means not computed yet.
+    private int planHashCode;
+
     /**
      * Just for UT.
      */
@@ -303,12 +307,35 @@ public class GroupExpression {
             return false;
         }
         GroupExpression that = (GroupExpression) o;
-        return children.equals(that.children) && plan.equals(that.plan);
+        if (children.size() != that.children.size() || planHashCode() != that.planHashCode()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i++) {
+            if (!children.get(i).getGroupId().equals(that.children.get(i).getGroupId())) {
+                return false;
+            }
+        }
+        return plan.equals(that.plan);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(children, plan);
+        // same as Objects.hash(children, plan), but use the group ids and the cached plan hash code,
+        // and don't allocate any object.
+        int result = 1;
+        for (Group child : children) {
+            result = 31 * result + child.getGroupId().asInt();
+        }
+        return 31 * result + planHashCode();
+    }
+
+    private int planHashCode() {
+        int h = planHashCode;
+        if (h == 0) {
+            h = plan.hashCode();
+            planHashCode = h;
+        }
+        return h;
     }
 
     public Statistics childStatistics(int idx) {
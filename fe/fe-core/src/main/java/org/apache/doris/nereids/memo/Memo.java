@@ -342,10 +342,9 @@ public class Memo {
         Group group = new Group(groupIdGenerator.getNextId(), newGroupExpression, plan.getLogicalProperties());
 
         groups.put(group.getGroupId(), group);
-        if (groupExpressions.containsKey(newGroupExpression)) {
+        if (groupExpressions.putIfAbsent(newGroupExpression, newGroupExpression) != null) {
             throw new IllegalStateException("groupExpression already exists in memo, maybe a bug");
         }
-        groupExpressions.put(newGroupExpression, newGroupExpression);
         return group;
     }
 
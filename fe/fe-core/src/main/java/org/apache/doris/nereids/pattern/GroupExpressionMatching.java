@@ -107,7 +107,7 @@ public class GroupExpressionMatching implements Iterable<Plan> {
                 List<Plan>[] childrenPlans = new List[childrenGroupArity];
                 for (int i = 0; i < childrenGroupArity; ++i) {
                     Group childGroup = groupExpression.child(i);
-                    List<Plan> childrenPlan = matchingChildGroup(pattern, childGroup, i);
+                    List<Plan> childrenPlan = matchingChildGroup(pattern, root, childGroup, i);
 
                     if (childrenPlan.isEmpty()) {
                         if (pattern instanceof SubTreePattern) {
@@ -131,7 +131,7 @@ public class GroupExpressionMatching implements Iterable<Plan> {
             this.resultsSize = results.size();
         }
 
-        private List<Plan> matchingChildGroup(Pattern<? extends Plan> parentPattern,
+        private List<Plan> matchingChildGroup(Pattern<? extends Plan> parentPattern, Plan root,
                 Group childGroup, int childIndex) {
             Pattern<? extends Plan> childPattern;
             if (parentPattern instanceof SubTreePattern) {
@@ -151,16 +151,56 @@ public class GroupExpressionMatching implements Iterable<Plan> {
                 }
             }
 
-            List<Plan> matchingChildren = GroupMatching.getAllMatchingPlans(childPattern, childGroup);
+            List<Plan> matchingChildren = GroupMatching.getAllMatchingPlans(childPattern, childGroup,
+                    getReusableGroupPlan(root, childGroup, childIndex));
             return matchingChildren;
         }
 
+        /**
+         * The plan in memo already use GroupPlan as children, return the child if it is still a valid
+         * GroupPlan of the child group, so we can bind it instead of creating a new one.
+         */
+        private GroupPlan getReusableGroupPlan(Plan root, Group childGroup, int childIndex) {
+            if (childIndex >= root.arity() || !(root.child(childIndex) instanceof GroupPlan)) {
+                return null;
+            }
+            GroupPlan groupPlan = (GroupPlan) root.child(childIndex);
+            // the GroupPlan in the plan may refer to the merged group, or hold the outdated logical properties
+            if (groupPlan.getGroup() != childGroup
+                    || groupPlan.getLogicalProperties() != childGroup.getLogicalProperties()) {
+                return null;
+            }
+            return groupPlan;
+        }
+
+        /**
+         * If every child is bound to the GroupPlan of the root plan, the result of withGroupExprLogicalPropChildren
+         * is the same as the root plan, so bind the root plan directly.
+         */
+        private boolean canBindRoot(Plan root, List<Plan>[] childrenPlans, LogicalProperties logicalProperties) {
+            if (root.arity() != childrenPlans.length || root.getLogicalProperties() != logicalProperties) {
+                return false;
+            }
+            for (int i = 0; i < childrenPlans.length; i++) {
+                if (childrenPlans[i].size() != 1 || childrenPlans[i].get(0) != root.child(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private void assembleAllCombinationPlanTree(Plan root, Pattern<Plan> rootPattern,
                 GroupExpression groupExpression, List<Plan>[] childrenPlans) {
             int childrenPlansSize = childrenPlans.length;
             int[] childrenPlanIndex = new int[childrenPlansSize];
             int offset = 0;
             LogicalProperties logicalProperties = groupExpression.getOwnerGroup().getLogicalProperties();
+            if (canBindRoot(root, childrenPlans, logicalProperties)) {
+                if (rootPattern.matchPredicates(root)) {
+                    results.add(root);
+                }
+                return;
+            }
 
             // assemble all combination of plan tree by current root plan and children plan
             Optional<GroupExpression> groupExprOption = Optional.of(groupExpression);
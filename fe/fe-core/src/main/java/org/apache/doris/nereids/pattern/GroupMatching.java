@@ -24,6 +24,7 @@ import org.apache.doris.nereids.trees.plans.Plan;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Get all pattern matching subtree in query plan from a group.
@@ -33,9 +34,21 @@ public class GroupMatching {
      * Get all pattern matching subtree in query plan from a group.
      */
     public static List<Plan> getAllMatchingPlans(Pattern pattern, Group group) {
+        return getAllMatchingPlans(pattern, group, null);
+    }
+
+    /**
+     * Get all pattern matching subtree in query plan from a group.
+     *
+     * @param groupPlan the GroupPlan of the group to reuse when the pattern is a group pattern,
+     *                  null to create a new one
+     */
+    public static List<Plan> getAllMatchingPlans(Pattern pattern, Group group, @Nullable GroupPlan groupPlan) {
         List<Plan> matchingPlans = new ArrayList<>();
         if (pattern.isGroup() || pattern.isMultiGroup()) {
-            GroupPlan groupPlan = new GroupPlan(group);
+            if (groupPlan == null) {
+                groupPlan = new GroupPlan(group);
+            }
             if (((Pattern<Plan>) pattern).matchPredicates(groupPlan)) {
                 matchingPlans.add(groupPlan);
             }
@@ -167,6 +167,10 @@ public class ExpressionAnalyzer extends SubExprAnalyzer<ExpressionRewriteContext
     public Expression analyze(Expression expression, ExpressionRewriteContext context) {
         hasNondeterministic = false;
         Expression analyzeResult = expression.accept(this, context);
+        if (context != null && context.cascadesContext.getStatementContext().getPreparedStatementContext() != null
+                && analyzeResult.anyMatch(Nondeterministic.class::isInstance)) {
+            context.cascadesContext.getStatementContext().disablePlanCache();
+        }
         if (wantToParseSqlFromSqlCache && hasNondeterministic
                 && context.cascadesContext.getStatementContext().getSqlCacheContext().isPresent()) {
             hasNondeterministic = false;
@@ -392,6 +396,10 @@ public class ExpressionAnalyzer extends SubExprAnalyzer<ExpressionRewriteContext
         FunctionBuilder builder = functionRegistry.findFunctionBuilder(
                 unboundFunction.getDbName(), functionName, arguments);
         Pair<? extends Expression, ? extends BoundFunction> buildResult = builder.build(functionName, arguments);
+        if (context != null && (builder instanceof AliasUdfBuilder
+                || buildResult.second instanceof JavaUdf || buildResult.second instanceof JavaUdaf)) {
+            context.cascadesContext.getStatementContext().disablePlanCache();
+        }
         Optional<SqlCacheContext> sqlCacheContext = Optional.empty();
         if (wantToParseSqlFromSqlCache) {
             StatementContext statementContext = context.cascadesContext.getStatementContext();
@@ -80,6 +80,7 @@ public class ExpressionBottomUpRewriter implements ExpressionRewriteRule<Express
 
                     changed = applied.isPresent();
                     if (changed) {
+                        checkParameterRewritten(beforeRewrite, context);
                         afterRewrite = applied.get();
                         // ensure children are rewritten
                         afterRewrite = rewriteChildren(afterRewrite, context, currentBatch, rules, listeners);
@@ -102,6 +103,12 @@ public class ExpressionBottomUpRewriter implements ExpressionRewriteRule<Express
         return expression;
     }
 
+    static void checkParameterRewritten(Expression beforeRewrite, ExpressionRewriteContext context) {
+        if (context.cascadesContext.getStatementContext() != null) {
+            context.cascadesContext.getStatementContext().checkParameterRewritten(beforeRewrite);
+        }
+    }
+
     private static Expression rewriteChildren(Expression parent, ExpressionRewriteContext context, int currentBatch,
             ExpressionPatternRules rules, ExpressionPatternTraverseListeners listeners) {
         boolean changed = false;
@@ -63,7 +63,12 @@ public class ExpressionRuleExecutor {
     }
 
     private Expression applyRule(Expression expr, ExpressionRewriteRule rule, ExpressionRewriteContext ctx) {
-        return rule.rewrite(expr, ctx);
+        Expression result = rule.rewrite(expr, ctx);
+        // the bottom up rewriter checks the parameters for each rewritten sub expression
+        if (!(rule instanceof ExpressionBottomUpRewriter) && ctx != null && !result.equals(expr)) {
+            ExpressionBottomUpRewriter.checkParameterRewritten(expr, ctx);
+        }
+        return result;
     }
 
     /** normalize */
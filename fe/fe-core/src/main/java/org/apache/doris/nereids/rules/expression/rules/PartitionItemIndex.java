@@ -0,0 +1,468 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.rules.expression.rules;
+
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.PartitionValue;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.ListPartitionItem;
+import org.apache.doris.catalog.PartitionInfo;
+import org.apache.doris.catalog.PartitionItem;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.catalog.RangePartitionItem;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.Pair;
+import org.apache.doris.nereids.trees.expressions.And;
+import org.apache.doris.nereids.trees.expressions.ComparisonPredicate;
+import org.apache.doris.nereids.trees.expressions.EqualTo;
+import org.apache.doris.nereids.trees.expressions.Expression;
+import org.apache.doris.nereids.trees.expressions.GreaterThan;
+import org.apache.doris.nereids.trees.expressions.GreaterThanEqual;
+import org.apache.doris.nereids.trees.expressions.InPredicate;
+import org.apache.doris.nereids.trees.expressions.LessThan;
+import org.apache.doris.nereids.trees.expressions.LessThanEqual;
+import org.apache.doris.nereids.trees.expressions.Or;
+import org.apache.doris.nereids.trees.expressions.Slot;
+import org.apache.doris.nereids.trees.expressions.literal.BooleanLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.DateTimeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLikeLiteral;
+import org.apache.doris.nereids.trees.expressions.literal.Literal;
+import org.apache.doris.nereids.trees.expressions.literal.NullLiteral;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.BoundType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+
+import java.math.BigInteger;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The index of the formal partitions of a table partitioned by one column, to find the partitions accepted by
+ * the comparison and in predicates of the partition column by binary search, instead of evaluating the predicate
+ * on every partition, see {@link PartitionPruner}.
+ *
+ * The index is built at the first use and cached for the partition info, until the partitions are changed,
+ * see {@link PartitionInfo#getItemVersion()}.
+ */
+public abstract class PartitionItemIndex {
+    // weak keys are compared by identity, the index is released with the partition info
+    private static final Cache<PartitionInfo, Pair<Long, Optional<PartitionItemIndex>>> INDEXES
+            = CacheBuilder.newBuilder().weakKeys().build();
+
+    protected final Column partitionColumn;
+    // the partition id of each position
+    protected final long[] partitionIds;
+
+    protected PartitionItemIndex(Column partitionColumn, long[] partitionIds) {
+        this.partitionColumn = partitionColumn;
+        this.partitionIds = partitionIds;
+    }
+
+    /**
+     * get the index of the formal partitions, empty if the partitions can not be indexed.
+     */
+    public static Optional<PartitionItemIndex> get(PartitionInfo partitionInfo) {
+        long itemVersion = partitionInfo.getItemVersion();
+        Pair<Long, Optional<PartitionItemIndex>> cached = INDEXES.getIfPresent(partitionInfo);
+        if (cached != null && cached.first == itemVersion) {
+            return cached.second;
+        }
+        Optional<PartitionItemIndex> index = build(partitionInfo);
+        INDEXES.put(partitionInfo, Pair.of(itemVersion, index));
+        return index;
+    }
+
+    private static Optional<PartitionItemIndex> build(PartitionInfo partitionInfo) {
+        List<Column> partitionColumns = partitionInfo.getPartitionColumns();
+        if (partitionColumns.size() != 1) {
+            return Optional.empty();
+        }
+        Column partitionColumn = partitionColumns.get(0);
+        Type type = partitionColumn.getType();
+        if (!type.isFixedPointType() && !type.isDateType() && !type.isVarcharOrStringType()) {
+            return Optional.empty();
+        }
+        Map<Long, PartitionItem> idToItem = partitionInfo.getIdToItem(false);
+        switch (partitionInfo.getType()) {
+            case RANGE:
+                return RangeItemIndex.build(partitionColumn, idToItem);
+            case LIST:
+                return ListItemIndex.build(partitionColumn, idToItem);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * find the partitions which may be accepted by the predicate of the partition slot.
+     */
+    public SearchResult search(Expression predicate, Slot partitionSlot) {
+        PredicateRanges predicateRanges = toRanges(predicate, partitionSlot);
+        BitSet positions = new BitSet(partitionIds.length);
+        for (Range<PartitionKey> range : predicateRanges.ranges.asRanges()) {
+            search(range, positions);
+        }
+        if (predicateRanges.mayAcceptNull) {
+            selectNull(positions);
+        }
+        selectAlways(positions);
+        ImmutableList.Builder<Long> selectedPartitionIds = ImmutableList.builderWithExpectedSize(
+                positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            selectedPartitionIds.add(partitionIds[i]);
+        }
+        return new SearchResult(selectedPartitionIds.build(), predicateRanges.exact);
+    }
+
+    // set the positions of the partitions intersecting the range
+    protected abstract void search(Range<PartitionKey> range, BitSet positions);
+
+    // set the positions of the list partitions containing the null value, which are not in any range,
+    // the null value of the range partitions is in the partition of the min value
+    protected void selectNull(BitSet positions) {
+    }
+
+    // set the positions of the partitions which can not be pruned out by any predicate
+    protected void selectAlways(BitSet positions) {
+    }
+
+    private PredicateRanges toRanges(Expression predicate, Slot partitionSlot) {
+        if (predicate instanceof And || predicate instanceof Or) {
+            boolean isAnd = predicate instanceof And;
+            PredicateRanges result = null;
+            for (Expression child : predicate.children()) {
+                PredicateRanges childRanges = toRanges(child, partitionSlot);
+                if (result == null) {
+                    result = childRanges;
+                } else {
+                    result = new PredicateRanges(isAnd
+                            ? result.ranges.intersection(childRanges.ranges)
+                            : result.ranges.union(childRanges.ranges),
+                            result.exact && childRanges.exact,
+                            isAnd
+                                    ? result.mayAcceptNull && childRanges.mayAcceptNull
+                                    : result.mayAcceptNull || childRanges.mayAcceptNull);
+                }
+            }
+            return result;
+        } else if (predicate instanceof BooleanLiteral) {
+            return ((BooleanLiteral) predicate).getValue() ? PredicateRanges.ALL : PredicateRanges.NONE;
+        } else if (predicate instanceof NullLiteral) {
+            return PredicateRanges.NONE;
+        } else if (predicate instanceof InPredicate) {
+            return toRanges((InPredicate) predicate, partitionSlot);
+        } else if (predicate instanceof ComparisonPredicate) {
+            return toRanges((ComparisonPredicate) predicate, partitionSlot);
+        }
+        return PredicateRanges.UNKNOWN;
+    }
+
+    private PredicateRanges toRanges(InPredicate inPredicate, Slot partitionSlot) {
+        if (!inPredicate.getCompareExpr().equals(partitionSlot)) {
+            return PredicateRanges.UNKNOWN;
+        }
+        ImmutableRangeSet.Builder<PartitionKey> ranges = ImmutableRangeSet.builder();
+        for (Expression option : inPredicate.getOptions()) {
+            if (option instanceof NullLiteral) {
+                // null option never accepts any row
+                continue;
+            }
+            Optional<PartitionKey> key = option instanceof Literal
+                    ? toPartitionKey((Literal) option, partitionSlot)
+                    : Optional.empty();
+            if (!key.isPresent()) {
+                return PredicateRanges.UNKNOWN;
+            }
+            ranges.add(Range.singleton(key.get()));
+        }
+        return new PredicateRanges(ranges.build(), true, false);
+    }
+
+    private PredicateRanges toRanges(ComparisonPredicate comparison, Slot partitionSlot) {
+        if (comparison.right().equals(partitionSlot) && comparison.left() instanceof Literal) {
+            comparison = comparison.commute();
+        }
+        if (!comparison.left().equals(partitionSlot) || !(comparison.right() instanceof Literal)) {
+            return PredicateRanges.UNKNOWN;
+        }
+        Literal literal = (Literal) comparison.right();
+        if (literal instanceof NullLiteral) {
+            // null safe equal is not a ComparisonPredicate
+            return PredicateRanges.NONE;
+        }
+        Optional<PartitionKey> key = toPartitionKey(literal, partitionSlot);
+        if (!key.isPresent()) {
+            return PredicateRanges.UNKNOWN;
+        }
+        Range<PartitionKey> range;
+        if (comparison instanceof EqualTo) {
+            range = Range.singleton(key.get());
+        } else if (comparison instanceof GreaterThan) {
+            // the partition [v, v + 1) can be pruned out by `part > v` if the type is discrete
+            range = nextPartitionKey(literal).map(Range::atLeast).orElseGet(() -> Range.greaterThan(key.get()));
+        } else if (comparison instanceof GreaterThanEqual) {
+            range = Range.atLeast(key.get());
+        } else if (comparison instanceof LessThan) {
+            range = Range.lessThan(key.get());
+        } else if (comparison instanceof LessThanEqual) {
+            range = Range.atMost(key.get());
+        } else {
+            return PredicateRanges.UNKNOWN;
+        }
+        return new PredicateRanges(ImmutableRangeSet.of(range), true, false);
+    }
+
+    private Optional<PartitionKey> toPartitionKey(Literal literal, Slot partitionSlot) {
+        if (!literal.getDataType().equals(partitionSlot.getDataType())
+                && !(literal.isStringLikeLiteral() && partitionSlot.getDataType().isStringLikeType())) {
+            return Optional.empty();
+        }
+        return toPartitionKey(literal.getStringValue());
+    }
+
+    // create the partition key in the same way as the partition keys of the table
+    private Optional<PartitionKey> toPartitionKey(String value) {
+        try {
+            return Optional.of(PartitionKey.createPartitionKey(
+                    ImmutableList.of(new PartitionValue(value)), ImmutableList.of(partitionColumn)));
+        } catch (Exception e) {
+            // out of the range of the partition column, evaluate the predicate on the partitions instead
+            return Optional.empty();
+        }
+    }
+
+    // the smallest partition key greater than the literal, only for the discrete types
+    private Optional<PartitionKey> nextPartitionKey(Literal literal) {
+        if (literal instanceof IntegerLikeLiteral) {
+            return toPartitionKey(new BigInteger(literal.getStringValue()).add(BigInteger.ONE).toString());
+        } else if (literal instanceof DateLiteral && !(literal instanceof DateTimeLiteral)) {
+            Expression nextDay;
+            try {
+                nextDay = ((DateLiteral) literal).plusDays(1);
+            } catch (Exception e) {
+                // the max date
+                return Optional.empty();
+            }
+            if (nextDay instanceof DateLiteral) {
+                return toPartitionKey(((DateLiteral) nextDay).getStringValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * the result of the search.
+     */
+    public static class SearchResult {
+        public final List<Long> partitionIds;
+        // true if the predicate is totally converted to the ranges of the partition column, so the partitions
+        // are exactly the partitions accepted by the predicate, otherwise the predicate should be evaluated on them.
+        public final boolean exact;
+
+        public SearchResult(List<Long> partitionIds, boolean exact) {
+            this.partitionIds = partitionIds;
+            this.exact = exact;
+        }
+    }
+
+    // the ranges of the partition column accepted by the predicate
+    private static class PredicateRanges {
+        static final PredicateRanges ALL = new PredicateRanges(ImmutableRangeSet.of(Range.all()), true, true);
+        static final PredicateRanges NONE = new PredicateRanges(ImmutableRangeSet.of(), true, false);
+        // the predicate can not be converted to ranges, e.g. `part is null` and `part + 1 > 10`
+        static final PredicateRanges UNKNOWN = new PredicateRanges(ImmutableRangeSet.of(Range.all()), false, true);
+
+        final ImmutableRangeSet<PartitionKey> ranges;
+        final boolean exact;
+        // whether the null value of the partition column may be accepted, which is not in the ranges
+        final boolean mayAcceptNull;
+
+        PredicateRanges(RangeSet<PartitionKey> ranges, boolean exact, boolean mayAcceptNull) {
+            this.ranges = ImmutableRangeSet.copyOf(ranges);
+            this.exact = exact;
+            this.mayAcceptNull = mayAcceptNull;
+        }
+    }
+
+    /**
+     * the range partitions sorted by the lower bound, the ranges of the formal partitions never overlap,
+     * so the upper bounds are sorted too.
+     */
+    private static class RangeItemIndex extends PartitionItemIndex {
+        private final PartitionKey[] lowers;
+        private final PartitionKey[] uppers;
+
+        private RangeItemIndex(Column partitionColumn, long[] partitionIds,
+                PartitionKey[] lowers, PartitionKey[] uppers) {
+            super(partitionColumn, partitionIds);
+            this.lowers = lowers;
+            this.uppers = uppers;
+        }
+
+        static Optional<PartitionItemIndex> build(Column partitionColumn, Map<Long, PartitionItem> idToItem) {
+            List<Entry<Long, Range<PartitionKey>>> ranges = Lists.newArrayListWithCapacity(idToItem.size());
+            for (Entry<Long, PartitionItem> entry : idToItem.entrySet()) {
+                if (!(entry.getValue() instanceof RangePartitionItem)) {
+                    return Optional.empty();
+                }
+                Range<PartitionKey> range = ((RangePartitionItem) entry.getValue()).getItems();
+                if (!range.hasLowerBound() || range.lowerBoundType() != BoundType.CLOSED
+                        || !range.hasUpperBound() || range.upperBoundType() != BoundType.OPEN) {
+                    return Optional.empty();
+                }
+                ranges.add(Maps.immutableEntry(entry.getKey(), range));
+            }
+            ranges.sort(Comparator.comparing(entry -> entry.getValue().lowerEndpoint()));
+
+            int size = ranges.size();
+            long[] partitionIds = new long[size];
+            PartitionKey[] lowers = new PartitionKey[size];
+            PartitionKey[] uppers = new PartitionKey[size];
+            for (int i = 0; i < size; i++) {
+                partitionIds[i] = ranges.get(i).getKey();
+                lowers[i] = ranges.get(i).getValue().lowerEndpoint();
+                uppers[i] = ranges.get(i).getValue().upperEndpoint();
+                if (i > 0 && uppers[i - 1].compareTo(lowers[i]) > 0) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new RangeItemIndex(partitionColumn, partitionIds, lowers, uppers));
+        }
+
+        @Override
+        protected void search(Range<PartitionKey> range, BitSet positions) {
+            // the partition [lower, upper) intersects the range if upper > range.lower and lower < range.upper
+            int from = range.hasLowerBound() ? countLessThan(uppers, range.lowerEndpoint(), true) : 0;
+            int to = range.hasUpperBound()
+                    ? countLessThan(lowers, range.upperEndpoint(), range.upperBoundType() == BoundType.CLOSED)
+                    : lowers.length;
+            if (from < to) {
+                positions.set(from, to);
+            }
+        }
+
+        // the number of the sorted keys less than the key, or less than or equal to the key if inclusive
+        private static int countLessThan(PartitionKey[] keys, PartitionKey key, boolean inclusive) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys[mid].compareTo(key);
+                if (cmp < 0 || (inclusive && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * the values of the list partitions in order, the default partitions are always selected, and the partitions
+     * containing the null value are selected if the predicate may accept null, e.g. `part is null`.
+     */
+    private static class ListItemIndex extends PartitionItemIndex {
+        private final TreeMap<PartitionKey, Integer> valueToPosition;
+        private final BitSet nullPositions;
+        private final BitSet defaultPositions;
+
+        private ListItemIndex(Column partitionColumn, long[] partitionIds,
+                TreeMap<PartitionKey, Integer> valueToPosition, BitSet nullPositions, BitSet defaultPositions) {
+            super(partitionColumn, partitionIds);
+            this.valueToPosition = valueToPosition;
+            this.nullPositions = nullPositions;
+            this.defaultPositions = defaultPositions;
+        }
+
+        static Optional<PartitionItemIndex> build(Column partitionColumn, Map<Long, PartitionItem> idToItem) {
+            long[] partitionIds = new long[idToItem.size()];
+            TreeMap<PartitionKey, Integer> valueToPosition = new TreeMap<>();
+            BitSet nullPositions = new BitSet();
+            BitSet defaultPositions = new BitSet();
+            int position = 0;
+            for (Entry<Long, PartitionItem> entry : idToItem.entrySet()) {
+                if (!(entry.getValue() instanceof ListPartitionItem)) {
+                    return Optional.empty();
+                }
+                ListPartitionItem item = (ListPartitionItem) entry.getValue();
+                partitionIds[position] = entry.getKey();
+                if (item.isDefaultPartition()) {
+                    defaultPositions.set(position);
+                }
+                for (PartitionKey value : item.getItems()) {
+                    if (value.getKeys().size() != 1) {
+                        return Optional.empty();
+                    }
+                    LiteralExpr key = value.getKeys().get(0);
+                    if (value.isDefaultListPartitionKey()) {
+                        continue;
+                    }
+                    if (key instanceof org.apache.doris.analysis.NullLiteral) {
+                        nullPositions.set(position);
+                        continue;
+                    }
+                    if (valueToPosition.put(value, position) != null) {
+                        return Optional.empty();
+                    }
+                }
+                position++;
+            }
+            return Optional.of(new ListItemIndex(partitionColumn, partitionIds, valueToPosition, nullPositions,
+                    defaultPositions));
+        }
+
+        @Override
+        protected void search(Range<PartitionKey> range, BitSet positions) {
+            NavigableMap<PartitionKey, Integer> values = valueToPosition;
+            if (range.hasLowerBound()) {
+                values = values.tailMap(range.lowerEndpoint(), range.lowerBoundType() == BoundType.CLOSED);
+            }
+            if (range.hasUpperBound()) {
+                values = values.headMap(range.upperEndpoint(), range.upperBoundType() == BoundType.CLOSED);
+            }
+            for (int position : values.values()) {
+                positions.set(position);
+            }
+        }
+
+        @Override
+        protected void selectNull(BitSet positions) {
+            positions.or(nullPositions);
+        }
+
+        @Override
+        protected void selectAlways(BitSet positions) {
+            positions.or(defaultPositions);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.RangePartitionItem;
 import org.apache.doris.nereids.CascadesContext;
 import org.apache.doris.nereids.rules.expression.ExpressionRewriteContext;
+import org.apache.doris.nereids.rules.expression.rules.PartitionItemIndex.SearchResult;
 import org.apache.doris.nereids.trees.expressions.Cast;
 import org.apache.doris.nereids.trees.expressions.ComparisonPredicate;
 import org.apache.doris.nereids.trees.expressions.Expression;
@@ -39,16 +40,16 @@ import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * PartitionPruner
  */
 public class PartitionPruner extends DefaultExpressionRewriter<Void> {
-    private final List<OnePartitionEvaluator> partitions;
     private final Expression partitionPredicate;
 
     /** Different type of table may have different partition prune behavior. */
@@ -57,8 +58,7 @@ public class PartitionPruner extends DefaultExpressionRewriter<Void> {
         HIVE
     }
 
-    private PartitionPruner(List<OnePartitionEvaluator> partitions, Expression partitionPredicate) {
-        this.partitions = Objects.requireNonNull(partitions, "partitions cannot be null");
+    private PartitionPruner(Expression partitionPredicate) {
         this.partitionPredicate = Objects.requireNonNull(partitionPredicate.accept(this, null),
                 "partitionPredicate cannot be null");
     }
@@ -101,7 +101,7 @@ public class PartitionPruner extends DefaultExpressionRewriter<Void> {
     }
 
     /** prune */
-    public List<Long> prune() {
+    public List<Long> prune(List<OnePartitionEvaluator> partitions) {
         Builder<Long> scanPartitionIds = ImmutableList.builder();
         for (OnePartitionEvaluator partition : partitions) {
             if (!canBePrunedOut(partition)) {
@@ -117,6 +117,18 @@ public class PartitionPruner extends DefaultExpressionRewriter<Void> {
     public static List<Long> prune(List<Slot> partitionSlots, Expression partitionPredicate,
             Map<Long, PartitionItem> idToPartitions, CascadesContext cascadesContext,
             PartitionTableType partitionTableType) {
+        return prune(partitionSlots, partitionPredicate, idToPartitions, cascadesContext, partitionTableType,
+                Optional.empty());
+    }
+
+    /**
+     * prune partition with `idToPartitions` as parameter, the partitions are found by `partitionItemIndex` if
+     * present, which must be built on the same partitions, and the predicate is only evaluated on the found
+     * partitions if the index can not handle the whole predicate.
+     */
+    public static List<Long> prune(List<Slot> partitionSlots, Expression partitionPredicate,
+            Map<Long, PartitionItem> idToPartitions, CascadesContext cascadesContext,
+            PartitionTableType partitionTableType, Optional<PartitionItemIndex> partitionItemIndex) {
         partitionPredicate = PartitionPruneExpressionExtractor.extract(
                 partitionPredicate, ImmutableSet.copyOf(partitionSlots), cascadesContext);
         partitionPredicate = PredicateRewriteForPartitionPrune.rewrite(partitionPredicate, cascadesContext);
@@ -125,17 +137,27 @@ public class PartitionPruner extends DefaultExpressionRewriter<Void> {
                 "partitionPruningExpandThreshold",
                 10, sessionVariable -> sessionVariable.partitionPruningExpandThreshold);
 
-        List<OnePartitionEvaluator> evaluators = Lists.newArrayListWithCapacity(idToPartitions.size());
-        for (Entry<Long, PartitionItem> kv : idToPartitions.entrySet()) {
-            evaluators.add(toPartitionEvaluator(
-                    kv.getKey(), kv.getValue(), partitionSlots, cascadesContext, expandThreshold));
-        }
-
         partitionPredicate = OrToIn.INSTANCE.rewriteTree(
                 partitionPredicate, new ExpressionRewriteContext(cascadesContext));
-        PartitionPruner partitionPruner = new PartitionPruner(evaluators, partitionPredicate);
+        PartitionPruner partitionPruner = new PartitionPruner(partitionPredicate);
+
+        Collection<Long> candidatePartitionIds = idToPartitions.keySet();
+        if (partitionItemIndex.isPresent() && partitionSlots.size() == 1) {
+            SearchResult searchResult = partitionItemIndex.get().search(
+                    partitionPruner.partitionPredicate, partitionSlots.get(0));
+            if (searchResult.exact) {
+                return searchResult.partitionIds;
+            }
+            candidatePartitionIds = searchResult.partitionIds;
+        }
+
+        List<OnePartitionEvaluator> evaluators = Lists.newArrayListWithCapacity(candidatePartitionIds.size());
+        for (Long partitionId : candidatePartitionIds) {
+            evaluators.add(toPartitionEvaluator(partitionId, idToPartitions.get(partitionId),
+                    partitionSlots, cascadesContext, expandThreshold));
+        }
         //TODO: we keep default partition because it's too hard to prune it, we return false in canPrune().
-        return partitionPruner.prune();
+        return partitionPruner.prune(evaluators);
     }
 
     /**
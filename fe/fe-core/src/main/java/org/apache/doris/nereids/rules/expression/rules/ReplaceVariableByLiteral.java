@@ -41,6 +41,7 @@ public class ReplaceVariableByLiteral implements ExpressionPatternRuleFactory {
             matchesType(Variable.class).thenApply(ctx -> {
                 StatementContext statementContext = ctx.cascadesContext.getStatementContext();
                 Variable variable = ctx.expr;
+                statementContext.disablePlanCache();
                 Optional<SqlCacheContext> sqlCacheContext = statementContext.getSqlCacheContext();
                 if (sqlCacheContext.isPresent()) {
                     sqlCacheContext.get().addUsedVariable(variable);
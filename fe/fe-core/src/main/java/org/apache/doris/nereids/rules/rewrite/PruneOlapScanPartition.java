@@ -23,6 +23,7 @@ import org.apache.doris.catalog.PartitionInfo;
 import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.nereids.rules.Rule;
 import org.apache.doris.nereids.rules.RuleType;
+import org.apache.doris.nereids.rules.expression.rules.PartitionItemIndex;
 import org.apache.doris.nereids.rules.expression.rules.PartitionPruner;
 import org.apache.doris.nereids.rules.expression.rules.PartitionPruner.PartitionTableType;
 import org.apache.doris.nereids.trees.expressions.Slot;
@@ -37,6 +38,7 @@ import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -78,8 +80,12 @@ public class PruneOlapScanPartition extends OneRewriteRuleFactory {
             }
             List<Long> manuallySpecifiedPartitions = scan.getManuallySpecifiedPartitions();
             Map<Long, PartitionItem> idToPartitions;
+            Optional<PartitionItemIndex> partitionItemIndex = Optional.empty();
             if (manuallySpecifiedPartitions.isEmpty()) {
                 idToPartitions = partitionInfo.getIdToItem(false);
+                if (ctx.connectContext.getSessionVariable().enablePartitionPruneIndex) {
+                    partitionItemIndex = PartitionItemIndex.get(partitionInfo);
+                }
             } else {
                 Map<Long, PartitionItem> allPartitions = partitionInfo.getAllPartitions();
                 idToPartitions = allPartitions.keySet().stream()
@@ -88,7 +94,10 @@ public class PruneOlapScanPartition extends OneRewriteRuleFactory {
             }
             List<Long> prunedPartitions = PartitionPruner.prune(
                     partitionSlots, filter.getPredicate(), idToPartitions, ctx.cascadesContext,
-                    PartitionTableType.OLAP);
+                    PartitionTableType.OLAP, partitionItemIndex);
+            if (prunedPartitions.size() < idToPartitions.size()) {
+                ctx.statementContext.checkParameterPruned(filter.getPredicate());
+            }
             if (prunedPartitions.isEmpty()) {
                 return new LogicalEmptyRelation(
                         ConnectContext.get().getStatementContext().getNextRelationId(),
@@ -27,6 +27,7 @@ import org.apache.doris.nereids.rules.Rule;
 import org.apache.doris.nereids.rules.RuleType;
 import org.apache.doris.nereids.trees.expressions.Expression;
 import org.apache.doris.nereids.trees.expressions.visitor.ExpressionColumnFilterConverter;
+import org.apache.doris.nereids.trees.plans.logical.LogicalFilter;
 import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
 import org.apache.doris.nereids.util.ExpressionUtils;
 import org.apache.doris.planner.HashDistributionPruner;
@@ -49,19 +50,24 @@ import java.util.Set;
 public class PruneOlapScanTablet extends OneRewriteRuleFactory {
     @Override
     public Rule build() {
-        return logicalFilter(logicalOlapScan()).then(filter -> {
+        return logicalFilter(logicalOlapScan()).thenApply(ctx -> {
+            LogicalFilter<LogicalOlapScan> filter = ctx.root;
             LogicalOlapScan olapScan = filter.child();
             OlapTable table = olapScan.getTable();
             Builder<Long> selectedTabletIdsBuilder = ImmutableList.builder();
             if (olapScan.getSelectedTabletIds().isEmpty()) {
+                boolean pruned = false;
                 for (Long id : olapScan.getSelectedPartitionIds()) {
                     Partition partition = table.getPartition(id);
                     MaterializedIndex index = partition.getIndex(olapScan.getSelectedIndexId());
-                    selectedTabletIdsBuilder
-                            .addAll(getSelectedTabletIds(filter.getConjuncts(), index,
-                                    olapScan.getSelectedIndexId() == olapScan.getTable()
-                                            .getBaseIndexId(),
-                                    partition.getDistributionInfo()));
+                    Collection<Long> tabletIds = getSelectedTabletIds(filter.getConjuncts(), index,
+                            olapScan.getSelectedIndexId() == olapScan.getTable().getBaseIndexId(),
+                            partition.getDistributionInfo());
+                    pruned |= tabletIds.size() < index.getTablets().size();
+                    selectedTabletIdsBuilder.addAll(tabletIds);
+                }
+                if (pruned) {
+                    ctx.statementContext.checkParameterPruned(filter.getPredicate());
                 }
             } else {
                 selectedTabletIdsBuilder.addAll(olapScan.getSelectedTabletIds());
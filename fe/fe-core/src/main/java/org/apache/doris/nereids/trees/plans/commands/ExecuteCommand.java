@@ -79,6 +79,8 @@ public class ExecuteCommand extends Command {
             // execute real statement
             preparedStmtCtx.shortCircuitQueryContext = Optional.empty();
             statementContext.setShortCircuitQueryContext(null);
+            // the plan may be cached in or reused from the prepared statement by the planner
+            executor.getContext().getStatementContext().setPreparedStatementContext(preparedStmtCtx);
             executor.execute();
             if (executor.getContext().getStatementContext().isShortCircuitQuery()) {
                 // cache short-circuit plan
@@ -46,6 +46,7 @@ import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
+import org.apache.doris.common.util.Daemon;
 import org.apache.doris.common.util.SmallFileMgr.SmallFile;
 import org.apache.doris.cooldown.CooldownConfHandler;
 import org.apache.doris.cooldown.CooldownConfList;
@@ -59,6 +60,7 @@ import org.apache.doris.ha.MasterInfo;
 import org.apache.doris.insertoverwrite.InsertOverwriteLog;
 import org.apache.doris.job.base.AbstractJob;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.journal.bdbje.BDBJEJournal;
@@ -99,11 +101,16 @@ import org.apache.doris.system.Frontend;
 import org.apache.doris.transaction.TransactionState;
 import org.apache.doris.transaction.TransactionStatus;
 
+import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * EditLog maintains a log of the memory modifications.
@@ -121,6 +128,25 @@ public class EditLog {
 
     private Journal journal;
 
+    // the edit logs waiting to be group committed, only used when Config.enable_batch_editlog is true
+    private final BlockingQueue<EditLogItem> logEditQueue = new LinkedBlockingQueue<>();
+    private final Daemon flushDaemon = new Daemon("edit-log-flusher", 0) {
+        @Override
+        protected void runOneCycle() {
+            flushEditLogQueue();
+        }
+    };
+
+    private static class EditLogItem {
+        private final JournalBatch.Entity entity;
+        // completed with the journal id once the log is durable
+        private final CompletableFuture<Long> logId = new CompletableFuture<>();
+
+        EditLogItem(JournalBatch.Entity entity) {
+            this.entity = entity;
+        }
+    }
+
     /**
      * The constructor.
      **/
@@ -1265,9 +1291,18 @@ public class EditLog {
     }
 
     /**
-     * Write an operation to the edit log. Do not sync to persistent store yet.
+     * Write an operation to the edit log and wait until it is durable.
      */
-    private synchronized long logEdit(short op, Writable writable) {
+    private long logEdit(short op, Writable writable) {
+        // OP_TIMESTAMP has to be retried until it succeeds, which is not supported by journal batch,
+        // see `BDBJEJournal.write` for details.
+        if (Config.enable_batch_editlog && op != OperationType.OP_TIMESTAMP) {
+            return logEditWithBatch(op, writable);
+        }
+        return logEditDirectly(op, writable);
+    }
+
+    private synchronized long logEditDirectly(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -1318,6 +1353,112 @@ public class EditLog {
         return logId;
     }
 
+    /**
+     * Put the edit log into the group commit queue, and wait until the flush daemon has written it.
+     * Serialization is done in the calling thread, so it does not slow down the flush daemon.
+     */
+    private long logEditWithBatch(short op, Writable writable) {
+        // journal is only set in constructor, check it without lock to not wait for the writing batch
+        if (journal == null) {
+            LOG.error("Fatal Error : no editLog stream", new Exception());
+            throw new Error("Fatal Error : no editLog stream");
+        }
+
+        long start = System.currentTimeMillis();
+        long logId = -1;
+        try {
+            EditLogItem item = new EditLogItem(JournalBatch.serialize(op, writable));
+            flushDaemon.start();
+            logEditQueue.add(item);
+            logId = item.logId.join();
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+        }
+
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((System.currentTimeMillis() - start));
+        }
+        return logId;
+    }
+
+    private void flushEditLogQueue() {
+        List<EditLogItem> items = Lists.newArrayList();
+        try {
+            items.add(logEditQueue.take());
+            long dataSize = items.get(0).entity.getDataSize();
+            long deadline = System.currentTimeMillis() + Config.batch_edit_log_max_wait_ms;
+            while (items.size() < Config.batch_edit_log_max_item_num
+                    && dataSize < Config.batch_edit_log_max_byte_size) {
+                EditLogItem item = logEditQueue.poll();
+                if (item == null) {
+                    long waitMs = deadline - System.currentTimeMillis();
+                    if (waitMs <= 0) {
+                        break;
+                    }
+                    item = logEditQueue.poll(waitMs, TimeUnit.MILLISECONDS);
+                    if (item == null) {
+                        break;
+                    }
+                }
+                items.add(item);
+                dataSize += item.entity.getDataSize();
+            }
+            writeBatch(items);
+        } catch (Throwable t) {
+            // wake up the callers, they will handle the error
+            for (EditLogItem item : items) {
+                item.logId.completeExceptionally(t);
+            }
+        }
+    }
+
+    private synchronized void writeBatch(List<EditLogItem> items) {
+        JournalBatch batch = new JournalBatch(items.size());
+        for (EditLogItem item : items) {
+            batch.addEntity(item.entity);
+        }
+
+        long start = System.currentTimeMillis();
+        long firstId = -1;
+        try {
+            firstId = journal.write(batch);
+        } catch (Throwable t) {
+            if (journal instanceof BDBJEJournal) {
+                LOG.error("BDBJE stats : {}", ((BDBJEJournal) journal).getBDBStats());
+            }
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+        }
+
+        // update statistics
+        long end = System.currentTimeMillis();
+        txId += items.size();
+        numTransactions += items.size();
+        totalTimeTransactions += (end - start);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_BATCH_FLUSH_LATENCY.update((end - start));
+            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase((long) items.size());
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) items.size());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, batch size = {} delta = {}",
+                    txId, numTransactions, totalTimeTransactions, items.size(), end - start);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).logId.complete(firstId + i);
+        }
+
+        if (txId >= Config.edit_log_roll_num) {
+            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.", txId,
+                    Config.edit_log_roll_num);
+            rollEditLog();
+            txId = 0;
+        }
+    }
+
     /**
      * Return the size of the current EditLog
      */
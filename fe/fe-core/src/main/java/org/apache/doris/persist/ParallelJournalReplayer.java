@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.transaction.TransactionState;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Replay the journals of different databases concurrently.
+ *
+ * Only the journals whose replay is scoped to one database are replayed concurrently, see {@link #getReplayKey}.
+ * The journals with the same key are always replayed by the same worker in the order of log id, and
+ * {@link #replay} returns after all the journals of the batch are replayed, so the caller can advance the
+ * replayed journal id just like replaying serially. The other journals have to be replayed serially by the
+ * caller between batches.
+ */
+public class ParallelJournalReplayer {
+    // the journal has to be replayed serially
+    public static final long SERIAL_KEY = -1;
+
+    public interface ReplayFunc {
+        void replay(Long logId, JournalEntity entity);
+    }
+
+    private final List<ThreadPoolExecutor> workers = Lists.newArrayList();
+
+    public ParallelJournalReplayer(int parallelism) {
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(ThreadPoolManager.newDaemonFixedThreadPool(1, 1, "journal-replayer-" + i, false));
+        }
+    }
+
+    /**
+     * @return the database id if the journal can be replayed concurrently with the journals of other databases,
+     *         otherwise SERIAL_KEY.
+     */
+    public static long getReplayKey(JournalEntity entity) {
+        switch (entity.getOpCode()) {
+            case OperationType.OP_UPSERT_TRANSACTION_STATE:
+            case OperationType.OP_DELETE_TRANSACTION_STATE:
+                return ((TransactionState) entity.getData()).getDbId();
+            default:
+                return SERIAL_KEY;
+        }
+    }
+
+    public void replay(List<Pair<Long, JournalEntity>> journals, ReplayFunc func) {
+        List<List<Pair<Long, JournalEntity>>> lanes = Lists.newArrayListWithCapacity(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            lanes.add(Lists.newArrayList());
+        }
+        for (Pair<Long, JournalEntity> journal : journals) {
+            long key = getReplayKey(journal.second);
+            lanes.get(Math.floorMod(Long.hashCode(key), workers.size())).add(journal);
+        }
+
+        MetaContext metaContext = MetaContext.get();
+        List<Future<?>> futures = Lists.newArrayList();
+        for (int i = 0; i < lanes.size(); i++) {
+            List<Pair<Long, JournalEntity>> lane = lanes.get(i);
+            if (lane.isEmpty()) {
+                continue;
+            }
+            futures.add(workers.get(i).submit(() -> {
+                if (metaContext != null) {
+                    metaContext.setThreadLocalInfo();
+                }
+                for (Pair<Long, JournalEntity> journal : lane) {
+                    func.replay(journal.first, journal.second);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted when replaying journals", e);
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new RuntimeException("failed to replay journals", e.getCause());
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Arrays;
  * |- Header -----------------------------|
  * | |- Json Header ---------------|      |
  * | | - version                   |      |
+ * | | - compression(optional)     |      |
  * | | - other key/value(undecided)|      |
  * | |-----------------------------|      |
  * |--------------------------------------|
@@ -77,6 +78,10 @@ public class MetaHeader {
     }
 
     public static long write(File imageFile) throws IOException {
+        return write(imageFile, null);
+    }
+
+    public static long write(File imageFile, String compression) throws IOException {
         if (imageFile.length() != 0) {
             throw new IOException("Meta header has to be written to an empty file.");
         }
@@ -84,7 +89,7 @@ public class MetaHeader {
         try (RandomAccessFile raf = new RandomAccessFile(imageFile, "rw")) {
             raf.seek(0);
             MetaMagicNumber.write(raf);
-            MetaJsonHeader.write(raf);
+            MetaJsonHeader.write(raf, compression);
             raf.getChannel().force(true);
             return raf.getFilePointer();
         }
@@ -119,5 +124,9 @@ public class MetaHeader {
         return metaJsonHeader;
     }
 
+    public String getCompression() {
+        return metaJsonHeader == null ? null : metaJsonHeader.compression;
+    }
+
 
 }
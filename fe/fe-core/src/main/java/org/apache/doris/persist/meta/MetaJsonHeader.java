@@ -20,16 +20,20 @@ package org.apache.doris.persist.meta;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.io.Text;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MetaJsonHeader {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     public static final String IMAGE_VERSION = FeConstants.meta_format.getVersion();
     // the version of image format
     public String imageVersion;
+    // the codec of each meta module section, null means the sections are not compressed
+    public String compression;
 
     public static MetaJsonHeader read(RandomAccessFile raf) throws IOException {
         String jsonHeader = Text.readString(raf);
@@ -37,8 +41,13 @@ public class MetaJsonHeader {
     }
 
     public static void write(RandomAccessFile raf) throws IOException {
+        write(raf, null);
+    }
+
+    public static void write(RandomAccessFile raf, String compression) throws IOException {
         MetaJsonHeader metaJsonHeader = new MetaJsonHeader();
         metaJsonHeader.imageVersion = IMAGE_VERSION;
+        metaJsonHeader.compression = compression;
         String jsonHeader =  MetaJsonHeader.toJson(metaJsonHeader);
         Text.writeString(raf, jsonHeader);
     }
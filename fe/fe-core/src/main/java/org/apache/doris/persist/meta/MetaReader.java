@@ -20,8 +20,13 @@ package org.apache.doris.persist.meta;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,7 +36,20 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Image Format:
@@ -67,72 +85,250 @@ import java.lang.reflect.InvocationTargetException;
 
 public class MetaReader {
     private static final Logger LOG = LogManager.getLogger(MetaReader.class);
+    private static final int CHUNK_SIZE = 1 << 20;
+    // at most 16MB decompressed data is buffered by the read ahead thread
+    private static final int READ_AHEAD_CHUNK_NUM = 16;
+
+    // read a meta module and return the updated checksum
+    interface SectionReader {
+        long read(DataInputStream dis, long checksum) throws IOException, DdlException, ReflectiveOperationException;
+    }
 
     public static void read(File imageFile, Env env) throws IOException, DdlException {
         LOG.info("start load image from {}. is ckpt: {}", imageFile.getAbsolutePath(), Env.isCheckpointThread());
-        long loadImageStartTime = System.currentTimeMillis();
         MetaHeader metaHeader = MetaHeader.read(imageFile);
-        MetaFooter metaFooter = MetaFooter.read(imageFile);
+        Map<String, SectionReader> readers = Maps.newHashMap();
+        readers.put("header", (dis, checksum) -> env.loadHeader(dis, metaHeader, checksum));
+        for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+            readers.put(m.name, (dis, checksum) -> (long) m.readMethod.invoke(env, dis, checksum));
+        }
+        read(imageFile, metaHeader, readers);
+    }
 
-        long checksum = 0;
+    static long read(File imageFile, MetaHeader metaHeader, Map<String, SectionReader> readers)
+            throws IOException, DdlException {
+        long loadImageStartTime = System.currentTimeMillis();
+        MetaFooter metaFooter = MetaFooter.read(imageFile);
         long footerIndex = imageFile.length()
                 - metaFooter.length - MetaFooter.FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length();
+        List<Section> sections = getSections(metaFooter, footerIndex, readers);
+
+        String compression = metaHeader.getCompression();
+        long checksum = 0;
+        if (compression == null) {
+            checksum = readSerially(imageFile, metaHeader, sections, readers);
+        } else if (MetaWriter.COMPRESSION_DEFLATE.equalsIgnoreCase(compression)) {
+            checksum = readCompressed(imageFile, sections, readers);
+        } else {
+            throw new IOException("Unknown image compression: " + compression);
+        }
+
+        long remoteChecksum = metaFooter.checksum;
+        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+
+        long loadImageEndTime = System.currentTimeMillis();
+        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+        return checksum;
+    }
+
+    // Modules must be read in the order in which the metadata was written
+    private static List<Section> getSections(MetaFooter metaFooter, long footerIndex,
+            Map<String, SectionReader> readers) throws IOException {
+        List<Section> sections = Lists.newArrayList();
+        for (int i = 0; i < metaFooter.metaIndices.size(); ++i) {
+            MetaIndex metaIndex = metaFooter.metaIndices.get(i);
+            long end = i < metaFooter.metaIndices.size() - 1 ? metaFooter.metaIndices.get(i + 1).offset : footerIndex;
+            boolean skip = false;
+            if (metaIndex.offset == end) {
+                // skip empty meta
+                LOG.info("Skip {} module since empty meta length.", metaIndex.name);
+                skip = true;
+            } else if (PersistMetaModules.DEPRECATED_MODULE_NAMES.contains(metaIndex.name)) {
+                // skip deprecated modules
+                LOG.warn("meta modules {} is deprecated, ignore and skip it", metaIndex.name);
+                skip = true;
+            } else if (!readers.containsKey(metaIndex.name)) {
+                if (!Config.ignore_unknown_metadata_module) {
+                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
+                            + PersistMetaModules.MODULE_NAMES);
+                }
+                LOG.warn("meta modules {} is unknown, ignore and skip it", metaIndex.name);
+                skip = true;
+            }
+            sections.add(new Section(metaIndex.name, metaIndex.offset, end - metaIndex.offset, skip));
+        }
+        return sections;
+    }
+
+    private static long readSerially(File imageFile, MetaHeader metaHeader, List<Section> sections,
+            Map<String, SectionReader> readers) throws IOException, DdlException {
+        long checksum = 0;
         try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
             // 1. Skip image file header
             IOUtils.skipFully(dis, metaHeader.getEnd());
-            // 2. Read meta header first
-            checksum = env.loadHeader(dis, metaHeader, checksum);
-            // 3. Read other meta modules
-            // Modules must be read in the order in which the metadata was written
-            for (int i = 0; i < metaFooter.metaIndices.size(); ++i) {
-                MetaIndex metaIndex = metaFooter.metaIndices.get(i);
-                if (metaIndex.name.equals("header")) {
-                    // skip meta header, which has been read before.
-                    continue;
+            // 2. Read meta modules, the meta header is the first one
+            for (Section section : sections) {
+                if (section.skip) {
+                    IOUtils.skipFully(dis, section.length);
+                } else {
+                    checksum = readSection(section.name, readers.get(section.name), dis, checksum);
                 }
-                if (i < metaFooter.metaIndices.size() - 1
-                        && metaIndex.offset == metaFooter.metaIndices.get(i + 1).offset) {
-                    // skip empty meta
-                    LOG.info("Skip {} module since empty meta length.", metaIndex.name);
-                    continue;
-                } else if (metaIndex.offset == footerIndex) {
-                    // skip last empty meta
-                    LOG.info("Skip {} module since empty meta length in the end.", metaIndex.name);
-                    continue;
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * The sections are decompressed by a read ahead thread into a bounded queue, so reading and decompressing
+     * the next sections overlap with deserializing the current one. Deserialization itself is still serial,
+     * because the modules depend on each other when loading, eg. most modules need the databases loaded first.
+     */
+    private static long readCompressed(File imageFile, List<Section> sections, Map<String, SectionReader> readers)
+            throws IOException, DdlException {
+        BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(READ_AHEAD_CHUNK_NUM);
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(1, 1, "image-reader", false);
+        try {
+            Future<?> future = executor.submit(() -> {
+                try (FileInputStream in = new FileInputStream(imageFile)) {
+                    decompressSections(in.getChannel(), sections, chunks);
                 }
-                // skip deprecated modules
-                if (PersistMetaModules.DEPRECATED_MODULE_NAMES.contains(metaIndex.name)) {
-                    LOG.warn("meta modules {} is deprecated, ignore and skip it", metaIndex.name);
-                    // If this is the last module, nothing need to do.
-                    if (i < metaFooter.metaIndices.size() - 1) {
-                        IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
+                return null;
+            });
+            long checksum = 0;
+            try (DataInputStream dis = new DataInputStream(new ReadAheadInputStream(chunks, future))) {
+                for (Section section : sections) {
+                    if (!section.skip) {
+                        checksum = readSection(section.name, readers.get(section.name), dis, checksum);
                     }
-                    continue;
                 }
-                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
-                if (persistMethod == null) {
-                    if (Config.ignore_unknown_metadata_module) {
-                        LOG.warn("meta modules {} is unknown, ignore and skip it", metaIndex.name);
-                        // If this is the last module, nothing need to do.
-                        if (i < metaFooter.metaIndices.size() - 1) {
-                            IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
-                        }
-                        continue;
-                    } else {
-                        throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
-                                + PersistMetaModules.MODULE_NAMES);
+            } catch (IOException e) {
+                // the error of the read ahead thread is more meaningful, eg. the image is corrupted
+                if (future.isDone()) {
+                    waitReadAhead(future);
+                }
+                throw e;
+            }
+            waitReadAhead(future);
+            return checksum;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void decompressSections(FileChannel channel, List<Section> sections, BlockingQueue<byte[]> chunks)
+            throws IOException, InterruptedException {
+        for (Section section : sections) {
+            if (section.skip) {
+                continue;
+            }
+            InputStream in = ByteStreams.limit(Channels.newInputStream(channel.position(section.offset)),
+                    section.length);
+            Inflater inflater = new Inflater();
+            try {
+                // do not close the stream, it will close the file channel
+                InflaterInputStream iis = new InflaterInputStream(new BufferedInputStream(in, CHUNK_SIZE),
+                        inflater, CHUNK_SIZE);
+                while (true) {
+                    byte[] chunk = new byte[CHUNK_SIZE];
+                    int n = ByteStreams.read(iis, chunk, 0, chunk.length);
+                    if (n > 0) {
+                        chunks.put(n == chunk.length ? chunk : Arrays.copyOf(chunk, n));
+                    }
+                    if (n < chunk.length) {
+                        break;
                     }
                 }
-                checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+            } finally {
+                inflater.end();
             }
-        } catch (InvocationTargetException | IllegalAccessException e) {
+        }
+    }
+
+    private static void waitReadAhead(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted when reading image", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // Read the chunks produced by the read ahead thread, reach the end when the thread is done.
+    private static class ReadAheadInputStream extends InputStream {
+        private final BlockingQueue<byte[]> chunks;
+        private final Future<?> producer;
+        private byte[] current = new byte[0];
+        private int pos = 0;
+        private boolean eof = false;
+
+        ReadAheadInputStream(BlockingQueue<byte[]> chunks, Future<?> producer) {
+            this.chunks = chunks;
+            this.producer = producer;
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            while (pos >= current.length && !eof) {
+                byte[] next;
+                try {
+                    next = chunks.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted when reading image", e);
+                }
+                if (next != null) {
+                    current = next;
+                    pos = 0;
+                } else if (producer.isDone() && chunks.isEmpty()) {
+                    eof = true;
+                }
+            }
+            return pos < current.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return ensureAvailable() ? current[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - pos);
+            System.arraycopy(current, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    private static long readSection(String name, SectionReader reader, DataInputStream dis, long checksum)
+            throws IOException, DdlException {
+        try {
+            return reader.read(dis, checksum);
+        } catch (ReflectiveOperationException e) {
             throw new IOException(e);
         }
+    }
 
-        long remoteChecksum = metaFooter.checksum;
-        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+    private static class Section {
+        private final String name;
+        private final long offset;
+        private final long length;
+        private final boolean skip;
 
-        long loadImageEndTime = System.currentTimeMillis();
-        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+        Section(String name, long offset, long length, boolean skip) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+            this.skip = skip;
+        }
     }
 }
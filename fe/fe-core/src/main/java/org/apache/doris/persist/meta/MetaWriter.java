@@ -18,10 +18,17 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.io.CountingDataOutputStream;
+import org.apache.doris.meta.MetaContext;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -29,8 +36,18 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * Image Format:
@@ -45,7 +62,7 @@ import java.util.List;
  * | |--------------------------------------|     |
  * |                                              |
  * | |- Image Body -------------------------|     |
- * | | Object a                             |     |
+ * | | Object a (deflate if compressed)     |     |
  * | | Object b                             |     |
  * | | ...                                  |     |
  * | |--------------------------------------|     |
@@ -67,6 +84,17 @@ import java.util.List;
 public class MetaWriter {
     private static final Logger LOG = LogManager.getLogger(MetaWriter.class);
 
+    // the codec of compressed image sections, see Config.enable_image_compression
+    public static final String COMPRESSION_DEFLATE = "deflate";
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // The modules which change the meta objects while they are serialized: DeleteHandler drops the expired delete
+    // infos, backup jobs trim their task error messages, and the PersistentFileSystem of repositories puts the
+    // storage type into its properties in gsonPreProcess. They are serialized one by one in the calling thread
+    // before the other modules are serialized concurrently. The other modules only read the meta objects, and the
+    // checkpoint env is not accessed by other threads, so they don't need any lock.
+    static final ImmutableSet<String> SERIAL_SECTIONS = ImmutableSet.of("backupHandler", "deleteHandler");
+
     public static MetaWriter writer = new MetaWriter();
 
     private interface Delegate {
@@ -77,6 +105,11 @@ public class MetaWriter {
         long write() throws IOException;
     }
 
+    // write a meta module and return the updated checksum
+    interface SectionWriter {
+        long write(CountingDataOutputStream dos, long checksum) throws IOException, ReflectiveOperationException;
+    }
+
     private Delegate delegate;
 
     public void setDelegate(CountingDataOutputStream dos, List<MetaIndex> indices) {
@@ -95,40 +128,203 @@ public class MetaWriter {
 
     public static void write(File imageFile, Env env) throws IOException {
         // save image does not need any lock. because only checkpoint thread will call this method.
-        LOG.info("start to save image to {}. is ckpt: {}",
-                imageFile.getAbsolutePath(), Env.isCheckpointThread());
-        final Reference<Long> checksum = new Reference<>(0L);
+        // for the same reason, modules are only allowed to be serialized concurrently in checkpoint thread.
+        boolean isCkpt = Env.isCheckpointThread();
+        int parallelism = isCkpt ? Math.max(1, Config.image_write_parallelism) : 1;
+        boolean compress = Config.enable_image_compression;
+        LOG.info("start to save image to {}. is ckpt: {}, parallelism: {}, compress: {}",
+                imageFile.getAbsolutePath(), isCkpt, parallelism, compress);
+        long replayedJournalId = env.getReplayedJournalId();
+        // 1. write header first
+        Map<String, SectionWriter> sections = Maps.newLinkedHashMap();
+        sections.put("header", (dos, checksum) -> env.saveHeader(dos, replayedJournalId, checksum));
+        // 2. write other modules
+        for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+            sections.put(m.name, (dos, checksum) -> (long) m.writeMethod.invoke(env, dos, checksum));
+        }
+        write(imageFile, sections, SERIAL_SECTIONS, parallelism, compress);
+    }
+
+    static long write(File imageFile, Map<String, SectionWriter> sections, Set<String> serialSections,
+            int parallelism, boolean compress) throws IOException {
         long saveImageStartTime = System.currentTimeMillis();
         // MetaHeader should use output stream in the future.
-        long startPosition = MetaHeader.write(imageFile);
+        long startPosition = MetaHeader.write(imageFile, compress ? COMPRESSION_DEFLATE : null);
         List<MetaIndex> metaIndices = Lists.newArrayList();
+        long checksum;
+        if (parallelism <= 1 && !compress) {
+            checksum = writeSerially(imageFile, startPosition, sections, metaIndices);
+        } else {
+            checksum = writeInParts(imageFile, startPosition, sections, serialSections, parallelism, compress,
+                    metaIndices);
+        }
+        MetaFooter.write(imageFile, metaIndices, checksum);
+
+        long saveImageEndTime = System.currentTimeMillis();
+        LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
+                (saveImageEndTime - saveImageStartTime), checksum);
+        return checksum;
+    }
+
+    private static long writeSerially(File imageFile, long startPosition, Map<String, SectionWriter> sections,
+            List<MetaIndex> metaIndices) throws IOException {
+        final Reference<Long> checksum = new Reference<>(0L);
         FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
         try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
                 startPosition)) {
             writer.setDelegate(dos, metaIndices);
-            long replayedJournalId = env.getReplayedJournalId();
-            // 1. write header first
-            checksum.setRef(
-                    writer.doWork("header", () -> env.saveHeader(dos, replayedJournalId, checksum.getRef())));
-            // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
+            for (Map.Entry<String, SectionWriter> entry : sections.entrySet()) {
+                checksum.setRef(writer.doWork(entry.getKey(),
+                        () -> writeSection(entry.getKey(), entry.getValue(), dos, checksum.getRef())));
+            }
+            // force sync to disk
+            dos.flush();
+            imageFileOut.getChannel().force(true);
+        }
+        return checksum.getRef();
+    }
+
+    /**
+     * Every section is serialized into its own part file by the writer threads, then the parts are appended
+     * to the image in module order as soon as they are done, so the layout of the image body and the meta
+     * indices are the same as writing serially, except that each section may be compressed.
+     * Each part computes its checksum from 0, this is fine because all modules just xor values into checksum.
+     * The serial sections are written in the calling thread before the others, see {@link #SERIAL_SECTIONS}.
+     */
+    private static long writeInParts(File imageFile, long startPosition, Map<String, SectionWriter> sections,
+            Set<String> serialSections, int parallelism, boolean compress, List<MetaIndex> metaIndices)
+            throws IOException {
+        // there should be no '.' in the name, otherwise it will be treated as an image file by MetaCleaner.
+        File partDir = new File(imageFile.getParentFile(), imageFile.getName().replace('.', '_') + "_parts");
+        FileUtils.deleteQuietly(partDir);
+        if (!partDir.mkdirs()) {
+            throw new IOException("failed to create dir " + partDir.getAbsolutePath());
+        }
+        boolean isCkpt = Env.isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        List<String> names = Lists.newArrayList(sections.keySet());
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, names.size(),
+                "image-writer", false);
+        try {
+            List<Future<Part>> futures = Lists.newArrayListWithCapacity(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                File partFile = new File(partDir, String.valueOf(i));
+                futures.add(serialSections.contains(name)
+                        ? CompletableFuture.completedFuture(writePart(name, sections.get(name), partFile, compress))
+                        : null);
+            }
+            for (int i = 0; i < names.size(); i++) {
+                if (futures.get(i) != null) {
+                    continue;
+                }
+                String name = names.get(i);
+                File partFile = new File(partDir, String.valueOf(i));
+                futures.set(i, executor.submit(() -> {
+                    if (isCkpt) {
+                        Env.registerCheckpointWorkerThread();
+                    }
+                    if (metaContext != null) {
+                        metaContext.setThreadLocalInfo();
+                    }
                     try {
-                        return (long) m.writeMethod.invoke(env, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
+                        return writePart(name, sections.get(name), partFile, compress);
+                    } finally {
+                        MetaContext.remove();
+                        if (isCkpt) {
+                            Env.unregisterCheckpointWorkerThread();
+                        }
                     }
                 }));
             }
-            // 3. force sync to disk
-            imageFileOut.getChannel().force(true);
+
+            long checksum = 0;
+            long position = startPosition;
+            try (FileOutputStream imageFileOut = new FileOutputStream(imageFile, true)) {
+                FileChannel imageChannel = imageFileOut.getChannel();
+                for (int i = 0; i < names.size(); i++) {
+                    Part part = waitPart(names.get(i), futures.get(i));
+                    metaIndices.add(new MetaIndex(names.get(i), position));
+                    checksum ^= part.checksum;
+                    // leave empty section as empty even if it is compressed, so it will be skipped when reading
+                    if (part.rawSize > 0) {
+                        position += transferTo(part.file, imageChannel);
+                    }
+                    FileUtils.deleteQuietly(part.file);
+                }
+                // force sync to disk
+                imageChannel.force(true);
+            }
+            return checksum;
+        } finally {
+            executor.shutdownNow();
+            FileUtils.deleteQuietly(partDir);
         }
-        MetaFooter.write(imageFile, metaIndices, checksum.getRef());
+    }
 
-        long saveImageEndTime = System.currentTimeMillis();
-        LOG.info("finished save image {} in {} ms. checksum is {}", imageFile.getAbsolutePath(),
-                (saveImageEndTime - saveImageStartTime), checksum.getRef());
+    private static Part writePart(String name, SectionWriter sectionWriter, File partFile, boolean compress)
+            throws IOException {
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(partFile), BUFFER_SIZE);
+            if (deflater != null) {
+                out = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            }
+            try (CountingDataOutputStream dos = new CountingDataOutputStream(out)) {
+                long checksum = writeSection(name, sectionWriter, dos, 0L);
+                return new Part(partFile, checksum, dos.getCount());
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static Part waitPart(String name, Future<Part> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted when writing meta module: " + name, e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IOException("failed to write meta module: " + name, e.getCause());
+        }
+    }
+
+    private static long transferTo(File partFile, FileChannel target) throws IOException {
+        try (FileChannel source = FileChannel.open(partFile.toPath(), StandardOpenOption.READ)) {
+            long size = source.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += source.transferTo(transferred, size - transferred, target);
+            }
+            return size;
+        }
     }
 
+    private static long writeSection(String name, SectionWriter sectionWriter, CountingDataOutputStream dos,
+            long checksum) throws IOException {
+        try {
+            return sectionWriter.write(dos, checksum);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("failed to write meta module: {}", name, e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class Part {
+        private final File file;
+        private final long checksum;
+        // the size before compression
+        private final long rawSize;
+
+        Part(File file, long checksum, long rawSize) {
+            this.file = file;
+            this.checksum = checksum;
+            this.rawSize = rawSize;
+        }
+    }
 }
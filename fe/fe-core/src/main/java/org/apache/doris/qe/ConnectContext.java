@@ -832,14 +832,19 @@ public class ConnectContext {
         return plSqlOperation;
     }
 
+    // close the connection with the client, it may be called by another thread, e.g. kill connection
     protected void closeChannel() {
         if (mysqlChannel != null) {
-            mysqlChannel.close();
+            mysqlChannel.closeConnection();
         }
     }
 
+    // called by the thread handling this connection, so the buffers of the channel are not in use
     public void cleanup() {
         closeChannel();
+        if (mysqlChannel != null) {
+            mysqlChannel.close();
+        }
         threadLocalInfo.remove();
         returnRows = 0;
     }
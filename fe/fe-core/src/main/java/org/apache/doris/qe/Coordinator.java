@@ -98,6 +98,7 @@ import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPaloScanRange;
 import org.apache.doris.thrift.TPipelineFragmentParams;
 import org.apache.doris.thrift.TPipelineFragmentParamsList;
+import org.apache.doris.thrift.TPipelineFragmentSharedParams;
 import org.apache.doris.thrift.TPipelineInstanceParams;
 import org.apache.doris.thrift.TPipelineWorkloadGroup;
 import org.apache.doris.thrift.TPlanFragment;
@@ -132,6 +133,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ByteString;
+import doris.segment_v2.SegmentV2;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
@@ -141,7 +143,9 @@ import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.jetbrains.annotations.NotNull;
+import org.xerial.snappy.Snappy;
 
+import java.io.IOException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -639,6 +643,9 @@ public class Coordinator implements CoordInterface {
                         throw new UserException("could not find query queue");
                     }
                     queueToken = queryQueue.getToken();
+                    if (Config.enable_global_query_queue && !queueToken.isReadyToRun()) {
+                        context.getEnv().getQueryQueueSlotSyncer().requestSync();
+                    }
                     queueToken.get(DebugUtil.printId(queryId),
                             this.queryOptions.getExecutionTimeout() * 1000);
                 }
@@ -755,6 +762,8 @@ public class Coordinator implements CoordInterface {
             beToPipelineExecCtxs.clear();
             // fragment:backend
             List<Pair<PlanFragmentId, Long>> backendFragments = Lists.newArrayList();
+            // fragment id -> plan fragment, which is the same on all backends
+            Map<Integer, TPlanFragment> sharedFragments = Maps.newHashMap();
             // If #fragments >=2, use twoPhaseExecution with exec_plan_fragments_prepare and exec_plan_fragments_start,
             // else use exec_plan_fragments directly.
             // we choose #fragments > 1 because in some cases
@@ -770,6 +779,8 @@ public class Coordinator implements CoordInterface {
                 int instanceNum = params.instanceExecParams.size();
                 Preconditions.checkState(instanceNum > 0);
                 Map<TNetworkAddress, TPipelineFragmentParams> tParams = params.toTPipelineParams(backendIdx);
+                sharedFragments.put(fragment.getFragmentId().asInt(),
+                        tParams.values().iterator().next().getFragment());
 
                 boolean needCheckBackendState = false;
                 if (queryOptions.getQueryType() == TQueryType.LOAD && profileFragmentId == 0) {
@@ -858,6 +869,12 @@ public class Coordinator implements CoordInterface {
             for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
                 ctxs.unsetFields();
             }
+            // The shared params are serialized only once for the backends with the same fragments,
+            // and the bytes are shared by the rpcs to them.
+            if (Config.enable_fragment_shared_params) {
+                long sharedParamsSize = serializeSharedParams(sharedFragments);
+                updateProfileIfPresent(profile -> profile.updateFragmentSharedParamsSize(sharedParamsSize));
+            }
             // serializeFragments() can be called in parallel.
             final AtomicLong compressedSize = new AtomicLong(0);
             beToPipelineExecCtxs.values().parallelStream().forEach(ctxs -> {
@@ -901,6 +918,68 @@ public class Coordinator implements CoordInterface {
         }
     }
 
+    /**
+     * Serialize the parts of the fragments which are the same on all backends, and unset them from the params of
+     * each backend. BE sets them back to the params, see set_fragment_shared_params.
+     * Each backend only gets the plan fragments it executes, so the shared params are serialized once for each
+     * distinct set of fragments, which is one or a few for all backends of a query.
+     * Return the total size of the serialized shared params.
+     */
+    private long serializeSharedParams(Map<Integer, TPlanFragment> sharedFragments) throws TException {
+        TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+        Map<Set<Integer>, InternalService.PExecPlanFragmentRequest> fragmentIdsToRequest = Maps.newHashMap();
+        long sharedParamsSize = 0;
+        for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
+            Set<Integer> fragmentIds = Sets.newHashSet();
+            for (PipelineExecContext ctx : ctxs.ctxs) {
+                fragmentIds.add(ctx.fragmentId.asInt());
+                ctx.unsetSharedFields();
+            }
+            InternalService.PExecPlanFragmentRequest request = fragmentIdsToRequest.get(fragmentIds);
+            if (request == null) {
+                TPipelineFragmentSharedParams sharedParams = new TPipelineFragmentSharedParams();
+                sharedParams.setDescTbl(descTable);
+                sharedParams.setQueryGlobals(queryGlobals);
+                sharedParams.setFileScanParams(fileScanRangeParamsMap);
+                Map<Integer, TPlanFragment> fragments = Maps.newHashMap();
+                for (Integer fragmentId : fragmentIds) {
+                    fragments.put(fragmentId, sharedFragments.get(fragmentId));
+                }
+                sharedParams.setFragments(fragments);
+                request = serializeSharedParams(serializer, sharedParams,
+                        Config.fragment_shared_params_compress_threshold);
+                fragmentIdsToRequest.put(fragmentIds, request);
+                sharedParamsSize += request.getSharedParams().size();
+            }
+            ctxs.setSharedParams(request);
+        }
+        return sharedParamsSize;
+    }
+
+    /**
+     * Serialize the shared params to the request. They are compressed by snappy if the serialized size exceeds
+     * compressThreshold, and compressThreshold is not negative.
+     */
+    static InternalService.PExecPlanFragmentRequest serializeSharedParams(TSerializer serializer,
+            TPipelineFragmentSharedParams sharedParams, long compressThreshold) throws TException {
+        byte[] serialized = serializer.serialize(sharedParams);
+        InternalService.PExecPlanFragmentRequest.Builder builder =
+                InternalService.PExecPlanFragmentRequest.newBuilder();
+        if (compressThreshold >= 0 && serialized.length > compressThreshold) {
+            try {
+                builder.setSharedParams(ByteString.copyFrom(Snappy.compress(serialized)));
+                builder.setSharedParamsCompressed(true);
+                builder.setSharedParamsUncompressedSize(serialized.length);
+                builder.setSharedParamsCompressionType(SegmentV2.CompressionTypePB.SNAPPY);
+                return builder.build();
+            } catch (IOException e) {
+                LOG.warn("failed to compress the shared params of fragments, send them uncompressed", e);
+            }
+        }
+        builder.setSharedParams(ByteString.copyFrom(serialized));
+        return builder.build();
+    }
+
     private void waitPipelineRpc(List<Triple<PipelineExecContexts, BackendServiceProxy,
             Future<PExecPlanFragmentResult>>> futures, long leftTimeMs,
             String operation) throws RpcException, UserException {
@@ -2769,6 +2848,14 @@ public class Coordinator implements CoordInterface {
             executionProfile.addFragmentBackend(fragmentId, backendId);
         }
 
+        // the fields are sent in the shared params of the request, see serializeSharedParams
+        public void unsetSharedFields() {
+            this.rpcParams.unsetDescTbl();
+            this.rpcParams.unsetFileScanParams();
+            this.rpcParams.unsetQueryGlobals();
+            this.rpcParams.unsetFragment();
+        }
+
         /**
          * Some information common to all Fragments does not need to be sent repeatedly.
          * Therefore, when we confirm that a certain BE has accepted the information,
@@ -2825,6 +2912,8 @@ public class Coordinator implements CoordInterface {
         boolean twoPhaseExecution = false;
         int instanceNumber;
         ByteString serializedFragments = null;
+        // the request with the shared params of all backends, null if they are not shared
+        InternalService.PExecPlanFragmentRequest sharedParamsRequest = null;
         boolean hasCancelled = false;
         boolean cancelInProcess = false;
 
@@ -2844,6 +2933,10 @@ public class Coordinator implements CoordInterface {
             return instanceNumber;
         }
 
+        public void setSharedParams(InternalService.PExecPlanFragmentRequest sharedParamsRequest) {
+            this.sharedParamsRequest = sharedParamsRequest;
+        }
+
         /**
          * The BackendExecState in states are all send to the same BE.
          * So only the first BackendExecState need to carry some common fields, such as DescriptorTbl,
@@ -2864,7 +2957,8 @@ public class Coordinator implements CoordInterface {
                 throws TException {
             Preconditions.checkNotNull(serializedFragments);
             try {
-                return proxy.execPlanFragmentsAsync(brpcAddr, serializedFragments, twoPhaseExecution);
+                return proxy.execPlanFragmentsAsync(brpcAddr, serializedFragments, sharedParamsRequest,
+                        twoPhaseExecution);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -2927,6 +3021,9 @@ public class Coordinator implements CoordInterface {
             }
             serializedFragments = ByteString.copyFrom(
                     new TSerializer(new TCompactProtocol.Factory()).serialize(paramsList));
+            if (sharedParamsRequest != null) {
+                return serializedFragments.size() + sharedParamsRequest.getSharedParams().size();
+            }
             return serializedFragments.size();
         }
 
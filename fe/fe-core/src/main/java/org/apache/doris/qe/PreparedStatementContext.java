@@ -17,6 +17,7 @@
 
 package org.apache.doris.qe;
 
+import org.apache.doris.nereids.CachedPhysicalPlan;
 import org.apache.doris.nereids.StatementContext;
 import org.apache.doris.nereids.trees.plans.commands.PrepareCommand;
 
@@ -28,6 +29,7 @@ public class PreparedStatementContext {
     StatementContext statementContext;
     public String stmtString;
     public Optional<ShortCircuitQueryContext> shortCircuitQueryContext = Optional.empty();
+    public Optional<CachedPhysicalPlan> cachedPhysicalPlan = Optional.empty();
 
     // Timestamp in millisecond last command starts at
     protected volatile long startTime;
@@ -317,6 +317,8 @@ public class SessionVariable implements Serializable, Writable {
     public static final String ENABLE_NEREIDS_TIMEOUT = "enable_nereids_timeout";
     public static final String NEREIDS_TIMEOUT_SECOND = "nereids_timeout_second";
 
+    public static final String ENABLE_NEREIDS_PLAN_CACHE = "enable_nereids_plan_cache";
+
     public static final String FORBID_UNKNOWN_COLUMN_STATS = "forbid_unknown_col_stats";
     public static final String BROADCAST_RIGHT_TABLE_SCALE_FACTOR = "broadcast_right_table_scale_factor";
     public static final String BROADCAST_ROW_COUNT_LIMIT = "broadcast_row_count_limit";
@@ -384,6 +386,8 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String PARTITION_PRUNING_EXPAND_THRESHOLD = "partition_pruning_expand_threshold";
 
+    public static final String ENABLE_PARTITION_PRUNE_INDEX = "enable_partition_prune_index";
+
     public static final String ENABLE_SHARE_HASH_TABLE_FOR_BROADCAST_JOIN
             = "enable_share_hash_table_for_broadcast_join";
 
@@ -446,6 +450,12 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String NUM_PARTITIONS_IN_BATCH_MODE = "num_partitions_in_batch_mode";
 
+    public static final String NUM_FILES_IN_BATCH_MODE = "num_files_in_batch_mode";
+
+    public static final String MAX_PENDING_SPLITS_IN_BATCH_MODE = "max_pending_splits_in_batch_mode";
+
+    public static final String ENABLE_LOAD_AWARE_SPLIT_ASSIGNMENT = "enable_load_aware_split_assignment";
+
     /**
      * use insert stmt as the unified backend for all loads
      */
@@ -490,6 +500,8 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String JDBC_CLICKHOUSE_QUERY_FINAL = "jdbc_clickhouse_query_final";
 
+    public static final String JDBC_SCAN_RANGE_NUM = "jdbc_scan_range_num";
+
     public static final String ENABLE_MEMTABLE_ON_SINK_NODE =
             "enable_memtable_on_sink_node";
 
@@ -628,6 +640,8 @@ public class SessionVariable implements Serializable, Writable {
     // check stmt is or not [select /*+ SET_VAR(...)*/ ...]
     // if it is setStmt, we needn't collect session origin value
     public boolean isSingleSetVar = false;
+    // increased when any variable is set by VariableMgr, used to invalidate the plans cached in the session
+    private int changeVersion = 0;
 
     @VariableMgr.VarAttr(name = EXPAND_RUNTIME_FILTER_BY_INNER_JION)
     public boolean expandRuntimeFilterByInnerJoin = true;
@@ -637,6 +651,15 @@ public class SessionVariable implements Serializable, Writable {
                     "Whether to add the FINAL keyword to the query SQL when querying ClickHouse JDBC external tables."})
     public boolean jdbcClickhouseQueryFinal = false;
 
+    @VariableMgr.VarAttr(name = JDBC_SCAN_RANGE_NUM, needForward = true,
+            description = {"查询 JDBC 外部表时，按主键的第一列（整数或日期类型）将扫描切分为多少个范围，由多个实例并行读取。"
+                    + "小于等于 1 表示不切分。",
+                    "The number of ranges to split the scan of a JDBC external table into by the first column "
+                            + "of its primary key, which must be an integer or date column, "
+                            + "the ranges are read by multiple instances in parallel. "
+                            + "Not split if it is less than or equal to 1."})
+    public int jdbcScanRangeNum = 0;
+
     @VariableMgr.VarAttr(name = ROUND_PRECISE_DECIMALV2_VALUE)
     public boolean roundPreciseDecimalV2Value = false;
 
@@ -1374,6 +1397,14 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = "nereids_timeout_second", needForward = true)
     public int nereidsTimeoutSecond = 30;
 
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PLAN_CACHE, needForward = true, description = {
+            "是否缓存预编译语句的物理计划。开启后，参数不影响计划的预编译语句再次执行时会跳过分析、改写和优化，"
+                    + "直接将新的参数绑定到缓存的计划上。",
+            "Whether to cache the physical plan of the prepared statement. When it is enabled, the prepared statement "
+                    + "whose plan does not depend on the parameters skips the analysis, rewrite and optimization "
+                    + "in the following executions, and binds the new parameters to the cached plan."})
+    public boolean enableNereidsPlanCache = false;
+
     @VariableMgr.VarAttr(name = ENABLE_PUSH_DOWN_NO_GROUP_AGG)
     public boolean enablePushDownNoGroupAgg = true;
 
@@ -1401,6 +1432,15 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = PARTITION_PRUNING_EXPAND_THRESHOLD, fuzzy = true)
     public int partitionPruningExpandThreshold = 10;
 
+    @VariableMgr.VarAttr(name = ENABLE_PARTITION_PRUNE_INDEX, needForward = true, description = {
+            "是否使用分区索引裁剪单列分区表的分区。开启后，分区列上的比较、IN 谓词通过二分查找定位分区，"
+                    + "只有无法通过索引判断的分区才逐个计算谓词。",
+            "Whether to prune the partitions of the single column partitioned table with the partition index. "
+                    + "When it is enabled, the partitions matching the comparison and in predicates of the partition "
+                    + "column are found by binary search, and the predicate is only evaluated on the partitions "
+                    + "which can not be decided by the index."})
+    public boolean enablePartitionPruneIndex = true;
+
     @VariableMgr.VarAttr(name = ENABLE_SHARE_HASH_TABLE_FOR_BROADCAST_JOIN, fuzzy = true)
     public boolean enableShareHashTableForBroadcastJoin = true;
 
@@ -1552,6 +1592,34 @@ public class SessionVariable implements Serializable, Writable {
             needForward = true)
     public int numPartitionsInBatchMode = 1024;
 
+    @VariableMgr.VarAttr(
+            name = NUM_FILES_IN_BATCH_MODE,
+            description = {"如果文件数量(paimon表为split数量)超过阈值，BE将通过batch方式获取scan ranges，"
+                    + "目前对iceberg和paimon表生效",
+                    "If the number of files (splits for paimon table) exceeds the threshold, scan ranges will be "
+                            + "got through batch mode. Works for iceberg and paimon table now."},
+            needForward = true)
+    public int numFilesInBatchMode = 1024;
+
+    @VariableMgr.VarAttr(
+            name = MAX_PENDING_SPLITS_IN_BATCH_MODE,
+            description = {"batch方式下，FE中等待BE获取的scan ranges的最大数量，超过后暂停生成scan ranges",
+                    "The max number of scan ranges waiting to be fetched by backends in batch mode, "
+                            + "the generation of scan ranges is paused if it is exceeded."},
+            needForward = true)
+    public int maxPendingSplitsInBatchMode = 10000;
+
+    @VariableMgr.VarAttr(
+            name = ENABLE_LOAD_AWARE_SPLIT_ASSIGNMENT,
+            description = {"是否根据split的大小和BE当前的负载分配外表的split，以减少最慢的BE的扫描时间。"
+                    + "开启file cache时仍优先选择一致性哈希的候选BE",
+                    "Whether to assign the splits of external tables by the split sizes and the current loads "
+                            + "of backends, to shorten the scan time of the slowest backend. "
+                            + "The candidate backends of consistent hashing are still preferred "
+                            + "if file cache is enabled."},
+            needForward = true)
+    public boolean enableLoadAwareSplitAssignment = false;
+
     @VariableMgr.VarAttr(
             name = ENABLE_PARQUET_LAZY_MAT,
             description = {"控制 parquet reader 是否启用延迟物化技术。默认为 true。",
@@ -2862,6 +2930,14 @@ public class SessionVariable implements Serializable, Writable {
         this.numPartitionsInBatchMode = numPartitionsInBatchMode;
     }
 
+    public int getNumFilesInBatchMode() {
+        return numFilesInBatchMode;
+    }
+
+    public int getMaxPendingSplitsInBatchMode() {
+        return maxPendingSplitsInBatchMode;
+    }
+
     public boolean isEnableParquetLazyMat() {
         return enableParquetLazyMat;
     }
@@ -2956,6 +3032,14 @@ public class SessionVariable implements Serializable, Writable {
         sessionOriginValue.clear();
     }
 
+    public int getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void increaseChangeVersion() {
+        changeVersion++;
+    }
+
     public boolean isDeleteWithoutPartition() {
         return deleteWithoutPartition;
     }
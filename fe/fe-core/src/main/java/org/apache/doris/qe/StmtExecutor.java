@@ -1939,10 +1939,9 @@ public class StmtExecutor {
                         }
                         isSendFields = true;
                     }
-                    for (ByteBuffer row : batch.getBatch().getRows()) {
-                        channel.sendOnePacket(row);
-                    }
+                    long sendBytes = channel.sendRowPackets(batch.getBatch().getRows());
                     profile.getSummaryProfile().freshWriteResultConsumeTime();
+                    profile.getSummaryProfile().updateWriteResultBytes(sendBytes);
                     context.updateReturnRows(batch.getBatch().getRows().size());
                     context.setResultAttachedInfo(batch.getBatch().getAttachedInfos());
                 }
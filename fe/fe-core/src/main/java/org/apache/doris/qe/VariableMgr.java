@@ -238,6 +238,9 @@ public class VariableMgr {
         if (VariableVarCallbacks.hasCallback(attr.name())) {
             VariableVarCallbacks.call(attr.name(), value);
         }
+        if (obj instanceof SessionVariable) {
+            ((SessionVariable) obj).increaseChangeVersion();
+        }
 
         return true;
     }
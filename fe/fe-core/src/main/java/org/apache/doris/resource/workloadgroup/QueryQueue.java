@@ -17,6 +17,7 @@
 
 package org.apache.doris.resource.workloadgroup;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.UserException;
 import org.apache.doris.resource.workloadgroup.QueueToken.TokenState;
 
@@ -40,6 +41,8 @@ public class QueryQueue {
     private int queueTimeout; // ms
     // running property
     private volatile int currentRunningQueryNum;
+    // the slots leased from master if enable_global_query_queue, -1 means only limited by maxConcurrency
+    private int globalSlots = -1;
 
     public static final String RUNNING_QUERY_NUM = "running_query_num";
     public static final String WAITING_QUERY_NUM = "waiting_query_num";
@@ -83,6 +86,31 @@ public class QueryQueue {
         return queueTimeout;
     }
 
+    int getGlobalSlots() {
+        return globalSlots;
+    }
+
+    // the groups with unlimited max_concurrency are not limited by the slots leased from master
+    static boolean isGlobalQueueable(int maxConcurrency) {
+        return maxConcurrency != Integer.MAX_VALUE;
+    }
+
+    // must be called with queueLock held
+    private boolean isLimitedByGlobalSlots() {
+        return globalSlots >= 0 && isGlobalQueueable(maxConcurrency);
+    }
+
+    // must be called with queueLock held
+    private int getConcurrencyLimit() {
+        return isLimitedByGlobalSlots() ? Math.min(maxConcurrency, globalSlots) : maxConcurrency;
+    }
+
+    // must be called with queueLock held
+    // the query can run if max_concurrency is not exceeded, but the slots leased from master are used up
+    private boolean isShortOfGlobalSlots() {
+        return isLimitedByGlobalSlots() && currentRunningQueryNum + priorityTokenQueue.size() < maxConcurrency;
+    }
+
     public QueryQueue(long wgId, int maxConcurrency, int maxQueueSize, int queueTimeout, long propVersion) {
         this.wgId = wgId;
         this.maxConcurrency = maxConcurrency;
@@ -95,7 +123,7 @@ public class QueryQueue {
     public String debugString() {
         return "wgId= " + wgId + ", version=" + this.propVersion + ",maxConcurrency=" + maxConcurrency
                 + ", maxQueueSize=" + maxQueueSize + ", queueTimeout=" + queueTimeout
-                + ", currentRunningQueryNum=" + currentRunningQueryNum
+                + ", globalSlots=" + globalSlots + ", currentRunningQueryNum=" + currentRunningQueryNum
                 + ", currentWaitingQueryNum=" + priorityTokenQueue.size();
     }
 
@@ -105,16 +133,21 @@ public class QueryQueue {
             if (LOG.isDebugEnabled()) {
                 LOG.info(this.debugString());
             }
-            if (currentRunningQueryNum < maxConcurrency) {
+            if (currentRunningQueryNum < getConcurrencyLimit()) {
                 QueueToken retToken = new QueueToken(TokenState.READY_TO_RUN, queueTimeout, this);
                 retToken.complete();
                 currentRunningQueryNum++;
                 return retToken;
             }
-            if (priorityTokenQueue.size() >= maxQueueSize) {
+            long waitTimeout = queueTimeout;
+            if (isShortOfGlobalSlots()) {
+                // wait for more slots leased by the next sync instead of being rejected, e.g. the first query
+                // of the group on this FE, even if max_queue_size is 0
+                waitTimeout = Math.max(queueTimeout, Config.query_queue_slot_lease_timeout_ms);
+            } else if (priorityTokenQueue.size() >= maxQueueSize) {
                 throw new UserException("query waiting queue is full, queue length=" + maxQueueSize);
             }
-            QueueToken newQueryToken = new QueueToken(TokenState.ENQUEUE_SUCCESS, queueTimeout,
+            QueueToken newQueryToken = new QueueToken(TokenState.ENQUEUE_SUCCESS, waitTimeout,
                     this);
             this.priorityTokenQueue.offer(newQueryToken);
             return newQueryToken;
@@ -134,14 +167,7 @@ public class QueryQueue {
                 currentRunningQueryNum--;
             }
             Preconditions.checkArgument(currentRunningQueryNum >= 0);
-            while (currentRunningQueryNum < maxConcurrency) {
-                QueueToken queueToken = this.priorityTokenQueue.poll();
-                if (queueToken == null) {
-                    break;
-                }
-                queueToken.complete();
-                currentRunningQueryNum++;
-            }
+            notifyWaitingTokens();
         } finally {
             queueLock.unlock();
             if (LOG.isDebugEnabled()) {
@@ -150,6 +176,32 @@ public class QueryQueue {
         }
     }
 
+    // must be called with queueLock held
+    private void notifyWaitingTokens() {
+        while (currentRunningQueryNum < getConcurrencyLimit()) {
+            QueueToken queueToken = this.priorityTokenQueue.poll();
+            if (queueToken == null) {
+                break;
+            }
+            queueToken.complete();
+            currentRunningQueryNum++;
+        }
+    }
+
+    /**
+     * Set the slots leased from master, and run the waiting queries if the slots are increased.
+     * -1 means the queries are only limited by maxConcurrency of this FE.
+     */
+    public void setGlobalSlots(int globalSlots) {
+        queueLock.lock();
+        try {
+            this.globalSlots = globalSlots;
+            notifyWaitingTokens();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
     public void resetQueueProperty(int maxConcurrency, int maxQueueSize, int queryWaitTimeout, long version) {
         queueLock.lock();
         try {
@@ -0,0 +1,107 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TQueryQueueSlotDemand;
+
+import com.google.common.collect.Maps;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocate the query concurrency slots of the workload groups to the FEs on master, so max_concurrency of a workload
+ * group limits the queries of the whole cluster instead of each FE.
+ * Each FE reports the running and waiting queries of its query queues, and gets the number of the queries it can run.
+ * If the demands of all FEs do not exceed max_concurrency, each FE gets its demand and a few more slots, so the next
+ * queries can run without waiting for the sync. Otherwise, the slots are shared in proportion to the demands of FEs,
+ * so the queries queued on different FEs are admitted fairly.
+ * The slots held by an FE are the larger of its slots and its running queries, because the running queries can not
+ * be stopped when its slots are reduced. The slots of the FEs not syncing in query_queue_slot_lease_timeout_ms
+ * are reclaimed.
+ * The workload groups with unlimited max_concurrency are not limited by the slots, so they are not allocated.
+ */
+public class QueryQueueSlotAllocator {
+
+    private static class FeSlots {
+        private int slots;
+        private int running;
+        private int demand;
+        private long lastSyncTime;
+
+        private int held() {
+            return Math.max(slots, running);
+        }
+    }
+
+    // wg id -> fe name -> slots
+    private final Map<Long, Map<String, FeSlots>> groupToFeSlots = Maps.newHashMap();
+
+    /**
+     * Update the demands of the FE, and return the slots of each workload group for it.
+     * The workload groups not in maxConcurrencies, e.g. the dropped ones, and the ones with unlimited max_concurrency
+     * are not returned.
+     */
+    public synchronized Map<Long, Integer> allocate(String feName, List<TQueryQueueSlotDemand> demands,
+            Map<Long, Integer> maxConcurrencies, long nowMs) {
+        Map<Long, Integer> result = Maps.newHashMap();
+        for (TQueryQueueSlotDemand demand : demands) {
+            Integer maxConcurrency = maxConcurrencies.get(demand.getWgId());
+            if (maxConcurrency == null || !QueryQueue.isGlobalQueueable(maxConcurrency)) {
+                groupToFeSlots.remove(demand.getWgId());
+                continue;
+            }
+            Map<String, FeSlots> feSlotsMap = groupToFeSlots.computeIfAbsent(demand.getWgId(),
+                    k -> Maps.newHashMap());
+            FeSlots self = feSlotsMap.computeIfAbsent(feName, k -> new FeSlots());
+            self.running = demand.getRunningQueryNum();
+            self.demand = demand.getRunningQueryNum() + demand.getWaitingQueryNum();
+            self.lastSyncTime = nowMs;
+
+            long othersHeld = 0;
+            long totalDemand = 0;
+            Iterator<Map.Entry<String, FeSlots>> iter = feSlotsMap.entrySet().iterator();
+            while (iter.hasNext()) {
+                FeSlots feSlots = iter.next().getValue();
+                if (nowMs - feSlots.lastSyncTime > Config.query_queue_slot_lease_timeout_ms) {
+                    iter.remove();
+                    continue;
+                }
+                totalDemand += feSlots.demand;
+                if (feSlots != self) {
+                    othersHeld += feSlots.held();
+                }
+            }
+
+            long target;
+            if (totalDemand <= maxConcurrency) {
+                // share the idle slots as the lease batch of each FE
+                long idle = (maxConcurrency - totalDemand) / feSlotsMap.size();
+                target = self.demand + Math.min(idle, Config.query_queue_slot_lease_batch_size);
+            } else {
+                // round up, so each FE with waiting queries can run at least one query
+                target = (maxConcurrency * (long) self.demand + totalDemand - 1) / totalDemand;
+            }
+            self.slots = (int) Math.max(0, Math.min(target, maxConcurrency - othersHeld));
+            result.put(demand.getWgId(), self.slots);
+        }
+        return result;
+    }
+}
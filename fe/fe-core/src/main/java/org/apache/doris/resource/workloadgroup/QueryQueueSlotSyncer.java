@@ -0,0 +1,133 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.ClientPool;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.thrift.FrontendService;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TQueryQueueSlotDemand;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TSyncQueryQueueSlotsRequest;
+import org.apache.doris.thrift.TSyncQueryQueueSlotsResult;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sync the query concurrency slots of the query queues of this FE with master if enable_global_query_queue,
+ * see {@link QueryQueueSlotAllocator}. It runs on all FEs, and the master allocates the slots for itself directly.
+ * If the FE fails to sync in query_queue_slot_lease_timeout_ms, its slots are reclaimed by master, so it does not
+ * run new queries until the sync succeeds again.
+ */
+public class QueryQueueSlotSyncer extends MasterDaemon {
+    private static final Logger LOG = LogManager.getLogger(QueryQueueSlotSyncer.class);
+
+    private final Semaphore syncRequest = new Semaphore(0);
+    private boolean enabled = false;
+    private long lastSyncTime = 0;
+
+    public QueryQueueSlotSyncer() {
+        // the interval is controlled by waiting for syncRequest
+        super("query-queue-slot-syncer", 0);
+    }
+
+    // sync at once, e.g. when a query is waiting for the slots
+    public void requestSync() {
+        if (syncRequest.availablePermits() == 0) {
+            syncRequest.release();
+        }
+    }
+
+    @Override
+    protected void runAfterCatalogReady() {
+        try {
+            syncRequest.tryAcquire(Config.query_queue_slot_sync_interval_ms, TimeUnit.MILLISECONDS);
+            syncRequest.drainPermits();
+        } catch (InterruptedException e) {
+            LOG.warn("query queue slot syncer is interrupted", e);
+            return;
+        }
+
+        Env env = Env.getCurrentEnv();
+        WorkloadGroupMgr workloadGroupMgr = env.getWorkloadGroupMgr();
+        long now = System.currentTimeMillis();
+        if (!Config.enable_global_query_queue) {
+            if (enabled) {
+                workloadGroupMgr.resetQueryQueueSlots(-1);
+                enabled = false;
+            }
+            return;
+        }
+        if (!enabled) {
+            enabled = true;
+            lastSyncTime = now;
+        }
+
+        List<TQueryQueueSlotDemand> demands = workloadGroupMgr.getQueryQueueSlotDemands();
+        if (demands.isEmpty()) {
+            lastSyncTime = now;
+            return;
+        }
+        try {
+            Map<Long, Integer> slots = env.isMaster()
+                    ? workloadGroupMgr.allocateQueryQueueSlots(env.getNodeName(), demands)
+                    : syncWithMaster(env, demands);
+            workloadGroupMgr.setQueryQueueSlots(slots);
+            lastSyncTime = now;
+        } catch (Exception e) {
+            LOG.warn("failed to sync query queue slots with master", e);
+            if (now - lastSyncTime > Config.query_queue_slot_lease_timeout_ms) {
+                workloadGroupMgr.resetQueryQueueSlots(0);
+            }
+        }
+    }
+
+    private Map<Long, Integer> syncWithMaster(Env env, List<TQueryQueueSlotDemand> demands) throws Exception {
+        TNetworkAddress masterAddress = new TNetworkAddress(env.getMasterHost(), env.getMasterRpcPort());
+        TSyncQueryQueueSlotsRequest request = new TSyncQueryQueueSlotsRequest();
+        request.setFeName(env.getNodeName());
+        request.setDemands(demands);
+        FrontendService.Client client = ClientPool.frontendPool.borrowObject(masterAddress,
+                (int) Config.query_queue_slot_lease_timeout_ms);
+        boolean isReturnToPool = false;
+        try {
+            TSyncQueryQueueSlotsResult result = client.syncQueryQueueSlots(request);
+            isReturnToPool = true;
+            if (result.getStatus().getStatusCode() != TStatusCode.OK) {
+                throw new UserException("failed to sync query queue slots with master " + masterAddress
+                        + ": " + result.getStatus().getErrorMsgs());
+            }
+            return result.getSlots();
+        } finally {
+            if (isReturnToPool) {
+                ClientPool.frontendPool.returnObject(masterAddress, client);
+            } else {
+                ClientPool.frontendPool.invalidateObject(masterAddress, client);
+            }
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.doris.persist.gson.GsonPostProcessable;
 import org.apache.doris.persist.gson.GsonUtils;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.thrift.TPipelineWorkloadGroup;
+import org.apache.doris.thrift.TQueryQueueSlotDemand;
 import org.apache.doris.thrift.TUserIdentity;
 import org.apache.doris.thrift.TopicInfo;
 
@@ -88,6 +89,7 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
     private final Map<Long, WorkloadGroup> idToWorkloadGroup = Maps.newHashMap();
     private final Map<String, WorkloadGroup> nameToWorkloadGroup = Maps.newHashMap();
     private final Map<Long, QueryQueue> idToQueryQueue = Maps.newHashMap();
+    private final QueryQueueSlotAllocator queryQueueSlotAllocator = new QueryQueueSlotAllocator();
     private final ResourceProcNode procNode = new ResourceProcNode();
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -300,6 +302,11 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
             if (queryQueue == null) {
                 queryQueue = new QueryQueue(wg.getId(), wg.getMaxConcurrency(), wg.getMaxQueueSize(),
                         wg.getQueueTimeout(), wg.getVersion());
+                if (Config.enable_global_query_queue) {
+                    // wait for the slots leased from master, the groups with unlimited max_concurrency are not
+                    // limited by the slots, see QueryQueue.isGlobalQueueable
+                    queryQueue.setGlobalSlots(0);
+                }
                 idToQueryQueue.put(wg.getId(), queryQueue);
             }
             return queryQueue;
@@ -308,6 +315,62 @@ public class WorkloadGroupMgr extends MasterDaemon implements Writable, GsonPost
         }
     }
 
+    private List<QueryQueue> getQueryQueues() {
+        readLock();
+        try {
+            return new ArrayList<>(idToQueryQueue.values());
+        } finally {
+            readUnlock();
+        }
+    }
+
+    public List<TQueryQueueSlotDemand> getQueryQueueSlotDemands() {
+        List<TQueryQueueSlotDemand> demands = new ArrayList<>();
+        for (QueryQueue queryQueue : getQueryQueues()) {
+            if (!QueryQueue.isGlobalQueueable(queryQueue.getMaxConcurrency())) {
+                continue;
+            }
+            TQueryQueueSlotDemand demand = new TQueryQueueSlotDemand();
+            demand.setWgId(queryQueue.getWgId());
+            demand.setRunningQueryNum(queryQueue.getCurrentRunningQueryNum());
+            demand.setWaitingQueryNum(queryQueue.getCurrentWaitingQueryNum());
+            demands.add(demand);
+        }
+        return demands;
+    }
+
+    // called on master to allocate the query queue slots for the FE
+    public Map<Long, Integer> allocateQueryQueueSlots(String feName, List<TQueryQueueSlotDemand> demands) {
+        Map<Long, Integer> maxConcurrencies = Maps.newHashMap();
+        readLock();
+        try {
+            for (TQueryQueueSlotDemand demand : demands) {
+                WorkloadGroup wg = idToWorkloadGroup.get(demand.getWgId());
+                if (wg != null) {
+                    maxConcurrencies.put(wg.getId(), wg.getMaxConcurrency());
+                }
+            }
+        } finally {
+            readUnlock();
+        }
+        return queryQueueSlotAllocator.allocate(feName, demands, maxConcurrencies, System.currentTimeMillis());
+    }
+
+    public void setQueryQueueSlots(Map<Long, Integer> slots) {
+        for (QueryQueue queryQueue : getQueryQueues()) {
+            Integer globalSlots = slots.get(queryQueue.getWgId());
+            if (globalSlots != null) {
+                queryQueue.setGlobalSlots(globalSlots);
+            }
+        }
+    }
+
+    public void resetQueryQueueSlots(int globalSlots) {
+        for (QueryQueue queryQueue : getQueryQueues()) {
+            queryQueue.setGlobalSlots(globalSlots);
+        }
+    }
+
     private String getWorkloadGroupNameAndCheckPriv(ConnectContext context) throws AnalysisException {
         String groupName = context.getSessionVariable().getWorkloadGroup();
         if (Strings.isNullOrEmpty(groupName)) {
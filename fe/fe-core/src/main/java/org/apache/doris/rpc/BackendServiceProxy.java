@@ -204,10 +204,15 @@ public class BackendServiceProxy {
         return execPlanFragmentsAsync(address, builder.build(), twoPhaseExecution);
     }
 
+    /**
+     * Send the serialized TPipelineFragmentParamsList, with the shared params of all backends in sharedParamsRequest
+     * if it is not null, so the bytes of the shared params are reused by the requests to all backends.
+     */
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
-            ByteString serializedFragments, boolean twoPhaseExecution) throws RpcException {
-        InternalService.PExecPlanFragmentRequest.Builder builder =
-                InternalService.PExecPlanFragmentRequest.newBuilder();
+            ByteString serializedFragments, InternalService.PExecPlanFragmentRequest sharedParamsRequest,
+            boolean twoPhaseExecution) throws RpcException {
+        InternalService.PExecPlanFragmentRequest.Builder builder = sharedParamsRequest == null
+                ? InternalService.PExecPlanFragmentRequest.newBuilder() : sharedParamsRequest.toBuilder();
         builder.setRequest(serializedFragments);
         builder.setCompact(true);
         // VERSION 3 means we send TPipelineFragmentParamsList
@@ -232,6 +232,8 @@ import org.apache.doris.thrift.TStreamLoadMultiTablePutResult;
 import org.apache.doris.thrift.TStreamLoadPutRequest;
 import org.apache.doris.thrift.TStreamLoadPutResult;
 import org.apache.doris.thrift.TSyncQueryColumns;
+import org.apache.doris.thrift.TSyncQueryQueueSlotsRequest;
+import org.apache.doris.thrift.TSyncQueryQueueSlotsResult;
 import org.apache.doris.thrift.TTableIndexQueryStats;
 import org.apache.doris.thrift.TTableMetadataNameIds;
 import org.apache.doris.thrift.TTableQueryStats;
@@ -999,6 +1001,21 @@ public class FrontendServiceImpl implements FrontendService.Iface {
         return new TStatus(TStatusCode.OK);
     }
 
+    @Override
+    public TSyncQueryQueueSlotsResult syncQueryQueueSlots(TSyncQueryQueueSlotsRequest request) {
+        TSyncQueryQueueSlotsResult result = new TSyncQueryQueueSlotsResult();
+        TStatus status = new TStatus(TStatusCode.OK);
+        result.setStatus(status);
+        if (!Env.getCurrentEnv().isMaster()) {
+            status.setStatusCode(TStatusCode.NOT_MASTER);
+            status.addToErrorMsgs(NOT_MASTER_ERR_MSG);
+            return result;
+        }
+        result.setSlots(Env.getCurrentEnv().getWorkloadGroupMgr()
+                .allocateQueryQueueSlots(request.getFeName(), request.getDemands()));
+        return result;
+    }
+
     @Override
     public TMasterResult finishTask(TFinishTaskRequest request) throws TException {
         return masterImpl.finishTask(request);
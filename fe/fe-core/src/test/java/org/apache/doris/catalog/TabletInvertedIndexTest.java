@@ -0,0 +1,90 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TStorageMedium;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TabletInvertedIndexTest {
+    private final boolean originCompact = Config.enable_compact_tablet_inverted_index;
+
+    @After
+    public void tearDown() {
+        Config.enable_compact_tablet_inverted_index = originCompact;
+    }
+
+    @Test
+    public void testDefault() {
+        Config.enable_compact_tablet_inverted_index = false;
+        checkIndex(new TabletInvertedIndex());
+    }
+
+    @Test
+    public void testCompact() {
+        Config.enable_compact_tablet_inverted_index = true;
+        checkIndex(new TabletInvertedIndex());
+    }
+
+    private void checkIndex(TabletInvertedIndex index) {
+        TabletMeta tabletMeta = new TabletMeta(1, 2, 3, 4, 0, TStorageMedium.HDD);
+        // tablet 10 on backend 100 and 101, tablet 11 on backend 101
+        index.addTablet(10, tabletMeta);
+        index.addTablet(11, tabletMeta);
+        Replica replica1 = new Replica(1000, 100, ReplicaState.NORMAL, 1, 0);
+        Replica replica2 = new Replica(1001, 101, ReplicaState.NORMAL, 1, 0);
+        Replica replica3 = new Replica(1002, 101, ReplicaState.NORMAL, 1, 0);
+        index.addReplica(10, replica1);
+        index.addReplica(10, replica2);
+        index.addReplica(11, replica3);
+
+        Assert.assertSame(tabletMeta, index.getTabletMeta(10));
+        Assert.assertSame(tabletMeta, index.getTabletMetaTable().get(3L, 4L));
+        Assert.assertSame(replica1, index.getReplica(10, 100));
+        Assert.assertSame(replica2, index.getReplica(10, 101));
+        Assert.assertNull(index.getReplica(11, 100));
+        Assert.assertEquals(10L, index.getTabletIdByReplica(1001).longValue());
+        Assert.assertNull(index.getTabletIdByReplica(2000));
+        Assert.assertEquals(Sets.newHashSet(replica1, replica2), Sets.newHashSet(index.getReplicasByTabletId(10)));
+        Assert.assertEquals(Lists.newArrayList(10L), index.getTabletIdsByBackendId(100));
+        Assert.assertEquals(Sets.newHashSet(10L, 11L), Sets.newHashSet(index.getTabletIdsByBackendId(101)));
+        Assert.assertTrue(index.getTabletIdsByBackendId(102).isEmpty());
+
+        index.deleteReplica(10, 101);
+        Assert.assertNull(index.getReplica(10, 101));
+        Assert.assertNull(index.getTabletIdByReplica(1001));
+        Assert.assertEquals(Lists.newArrayList(11L), index.getTabletIdsByBackendId(101));
+
+        index.deleteTablet(10);
+        Assert.assertNull(index.getTabletMeta(10));
+        Assert.assertNull(index.getTabletIdByReplica(1000));
+        Assert.assertTrue(index.getTabletIdsByBackendId(100).isEmpty());
+        Assert.assertSame(tabletMeta, index.getTabletMeta(11));
+        index.deleteTablet(11);
+        Assert.assertTrue(index.getReplicaToTabletMap().isEmpty());
+        Assert.assertTrue(index.getTabletMetaMap().isEmpty());
+        Assert.assertTrue(index.getReplicaMetaTable().isEmpty());
+        Assert.assertTrue(index.getBackingReplicaMetaTable().isEmpty());
+    }
+}
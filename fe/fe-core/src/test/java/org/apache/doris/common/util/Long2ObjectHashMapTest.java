@@ -0,0 +1,113 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class Long2ObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        Long2ObjectHashMap<String> map = new Long2ObjectHashMap<>();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.put(-1L, "a"));
+        Assert.assertNull(map.put(0L, "b"));
+        Assert.assertNull(map.put(Long.MAX_VALUE, "c"));
+        Assert.assertEquals("a", map.put(-1L, "d"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("d", map.get(-1L));
+        Assert.assertEquals("b", map.get((Object) 0L));
+        Assert.assertNull(map.get("0"));
+        Assert.assertTrue(map.containsValue("c"));
+        Assert.assertEquals("c", map.remove(Long.MAX_VALUE));
+        Assert.assertNull(map.remove(Long.MAX_VALUE));
+        Assert.assertFalse(map.containsKey(Long.MAX_VALUE));
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.get(-1L));
+    }
+
+    @Test
+    public void testRandomAgainstHashMap() {
+        Random random = new Random(1024);
+        Long2ObjectHashMap<Long> map = new Long2ObjectHashMap<>();
+        Long2LongHashMap longMap = new Long2LongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            long key = random.nextInt(5000) - 2500;
+            int op = random.nextInt(10);
+            if (op < 5) {
+                Long value = (long) i;
+                Assert.assertEquals(expected.get(key), map.put(key, value));
+                longMap.put(key, i);
+                expected.put(key, value);
+            } else if (op < 8) {
+                Assert.assertEquals(expected.get(key), map.remove(key));
+                Assert.assertEquals(expected.get(key), longMap.remove((Object) key));
+                expected.remove(key);
+            } else if (op < 9) {
+                Iterator<Map.Entry<Long, Long>> iter = map.entrySet().iterator();
+                while (iter.hasNext()) {
+                    Map.Entry<Long, Long> entry = iter.next();
+                    if (entry.getKey() % 7 == 0) {
+                        iter.remove();
+                        longMap.removeKey(entry.getKey());
+                        expected.remove(entry.getKey());
+                    }
+                }
+            } else {
+                Assert.assertEquals(expected.get(key), map.get(key));
+                Assert.assertEquals(expected.getOrDefault(key, -1L).longValue(), longMap.get(key, -1L));
+            }
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected, longMap);
+        Assert.assertEquals(longMap, expected);
+    }
+
+    @Test
+    public void testAsTableBackingMap() {
+        Table<Long, Long, String> expected = HashBasedTable.create();
+        Table<Long, Long, String> table = Tables.newCustomTable(new Long2ObjectHashMap<>(), Long2ObjectHashMap::new);
+        for (long row = 0; row < 100; row++) {
+            for (long column = 0; column < 3; column++) {
+                table.put(row, column, row + "-" + column);
+                expected.put(row, column, row + "-" + column);
+            }
+        }
+        table.remove(5L, 1L);
+        expected.remove(5L, 1L);
+        table.rowMap().remove(6L);
+        expected.rowMap().remove(6L);
+        table.row(7L).clear();
+        expected.row(7L).clear();
+        Assert.assertEquals(expected, table);
+        Assert.assertFalse(table.containsRow(7L));
+        Assert.assertEquals(2, table.row(5L).size());
+    }
+}
@@ -0,0 +1,158 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.UserException;
+import org.apache.doris.spi.Split;
+import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TScanRangeLocations;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SplitAssignmentTest {
+    @Mocked
+    private FederationBackendPolicy backendPolicy;
+    @Mocked
+    private Split split;
+
+    private final Backend backend = new Backend(1L, "127.0.0.1", 9050);
+
+    @Before
+    public void setUp() throws UserException {
+        new Expectations() {
+            {
+                backendPolicy.computeScanRangeAssignment((List<Split>) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    Multimap<Backend, Split> computeScanRangeAssignment(List<Split> splits) {
+                        Multimap<Backend, Split> assignment = ArrayListMultimap.create();
+                        assignment.putAll(backend, splits);
+                        return assignment;
+                    }
+                };
+            }
+        };
+    }
+
+    private SplitAssignment newAssignment(SplitGenerator splitGenerator) {
+        return new SplitAssignment(backendPolicy, splitGenerator,
+                (be, locationProperties, s, pathPartitionKeys) -> new TScanRangeLocations(),
+                Collections.emptyMap(), Collections.emptyList(), null);
+    }
+
+    @Test
+    public void testMarkFetched() {
+        SplitAssignment assignment = newAssignment(new SplitGenerator() {});
+        assignment.addToQueue(Lists.newArrayList(split, split, split));
+        Assert.assertEquals(3, assignment.getNumPendingSplits());
+        assignment.markFetched(1);
+        Assert.assertEquals(2, assignment.getNumPendingSplits());
+
+        // the pending splits are dropped when stopped, but the backend may still fetch them
+        assignment.stop();
+        Assert.assertEquals(0, assignment.getNumPendingSplits());
+        assignment.markFetched(2);
+        Assert.assertEquals(0, assignment.getNumPendingSplits());
+    }
+
+    @Test
+    public void testBatchMode() throws Exception {
+        int numSplits = 5;
+        int maxPendingSplits = 2;
+        BatchSplitGenerator splitGenerator = new BatchSplitGenerator(numSplits, maxPendingSplits);
+        SplitAssignment assignment = newAssignment(splitGenerator);
+        splitGenerator.assignment = assignment;
+        assignment.init();
+        Assert.assertNotNull(assignment.getSampleSplit());
+
+        int fetched = 0;
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (System.currentTimeMillis() < deadline) {
+            // the generator is blocked until the pending splits are fetched
+            Assert.assertTrue(assignment.getNumPendingSplits() <= maxPendingSplits);
+            BlockingQueue<Collection<TScanRangeLocations>> queue = assignment.getAssignedSplits(backend);
+            if (queue == null) {
+                break;
+            }
+            Collection<TScanRangeLocations> ranges = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (ranges != null) {
+                fetched += ranges.size();
+                assignment.markFetched(ranges.size());
+            }
+        }
+        Assert.assertEquals(numSplits, fetched);
+        Assert.assertEquals(numSplits, splitGenerator.generated.get());
+        Assert.assertEquals(0, assignment.getNumPendingSplits());
+    }
+
+    @Test
+    public void testBatchModeStopped() throws Exception {
+        SplitAssignment assignment = newAssignment(new SplitGenerator() {});
+        assignment.addToQueue(Lists.newArrayList(split, split));
+        assignment.stop();
+        // the generator is not blocked by the splits which will never be fetched
+        Assert.assertFalse(assignment.waitForPendingSplits(1));
+        Assert.assertNull(assignment.getAssignedSplits(backend));
+    }
+
+    // generate the splits one by one in the background like the scan nodes in batch mode
+    private class BatchSplitGenerator implements SplitGenerator {
+        private final int numSplits;
+        private final int maxPendingSplits;
+        private final AtomicInteger generated = new AtomicInteger(0);
+        private SplitAssignment assignment;
+
+        private BatchSplitGenerator(int numSplits, int maxPendingSplits) {
+            this.numSplits = numSplits;
+            this.maxPendingSplits = maxPendingSplits;
+        }
+
+        @Override
+        public void startSplit() {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < numSplits; i++) {
+                        if (!assignment.waitForPendingSplits(maxPendingSplits)) {
+                            return;
+                        }
+                        assignment.addToQueue(Lists.newArrayList(split));
+                        generated.incrementAndGet();
+                    }
+                    assignment.finishSchedule();
+                } catch (InterruptedException e) {
+                    assignment.setException(new UserException(e.getMessage(), e));
+                }
+            }).start();
+        }
+    }
+}
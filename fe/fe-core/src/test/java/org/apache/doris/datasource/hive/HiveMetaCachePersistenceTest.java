@@ -0,0 +1,265 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheKey;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HiveFileStatus;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.PartitionCacheKey;
+import org.apache.doris.datasource.metacache.PersistentMetaCacheStore;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HiveMetaCachePersistenceTest {
+    private static final String INPUT_FORMAT = "org.apache.hadoop.mapred.TextInputFormat";
+
+    @Mocked
+    private HMSExternalCatalog catalog;
+    @Mocked
+    private HMSCachedClient client;
+    @Mocked
+    private HMSExternalTable table;
+
+    private long currentEventId = 10L;
+    private String metaDir;
+    private boolean enabled;
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        metaDir = Config.meta_dir;
+        enabled = Config.enable_external_meta_cache_persistence;
+        dir = Files.createTempDirectory("hive_meta_cache_persistence").toFile();
+        Config.meta_dir = dir.getAbsolutePath();
+        Config.enable_external_meta_cache_persistence = true;
+
+        new Expectations() {
+            {
+                catalog.getId();
+                minTimes = 0;
+                result = 1L;
+                catalog.getClient();
+                minTimes = 0;
+                result = client;
+                client.getCurrentNotificationEventId();
+                minTimes = 0;
+                result = new Delegate() {
+                    CurrentNotificationEventId getCurrentNotificationEventId() {
+                        return new CurrentNotificationEventId(currentEventId);
+                    }
+                };
+                table.getDbName();
+                minTimes = 0;
+                result = "db";
+                table.getName();
+                minTimes = 0;
+                result = "tbl";
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Config.meta_dir = metaDir;
+        Config.enable_external_meta_cache_persistence = enabled;
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testSchema() {
+        HiveMetaCachePersistence persistence = HiveMetaCachePersistence.open(catalog);
+        Assert.assertNotNull(persistence);
+        Assert.assertNull(persistence.getSchema(table));
+        Column partitionColumn = new Column("p", Type.STRING);
+        persistence.putSchema(table, new HMSSchemaCacheValue(
+                Lists.newArrayList(new Column("a", Type.INT), partitionColumn),
+                Lists.newArrayList(partitionColumn)), 1000L);
+        persistence.close();
+
+        // the hms event id is not changed, so the schema is still valid after reopen
+        persistence = HiveMetaCachePersistence.open(catalog);
+        HMSSchemaCacheValue schema = persistence.getSchema(table);
+        Assert.assertNotNull(schema);
+        Assert.assertEquals(2, schema.getSchema().size());
+        Assert.assertEquals("a", schema.getSchema().get(0).getName());
+        Assert.assertEquals(Type.INT, schema.getSchema().get(0).getType());
+        Assert.assertEquals(Lists.newArrayList(Type.STRING), schema.getPartitionColTypes());
+        new Verifications() {
+            {
+                table.setUpdateTime(1000L);
+                times = 1;
+            }
+        };
+
+        persistence.invalidateTable("db", "tbl");
+        Assert.assertNull(persistence.getSchema(table));
+        persistence.close();
+    }
+
+    @Test
+    public void testExpiredPartitionDropsFiles() {
+        HiveMetaCachePersistence persistence = HiveMetaCachePersistence.open(catalog);
+        persistence.setFileMaxAgeSecond(7 * 86400L);
+        PartitionCacheKey key1 = new PartitionCacheKey("db", "tbl", Lists.newArrayList("1"));
+        PartitionCacheKey key2 = new PartitionCacheKey("db", "tbl", Lists.newArrayList("2"));
+        Assert.assertTrue(persistence.getPartitions(Lists.newArrayList(key1, key2)).isEmpty());
+        persistence.putPartitions(Lists.newArrayList(newPartition("1"), newPartition("2")));
+        FileCacheKey fileKey1 = newFileCacheKey("1");
+        FileCacheKey fileKey2 = newFileCacheKey("2");
+        persistence.putFiles(ImmutableMap.of(fileKey1, newFiles("1"), fileKey2, newFiles("2")));
+        Assert.assertEquals(2, persistence.getPartitions(Lists.newArrayList(key1, key2)).size());
+        Assert.assertEquals(1, persistence.getFiles(fileKey1).getFiles().size());
+
+        // the files live longer than the partitions, but they are dropped with the expired partition
+        new MockUp<PersistentMetaCacheStore>() {
+            @Mock
+            public boolean isExpired(String key, long maxAgeMs) {
+                return key.startsWith("p|");
+            }
+        };
+        Assert.assertTrue(persistence.getPartitions(Lists.newArrayList(key1)).isEmpty());
+        Assert.assertNull(persistence.getFiles(fileKey1));
+        Assert.assertNotNull(persistence.getFiles(fileKey2));
+        persistence.close();
+    }
+
+    @Test
+    public void testValidateByEvents() throws Exception {
+        HiveMetaCachePersistence persistence = HiveMetaCachePersistence.open(catalog);
+        putSchema(persistence);
+        persistence.close();
+
+        // only the other tables are changed by the events
+        currentEventId = 12L;
+        mockEvents(event(11L, "tbl2"), event(12L, "tbl3"));
+        persistence = HiveMetaCachePersistence.open(catalog);
+        Assert.assertNotNull(persistence.getSchema(table));
+        persistence.close();
+    }
+
+    @Test
+    public void testMissingEvents() throws Exception {
+        HiveMetaCachePersistence persistence = HiveMetaCachePersistence.open(catalog);
+        putSchema(persistence);
+        persistence.close();
+
+        // the event 11 is cleaned by hms, it may change the table
+        currentEventId = 12L;
+        mockEvents(event(12L, "tbl2"));
+        persistence = HiveMetaCachePersistence.open(catalog);
+        Assert.assertNull(persistence.getSchema(table));
+        putSchema(persistence);
+        persistence.close();
+
+        // no event is returned though the current event id is increased
+        currentEventId = 14L;
+        mockEvents();
+        persistence = HiveMetaCachePersistence.open(catalog);
+        Assert.assertNull(persistence.getSchema(table));
+        persistence.close();
+    }
+
+    private void putSchema(HiveMetaCachePersistence persistence) {
+        // validated before the schema is put
+        persistence.getSchema(table);
+        Column partitionColumn = new Column("p", Type.STRING);
+        persistence.putSchema(table, new HMSSchemaCacheValue(
+                Lists.newArrayList(new Column("a", Type.INT), partitionColumn),
+                Lists.newArrayList(partitionColumn)), 1000L);
+        Assert.assertNotNull(persistence.getSchema(table));
+    }
+
+    private void mockEvents(NotificationEvent... events) throws Exception {
+        new Expectations() {
+            {
+                client.getNextNotification(anyLong, anyInt, (IMetaStoreClient.NotificationFilter) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    NotificationEventResponse getNextNotification(long lastEventId, int maxEvents,
+                            IMetaStoreClient.NotificationFilter filter) {
+                        List<NotificationEvent> nextEvents = Lists.newArrayList();
+                        for (NotificationEvent event : events) {
+                            if (event.getEventId() > lastEventId && nextEvents.size() < maxEvents) {
+                                nextEvents.add(event);
+                            }
+                        }
+                        return new NotificationEventResponse(nextEvents);
+                    }
+                };
+            }
+        };
+    }
+
+    private static NotificationEvent event(long eventId, String tblName) {
+        NotificationEvent event = new NotificationEvent(eventId, 0, "ALTER_TABLE", "");
+        event.setDbName("db");
+        event.setTableName(tblName);
+        return event;
+    }
+
+    private static String location(String value) {
+        return "hdfs://nn/warehouse/db/tbl/p=" + value;
+    }
+
+    private static HivePartition newPartition(String value) {
+        Map<String, String> parameters = new HashMap<>();
+        return new HivePartition("db", "tbl", false, INPUT_FORMAT, location(value), Lists.newArrayList(value),
+                parameters);
+    }
+
+    private static FileCacheKey newFileCacheKey(String value) {
+        return new FileCacheKey(location(value), INPUT_FORMAT, Lists.newArrayList(value), null);
+    }
+
+    private static FileCacheValue newFiles(String value) {
+        FileCacheValue files = new FileCacheValue();
+        List<String> partitionValues = Lists.newArrayList(value);
+        files.setPartitionValues(partitionValues);
+        HiveFileStatus status = new HiveFileStatus();
+        status.setPath(new Path(location(value) + "/data_0"));
+        status.setLength(100);
+        files.getFiles().add(status);
+        return files;
+    }
+}
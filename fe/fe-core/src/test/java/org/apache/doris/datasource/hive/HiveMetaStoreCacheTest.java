@@ -0,0 +1,86 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.FileCacheValue;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+public class HiveMetaStoreCacheTest {
+    private static final String INPUT_FORMAT = "org.apache.hadoop.mapred.TextInputFormat";
+
+    @Test
+    public void testConcurrentFileListing() throws Exception {
+        File root = Files.createTempDirectory("hive_meta_store_cache_test").toFile();
+        try {
+            List<HivePartition> partitions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                File dir = new File(root, "p=" + i);
+                Assert.assertTrue(dir.mkdirs());
+                for (int j = 0; j <= i; j++) {
+                    Files.write(new File(dir, "file_" + j).toPath(), new byte[] {1});
+                }
+                partitions.add(new HivePartition("db", "tbl", false, INPUT_FORMAT, "file://" + dir.getAbsolutePath(),
+                        Lists.newArrayList(String.valueOf(i)), new HashMap<>()));
+            }
+
+            // only one listing at a time in the catalog, the concurrent queries should not be blocked forever
+            Map<String, String> props = new HashMap<>();
+            props.put(HMSExternalCatalog.FILE_LISTING_MAX_CONCURRENCY, "1");
+            ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(
+                    4, 100, "refresh", 120, false);
+            ThreadPoolExecutor listExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+                    4, 100, "list", 120, false);
+            HiveMetaStoreCache cache = new HiveMetaStoreCache(
+                    new HMSExternalCatalog(1L, "catalog", null, props, null), executor, listExecutor);
+
+            ExecutorService queries = Executors.newFixedThreadPool(4);
+            List<Future<List<FileCacheValue>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                boolean withCache = i % 2 == 0;
+                results.add(queries.submit(() -> cache.getFilesByPartitions(partitions, withCache, true, null)));
+            }
+            for (Future<List<FileCacheValue>> result : results) {
+                List<FileCacheValue> fileLists = result.get();
+                Assert.assertEquals(partitions.size(), fileLists.size());
+                for (int i = 0; i < fileLists.size(); i++) {
+                    Assert.assertEquals(i + 1, fileLists.get(i).getFiles().size());
+                    Assert.assertEquals(String.valueOf(i), fileLists.get(i).getPartitionValues().get(0));
+                }
+            }
+            queries.shutdown();
+        } finally {
+            FileUtils.deleteQuietly(root);
+        }
+    }
+}
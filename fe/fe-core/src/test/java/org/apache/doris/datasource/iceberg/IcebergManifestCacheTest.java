@@ -0,0 +1,205 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.hadoop.HadoopCatalog;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Types;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+public class IcebergManifestCacheTest {
+    private File warehouse;
+    private Table table;
+    private Table unpartitionedTable;
+
+    @Before
+    public void setUp() throws Exception {
+        warehouse = Files.createTempDirectory("iceberg_manifest_cache_").toFile();
+        HadoopCatalog catalog = new HadoopCatalog();
+        catalog.setConf(new Configuration());
+        catalog.initialize("test", ImmutableMap.of(CatalogProperties.WAREHOUSE_LOCATION,
+                "file://" + warehouse.getAbsolutePath()));
+        catalog.createNamespace(Namespace.of("db"));
+        Schema schema = new Schema(
+                Types.NestedField.required(1, "id", Types.IntegerType.get()),
+                Types.NestedField.required(2, "p", Types.IntegerType.get()));
+        Map<String, String> props = ImmutableMap.of(TableProperties.FORMAT_VERSION, "2");
+        table = catalog.createTable(TableIdentifier.of("db", "tbl"), schema,
+                PartitionSpec.builderFor(schema).identity("p").build(), props);
+        unpartitionedTable = catalog.createTable(TableIdentifier.of("db", "unpartitioned_tbl"), schema,
+                PartitionSpec.unpartitioned(), props);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(warehouse);
+    }
+
+    @Test
+    public void testPartitionedTable() throws Exception {
+        table.newAppend().appendFile(dataFile(table, "d1", "p=1")).appendFile(dataFile(table, "d2", "p=2")).commit();
+        table.newRowDelta()
+                .addDeletes(positionDelete(table, "pos1", "p=1"))
+                .addDeletes(equalityDelete(table, "eq2", "p=2"))
+                .commit();
+        // the deletes are committed before the data, so they are not applied to the data
+        table.newAppend().appendFile(dataFile(table, "d3", "p=1")).appendFile(dataFile(table, "d4", "p=3")).commit();
+        table.newRowDelta().addDeletes(positionDelete(table, "pos3", "p=3")).commit();
+
+        IcebergManifestCache cache = new IcebergManifestCache(1000);
+        checkPlan(cache, table.newScan());
+        checkPlan(cache, table.newScan().filter(Expressions.equal("p", 1)));
+        checkPlan(cache, table.newScan().filter(Expressions.greaterThan("p", 1)));
+        checkPlan(cache, table.newScan().filter(Expressions.equal("id", 1)));
+        // time travel
+        long firstSnapshotId = table.history().get(0).snapshotId();
+        checkPlan(cache, table.newScan().useSnapshot(firstSnapshotId));
+        // the entries are read from the cache this time
+        checkPlan(cache, table.newScan());
+    }
+
+    @Test
+    public void testDeletesAcrossPartitions() throws Exception {
+        table.newAppend().appendFile(dataFile(table, "d1", "p=1")).appendFile(dataFile(table, "d2", "p=2"))
+                .appendFile(dataFile(table, "d3", "p=3")).commit();
+        // both kinds of deletes in several partitions, they are applied to the data files of their own partitions
+        table.newRowDelta()
+                .addDeletes(positionDelete(table, "pos1", "p=1"))
+                .addDeletes(equalityDelete(table, "eq1", "p=1"))
+                .addDeletes(positionDelete(table, "pos2", "p=2"))
+                .addDeletes(equalityDelete(table, "eq3", "p=3"))
+                .commit();
+        table.newAppend().appendFile(dataFile(table, "d4", "p=1")).appendFile(dataFile(table, "d5", "p=2")).commit();
+        table.newRowDelta()
+                .addDeletes(equalityDelete(table, "eq2", "p=2"))
+                .addDeletes(positionDelete(table, "pos3", "p=3"))
+                .commit();
+
+        IcebergManifestCache cache = new IcebergManifestCache(1000);
+        checkPlan(cache, table.newScan());
+        checkPlan(cache, table.newScan().filter(Expressions.equal("p", 2)));
+        checkPlan(cache, table.newScan().filter(Expressions.notEqual("p", 1)));
+        checkPlan(cache, table.newScan().useSnapshot(table.history().get(1).snapshotId()));
+        checkPlan(cache, table.newScan());
+    }
+
+    @Test
+    public void testUnpartitionedTable() throws Exception {
+        unpartitionedTable.newAppend().appendFile(dataFile(unpartitionedTable, "d1", null)).commit();
+        unpartitionedTable.newRowDelta()
+                .addDeletes(equalityDelete(unpartitionedTable, "eq1", null))
+                .addDeletes(positionDelete(unpartitionedTable, "pos1", null))
+                .commit();
+        unpartitionedTable.newAppend().appendFile(dataFile(unpartitionedTable, "d2", null)).commit();
+
+        IcebergManifestCache cache = new IcebergManifestCache(1000);
+        checkPlan(cache, unpartitionedTable.newScan());
+        checkPlan(cache, unpartitionedTable.newScan());
+    }
+
+    @Test
+    public void testEmptyTable() throws Exception {
+        IcebergManifestCache cache = new IcebergManifestCache(1000);
+        checkPlan(cache, table.newScan());
+    }
+
+    private void checkPlan(IcebergManifestCache cache, TableScan scan) throws Exception {
+        Assert.assertEquals(plan(scan.planFiles()), plan(cache.planFiles(scan.table(), scan)));
+    }
+
+    // data file -> delete files
+    private static Map<String, Set<String>> plan(CloseableIterable<FileScanTask> tasks) throws Exception {
+        Map<String, Set<String>> result = Maps.newHashMap();
+        try (CloseableIterable<FileScanTask> closeable = tasks) {
+            for (FileScanTask task : closeable) {
+                Set<String> deletes = Sets.newHashSet();
+                for (DeleteFile deleteFile : task.deletes()) {
+                    deletes.add(deleteFile.path().toString());
+                }
+                result.put(task.file().path().toString(), deletes);
+            }
+        }
+        return result;
+    }
+
+    private static DataFile dataFile(Table table, String name, String partitionPath) {
+        DataFiles.Builder builder = DataFiles.builder(table.spec())
+                .withPath(table.location() + "/data/" + name + ".parquet")
+                .withFileSizeInBytes(100)
+                .withRecordCount(10)
+                .withFormat(FileFormat.PARQUET);
+        if (partitionPath != null) {
+            builder.withPartitionPath(partitionPath);
+        }
+        return builder.build();
+    }
+
+    private static DeleteFile positionDelete(Table table, String name, String partitionPath) {
+        FileMetadata.Builder builder = FileMetadata.deleteFileBuilder(table.spec())
+                .ofPositionDeletes()
+                .withPath(table.location() + "/data/" + name + ".parquet")
+                .withFileSizeInBytes(100)
+                .withRecordCount(1)
+                .withFormat(FileFormat.PARQUET);
+        if (partitionPath != null) {
+            builder.withPartitionPath(partitionPath);
+        }
+        return builder.build();
+    }
+
+    private static DeleteFile equalityDelete(Table table, String name, String partitionPath) {
+        FileMetadata.Builder builder = FileMetadata.deleteFileBuilder(table.spec())
+                .ofEqualityDeletes(1)
+                .withPath(table.location() + "/data/" + name + ".parquet")
+                .withFileSizeInBytes(100)
+                .withRecordCount(1)
+                .withFormat(FileFormat.PARQUET);
+        if (partitionPath != null) {
+            builder.withPartitionPath(partitionPath);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,220 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.iceberg.source;
+
+import org.apache.doris.analysis.TupleDescriptor;
+import org.apache.doris.analysis.TupleId;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.FederationBackendPolicy;
+import org.apache.doris.datasource.SplitAssignment;
+import org.apache.doris.datasource.iceberg.IcebergExternalCatalog;
+import org.apache.doris.datasource.iceberg.IcebergExternalTable;
+import org.apache.doris.planner.PlanNodeId;
+import org.apache.doris.spi.Split;
+import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TScanRangeLocations;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.catalog.Namespace;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.hadoop.HadoopCatalog;
+import org.apache.iceberg.types.Types;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class IcebergScanNodeTest {
+    private static final int NUM_PARTITIONS = 3;
+    // more than two batches
+    private static final int NUM_DATA_FILES = IcebergScanNode.SPLIT_BATCH_SIZE * 2 + 100;
+    private static final long SPLIT_SIZE = 128 * 1024 * 1024;
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private IcebergExternalTable externalTable;
+    @Mocked
+    private IcebergApiSource source;
+    @Mocked
+    private FederationBackendPolicy backendPolicy;
+
+    private final Backend backend = new Backend(1L, "127.0.0.1", 9050);
+    private File warehouse;
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        new Expectations() {
+            {
+                externalTable.getIcebergCatalogType();
+                minTimes = 0;
+                result = IcebergExternalCatalog.ICEBERG_HADOOP;
+
+                backendPolicy.computeScanRangeAssignment((List<Split>) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    Multimap<Backend, Split> computeScanRangeAssignment(List<Split> splits) {
+                        Multimap<Backend, Split> assignment = ArrayListMultimap.create();
+                        assignment.putAll(backend, splits);
+                        return assignment;
+                    }
+                };
+            }
+        };
+
+        warehouse = Files.createTempDirectory("iceberg_scan_node_").toFile();
+        HadoopCatalog catalog = new HadoopCatalog();
+        catalog.setConf(new Configuration());
+        catalog.initialize("test", ImmutableMap.of(CatalogProperties.WAREHOUSE_LOCATION,
+                "file://" + warehouse.getAbsolutePath()));
+        catalog.createNamespace(Namespace.of("db"));
+        Schema schema = new Schema(
+                Types.NestedField.required(1, "id", Types.IntegerType.get()),
+                Types.NestedField.required(2, "p", Types.IntegerType.get()));
+        table = catalog.createTable(TableIdentifier.of("db", "tbl"), schema,
+                PartitionSpec.builderFor(schema).identity("p").build(),
+                ImmutableMap.of(TableProperties.FORMAT_VERSION, "2"));
+        AppendFiles append = table.newAppend();
+        for (int i = 0; i < NUM_DATA_FILES; i++) {
+            append.appendFile(DataFiles.builder(table.spec())
+                    .withPath(table.location() + "/data/d" + i + ".parquet")
+                    .withFileSizeInBytes(100)
+                    .withRecordCount(10)
+                    .withFormat(FileFormat.PARQUET)
+                    .withPartitionPath("p=" + i % NUM_PARTITIONS)
+                    .build());
+        }
+        append.commit();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(warehouse);
+    }
+
+    @Test
+    public void testGenerateSplitsWithBackPressure() throws Exception {
+        IcebergScanNode scanNode = newScanNode();
+        SplitAssignment assignment = newAssignment(scanNode);
+        // the generator waits until all the splits of the last batch are fetched
+        Thread generator = startGenerator(scanNode, assignment, 1);
+
+        waitForPendingSplits(assignment);
+        Thread.sleep(200);
+        Assert.assertEquals(IcebergScanNode.SPLIT_BATCH_SIZE, assignment.getNumPendingSplits());
+
+        int fetched = 0;
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (System.currentTimeMillis() < deadline) {
+            Assert.assertTrue(assignment.getNumPendingSplits() <= IcebergScanNode.SPLIT_BATCH_SIZE);
+            BlockingQueue<Collection<TScanRangeLocations>> queue = assignment.getAssignedSplits(backend);
+            if (queue == null) {
+                break;
+            }
+            Collection<TScanRangeLocations> ranges = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (ranges != null) {
+                fetched += ranges.size();
+                assignment.markFetched(ranges.size());
+            }
+        }
+        generator.join(TimeUnit.MINUTES.toMillis(1));
+        Assert.assertFalse(generator.isAlive());
+        Assert.assertEquals(NUM_DATA_FILES, fetched);
+        Assert.assertEquals(0, assignment.getNumPendingSplits());
+        Assert.assertEquals(NUM_PARTITIONS, scanNode.getReadPartitionNum());
+    }
+
+    @Test
+    public void testGenerateSplitsStopped() throws Exception {
+        IcebergScanNode scanNode = newScanNode();
+        SplitAssignment assignment = newAssignment(scanNode);
+        Thread generator = startGenerator(scanNode, assignment, 1);
+
+        waitForPendingSplits(assignment);
+        // the blocked generator returns when the query is finished, e.g. by limit
+        assignment.stop();
+        generator.join(TimeUnit.MINUTES.toMillis(1));
+        Assert.assertFalse(generator.isAlive());
+        Assert.assertNull(assignment.getAssignedSplits(backend));
+        Assert.assertEquals(0, assignment.getNumPendingSplits());
+    }
+
+    private IcebergScanNode newScanNode() {
+        TupleDescriptor desc = new TupleDescriptor(new TupleId(0));
+        desc.setTable(externalTable);
+        IcebergScanNode scanNode = new IcebergScanNode(new PlanNodeId(0), desc, false);
+        Deencapsulation.setField(scanNode, "icebergTable", table);
+        return scanNode;
+    }
+
+    private SplitAssignment newAssignment(IcebergScanNode scanNode) {
+        SplitAssignment assignment = new SplitAssignment(backendPolicy, scanNode,
+                (be, locationProperties, s, pathPartitionKeys) -> new TScanRangeLocations(),
+                Collections.emptyMap(), Collections.emptyList(), null);
+        Deencapsulation.setField(scanNode, "splitAssignment", assignment);
+        return assignment;
+    }
+
+    // run the generator in the background like IcebergScanNode.startSplit
+    private Thread startGenerator(IcebergScanNode scanNode, SplitAssignment assignment, int maxPendingSplits) {
+        Thread generator = new Thread(() -> {
+            try {
+                scanNode.generateSplits(table.newScan(), SPLIT_SIZE, maxPendingSplits, 2);
+                assignment.finishSchedule();
+            } catch (Exception e) {
+                assignment.setException(new UserException(e.getMessage(), e));
+            }
+        });
+        generator.start();
+        return generator;
+    }
+
+    private static void waitForPendingSplits(SplitAssignment assignment) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (assignment.getNumPendingSplits() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(assignment.getNumPendingSplits() > 0);
+    }
+}
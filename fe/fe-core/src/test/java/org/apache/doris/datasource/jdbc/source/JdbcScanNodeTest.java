@@ -0,0 +1,84 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.jdbc.source;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.thrift.TOdbcTableType;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.TimeZone;
+
+public class JdbcScanNodeTest {
+
+    @Test
+    public void testGetRangeBoundaries() {
+        Assert.assertEquals(Lists.newArrayList("25", "50", "75"),
+                JdbcScanNode.getRangeBoundaries(0, 100, 4, String::valueOf));
+        Assert.assertEquals(Lists.newArrayList("-5", "0", "5"),
+                JdbcScanNode.getRangeBoundaries(-10, 10, 4, String::valueOf));
+        // the boundaries equal to min are skipped
+        Assert.assertEquals(Lists.newArrayList("1"), JdbcScanNode.getRangeBoundaries(0, 1, 4, String::valueOf));
+        Assert.assertTrue(JdbcScanNode.getRangeBoundaries(7, 7, 4, String::valueOf).isEmpty());
+        // the boundaries which are the same literal are removed
+        Assert.assertEquals(Lists.newArrayList("b0", "b1"),
+                JdbcScanNode.getRangeBoundaries(0, 8, 4, boundary -> "b" + boundary / 4));
+        // no overflow for the full long range
+        List<String> boundaries = JdbcScanNode.getRangeBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, 2,
+                String::valueOf);
+        Assert.assertEquals(1, boundaries.size());
+        Assert.assertTrue(Math.abs(Long.parseLong(boundaries.get(0))) <= 1024);
+    }
+
+    @Test
+    public void testGetRangeFilters() {
+        Assert.assertEquals(Lists.newArrayList("id < 10 OR id IS NULL", "id >= 10"),
+                JdbcScanNode.getRangeFilters("id", Lists.newArrayList("10")));
+        Assert.assertEquals(Lists.newArrayList("id < 10 OR id IS NULL", "id >= 10 AND id < 20",
+                        "id >= 20 AND id < 30", "id >= 30"),
+                JdbcScanNode.getRangeFilters("id", Lists.newArrayList("10", "20", "30")));
+    }
+
+    @Test
+    public void testDateLiteral() {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            for (String timeZone : new String[] {"UTC", "Asia/Shanghai", "America/Los_Angeles"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+                // getTimestamp returns the epoch millis of the wall-clock time in the time zone of the jvm
+                long epochMillis = Timestamp.valueOf("2024-05-01 23:30:45").getTime();
+                Assert.assertEquals(timeZone, "'2024-05-01 23:30:45'",
+                        JdbcScanNode.dateLiteral(epochMillis, Type.DATETIMEV2, TOdbcTableType.MYSQL));
+                Assert.assertEquals("'2024-05-01'",
+                        JdbcScanNode.dateLiteral(epochMillis, Type.DATEV2, TOdbcTableType.POSTGRESQL));
+                Assert.assertEquals("to_date('2024-05-01 23:30:45', 'yyyy-mm-dd hh24:mi:ss')",
+                        JdbcScanNode.dateLiteral(epochMillis, Type.DATETIME, TOdbcTableType.ORACLE));
+                Assert.assertEquals("date '2024-05-01'",
+                        JdbcScanNode.dateLiteral(epochMillis, Type.DATE, TOdbcTableType.TRINO));
+                Assert.assertEquals("timestamp '2024-05-01 23:30:45'",
+                        JdbcScanNode.dateLiteral(epochMillis, Type.DATETIMEV2, TOdbcTableType.PRESTO));
+            }
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+}
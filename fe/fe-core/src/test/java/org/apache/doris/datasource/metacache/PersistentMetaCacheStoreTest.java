@@ -0,0 +1,117 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.metacache;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.gson.reflect.TypeToken;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.List;
+
+public class PersistentMetaCacheStoreTest {
+    private static final Type LIST_TYPE = new TypeToken<List<String>>() {}.getType();
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("persistent_meta_cache").toFile();
+        file = new File(dir, "1.test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        PersistentMetaCacheStore store = new PersistentMetaCacheStore(file);
+        Assert.assertEquals("", store.getTag());
+        store.reset("100");
+        store.put("a", Lists.newArrayList("a1", "a2"));
+        store.putAll(ImmutableMap.of("b", Lists.newArrayList("b1"), "c", Lists.newArrayList()));
+        store.put("a", Lists.newArrayList("a3"));
+        store.remove("b");
+        store.close();
+
+        store = new PersistentMetaCacheStore(file);
+        Assert.assertEquals("100", store.getTag());
+        Assert.assertEquals(2, store.size());
+        Assert.assertEquals(Lists.newArrayList("a3"), store.get("a", LIST_TYPE, -1));
+        Assert.assertNull(store.get("b", LIST_TYPE, -1));
+        Assert.assertEquals(Lists.newArrayList(), store.get("c", LIST_TYPE, -1));
+
+        store.removeIf(key -> key.startsWith("a"));
+        store.compact("200");
+        store.close();
+
+        store = new PersistentMetaCacheStore(file);
+        Assert.assertEquals("200", store.getTag());
+        Assert.assertEquals(Lists.newArrayList("c"), store.keys());
+        store.close();
+    }
+
+    @Test
+    public void testBrokenRecord() throws Exception {
+        PersistentMetaCacheStore store = new PersistentMetaCacheStore(file);
+        store.put("a", Lists.newArrayList("a1"));
+        long validLength = file.length();
+        store.put("b", Lists.newArrayList("b1"));
+        store.close();
+        // the last record is partially written
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 2);
+        }
+
+        store = new PersistentMetaCacheStore(file);
+        Assert.assertEquals(validLength, file.length());
+        Assert.assertEquals(Lists.newArrayList("a1"), store.get("a", LIST_TYPE, -1));
+        Assert.assertNull(store.get("b", LIST_TYPE, -1));
+        store.put("b", Lists.newArrayList("b2"));
+        store.close();
+
+        store = new PersistentMetaCacheStore(file);
+        Assert.assertEquals(Lists.newArrayList("b2"), store.get("b", LIST_TYPE, -1));
+        store.close();
+    }
+
+    @Test
+    public void testMaxAge() throws Exception {
+        PersistentMetaCacheStore store = new PersistentMetaCacheStore(file);
+        store.put("a", Lists.newArrayList("a1"));
+        Thread.sleep(10);
+        Assert.assertFalse(store.isExpired("a", 60000));
+        Assert.assertTrue(store.isExpired("a", 1));
+        Assert.assertFalse(store.isExpired("b", 1));
+        Assert.assertEquals(Lists.newArrayList("a1"), store.get("a", LIST_TYPE, 60000));
+        Assert.assertNull(store.get("a", LIST_TYPE, 1));
+        Assert.assertEquals(0, store.size());
+        store.close();
+    }
+}
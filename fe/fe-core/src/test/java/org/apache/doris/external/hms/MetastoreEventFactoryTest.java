@@ -47,6 +47,7 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 public class MetastoreEventFactoryTest {
@@ -87,10 +88,14 @@ public class MetastoreEventFactoryTest {
     private static final Function<Long, DropPartitionEvent> dropPartitionEventProducer = eventId
                 -> new DropPartitionEvent(eventId, testCtl, randomDb(), randomTbl(), randomPartitions());
 
+    private static final Function<Long, InsertEvent> insertPartitionEventProducer = eventId
+                -> new InsertEvent(eventId, testCtl, randomDb(), randomTbl(), randomPartition());
+
     private static final List<Function<Long, ? extends MetastoreEvent>> eventProducers = Arrays.asList(
                 createDatabaseEventProducer, alterDatabaseEventProducer, dropDatabaseEventProducer,
                 createTableEventProducer, alterTableEventProducer, insertEventProducer, dropTableEventProducer,
-                addPartitionEventProducer, alterPartitionEventProducer, dropPartitionEventProducer);
+                addPartitionEventProducer, alterPartitionEventProducer, dropPartitionEventProducer,
+                insertPartitionEventProducer);
 
     private static String randomDb() {
         return "db_" + random.nextInt(10);
@@ -311,6 +316,16 @@ public class MetastoreEventFactoryTest {
                         ctl.databases.get(event.getDbName()).tables.remove(event.getTblName());
                         MockTable tbl = new MockTable(((AlterTableEvent) event).getTblNameAfter());
                         ctl.databases.get(event.getDbName()).tables.put(tbl.tblName, tbl);
+                    } else if (event instanceof InsertEvent && ((InsertEvent) event).isPartitionInsert()) {
+                        MockTable tbl = ctl.databases.get(event.getDbName()).tables.get(event.getTblName());
+                        if (tbl != null) {
+                            for (String partitionName : ((InsertEvent) event).getAllPartitionNames()) {
+                                MockPartition partition = tbl.partitions.get(partitionName);
+                                if (partition != null) {
+                                    partition.refresh();
+                                }
+                            }
+                        }
                     } else {
                         MockTable tbl = ctl.databases.get(event.getDbName()).tables.get(event.getTblName());
                         if (tbl != null) {
@@ -405,6 +420,39 @@ public class MetastoreEventFactoryTest {
         }
     }
 
+    @Test
+    public void testBatchPartitionEvents() {
+        List<MetastoreEvent> events = Lists.newArrayList(
+                new AddPartitionEvent(1L, testCtl, "db", "t1", Lists.newArrayList("p1")),
+                new InsertEvent(2L, testCtl, "db", "t1", "p1"),
+                // batched into event 1, event 2 does not touch p2
+                new AddPartitionEvent(3L, testCtl, "db", "t1", Lists.newArrayList("p2")),
+                // batched into event 2
+                new InsertEvent(4L, testCtl, "db", "t1", "p2"),
+                new AddPartitionEvent(5L, testCtl, "db", "t2", Lists.newArrayList("p1")),
+                new DropPartitionEvent(6L, testCtl, "db", "t1", Lists.newArrayList("p0")),
+                // batched into event 6
+                new DropPartitionEvent(7L, testCtl, "db", "t1", Lists.newArrayList("p9")),
+                // not batched across the database event
+                new CreateDatabaseEvent(8L, testCtl, "db2"),
+                new AddPartitionEvent(9L, testCtl, "db", "t1", Lists.newArrayList("p5")),
+                new InsertEvent(10L, testCtl, "db", "t1", "p5"),
+                // not batched into event 9, event 10 touches p5
+                new AddPartitionEvent(11L, testCtl, "db", "t1", Lists.newArrayList("p5", "p6")));
+
+        List<MetastoreEvent> batchedEvents = factory.mergeEvents(testCtl, events);
+        Assertions.assertEquals(Lists.newArrayList(1L, 2L, 5L, 6L, 8L, 9L, 10L, 11L),
+                batchedEvents.stream().map(MetastoreEvent::getEventId).collect(Collectors.toList()));
+        Assertions.assertEquals(Sets.newHashSet("p1", "p2"),
+                ((AddPartitionEvent) batchedEvents.get(0)).getAllPartitionNames());
+        Assertions.assertEquals(Sets.newHashSet("p1", "p2"),
+                ((InsertEvent) batchedEvents.get(1)).getAllPartitionNames());
+        Assertions.assertEquals(Sets.newHashSet("p1"),
+                ((AddPartitionEvent) batchedEvents.get(2)).getAllPartitionNames());
+        Assertions.assertEquals(Sets.newHashSet("p0", "p9"),
+                ((DropPartitionEvent) batchedEvents.get(3)).getAllPartitionNames());
+    }
+
     @Test
     public void testCreateBatchEvents() {
         // for catalog initialization, so just produce CreateXXXEvent / AddXXXEvent
@@ -418,7 +466,8 @@ public class MetastoreEventFactoryTest {
                 0, // DropTableEvent
                 100, // AddPartitionEvent
                 0, // AlterPartitionEvent
-                0 // DropPartitionEvent
+                0, // DropPartitionEvent
+                0 // InsertEvent of partition
         );
 
         List<Integer> proportions = Lists.newArrayList(
@@ -431,7 +480,8 @@ public class MetastoreEventFactoryTest {
                 5000, // DropTableEvent
                 10000, // AddPartitionEvent
                 50000, // AlterPartitionEvent
-                20000 // DropPartitionEvent
+                20000, // DropPartitionEvent
+                10000 // InsertEvent of partition
         );
         EventProducer initProducer = new EventProducer(initProportions);
         EventProducer producer = new EventProducer(proportions);
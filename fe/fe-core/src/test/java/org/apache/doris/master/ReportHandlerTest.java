@@ -0,0 +1,91 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TTablet;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+
+public class ReportHandlerTest {
+    private int reportHandlerThreadNum;
+    // "backend id:report version" of the handled tablet reports
+    private final List<String> handledReports = Lists.newArrayList();
+    private ReportHandler handler;
+
+    @Before
+    public void setUp() {
+        reportHandlerThreadNum = Config.report_handler_thread_num;
+        Config.report_handler_thread_num = 2;
+        handler = new ReportHandler() {
+            @Override
+            void handleTabletReport(long beId, Map<Long, TTablet> tablets, Map<Long, Long> partitionsVersion,
+                    long reportVersion) {
+                handledReports.add(beId + ":" + reportVersion);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.report_handler_thread_num = reportHandlerThreadNum;
+    }
+
+    @Test
+    public void testOnlyHandleLatestTabletReport() throws Exception {
+        putTabletReport(1, 1);
+        putTabletReport(2, 10);
+        putTabletReport(1, 2);
+        putTabletReport(1, 3);
+        // the superseded reports are still in queue, and they are skipped when handled
+        Assert.assertEquals(3, handler.getReportQueue(1).size());
+        Assert.assertEquals(1, handler.getReportQueue(0).size());
+
+        handleQueue(1);
+        Assert.assertEquals(Lists.newArrayList("1:3"), handledReports);
+        handleQueue(0);
+        Assert.assertEquals(Lists.newArrayList("1:3", "2:10"), handledReports);
+
+        // a report put after the latest one is handled is not skipped
+        putTabletReport(1, 4);
+        handleQueue(1);
+        Assert.assertEquals(Lists.newArrayList("1:3", "2:10", "1:4"), handledReports);
+    }
+
+    private void putTabletReport(long beId, long reportVersion) throws Exception {
+        handler.putToQueue(handler.new ReportTask(beId, null, null, Maps.newHashMap(), null, reportVersion,
+                null, null, 0, 0));
+    }
+
+    private void handleQueue(int index) {
+        BlockingQueue<ReportHandler.ReportTask> queue = handler.getReportQueue(index);
+        ReportHandler.ReportTask task;
+        while ((task = queue.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MysqlBufferPoolTest {
+    private int maxIdleBuffers;
+
+    @Before
+    public void setUp() {
+        maxIdleBuffers = Config.mysql_buffer_pool_max_idle_buffers;
+    }
+
+    @After
+    public void tearDown() {
+        Config.mysql_buffer_pool_max_idle_buffers = maxIdleBuffers;
+    }
+
+    @Test
+    public void testLeaseAndRelease() {
+        MysqlBufferPool pool = new MysqlBufferPool(1024, true);
+        ByteBuffer buffer = pool.lease();
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(1024, buffer.capacity());
+        Assert.assertEquals(0, pool.getIdleBufferNum());
+
+        buffer.putInt(1);
+        pool.release(buffer);
+        Assert.assertEquals(1, pool.getIdleBufferNum());
+        // the idle buffer is reused and cleared
+        ByteBuffer leased = pool.lease();
+        Assert.assertSame(buffer, leased);
+        Assert.assertEquals(0, leased.position());
+        Assert.assertEquals(1024, leased.limit());
+        Assert.assertEquals(0, pool.getIdleBufferNum());
+        Assert.assertNotSame(leased, pool.lease());
+    }
+
+    @Test
+    public void testReleaseOtherBuffers() {
+        MysqlBufferPool pool = new MysqlBufferPool(1024, false);
+        pool.release(null);
+        // the larger buffers for big packets and the buffers of the other kind are not cached
+        pool.release(ByteBuffer.allocate(2048));
+        pool.release(ByteBuffer.allocateDirect(1024));
+        Assert.assertEquals(0, pool.getIdleBufferNum());
+        pool.release(ByteBuffer.allocate(1024));
+        Assert.assertEquals(1, pool.getIdleBufferNum());
+    }
+
+    @Test
+    public void testMaxIdleBuffers() {
+        Config.mysql_buffer_pool_max_idle_buffers = 2;
+        MysqlBufferPool pool = new MysqlBufferPool(1024, false);
+        ByteBuffer[] buffers = new ByteBuffer[] {pool.lease(), pool.lease(), pool.lease()};
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        Assert.assertEquals(2, pool.getIdleBufferNum());
+        Assert.assertSame(buffers[0], pool.lease());
+        Assert.assertSame(buffers[1], pool.lease());
+        Assert.assertEquals(0, pool.getIdleBufferNum());
+    }
+}
@@ -20,16 +20,24 @@ package org.apache.doris.mysql;
 
 import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.thrift.TResultBatch;
 
 import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
 import org.junit.Assert;
 import org.junit.Test;
 import org.xnio.StreamConnection;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MysqlChannelTest {
 
@@ -89,4 +97,181 @@ public class MysqlChannelTest {
         buf.flip();
         mysqlChannel.sendOnePacket(buf);
     }
+
+    @Test
+    public void testSendRowPackets() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Expectations() {
+            {
+                streamConnection.getSinkChannel().write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        while (buffer.hasRemaining()) {
+                            output.write(buffer.get());
+                        }
+                        return writeLen;
+                    }
+                };
+
+                streamConnection.getSinkChannel().write((ByteBuffer[]) any, anyInt, anyInt);
+                minTimes = 0;
+                result = new Delegate() {
+                    long fakeWrite(ByteBuffer[] buffers, int offs, int len) {
+                        long writeLen = 0;
+                        for (int i = offs; i < offs + len; i++) {
+                            writeLen += buffers[i].remaining();
+                            while (buffers[i].hasRemaining()) {
+                                output.write(buffers[i].get());
+                            }
+                        }
+                        return writeLen;
+                    }
+                };
+
+                streamConnection.getSinkChannel().flush();
+                minTimes = 0;
+                result = true;
+            }
+        };
+
+        TResultBatch resultBatch = new TResultBatch();
+        resultBatch.setIsCompressed(false);
+        resultBatch.setPacketSeq(0);
+        for (int i = 0; i < 300; i++) {
+            resultBatch.addToRows(ByteBuffer.wrap(("row_" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        resultBatch.addToRows(ByteBuffer.allocate(0));
+        // larger than GATHERING_WRITE_MIN_LEN, so it is sent by gathering write
+        resultBatch.addToRows(ByteBuffer.allocate(100 * 1024));
+        resultBatch.addToRows(ByteBuffer.wrap("last".getBytes(StandardCharsets.UTF_8)));
+        byte[] serialResult = new TSerializer(new TBinaryProtocol.Factory()).serialize(resultBatch);
+
+        ConnectContext ctx = new ConnectContext(streamConnection);
+        MysqlChannel channel = new MysqlChannel(streamConnection, ctx);
+        List<ByteBuffer> rows = deserializeRows(serialResult);
+        // a row not in the serialized array is sent by sendOnePacket
+        rows.add(1, ByteBuffer.wrap("other".getBytes(StandardCharsets.UTF_8)));
+        for (ByteBuffer row : rows) {
+            channel.sendOnePacket(row);
+        }
+        channel.flush();
+        byte[] expected = output.toByteArray();
+        output.reset();
+
+        rows = deserializeRows(serialResult);
+        rows.add(1, ByteBuffer.wrap("other".getBytes(StandardCharsets.UTF_8)));
+        // the rows are the slices of the serialized array, which may be shared, e.g. by the sql cache
+        byte[] array = rows.get(0).array();
+        byte[] arrayCopy = array.clone();
+        List<ByteBuffer> rowsCopy = new ArrayList<>();
+        for (ByteBuffer row : rows) {
+            rowsCopy.add(row.duplicate());
+        }
+        channel = new MysqlChannel(streamConnection, ctx);
+        long sendBytes = channel.sendRowPackets(rows);
+        channel.flush();
+        Assert.assertArrayEquals(expected, output.toByteArray());
+        Assert.assertEquals(expected.length, sendBytes);
+        // neither the rows nor their positions are changed
+        Assert.assertArrayEquals(arrayCopy, array);
+        Assert.assertEquals(rowsCopy, rows);
+    }
+
+    @Test
+    public void testReleaseIdleBuffers() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Expectations() {
+            {
+                streamConnection.getSinkChannel().write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        while (buffer.hasRemaining()) {
+                            output.write(buffer.get());
+                        }
+                        return writeLen;
+                    }
+                };
+
+                streamConnection.getSinkChannel().flush();
+                minTimes = 0;
+                result = true;
+            }
+        };
+
+        ConnectContext ctx = new ConnectContext(streamConnection);
+        MysqlChannel channel = new MysqlChannel(streamConnection, ctx);
+        // the buffers are not leased until a packet is sent
+        Assert.assertNull(channel.sendBuffer);
+
+        channel.sendOnePacket(ByteBuffer.wrap("first".getBytes(StandardCharsets.UTF_8)));
+        ByteBuffer sendBuffer = channel.sendBuffer;
+        Assert.assertTrue(sendBuffer.isDirect());
+        // the data not flushed is kept
+        channel.releaseIdleBuffers();
+        Assert.assertSame(sendBuffer, channel.sendBuffer);
+
+        channel.flush();
+        channel.releaseIdleBuffers();
+        Assert.assertNull(channel.sendBuffer);
+        Assert.assertNull(channel.defaultBuffer);
+
+        // a buffer is leased again for the next packet
+        channel.sendOnePacket(ByteBuffer.wrap("second".getBytes(StandardCharsets.UTF_8)));
+        channel.flush();
+        channel.releaseIdleBuffers();
+        byte[] sent = output.toByteArray();
+        // 4 bytes header before each packet
+        Assert.assertEquals(4 + 5 + 4 + 6, sent.length);
+        Assert.assertEquals("first", new String(sent, 4, 5, StandardCharsets.UTF_8));
+        Assert.assertEquals("second", new String(sent, 13, 6, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCloseReleasesBuffers() throws Exception {
+        new Expectations() {
+            {
+                streamConnection.getSinkChannel().write((ByteBuffer) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    int fakeWrite(ByteBuffer buffer) {
+                        int writeLen = buffer.remaining();
+                        buffer.position(buffer.limit());
+                        return writeLen;
+                    }
+                };
+
+                streamConnection.getSinkChannel().flush();
+                minTimes = 0;
+                result = true;
+            }
+        };
+
+        MysqlBufferPool pool = MysqlBufferPool.getSendBufferPool();
+        ConnectContext ctx = new ConnectContext(streamConnection);
+        MysqlChannel channel = new MysqlChannel(streamConnection, ctx);
+        // the data not flushed, e.g. the connection is killed while sending the result
+        channel.sendOnePacket(ByteBuffer.wrap("row".getBytes(StandardCharsets.UTF_8)));
+        ByteBuffer sendBuffer = channel.sendBuffer;
+        Assert.assertTrue(sendBuffer.isDirect());
+        int idleBufferNum = pool.getIdleBufferNum();
+
+        // closed by another thread, the buffer is still owned by the channel
+        channel.closeConnection();
+        Assert.assertSame(sendBuffer, channel.sendBuffer);
+        Assert.assertEquals(idleBufferNum, pool.getIdleBufferNum());
+
+        channel.close();
+        Assert.assertNull(channel.sendBuffer);
+        Assert.assertEquals(idleBufferNum + 1, pool.getIdleBufferNum());
+    }
+
+    private static List<ByteBuffer> deserializeRows(byte[] serialResult) throws Exception {
+        TResultBatch resultBatch = new TResultBatch();
+        new TDeserializer(new TBinaryProtocol.Factory()).deserialize(resultBatch, serialResult);
+        return resultBatch.getRows();
+    }
 }
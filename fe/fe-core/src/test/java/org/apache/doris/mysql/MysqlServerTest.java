@@ -0,0 +1,94 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlServerTest {
+    private int maxThreadsNum;
+    private int queueSize;
+
+    @Before
+    public void setUp() {
+        maxThreadsNum = Config.max_mysql_service_task_threads_num;
+        queueSize = Config.mysql_service_task_queue_size;
+    }
+
+    @After
+    public void tearDown() {
+        Config.max_mysql_service_task_threads_num = maxThreadsNum;
+        Config.mysql_service_task_queue_size = queueSize;
+    }
+
+    @Test
+    public void testBoundedTaskService() throws InterruptedException {
+        Config.max_mysql_service_task_threads_num = 1;
+        Config.mysql_service_task_queue_size = 1;
+        ExecutorService executor = MysqlServer.createTaskService("bounded");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            Assert.assertEquals(1, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.assertTrue(running.await(1, TimeUnit.MINUTES));
+            // the second command waits in the queue, and the third one is rejected
+            executor.execute(() -> { });
+            Assert.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    @Test
+    public void testCachedTaskService() throws InterruptedException {
+        Config.max_mysql_service_task_threads_num = 3;
+        for (String type : new String[] {"cached", "unknown"}) {
+            ExecutorService executor = MysqlServer.createTaskService(type);
+            Assert.assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadPinned() {
+        Assert.assertTrue(MysqlServer.isVirtualThreadPinnedBySynchronized("1.8.0_131-b11"));
+        Assert.assertTrue(MysqlServer.isVirtualThreadPinnedBySynchronized("21.0.2"));
+        Assert.assertFalse(MysqlServer.isVirtualThreadPinnedBySynchronized("24"));
+        Assert.assertFalse(MysqlServer.isVirtualThreadPinnedBySynchronized("25.0.1+8"));
+    }
+}
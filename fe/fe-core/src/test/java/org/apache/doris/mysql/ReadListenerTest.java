@@ -0,0 +1,151 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.ConnectProcessor;
+
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+import org.xnio.conduits.ConduitStreamSourceChannel;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+public class ReadListenerTest {
+    @Mocked
+    ConnectContext ctx;
+    @Mocked
+    ConnectProcessor connectProcessor;
+    @Mocked
+    ConduitStreamSourceChannel channel;
+    @Mocked
+    XnioWorker worker;
+
+    @Before
+    public void setUp() {
+        new MockUp<XnioIoThread>() {
+            @Mock
+            public XnioIoThread requireCurrentThread() {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void testProcessCommand() throws IOException {
+        new Expectations() {
+            {
+                channel.getWorker();
+                result = worker;
+                worker.execute((Runnable) any);
+                result = new Delegate() {
+                    void execute(Runnable task) {
+                        task.run();
+                    }
+                };
+                ctx.isKilled();
+                result = false;
+            }
+        };
+
+        new ReadListener(ctx, connectProcessor).handleEvent(channel);
+
+        new Verifications() {
+            {
+                ctx.suspendAcceptQuery();
+                times = 1;
+                connectProcessor.processOnce();
+                times = 1;
+                ctx.resumeAcceptQuery();
+                times = 1;
+                ctx.cleanup();
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testProcessCommandException() throws IOException {
+        new Expectations() {
+            {
+                channel.getWorker();
+                result = worker;
+                worker.execute((Runnable) any);
+                result = new Delegate() {
+                    void execute(Runnable task) {
+                        task.run();
+                    }
+                };
+                connectProcessor.processOnce();
+                result = new IOException("connection reset");
+            }
+        };
+
+        new ReadListener(ctx, connectProcessor).handleEvent(channel);
+
+        new Verifications() {
+            {
+                ctx.setKilled();
+                times = 1;
+                ctx.cleanup();
+                times = 1;
+                ctx.resumeAcceptQuery();
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testRejectCommand() throws IOException {
+        new Expectations() {
+            {
+                channel.getWorker();
+                result = worker;
+                worker.execute((Runnable) any);
+                result = new RejectedExecutionException("queue is full");
+            }
+        };
+
+        // the reads are suspended, so the session is closed rather than left hanging
+        new ReadListener(ctx, connectProcessor).handleEvent(channel);
+
+        new Verifications() {
+            {
+                ctx.suspendAcceptQuery();
+                times = 1;
+                ctx.setKilled();
+                times = 1;
+                ctx.cleanup();
+                times = 1;
+                connectProcessor.processOnce();
+                times = 0;
+                ctx.resumeAcceptQuery();
+                times = 0;
+            }
+        };
+    }
+}
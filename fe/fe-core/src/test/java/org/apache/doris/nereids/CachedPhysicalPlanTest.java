@@ -0,0 +1,122 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.common.Pair;
+import org.apache.doris.nereids.glue.LogicalPlanAdapter;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.trees.expressions.literal.IntegerLiteral;
+import org.apache.doris.nereids.trees.plans.commands.PrepareCommand;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.util.MemoTestUtils;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.ScanNode;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.qe.PreparedStatementContext;
+import org.apache.doris.utframe.TestWithFeService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CachedPhysicalPlanTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("test");
+        connectContext.setDatabase("test");
+        createTable("CREATE TABLE t (a int, b int)\n"
+                + "DUPLICATE KEY(a)\n"
+                + "DISTRIBUTED BY HASH(a) BUCKETS 1\n"
+                + "PROPERTIES (\"replication_num\" = \"1\")");
+        createTable("CREATE TABLE t_part (a int, b int)\n"
+                + "DUPLICATE KEY(a)\n"
+                + "PARTITION BY RANGE(a) (\n"
+                + "  PARTITION p1 VALUES LESS THAN (\"10\"),\n"
+                + "  PARTITION p2 VALUES LESS THAN (\"20\"))\n"
+                + "DISTRIBUTED BY HASH(a) BUCKETS 1\n"
+                + "PROPERTIES (\"replication_num\" = \"1\")");
+        connectContext.getSessionVariable().enableNereidsPlanCache = true;
+    }
+
+    @Test
+    public void testRebindParameter() {
+        PreparedStatementContext preparedStmtCtx = prepare("select * from t where a > ?");
+        Assertions.assertTrue(getConjuncts(execute(preparedStmtCtx, 7)).endsWith("a > 7"));
+        Assertions.assertTrue(preparedStmtCtx.cachedPhysicalPlan.isPresent());
+        Assertions.assertTrue(getConjuncts(execute(preparedStmtCtx, 3)).endsWith("a > 3"));
+        Assertions.assertTrue(preparedStmtCtx.cachedPhysicalPlan.isPresent());
+    }
+
+    @Test
+    public void testParameterMergedByRule() {
+        // a > 7 AND a > 5 is simplified to a > 7, which can not be rebound to a > 3
+        PreparedStatementContext preparedStmtCtx = prepare("select * from t where a > ? and a > 5");
+        Assertions.assertTrue(getConjuncts(execute(preparedStmtCtx, 7)).endsWith("a > 7"));
+        Assertions.assertFalse(preparedStmtCtx.cachedPhysicalPlan.isPresent());
+        Assertions.assertTrue(getConjuncts(execute(preparedStmtCtx, 3)).endsWith("a > 5"));
+        Assertions.assertFalse(preparedStmtCtx.cachedPhysicalPlan.isPresent());
+    }
+
+    @Test
+    public void testPartitionPrunedByParameter() {
+        // p2 is pruned by a < 5, but it is needed by a < 15
+        PreparedStatementContext preparedStmtCtx = prepare("select * from t_part where a < ?");
+        Assertions.assertEquals(1, getSelectedPartitionNum(execute(preparedStmtCtx, 5)));
+        Assertions.assertFalse(preparedStmtCtx.cachedPhysicalPlan.isPresent());
+        Assertions.assertEquals(2, getSelectedPartitionNum(execute(preparedStmtCtx, 15)));
+    }
+
+    private PreparedStatementContext prepare(String sql) {
+        List<Pair<LogicalPlan, StatementContext>> statements = new NereidsParser().parseMultiple(sql);
+        StatementContext statementContext = statements.get(0).second;
+        PrepareCommand command = new PrepareCommand("stmt", statements.get(0).first,
+                statementContext.getPlaceholders(), new OriginStatement(sql, 0));
+        return new PreparedStatementContext(command, connectContext, statementContext, sql);
+    }
+
+    private NereidsPlanner execute(PreparedStatementContext preparedStmtCtx, int parameter) {
+        PrepareCommand command = preparedStmtCtx.command;
+        StatementContext statementContext = MemoTestUtils.createStatementContext(connectContext,
+                preparedStmtCtx.stmtString);
+        statementContext.getIdToPlaceholderRealExpr().put(command.getPlaceholders().get(0).getPlaceholderId(),
+                new IntegerLiteral(parameter));
+        statementContext.setPreparedStatementContext(preparedStmtCtx);
+        NereidsPlanner planner = new NereidsPlanner(statementContext);
+        planner.plan(new LogicalPlanAdapter(command.getLogicalPlan(), statementContext));
+        return planner;
+    }
+
+    private int getSelectedPartitionNum(NereidsPlanner planner) {
+        List<ScanNode> scanNodes = planner.getScanNodes();
+        Assertions.assertEquals(1, scanNodes.size());
+        return ((OlapScanNode) scanNodes.get(0)).getSelectedPartitionNum();
+    }
+
+    private String getConjuncts(NereidsPlanner planner) {
+        List<ScanNode> scanNodes = planner.getScanNodes();
+        Assertions.assertEquals(1, scanNodes.size());
+        return scanNodes.get(0).getConjuncts().stream()
+                .map(Expr::toSql)
+                .map(sql -> sql.replaceAll("[`()]", ""))
+                .collect(Collectors.joining(" AND "));
+    }
+}
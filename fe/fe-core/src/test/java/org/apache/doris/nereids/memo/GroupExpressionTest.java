@@ -0,0 +1,84 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.memo;
+
+import org.apache.doris.common.IdGenerator;
+import org.apache.doris.nereids.analyzer.UnboundRelation;
+import org.apache.doris.nereids.properties.UnboundLogicalProperties;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.expressions.StatementScopeIdGenerator;
+import org.apache.doris.nereids.trees.plans.GroupPlan;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalProject;
+import org.apache.doris.nereids.types.StringType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class GroupExpressionTest {
+    private final IdGenerator<GroupId> groupIdGenerator = GroupId.createGenerator();
+    private final SlotReference name = new SlotReference("name", StringType.INSTANCE, true, ImmutableList.of("t"));
+
+    @Test
+    void testEqualsAndHashCode() {
+        Group left = newGroup();
+        Group right = newGroup();
+
+        GroupExpression expr = newProjectExpression(left);
+        GroupExpression same = newProjectExpression(left);
+        Assertions.assertEquals(expr, same);
+        Assertions.assertEquals(expr.hashCode(), same.hashCode());
+        // the hash code is stable once the plan hash code is cached
+        Assertions.assertEquals(expr.hashCode(), expr.hashCode());
+
+        // same plan, different child groups
+        Assertions.assertNotEquals(expr, newProjectExpression(right));
+
+        // same child groups, different plans
+        LogicalProject<Plan> other = new LogicalProject<>(
+                ImmutableList.of(new SlotReference("other", StringType.INSTANCE, true, ImmutableList.of("t"))),
+                new GroupPlan(left));
+        Assertions.assertNotEquals(expr, new GroupExpression(other, Lists.newArrayList(left)));
+    }
+
+    @Test
+    void testDeduplicateInMemo() {
+        Memo memo = new Memo(null, new LogicalProject<>(ImmutableList.of(name),
+                new UnboundRelation(StatementScopeIdGenerator.newRelationId(), ImmutableList.of("t"))));
+        Group root = memo.getRoot();
+        Group child = root.getLogicalExpression().child(0);
+
+        // copy in the same plan on the same child group again, it is found in the memo and no group expression added
+        int groupExpressionNum = memo.getGroupExpressionsSize();
+        LogicalProject<Plan> project = new LogicalProject<>(ImmutableList.of(name), new GroupPlan(child));
+        memo.copyIn(project, null, false);
+        Assertions.assertEquals(groupExpressionNum, memo.getGroupExpressionsSize());
+        Assertions.assertEquals(1, root.getLogicalExpressions().size());
+    }
+
+    private Group newGroup() {
+        return new Group(groupIdGenerator.getNextId(), UnboundLogicalProperties.INSTANCE);
+    }
+
+    private GroupExpression newProjectExpression(Group child) {
+        return new GroupExpression(new LogicalProject<>(ImmutableList.of(name), new GroupPlan(child)),
+                Lists.newArrayList(child));
+    }
+}
@@ -118,6 +118,29 @@ class GroupExpressionMatchingTest {
         Assertions.assertFalse(iterator.hasNext());
     }
 
+    @Test
+    void testBindMemoPlanWithGroup() {
+        Pattern pattern = new Pattern<>(PlanType.LOGICAL_PROJECT, Pattern.GROUP);
+
+        Plan leaf = new UnboundRelation(StatementScopeIdGenerator.newRelationId(), Lists.newArrayList("test"));
+        LogicalProject root = new LogicalProject(ImmutableList
+                .of(new SlotReference("name", StringType.INSTANCE, true, ImmutableList.of("test"))),
+                leaf);
+        Memo memo = new Memo(null, root);
+        Plan memoPlan = memo.getRoot().getLogicalExpression().getPlan();
+
+        GroupExpressionMatching groupExpressionMatching
+                = new GroupExpressionMatching(pattern, memo.getRoot().getLogicalExpression());
+        Iterator<Plan> iterator = groupExpressionMatching.iterator();
+
+        // the children of the memo plan are the GroupPlans of the child groups, so the memo plan is bound
+        Assertions.assertTrue(iterator.hasNext());
+        Plan actual = iterator.next();
+        Assertions.assertSame(memoPlan, actual);
+        Assertions.assertSame(memo.getRoot().getLogicalExpression().child(0), ((GroupPlan) actual.child(0)).getGroup());
+        Assertions.assertFalse(iterator.hasNext());
+    }
+
     @Test
     void testLeafAny() {
         Pattern pattern = Pattern.ANY;
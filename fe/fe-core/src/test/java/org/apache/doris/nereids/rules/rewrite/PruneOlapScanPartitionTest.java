@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.rules.rewrite;
 
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
 import org.apache.doris.nereids.util.MemoPatternMatchSupported;
 import org.apache.doris.nereids.util.PlanChecker;
 import org.apache.doris.utframe.TestWithFeService;
@@ -25,6 +26,9 @@ import org.apache.doris.utframe.TestWithFeService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 class PruneOlapScanPartitionTest extends TestWithFeService implements MemoPatternMatchSupported {
 
     @Override
@@ -388,6 +392,102 @@ class PruneOlapScanPartitionTest extends TestWithFeService implements MemoPatter
 
     }
 
+    @Test
+    void testPartitionItemIndex() throws Exception {
+        createTable("create table test_index_range_parts(id int, dt date) "
+                + "partition by range(dt) ("
+                + "  partition p1 values less than ('2024-01-01'),"
+                + "  partition p2 values [('2024-01-01'), ('2024-01-02')),"
+                + "  partition p3 values [('2024-01-02'), ('2024-01-03')),"
+                + "  partition p4 values [('2024-01-05'), ('2024-01-10'))"
+                + ") "
+                + "distributed by hash(id) "
+                + "properties ('replication_num'='1')");
+        createTable("create table test_index_list_parts(id int, part int) "
+                + "partition by list(part) ("
+                + "  partition p1 values in ((NULL), ('1'), ('2')),"
+                + "  partition p2 values in ('3', '4'),"
+                + "  partition p3 values in ('5'),"
+                + "  partition p4"
+                + ") "
+                + "distributed by hash(id) "
+                + "properties ('replication_num'='1')");
+
+        String[] rangeFilters = {
+                "dt = '2024-01-01'", "dt > '2024-01-01'", "dt >= '2024-01-02'", "dt < '2024-01-01'",
+                "dt <= '2024-01-01'", "dt in ('2024-01-02', '2024-01-04', '2024-01-07')", "dt = '2024-01-04'",
+                "dt > '2024-01-01' and dt < '2024-01-06'", "dt < '2024-01-01' or dt > '2024-01-05'",
+                "dt is null", "dt = '2024-01-02' and id = 1", "(dt = '2024-01-02' and id = 1) or dt = '2024-01-06'",
+                "dt = '2024-01-02' or id = 1", "dt = '2024-01-06' and dt + interval 1 day = '2024-01-07'",
+                "dt > '2024-01-09' and dt < '2024-01-02'", "dt != '2024-01-01'", "dt >= '2025-01-01'"
+        };
+        String[] listFilters = {
+                "part = 1", "part = 6", "part in (1, 3, 7)", "part > 2", "part <= 3", "part is null",
+                "part = 3 or part = 5", "part = 3 and id = 1", "part = 1 or id = 1", "part + 1 = 4", "part != 3"
+        };
+        for (String filter : rangeFilters) {
+            assertSameWithoutIndex("test_index_range_parts", filter);
+        }
+        for (String filter : listFilters) {
+            assertSameWithoutIndex("test_index_list_parts", filter);
+        }
+
+        // the index is rebuilt after the partitions are changed
+        test("test_index_range_parts", "dt = '2024-01-03'", 0);
+        alterTableSync("alter table test_index_range_parts add partition p5 values [('2024-01-03'), ('2024-01-04'))");
+        test("test_index_range_parts", "dt = '2024-01-03'", 1);
+        assertSameWithoutIndex("test_index_range_parts", "dt >= '2024-01-03'");
+    }
+
+    @Test
+    void testPartitionItemIndexWithNullPartition() throws Exception {
+        createTable("create table test_index_null_list_parts(id int, part int) "
+                + "partition by list(part) ("
+                + "  partition p1 values in ((NULL)),"
+                + "  partition p2 values in ('1', '2'),"
+                + "  partition p3 values in ('3')"
+                + ") "
+                + "distributed by hash(id) "
+                + "properties ('replication_num'='1')");
+
+        // the partition only containing null is not pruned
+        test("test_index_null_list_parts", "part is null", 1);
+        test("test_index_null_list_parts", "part is null or part = 3", 2);
+        test("test_index_null_list_parts", "part = 1", 1);
+        String[] filters = {
+                "part is null", "part is null or part = 3", "part is null or id = 1", "part is not null",
+                "part = 1", "part in (1, 3)", "part + 1 = 2", "part is null and part = 1"
+        };
+        for (String filter : filters) {
+            assertSameWithoutIndex("test_index_null_list_parts", filter);
+        }
+    }
+
+    private void assertSameWithoutIndex(String table, String filter) {
+        connectContext.getSessionVariable().enablePartitionPruneIndex = true;
+        Set<Long> withIndex = selectedPartitionIds(table, filter);
+        connectContext.getSessionVariable().enablePartitionPruneIndex = false;
+        try {
+            Assertions.assertEquals(selectedPartitionIds(table, filter), withIndex, filter);
+        } finally {
+            connectContext.getSessionVariable().enablePartitionPruneIndex = true;
+        }
+    }
+
+    private Set<Long> selectedPartitionIds(String table, String filter) {
+        Set<Long> partitionIds = new HashSet<>();
+        PlanChecker.from(connectContext)
+                .analyze("select * from " + table + " where " + filter)
+                .rewrite()
+                .getPlan()
+                .foreach(plan -> {
+                    if (plan instanceof LogicalOlapScan) {
+                        partitionIds.addAll(((LogicalOlapScan) plan).getSelectedPartitionIds());
+                    }
+                });
+        return partitionIds;
+    }
+
     private void test(String table, String filter, int expectScanPartitionNum) {
         PlanChecker planChecker = PlanChecker.from(connectContext)
                 .analyze("select * from " + table + (filter.isEmpty() ? "" : " where " + filter))
@@ -17,11 +17,26 @@
 
 package org.apache.doris.persist;
 
+import org.apache.doris.common.Config;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.journal.JournalCursor;
+import org.apache.doris.journal.JournalEntity;
+
+import com.google.common.collect.Lists;
+import mockit.Deencapsulation;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EditLogTest {
     private String meta = "editLogTestDir/";
@@ -102,4 +117,132 @@ public class EditLogTest {
     public void test() {
 
     }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        String originType = Config.edit_log_type;
+        boolean originBatch = Config.enable_batch_editlog;
+        int originItemNum = Config.batch_edit_log_max_item_num;
+        Config.edit_log_type = "local";
+        Config.enable_batch_editlog = true;
+        Config.batch_edit_log_max_item_num = 8;
+        try {
+            EditLog editLog = new EditLog("");
+            BatchRecordJournal journal = new BatchRecordJournal();
+            Deencapsulation.setField(editLog, "journal", journal);
+
+            int threadNum = 16;
+            int logNumPerThread = 50;
+            Set<Long> logIds = ConcurrentHashMap.newKeySet();
+            List<Thread> threads = Lists.newArrayList();
+            for (int i = 0; i < threadNum; i++) {
+                Thread thread = new Thread(() -> {
+                    for (int j = 0; j < logNumPerThread; j++) {
+                        long logId = Deencapsulation.invoke(editLog, "logEdit",
+                                OperationType.OP_SAVE_NEXTID, new Text("1"));
+                        logIds.add(logId);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            int total = threadNum * logNumPerThread;
+            // every caller gets a distinct journal id after its log is written
+            Assert.assertEquals(total, logIds.size());
+            Assert.assertEquals(1L, (long) Collections.min(logIds));
+            Assert.assertEquals(total, (long) Collections.max(logIds));
+            Assert.assertEquals(total, journal.batchSizes.stream().mapToInt(Integer::intValue).sum());
+            Assert.assertTrue(journal.batchSizes.stream().allMatch(size -> size <= 8));
+            // concurrent logs are coalesced
+            Assert.assertTrue(journal.batchSizes.size() < total);
+        } finally {
+            Config.edit_log_type = originType;
+            Config.enable_batch_editlog = originBatch;
+            Config.batch_edit_log_max_item_num = originItemNum;
+        }
+    }
+
+    private static class BatchRecordJournal implements Journal {
+        private final List<Integer> batchSizes = Collections.synchronizedList(Lists.newArrayList());
+        private long nextId = 1;
+
+        @Override
+        public synchronized long write(JournalBatch batch) throws IOException {
+            batchSizes.add(batch.getJournalEntities().size());
+            try {
+                // simulate the fsync latency
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            long firstId = nextId;
+            nextId += batch.getJournalEntities().size();
+            return firstId;
+        }
+
+        @Override
+        public synchronized long write(short op, Writable writable) throws IOException {
+            return nextId++;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal() {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return nextId - 1;
+        }
+
+        @Override
+        public long getMinJournalId() {
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalEntity read(long journalId) {
+            return null;
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public long getJournalNum() {
+            return 0;
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return Lists.newArrayList();
+        }
+
+        @Override
+        public boolean exceedMaxJournalSize(short op, Writable writable) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,126 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.FeMetaVersion;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ParallelJournalReplayerTest {
+    private MetaContext metaContext;
+
+    @Before
+    public void setUp() {
+        metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeMetaVersion.VERSION_CURRENT);
+        metaContext.setThreadLocalInfo();
+    }
+
+    @After
+    public void tearDown() {
+        MetaContext.remove();
+    }
+
+    @Test
+    public void testReplayKey() {
+        Assert.assertEquals(ParallelJournalReplayer.SERIAL_KEY,
+                ParallelJournalReplayer.getReplayKey(newEntity(OperationType.OP_SAVE_NEXTID, new Text("1"))));
+        Assert.assertEquals(3L, ParallelJournalReplayer.getReplayKey(
+                newEntity(OperationType.OP_UPSERT_TRANSACTION_STATE, newTransactionState(3L, 1L))));
+        Assert.assertEquals(5L, ParallelJournalReplayer.getReplayKey(
+                newEntity(OperationType.OP_DELETE_TRANSACTION_STATE, newTransactionState(5L, 1L))));
+    }
+
+    @Test
+    public void testReplayInOrderOfEachDb() {
+        List<Pair<Long, JournalEntity>> journals = Lists.newArrayList();
+        Map<Long, List<Long>> expected = Maps.newHashMap();
+        for (long logId = 1; logId <= 100; logId++) {
+            long dbId = logId % 7;
+            journals.add(Pair.of(logId,
+                    newEntity(OperationType.OP_UPSERT_TRANSACTION_STATE, newTransactionState(dbId, logId))));
+            expected.computeIfAbsent(dbId, k -> Lists.newArrayList()).add(logId);
+        }
+
+        Map<Long, List<Long>> replayed = new ConcurrentHashMap<>();
+        Map<Long, MetaContext> contexts = new ConcurrentHashMap<>();
+        ParallelJournalReplayer replayer = new ParallelJournalReplayer(3);
+        replayer.replay(journals, (logId, entity) -> {
+            long dbId = ParallelJournalReplayer.getReplayKey(entity);
+            replayed.computeIfAbsent(dbId, k -> Lists.newArrayList()).add(logId);
+            contexts.put(logId, MetaContext.get());
+        });
+
+        // all the journals are replayed when replay returns, and the journals of a db keep the log id order
+        Assert.assertEquals(expected, Maps.newHashMap(replayed));
+        Assert.assertEquals(journals.size(), contexts.size());
+        for (MetaContext context : contexts.values()) {
+            Assert.assertSame(metaContext, context);
+        }
+    }
+
+    @Test
+    public void testReplayException() {
+        List<Pair<Long, JournalEntity>> journals = Lists.newArrayList();
+        for (long logId = 1; logId <= 10; logId++) {
+            journals.add(Pair.of(logId,
+                    newEntity(OperationType.OP_UPSERT_TRANSACTION_STATE, newTransactionState(logId, logId))));
+        }
+        ParallelJournalReplayer replayer = new ParallelJournalReplayer(2);
+        IllegalStateException e = Assert.assertThrows(IllegalStateException.class,
+                () -> replayer.replay(journals, (logId, entity) -> {
+                    if (logId == 5) {
+                        throw new IllegalStateException("failed to replay " + logId);
+                    }
+                }));
+        Assert.assertEquals("failed to replay 5", e.getMessage());
+    }
+
+    private static JournalEntity newEntity(short op, Writable data) {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(op);
+        entity.setData(data);
+        return entity;
+    }
+
+    private static TransactionState newTransactionState(long dbId, long txnId) {
+        return new TransactionState(dbId, Lists.newArrayList(dbId * 100), txnId, "label_" + txnId,
+                new TUniqueId(txnId, txnId), LoadJobSourceType.BACKEND_STREAMING,
+                new TxnCoordinator(TxnSourceType.BE, 0, "127.0.0.1", System.currentTimeMillis()),
+                -1L, 60 * 1000L);
+    }
+}
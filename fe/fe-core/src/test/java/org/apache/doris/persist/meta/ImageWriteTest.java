@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.io.Text;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ImageWriteTest {
+    private static final int MODULE_NUM = 5;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("image_write").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(dir);
+    }
+
+    @Test
+    public void testParallelWrite() throws Exception {
+        File serial = write("serial", 1, false);
+        File parallel = write("parallel", 3, false);
+        // the layout of the parallel written image is the same
+        Assert.assertTrue(FileUtils.contentEquals(serial, parallel));
+        Assert.assertNull(MetaHeader.read(parallel).getCompression());
+        Assert.assertEquals(read(serial), read(parallel));
+    }
+
+    @Test
+    public void testCompressedWrite() throws Exception {
+        File serial = write("serial", 1, false);
+        long expected = read(serial);
+        for (int parallelism : new int[] {1, 3}) {
+            File compressed = write("compressed" + parallelism, parallelism, true);
+            Assert.assertNotNull(MetaHeader.read(compressed).getCompression());
+            Assert.assertTrue(compressed.length() < serial.length());
+            Assert.assertEquals(MetaFooter.read(serial).metaIndices.size(),
+                    MetaFooter.read(compressed).metaIndices.size());
+            Assert.assertEquals(expected, read(compressed));
+        }
+    }
+
+    @Test
+    public void testSerialSections() throws Exception {
+        Thread callingThread = Thread.currentThread();
+        Set<String> serialSections = ImmutableSet.of("module1", "module3");
+        AtomicInteger serialWritten = new AtomicInteger(0);
+        List<String> errors = Collections.synchronizedList(Lists.newArrayList());
+        Map<String, MetaWriter.SectionWriter> writers = Maps.newLinkedHashMap();
+        for (int i = 0; i < MODULE_NUM; i++) {
+            String name = "module" + i;
+            long value = i;
+            writers.put(name, (dos, checksum) -> {
+                if (serialSections.contains(name)) {
+                    if (Thread.currentThread() != callingThread) {
+                        errors.add(name + " is not written in the calling thread");
+                    }
+                    serialWritten.incrementAndGet();
+                } else if (serialWritten.get() != serialSections.size()) {
+                    // the serial sections are written before any other section starts
+                    errors.add(name + " is written before the serial sections");
+                }
+                dos.writeLong(value);
+                return checksum ^ value;
+            });
+        }
+        File imageFile = new File(dir, "serial_sections");
+        long checksum = MetaWriter.write(imageFile, writers, serialSections, 3, false);
+        Assert.assertEquals(Lists.newArrayList(), errors);
+        Assert.assertEquals(checksum, MetaFooter.read(imageFile).checksum);
+
+        // the sections are still in module order
+        Map<String, MetaReader.SectionReader> readers = Maps.newHashMap();
+        for (int i = 0; i < MODULE_NUM; i++) {
+            long value = i;
+            readers.put("module" + i, (dis, cs) -> {
+                Assert.assertEquals(value, dis.readLong());
+                return cs ^ value;
+            });
+        }
+        Assert.assertEquals(checksum, MetaReader.read(imageFile, MetaHeader.read(imageFile), readers));
+    }
+
+    private File write(String name, int parallelism, boolean compress) throws Exception {
+        File imageFile = new File(dir, name);
+        Map<String, MetaWriter.SectionWriter> writers = Maps.newLinkedHashMap();
+        for (int i = 0; i < MODULE_NUM; i++) {
+            // the last module is empty
+            int num = i == MODULE_NUM - 1 ? 0 : 100 * (i + 1);
+            writers.put("module" + i, (dos, checksum) -> {
+                for (long value = 0; value < num; value++) {
+                    checksum ^= value;
+                    dos.writeLong(value);
+                    Text.writeString(dos, "{\"tableId\":" + value + "}");
+                }
+                return checksum;
+            });
+        }
+        long checksum = MetaWriter.write(imageFile, writers, ImmutableSet.of(), parallelism, compress);
+        Assert.assertEquals(checksum, MetaFooter.read(imageFile).checksum);
+        return imageFile;
+    }
+
+    private long read(File imageFile) throws Exception {
+        Map<String, MetaReader.SectionReader> readers = Maps.newHashMap();
+        for (int i = 0; i < MODULE_NUM; i++) {
+            int num = i == MODULE_NUM - 1 ? 0 : 100 * (i + 1);
+            readers.put("module" + i, (dis, checksum) -> {
+                for (long value = 0; value < num; value++) {
+                    Assert.assertEquals(value, dis.readLong());
+                    Assert.assertEquals("{\"tableId\":" + value + "}", Text.readString(dis));
+                    checksum ^= value;
+                }
+                return checksum;
+            });
+        }
+        return MetaReader.read(imageFile, MetaHeader.read(imageFile), readers);
+    }
+}
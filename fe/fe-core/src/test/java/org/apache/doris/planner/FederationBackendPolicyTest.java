@@ -23,12 +23,14 @@ import org.apache.doris.common.UserException;
 import org.apache.doris.datasource.FederationBackendPolicy;
 import org.apache.doris.datasource.FileSplit;
 import org.apache.doris.datasource.NodeSelectionStrategy;
+import org.apache.doris.datasource.SplitWeight;
 import org.apache.doris.spi.Split;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import mockit.Mock;
 import mockit.MockUp;
@@ -119,6 +121,69 @@ public class FederationBackendPolicyTest {
         }
     }
 
+    @Test
+    public void testFileSplitWeight() {
+        long targetSplitSize = 128L * 1024 * 1024;
+        Assert.assertEquals(SplitWeight.standard(), newSplit("file", targetSplitSize, 0).getSplitWeight());
+        Assert.assertEquals(SplitWeight.standard(),
+                newSplit("file", targetSplitSize, targetSplitSize).getSplitWeight());
+        Assert.assertEquals(50, newSplit("file", targetSplitSize / 2, targetSplitSize).getSplitWeight().getRawValue());
+        Assert.assertEquals(300, newSplit("file", targetSplitSize * 3, targetSplitSize).getSplitWeight().getRawValue());
+        // the small splits have the minimal weight
+        Assert.assertEquals(5, newSplit("file", 1024, targetSplitSize).getSplitWeight().getRawValue());
+    }
+
+    @Test
+    public void testLoadAwareAssignment() throws UserException {
+        SystemInfoService service = new SystemInfoService();
+        Backend backend1 = new Backend(40002L, "172.30.0.100", 9050);
+        backend1.setAlive(true);
+        backend1.setPipelineExecutorSize(8);
+        service.addBackend(backend1);
+        Backend backend2 = new Backend(40003L, "172.30.0.106", 9050);
+        backend2.setAlive(true);
+        backend2.setPipelineExecutorSize(8);
+        service.addBackend(backend2);
+        new MockUp<Env>() {
+            @Mock
+            public SystemInfoService getCurrentSystemInfo() {
+                return service;
+            }
+        };
+
+        long targetSplitSize = 128L * 1024 * 1024;
+        List<Split> splits = new ArrayList<>();
+        for (int length : new int[] {1, 3, 2, 2}) {
+            splits.add(newSplit("file_" + splits.size(), length * targetSplitSize, targetSplitSize));
+        }
+
+        // the largest split first to the backend finishing earliest, so both backends get 4 standard splits
+        FederationBackendPolicy policy = new FederationBackendPolicy(NodeSelectionStrategy.ROUND_ROBIN, true);
+        policy.init();
+        Multimap<Backend, Split> assignment = policy.computeScanRangeAssignment(splits);
+        for (Backend backend : Lists.newArrayList(backend1, backend2)) {
+            List<Split> assignedSplits = new ArrayList<>(assignment.get(backend));
+            Assert.assertEquals(4 * targetSplitSize, assignedSplits.stream().mapToLong(Split::getLength).sum());
+            // the splits of a backend keep the original order
+            Assert.assertTrue(splits.indexOf(assignedSplits.get(0)) < splits.indexOf(assignedSplits.get(1)));
+        }
+
+        // a backend busy with other queries gets no split
+        backend2.getBackendStatus().currentFragmentNum = 100;
+        policy = new FederationBackendPolicy(NodeSelectionStrategy.ROUND_ROBIN, true);
+        policy.init();
+        assignment = policy.computeScanRangeAssignment(splits);
+        Assert.assertEquals(splits, new ArrayList<>(assignment.get(backend1)));
+        Assert.assertTrue(assignment.get(backend2).isEmpty());
+    }
+
+    private static FileSplit newSplit(String file, long length, long targetSplitSize) {
+        FileSplit split = new FileSplit(new Path("hdfs://nameservice/warehouse/db.db/tbl/" + file), 0, length, length,
+                0, null, Collections.emptyList());
+        split.setTargetSplitSize(targetSplitSize);
+        return split;
+    }
+
     @Test
     public void testHasLocalSplits() throws UserException {
         SystemInfoService service = new SystemInfoService();
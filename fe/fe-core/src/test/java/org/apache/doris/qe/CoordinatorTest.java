@@ -39,10 +39,16 @@ import org.apache.doris.planner.PlanFragment;
 import org.apache.doris.planner.PlanFragmentId;
 import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.planner.ScanNode;
+import org.apache.doris.proto.InternalService;
 import org.apache.doris.service.FrontendOptions;
 import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TDataPartition;
+import org.apache.doris.thrift.TDescriptorTable;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPartitionType;
+import org.apache.doris.thrift.TPipelineFragmentSharedParams;
+import org.apache.doris.thrift.TPlanFragment;
+import org.apache.doris.thrift.TQueryGlobals;
 import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
 import org.apache.doris.thrift.TScanRangeParams;
@@ -52,10 +58,15 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import doris.segment_v2.SegmentV2;
 import mockit.Mocked;
 import org.apache.commons.collections.map.HashedMap;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
 import org.junit.Assert;
 import org.junit.Test;
+import org.xerial.snappy.Snappy;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -874,4 +885,42 @@ public class CoordinatorTest extends Coordinator {
             hostNames.remove(host.hostname);
         }
     }
+
+    @Test
+    public void testSerializeSharedParams() throws Exception {
+        TPipelineFragmentSharedParams sharedParams = new TPipelineFragmentSharedParams();
+        sharedParams.setDescTbl(new TDescriptorTable(new ArrayList<>()));
+        sharedParams.setQueryGlobals(new TQueryGlobals("2024-01-01 00:00:00"));
+        Map<Integer, TPlanFragment> fragments = Maps.newHashMap();
+        fragments.put(0, new TPlanFragment(new TDataPartition(TPartitionType.UNPARTITIONED)));
+        fragments.put(1, new TPlanFragment(new TDataPartition(TPartitionType.RANDOM)));
+        sharedParams.setFragments(fragments);
+        TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+
+        // not compressed
+        InternalService.PExecPlanFragmentRequest request = serializeSharedParams(serializer, sharedParams, -1);
+        Assert.assertFalse(request.getSharedParamsCompressed());
+        Assert.assertEquals(sharedParams, deserializeSharedParams(request));
+        int size = request.getSharedParams().size();
+        request = serializeSharedParams(serializer, sharedParams, size);
+        Assert.assertFalse(request.getSharedParamsCompressed());
+
+        // compressed if the size exceeds the threshold
+        request = serializeSharedParams(serializer, sharedParams, size - 1);
+        Assert.assertTrue(request.getSharedParamsCompressed());
+        Assert.assertEquals(SegmentV2.CompressionTypePB.SNAPPY, request.getSharedParamsCompressionType());
+        Assert.assertEquals(size, request.getSharedParamsUncompressedSize());
+        Assert.assertEquals(sharedParams, deserializeSharedParams(request));
+    }
+
+    private static TPipelineFragmentSharedParams deserializeSharedParams(
+            InternalService.PExecPlanFragmentRequest request) throws Exception {
+        byte[] serialized = request.getSharedParams().toByteArray();
+        if (request.getSharedParamsCompressed()) {
+            serialized = Snappy.uncompress(serialized);
+        }
+        TPipelineFragmentSharedParams sharedParams = new TPipelineFragmentSharedParams();
+        new TDeserializer(new TCompactProtocol.Factory()).deserialize(sharedParams, serialized);
+        return sharedParams;
+    }
 }
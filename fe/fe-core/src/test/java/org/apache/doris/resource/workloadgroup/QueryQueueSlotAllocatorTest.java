@@ -0,0 +1,96 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TQueryQueueSlotDemand;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class QueryQueueSlotAllocatorTest {
+    private static final long WG_ID = 1;
+    private static final Map<Long, Integer> MAX_CONCURRENCIES = ImmutableMap.of(WG_ID, 10);
+
+    private static List<TQueryQueueSlotDemand> demand(int running, int waiting) {
+        TQueryQueueSlotDemand demand = new TQueryQueueSlotDemand();
+        demand.setWgId(WG_ID);
+        demand.setRunningQueryNum(running);
+        demand.setWaitingQueryNum(waiting);
+        return Collections.singletonList(demand);
+    }
+
+    private static int allocate(QueryQueueSlotAllocator allocator, String feName, int running, int waiting,
+            long nowMs) {
+        return allocator.allocate(feName, demand(running, waiting), MAX_CONCURRENCIES, nowMs).get(WG_ID);
+    }
+
+    @Test
+    public void testUnderLimit() {
+        Config.query_queue_slot_lease_batch_size = 4;
+        QueryQueueSlotAllocator allocator = new QueryQueueSlotAllocator();
+        // the demand and the lease batch
+        Assert.assertEquals(5, allocate(allocator, "fe1", 1, 0, 0));
+        // the idle slots are shared as the lease batch
+        Assert.assertEquals(5, allocate(allocator, "fe2", 2, 0, 0));
+        Assert.assertEquals(4, allocate(allocator, "fe1", 1, 0, 0));
+    }
+
+    @Test
+    public void testOverLimit() {
+        QueryQueueSlotAllocator allocator = new QueryQueueSlotAllocator();
+        Assert.assertEquals(10, allocate(allocator, "fe1", 0, 20, 0));
+        Assert.assertEquals(10, allocate(allocator, "fe1", 10, 10, 0));
+        // all slots are held by the running queries of fe1
+        Assert.assertEquals(0, allocate(allocator, "fe2", 0, 10, 0));
+        // fe1 gets its share in proportion to the demands
+        Assert.assertEquals(7, allocate(allocator, "fe1", 10, 10, 0));
+        Assert.assertEquals(0, allocate(allocator, "fe2", 0, 10, 0));
+        // the slots released by fe1 are allocated to fe2
+        Assert.assertEquals(7, allocate(allocator, "fe1", 7, 10, 0));
+        Assert.assertEquals(3, allocate(allocator, "fe2", 0, 10, 0));
+    }
+
+    @Test
+    public void testLeaseTimeout() {
+        QueryQueueSlotAllocator allocator = new QueryQueueSlotAllocator();
+        Assert.assertEquals(10, allocate(allocator, "fe1", 0, 20, 0));
+        Assert.assertEquals(0, allocate(allocator, "fe2", 0, 10, 1000));
+        // the slots of fe1 are reclaimed
+        Assert.assertEquals(10, allocate(allocator, "fe2", 0, 10, Config.query_queue_slot_lease_timeout_ms + 1));
+    }
+
+    @Test
+    public void testDroppedGroup() {
+        QueryQueueSlotAllocator allocator = new QueryQueueSlotAllocator();
+        Assert.assertTrue(allocator.allocate("fe1", demand(1, 0), Collections.emptyMap(), 0).isEmpty());
+    }
+
+    @Test
+    public void testUnlimitedGroup() {
+        QueryQueueSlotAllocator allocator = new QueryQueueSlotAllocator();
+        Map<Long, Integer> slots = allocator.allocate("fe1", demand(100, 0),
+                ImmutableMap.of(WG_ID, Integer.MAX_VALUE), 0);
+        Assert.assertTrue(slots.isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.resource.workloadgroup;
+
+import org.apache.doris.common.UserException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryQueueTest {
+
+    @Test
+    public void testGlobalSlots() throws UserException {
+        QueryQueue queryQueue = new QueryQueue(1, 10, 10, 1000, 0);
+        queryQueue.setGlobalSlots(1);
+        QueueToken token1 = queryQueue.getToken();
+        Assert.assertTrue(token1.isReadyToRun());
+        QueueToken token2 = queryQueue.getToken();
+        Assert.assertFalse(token2.isReadyToRun());
+        Assert.assertEquals(1, queryQueue.getCurrentWaitingQueryNum());
+
+        // the waiting query runs when more slots are leased
+        queryQueue.setGlobalSlots(2);
+        Assert.assertTrue(token2.isReadyToRun());
+        Assert.assertEquals(2, queryQueue.getCurrentRunningQueryNum());
+
+        // the running queries are not affected when the slots are reduced
+        queryQueue.setGlobalSlots(0);
+        QueueToken token3 = queryQueue.getToken();
+        Assert.assertFalse(token3.isReadyToRun());
+        queryQueue.releaseAndNotify(token1);
+        Assert.assertFalse(token3.isReadyToRun());
+
+        // only limited by max concurrency if global query queue is disabled
+        queryQueue.setGlobalSlots(-1);
+        Assert.assertTrue(token3.isReadyToRun());
+        Assert.assertEquals(2, queryQueue.getCurrentRunningQueryNum());
+    }
+
+    @Test
+    public void testWaitForGlobalSlots() throws UserException {
+        // the default max_queue_size and queue_timeout are 0
+        QueryQueue queryQueue = new QueryQueue(1, 2, 0, 0, 0);
+        queryQueue.setGlobalSlots(0);
+        // the first query waits for the slots leased by the first sync
+        QueueToken token1 = queryQueue.getToken();
+        Assert.assertFalse(token1.isReadyToRun());
+        queryQueue.setGlobalSlots(1);
+        Assert.assertTrue(token1.isReadyToRun());
+
+        // the query over the lease batch waits for the next sync
+        QueueToken token2 = queryQueue.getToken();
+        Assert.assertFalse(token2.isReadyToRun());
+        Assert.assertEquals(1, queryQueue.getCurrentWaitingQueryNum());
+
+        // the query over max_concurrency is still rejected by max_queue_size
+        try {
+            queryQueue.getToken();
+            Assert.fail();
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("query waiting queue is full"));
+        }
+        queryQueue.setGlobalSlots(2);
+        Assert.assertTrue(token2.isReadyToRun());
+    }
+
+    @Test
+    public void testUnlimitedGroupWithGlobalSlots() throws UserException {
+        QueryQueue queryQueue = new QueryQueue(1, Integer.MAX_VALUE, 0, 0, 0);
+        queryQueue.setGlobalSlots(0);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(queryQueue.getToken().isReadyToRun());
+        }
+        Assert.assertEquals(100, queryQueue.getCurrentRunningQueryNum());
+    }
+}
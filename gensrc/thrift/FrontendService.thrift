@@ -1527,6 +1527,23 @@ struct TFetchSplitBatchResult {
     1: optional list<Planner.TScanRangeLocations> splits
 }
 
+struct TQueryQueueSlotDemand {
+    1: optional i64 wg_id
+    2: optional i32 running_query_num
+    3: optional i32 waiting_query_num
+}
+
+struct TSyncQueryQueueSlotsRequest {
+    1: optional string fe_name
+    2: optional list<TQueryQueueSlotDemand> demands
+}
+
+struct TSyncQueryQueueSlotsResult {
+    1: optional Status.TStatus status
+    // workload group id -> the number of the queries the frontend can run
+    2: optional map<i64, i32> slots
+}
+
 service FrontendService {
     TGetDbsResult getDbNames(1: TGetDbsParams params)
     TGetTablesResult getTableNames(1: TGetTablesParams params)
@@ -1621,4 +1638,6 @@ service FrontendService {
 
     TFetchSplitBatchResult fetchSplitBatch(1: TFetchSplitBatchRequest request)
     Status.TStatus updatePartitionStatsCache(1: TUpdateFollowerPartitionStatsCacheRequest request)
+
+    TSyncQueryQueueSlotsResult syncQueryQueueSlots(1: TSyncQueryQueueSlotsRequest request)
 }
@@ -784,3 +784,14 @@ struct TPipelineFragmentParams {
 struct TPipelineFragmentParamsList {
     1: optional list<TPipelineFragmentParams> params_list;
 }
+
+// The parts of TPipelineFragmentParams which are the same on all backends of a query.
+// FE serializes them only once and sends the bytes with the requests to all backends,
+// BE sets them back to the TPipelineFragmentParams which do not have them.
+struct TPipelineFragmentSharedParams {
+    1: optional Descriptors.TDescriptorTable desc_tbl
+    2: optional TQueryGlobals query_globals
+    3: optional map<Types.TPlanNodeId, PlanNodes.TFileScanRangeParams> file_scan_params
+    // fragment id -> plan fragment
+    4: optional map<i32, Planner.TPlanFragment> fragments
+}
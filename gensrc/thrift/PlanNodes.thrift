@@ -565,6 +565,12 @@ struct TMetaScanRange {
   9: optional TPartitionsMetadataParams partitions_params
 }
 
+// A range of a jdbc table, split by the values of a column
+struct TJdbcScanRange {
+  // the query of the range, replaces the query string of TJdbcScanNode
+  1: optional string query_string
+}
+
 // Specification of an individual data range which is held in its entirety
 // by a storage server
 struct TScanRange {
@@ -576,6 +582,7 @@ struct TScanRange {
   8: optional TExternalScanRange ext_scan_range
   9: optional TDataGenScanRange data_gen_scan_range
   10: optional TMetaScanRange meta_scan_range
+  11: optional TJdbcScanRange jdbc_scan_range
 }
 
 struct TMySQLScanNode {
@@ -453,6 +453,8 @@ struct TJdbcExecutorCtorParams {
   14: optional i32 connection_pool_cache_clear_time
   15: optional bool connection_pool_keep_alive
   16: optional i64 catalog_id
+  // fetch the next batch of rows in a background thread while the current one is being converted
+  17: optional bool enable_prefetch
 }
 
 struct TJavaUdfExecutorCtorParams {